@@ -1,11 +1,12 @@
 plugins {
     alias(libs.plugins.android.application)
     alias(libs.plugins.hilt.android)
+    alias(libs.plugins.baselineprofile)
 }
 
 android {
     namespace = "com.example.read"
-    compileSdk = 36
+    compileSdk = libs.versions.compileSdk.get().toInt()
 
     defaultConfig {
         applicationId = "com.example.read"
@@ -33,10 +34,33 @@ android {
             )
         }
     }
+    // 基线配置文件插件生成的 benchmarkRelease / nonMinifiedRelease 只用于宏基准测试，
+    // 使用调试签名以便直接安装到模拟器
+    buildTypes.configureEach {
+        if (name.startsWith("benchmark") || name.startsWith("nonMinified")) {
+            signingConfig = signingConfigs.getByName("debug")
+        }
+    }
     compileOptions {
         sourceCompatibility = JavaVersion.VERSION_21
         targetCompatibility = JavaVersion.VERSION_21
     }
+    testOptions {
+        // 本地单元测试中 android.util.Log 等桩方法返回默认值，带日志的解析代码可以直接测试
+        unitTests.isReturnDefaultValues = true
+    }
+}
+
+// 宏基准测试用的书库填充（src/benchmark）只加入基准测试构建类型，
+// 正式版既不编译其代码，也不在清单中注册可被外部触发、会清空书库的接收器
+androidComponents {
+    onVariants { variant ->
+        val buildType = variant.buildType ?: return@onVariants
+        if (buildType.startsWith("benchmark") || buildType.startsWith("nonMinified")) {
+            variant.sources.java?.addStaticSourceDirectory("src/benchmark/java")
+            variant.sources.manifests.addStaticManifestFile("src/benchmark/AndroidManifest.xml")
+        }
+    }
 }
 
 dependencies {
@@ -54,6 +78,10 @@ dependencies {
     implementation(libs.room.runtime)
     annotationProcessor(libs.room.compiler)
     implementation(libs.room.rxjava3)
+    implementation(libs.room.paging)
+    
+    // Paging
+    implementation(libs.paging.runtime)
     
     // Retrofit & OkHttp
     implementation(libs.retrofit)
@@ -69,9 +97,6 @@ dependencies {
     // Jsoup
     implementation(libs.jsoup)
     
-    // Pinyin4j - 拼音转换库
-    implementation("com.belerweb:pinyin4j:2.5.1")
-    
     // MPAndroidChart
     implementation(libs.mpandroidchart)
     
@@ -85,16 +110,34 @@ dependencies {
     // Glide - 图片加载优化
     implementation(libs.glide)
     annotationProcessor(libs.glide.compiler)
+    implementation(libs.glide.recyclerview)
+    
+    // 基线配置文件：安装时由 ProfileInstaller 预编译热点代码，配置文件由 :macrobenchmark 生成
+    implementation(libs.profileinstaller)
+    baselineProfile(project(":macrobenchmark"))
     
     // Testing
     testImplementation(libs.junit)
     testImplementation(libs.jqwik)
-    testImplementation("org.junit.jupiter:junit-jupiter:5.10.1")
-    testRuntimeOnly("org.junit.platform:junit-platform-launcher:1.10.1")
+    // 拼音表（src/main/resources）由 pinyin4j 生成，测试逐字核对
+    testImplementation(libs.pinyin4j)
+    // 本地单元测试中 android.jar 的 org.json 只有桩实现，设置存储读写 JSON 需要真实实现
+    testImplementation(libs.json)
+    // 查询计划测试在本机 SQLite 上执行 EXPLAIN QUERY PLAN
+    testImplementation(libs.sqlite.jdbc)
+    testImplementation(libs.junit5.jupiter)
+    testRuntimeOnly(libs.junit5.platform.launcher)
     androidTestImplementation(libs.ext.junit)
     androidTestImplementation(libs.espresso.core)
 }
 
+baselineProfile {
+    // 生成的配置文件写入 src/release/generated/baselineProfiles 并随源码提交，
+    // 构建 release 时不重新生成（需要模拟器）
+    automaticGenerationDuringBuild = false
+    saveInSrc = true
+}
+
 tasks.withType<Test> {
     useJUnitPlatform()
 }
\ No newline at end of file
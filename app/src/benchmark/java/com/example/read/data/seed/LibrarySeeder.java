@@ -0,0 +1,179 @@
+package com.example.read.data.seed;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.util.Log;
+
+import com.example.read.data.AppDatabase;
+import com.example.read.data.entity.ChapterEntity;
+import com.example.read.data.entity.NovelEntity;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import dagger.hilt.android.qualifiers.ApplicationContext;
+
+/**
+ * 书库数据填充器 - 为宏基准测试生成固定规模的书库
+ *
+ * 每种规模都会额外生成一本 {@link #TARGET_CHAPTER_COUNT} 章的目标小说，
+ * 最近阅读时间最新，排在书架第一位，用于测量打开大部头时的首页耗时。
+ * 目标小说每章正文各不相同（正文按内容指纹去重，相同正文只会存一份）；
+ * 填充用的其他小说正文相同，只占一份存储。
+ * 生成的数据是确定的，同一规模重复填充时直接跳过。
+ */
+@Singleton
+public class LibrarySeeder {
+
+    private static final String TAG = "LibrarySeeder";
+
+    private static final String PREFS_NAME = "library_seed";
+    private static final String KEY_SEEDED_SIZE = "seeded_size";
+
+    /** 目标小说的标题，基准测试按它在书架上定位 */
+    public static final String TARGET_TITLE = "铁砧记";
+    /** 目标小说的章节数 */
+    public static final int TARGET_CHAPTER_COUNT = 3000;
+
+    // 每批写入的章节数，避免一次在内存中构造全部正文
+    private static final int BATCH_SIZE = 200;
+
+    /**
+     * 书库规模
+     */
+    public enum Size {
+        SMALL("small", 10, 50),
+        MEDIUM("medium", 200, 100),
+        HUGE("huge", 1000, 100);
+
+        private final String id;
+        private final int novelCount;
+        private final int chaptersPerNovel;
+
+        Size(String id, int novelCount, int chaptersPerNovel) {
+            this.id = id;
+            this.novelCount = novelCount;
+            this.chaptersPerNovel = chaptersPerNovel;
+        }
+
+        public String getId() { return id; }
+        public int getNovelCount() { return novelCount; }
+        public int getChaptersPerNovel() { return chaptersPerNovel; }
+
+        public static Size fromId(String id) {
+            for (Size size : values()) {
+                if (size.id.equals(id)) {
+                    return size;
+                }
+            }
+            return SMALL;
+        }
+    }
+
+    private static final String[] PARAGRAPHS = {
+            "铁匠铺的炉火一直烧到后半夜，风箱的声音在空荡荡的街上来回回荡。",
+            "他把锤子放在砧上，盯着那块慢慢变暗的铁，仿佛在等它开口说话。",
+            "镇子东头的河水涨了三天，渡船停在岸边，船夫蹲在石阶上抽着旱烟。",
+            "过路的商队带来了北边的消息，说是关口的雪比往年化得早。",
+            "她推开窗，院子里的槐树落了一地的花，被雨水泡成了浅浅的黄色。",
+            "账房先生翻着旧账本，手指在一行行数字上停停走走，最后叹了口气。",
+            "城门口贴出了新的告示，围观的人越来越多，却没有一个人认得全上面的字。",
+            "夜里起了风，檐下的铁马叮当作响，像有人在远处不紧不慢地敲着什么。",
+            "少年背着包袱走出山口，回头看了一眼，村子已经隐进了晨雾里。",
+            "药铺的伙计把晒干的草药一捆捆扎好，码在柜台后面的木架上。",
+            "集市散了以后，只剩几只野狗在空摊位之间翻找着残羹。",
+            "老人说，这把刀是他师父的师父打的，传到现在已经换过三次刀柄。"
+    };
+
+    private final AppDatabase database;
+    private final SharedPreferences prefs;
+
+    @Inject
+    public LibrarySeeder(AppDatabase database, @ApplicationContext Context context) {
+        this.database = database;
+        this.prefs = context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+    }
+
+    /**
+     * 清空书库并填充指定规模的数据，需要在后台线程调用
+     * @return 是否实际执行了填充（同一规模已填充过时返回false）
+     */
+    public boolean seed(Size size) {
+        if (size.getId().equals(prefs.getString(KEY_SEEDED_SIZE, null))) {
+            Log.d(TAG, "书库已是 " + size.getId() + " 规模，跳过填充");
+            return false;
+        }
+        long start = System.currentTimeMillis();
+        database.runInTransaction(() -> {
+            clearLibrary();
+            long now = System.currentTimeMillis();
+            for (int i = 0; i < size.getNovelCount(); i++) {
+                // 填充小说的阅读时间依次往前推，目标小说始终最新
+                insertNovel("填充小说" + (i + 1), "作者" + (i % 50 + 1),
+                        size.getChaptersPerNovel(), now - (i + 1) * 60_000L, false);
+            }
+            insertNovel(TARGET_TITLE, "佚名", TARGET_CHAPTER_COUNT, now, true);
+        });
+        prefs.edit().putString(KEY_SEEDED_SIZE, size.getId()).commit();
+        Log.d(TAG, "填充 " + size.getId() + " 书库完成，耗时 " + (System.currentTimeMillis() - start) + "ms");
+        return true;
+    }
+
+    private void clearLibrary() {
+        // 书签和章节随小说级联删除，正文单独清理
+        database.getOpenHelper().getWritableDatabase().execSQL("DELETE FROM novels");
+        database.chapterDao().deleteOrphanContents();
+        database.getOpenHelper().getWritableDatabase().execSQL("DELETE FROM reading_statistics");
+        database.getOpenHelper().getWritableDatabase().execSQL("DELETE FROM reading_stats_daily");
+        database.getOpenHelper().getWritableDatabase().execSQL("DELETE FROM reading_stats_hourly");
+    }
+
+    private void insertNovel(String title, String author, int chapterCount, long lastReadTime,
+                             boolean distinctContent) {
+        NovelEntity novel = new NovelEntity(title, author);
+        novel.setLastReadTime(lastReadTime);
+        novel.setCreateTime(lastReadTime);
+        novel.setTotalChapters(chapterCount);
+        novel.setLatestChapterTitle(chapterTitle(chapterCount - 1));
+        long novelId = database.novelDao().insertNovel(novel);
+
+        String sharedContent = distinctContent ? null : chapterContent(0);
+        List<ChapterEntity> batch = new ArrayList<>(Math.min(BATCH_SIZE, chapterCount));
+        for (int index = 0; index < chapterCount; index++) {
+            String content = distinctContent ? chapterContent(index) : sharedContent;
+            batch.add(new ChapterEntity(novelId, chapterTitle(index), content, index));
+            if (batch.size() == BATCH_SIZE) {
+                database.chapterDao().insertChapters(batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            database.chapterDao().insertChapters(batch);
+        }
+    }
+
+    private static String chapterTitle(int index) {
+        return "第" + (index + 1) + "章";
+    }
+
+    /**
+     * 生成约三千字的章节正文，按章节序号打乱段落顺序，并在段首标注章节序号使每章内容不同
+     */
+    static String chapterContent(int index) {
+        StringBuilder builder = new StringBuilder(3200);
+        int paragraph = 0;
+        while (builder.length() < 3000) {
+            int pick = (index * 7 + paragraph * 5) % PARAGRAPHS.length;
+            builder.append("　　");
+            if (paragraph == 0) {
+                builder.append("（").append(index + 1).append("）");
+            }
+            builder.append(PARAGRAPHS[pick]).append('\n');
+            paragraph++;
+        }
+        return builder.toString();
+    }
+}
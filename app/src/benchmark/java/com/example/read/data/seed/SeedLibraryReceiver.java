@@ -0,0 +1,64 @@
+package com.example.read.data.seed;
+
+import android.content.BroadcastReceiver;
+import android.content.Context;
+import android.content.Intent;
+import android.util.Log;
+
+import com.example.read.domain.repository.SettingsRepository;
+
+import javax.inject.Inject;
+
+import dagger.hilt.android.AndroidEntryPoint;
+import io.reactivex.rxjava3.core.Completable;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+
+/**
+ * 书库填充广播接收器 - 供宏基准测试通过 adb shell 准备数据
+ *
+ * 清单中要求发送方持有 DUMP 权限，只有 shell 能触发（与 ProfileInstallReceiver 相同）。
+ * 用法：
+ * <pre>
+ * am broadcast -n com.example.read/.data.seed.SeedLibraryReceiver \
+ *     --es size huge --es pageMode page --es pageAnimation cover
+ * </pre>
+ * 填充在后台线程完成后才结束广播，am broadcast 会一直等到填充完毕再返回。
+ */
+@AndroidEntryPoint
+public class SeedLibraryReceiver extends BroadcastReceiver {
+
+    private static final String TAG = "SeedLibraryReceiver";
+
+    public static final String EXTRA_SIZE = "size";
+    public static final String EXTRA_PAGE_MODE = "pageMode";
+    public static final String EXTRA_PAGE_ANIMATION = "pageAnimation";
+
+    @Inject
+    LibrarySeeder librarySeeder;
+
+    @Inject
+    SettingsRepository settingsRepository;
+
+    @Override
+    public void onReceive(Context context, Intent intent) {
+        LibrarySeeder.Size size = LibrarySeeder.Size.fromId(intent.getStringExtra(EXTRA_SIZE));
+        String pageMode = intent.getStringExtra(EXTRA_PAGE_MODE);
+        String pageAnimation = intent.getStringExtra(EXTRA_PAGE_ANIMATION);
+
+        PendingResult pendingResult = goAsync();
+        Completable.fromAction(() -> {
+                    if (pageMode != null) {
+                        settingsRepository.setPageMode(pageMode);
+                    }
+                    if (pageAnimation != null) {
+                        settingsRepository.setPageAnimation(pageAnimation);
+                    }
+                    librarySeeder.seed(size);
+                })
+                .subscribeOn(Schedulers.io())
+                .doFinally(pendingResult::finish)
+                .subscribe(
+                        () -> pendingResult.setResultCode(1),
+                        error -> Log.e(TAG, "填充书库失败", error));
+    }
+}
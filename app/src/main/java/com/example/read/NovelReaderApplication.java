@@ -3,6 +3,8 @@ package com.example.read;
 import android.app.Application;
 
 import com.example.read.data.DefaultDataInitializer;
+import com.example.read.data.repository.SettingsRepositoryImpl;
+import com.example.read.data.repository.ThemeRepositoryImpl;
 
 import javax.inject.Inject;
 
@@ -21,6 +23,9 @@ public class NovelReaderApplication extends Application {
     @Override
     public void onCreate() {
         super.onCreate();
+        // 在后台预先加载阅读设置和主题，打开阅读界面时不在主线程上读盘
+        SettingsRepositoryImpl.preload(this);
+        ThemeRepositoryImpl.preload(this);
         // 初始化默认数据（如解析规则）
         defaultDataInitializer.initializeDefaultData();
     }
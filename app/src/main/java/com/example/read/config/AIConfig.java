@@ -13,6 +13,21 @@ public class AIConfig {
     // 使用的模型 - qwen-turbo性价比最高
     public static final String MODEL_NAME = "qwen-turbo";
     
+    // 摘要提示词版本，修改摘要提示词时递增，旧的摘要缓存随之失效
+    public static final int SUMMARY_PROMPT_VERSION = 1;
+    
+    // 批量生成摘要时同时进行的请求数
+    public static final int SUMMARY_CONCURRENCY = 4;
+    
+    // 批量生成摘要时相邻请求的最小间隔（毫秒），避免触发API限流
+    public static final long SUMMARY_MIN_INTERVAL_MS = 300;
+    
+    // 单次摘要请求输入的token预算，超出的章节先分段摘要再合并
+    public static final int SUMMARY_INPUT_TOKENS = 3000;
+    
+    // 分层摘要中每个分段包含的章节数
+    public static final int SUMMARY_ARC_SIZE = 20;
+    
     // 超时设置（毫秒）
     public static final int API_TIMEOUT_MS = 30000; // 30秒
     
@@ -1,5 +1,7 @@
 package com.example.read.data;
 
+import android.database.Cursor;
+
 import androidx.annotation.NonNull;
 import androidx.room.Database;
 import androidx.room.RoomDatabase;
@@ -10,16 +12,26 @@ import com.example.read.data.dao.BlockedWordDao;
 import com.example.read.data.dao.BookmarkDao;
 import com.example.read.data.dao.CategoryDao;
 import com.example.read.data.dao.ChapterDao;
+import com.example.read.data.dao.ImportCheckpointDao;
 import com.example.read.data.dao.NovelDao;
 import com.example.read.data.dao.ParserRuleDao;
+import com.example.read.data.dao.ReadingProgressDao;
 import com.example.read.data.dao.ReadingStatisticsDao;
+import com.example.read.data.dao.SummaryCacheDao;
 import com.example.read.data.entity.BlockedWordEntity;
 import com.example.read.data.entity.BookmarkEntity;
 import com.example.read.data.entity.CategoryEntity;
+import com.example.read.data.entity.ChapterContentEntity;
 import com.example.read.data.entity.ChapterEntity;
+import com.example.read.data.entity.DailyReadingStatsEntity;
+import com.example.read.data.entity.HourlyReadingStatsEntity;
+import com.example.read.data.entity.ImportCheckpointEntity;
 import com.example.read.data.entity.NovelEntity;
 import com.example.read.data.entity.ParserRuleEntity;
+import com.example.read.data.entity.ReadingProgressEntity;
 import com.example.read.data.entity.ReadingStatisticsEntity;
+import com.example.read.data.entity.SummaryCacheEntity;
+import com.example.read.utils.PinyinHelper;
 
 /**
  * Room数据库类 - 应用的主数据库
@@ -29,13 +41,19 @@ import com.example.read.data.entity.ReadingStatisticsEntity;
     entities = {
         NovelEntity.class,
         ChapterEntity.class,
+        ChapterContentEntity.class,
         BookmarkEntity.class,
         ParserRuleEntity.class,
         ReadingStatisticsEntity.class,
         BlockedWordEntity.class,
-        CategoryEntity.class
+        CategoryEntity.class,
+        ImportCheckpointEntity.class,
+        SummaryCacheEntity.class,
+        ReadingProgressEntity.class,
+        DailyReadingStatsEntity.class,
+        HourlyReadingStatsEntity.class
     },
-    version = 3,
+    version = 13,
     exportSchema = true
 )
 public abstract class AppDatabase extends RoomDatabase {
@@ -55,6 +73,195 @@ public abstract class AppDatabase extends RoomDatabase {
             database.execSQL("ALTER TABLE novels ADD COLUMN latestChapterTitle TEXT");
         }
     };
+    
+    /**
+     * 数据库迁移：版本3 -> 版本4
+     * 添加 contentHash 字段及索引到 novels 表，用于导入去重
+     */
+    public static final Migration MIGRATION_3_4 = new Migration(3, 4) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase database) {
+            database.execSQL("ALTER TABLE novels ADD COLUMN contentHash TEXT");
+            database.execSQL("CREATE INDEX IF NOT EXISTS `index_novels_contentHash` ON `novels` (`contentHash`)");
+        }
+    };
+    
+    /**
+     * 数据库迁移：版本4 -> 版本5
+     * 新增 chapter_contents 表按内容指纹共享章节正文，chapters 表添加 contentHash 字段
+     * 已有章节的正文保留在 chapters.content 中，查询时自动回退
+     */
+    public static final Migration MIGRATION_4_5 = new Migration(4, 5) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase database) {
+            database.execSQL("CREATE TABLE IF NOT EXISTS `chapter_contents` (" +
+                    "`contentHash` TEXT NOT NULL, `content` TEXT NOT NULL, PRIMARY KEY(`contentHash`))");
+            database.execSQL("ALTER TABLE chapters ADD COLUMN contentHash TEXT");
+            database.execSQL("CREATE INDEX IF NOT EXISTS `index_chapters_contentHash` ON `chapters` (`contentHash`)");
+        }
+    };
+    
+    /**
+     * 数据库迁移：版本5 -> 版本6
+     * 新增 import_checkpoints 表，记录分段导入的断点
+     */
+    public static final Migration MIGRATION_5_6 = new Migration(5, 6) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase database) {
+            database.execSQL("CREATE TABLE IF NOT EXISTS `import_checkpoints` (" +
+                    "`contentHash` TEXT NOT NULL, `novelId` INTEGER NOT NULL, " +
+                    "`chaptersCommitted` INTEGER NOT NULL, `updateTime` INTEGER NOT NULL, " +
+                    "PRIMARY KEY(`contentHash`))");
+        }
+    };
+
+    /**
+     * 数据库迁移：版本6 -> 版本7
+     * 阅读进度和书签的章节内位置统一改为字符偏移。旧版本按数值大小区分两种位置：
+     * 大于100的是滚动模式记录的字符偏移，原样保留；其余是翻页模式的页码，按每页
+     * {@link #LEGACY_CHARS_PER_PAGE} 字估算为字符偏移。结果不超过所在章节的长度
+     */
+    public static final Migration MIGRATION_6_7 = new Migration(6, 7) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase database) {
+            database.execSQL("UPDATE `novels` SET `currentPosition` = " + legacyCharOffset("currentPosition",
+                    "(SELECT `wordCount` FROM `chapters` WHERE `chapters`.`id` = `novels`.`currentChapterId`)"));
+            database.execSQL("UPDATE `bookmarks` SET `position` = " + legacyCharOffset("position",
+                    "(SELECT `wordCount` FROM `chapters` WHERE `chapters`.`id` = `bookmarks`.`chapterId`)"));
+        }
+    };
+
+    /** 版本7以前翻页模式默认字号下每页的大致字数 */
+    static final int LEGACY_CHARS_PER_PAGE = 500;
+
+    /**
+     * 把旧的页码或字符偏移换算为字符偏移的SQL表达式，找不到章节时不限制上限
+     */
+    private static String legacyCharOffset(String column, String chapterLength) {
+        String offset = "CASE WHEN `" + column + "` > 100 THEN `" + column + "` ELSE `" + column + "` * "
+                + LEGACY_CHARS_PER_PAGE + " END";
+        return "MAX(0, MIN(" + offset + ", COALESCE(" + chapterLength + " - 1, " + offset + ")))";
+    }
+
+    /**
+     * 数据库迁移：版本7 -> 版本8
+     * 添加按内容指纹保存AI摘要的 summary_cache 表
+     */
+    public static final Migration MIGRATION_7_8 = new Migration(7, 8) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase database) {
+            database.execSQL("CREATE TABLE IF NOT EXISTS `summary_cache` (" +
+                    "`contentHash` TEXT NOT NULL, `promptVersion` INTEGER NOT NULL, " +
+                    "`model` TEXT NOT NULL, `summary` TEXT NOT NULL, `createTime` INTEGER NOT NULL, " +
+                    "PRIMARY KEY(`contentHash`, `promptVersion`, `model`))");
+        }
+    };
+
+    /**
+     * 数据库迁移：版本8 -> 版本9
+     * novels 表添加标题和作者的拼音全拼、首字母检索键及索引，并为已有小说回填
+     */
+    public static final Migration MIGRATION_8_9 = new Migration(8, 9) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase database) {
+            database.execSQL("ALTER TABLE novels ADD COLUMN titlePinyin TEXT COLLATE NOCASE");
+            database.execSQL("ALTER TABLE novels ADD COLUMN titleInitials TEXT COLLATE NOCASE");
+            database.execSQL("ALTER TABLE novels ADD COLUMN authorPinyin TEXT COLLATE NOCASE");
+            database.execSQL("ALTER TABLE novels ADD COLUMN authorInitials TEXT COLLATE NOCASE");
+            database.execSQL("CREATE INDEX IF NOT EXISTS `index_novels_titlePinyin` ON `novels` (`titlePinyin`)");
+            database.execSQL("CREATE INDEX IF NOT EXISTS `index_novels_titleInitials` ON `novels` (`titleInitials`)");
+
+            try (Cursor cursor = database.query("SELECT id, title, author FROM novels")) {
+                while (cursor.moveToNext()) {
+                    String title = cursor.getString(1);
+                    String author = cursor.getString(2);
+                    database.execSQL("UPDATE novels SET titlePinyin = ?, titleInitials = ?, " +
+                                    "authorPinyin = ?, authorInitials = ? WHERE id = ?",
+                            new Object[]{
+                                    PinyinHelper.getFullPinyin(title),
+                                    PinyinHelper.getPinyinInitials(title),
+                                    PinyinHelper.getFullPinyin(author),
+                                    PinyinHelper.getPinyinInitials(author),
+                                    cursor.getLong(0)
+                            });
+                }
+            }
+        }
+    };
+
+    /**
+     * 数据库迁移：版本9 -> 版本10
+     * 新建 reading_progress 表存放章节内阅读位置，翻页时不再改写书架观察的 novels 行；
+     * 已有的阅读进度从 novels 表复制过来。另为书架分页查询的排序和分类筛选建索引
+     */
+    public static final Migration MIGRATION_9_10 = new Migration(9, 10) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase database) {
+            database.execSQL("CREATE TABLE IF NOT EXISTS `reading_progress` (" +
+                    "`novelId` INTEGER NOT NULL, `chapterId` INTEGER NOT NULL, " +
+                    "`position` INTEGER NOT NULL, `updateTime` INTEGER NOT NULL, " +
+                    "PRIMARY KEY(`novelId`), " +
+                    "FOREIGN KEY(`novelId`) REFERENCES `novels`(`id`) ON UPDATE NO ACTION ON DELETE CASCADE )");
+            database.execSQL("INSERT INTO reading_progress (novelId, chapterId, position, updateTime) " +
+                    "SELECT id, currentChapterId, currentPosition, lastReadTime FROM novels " +
+                    "WHERE currentChapterId IS NOT NULL");
+            database.execSQL("CREATE INDEX IF NOT EXISTS `index_novels_category` ON `novels` (`category`)");
+            database.execSQL("CREATE INDEX IF NOT EXISTS `index_novels_isPinned_lastReadTime` " +
+                    "ON `novels` (`isPinned`, `lastReadTime`)");
+        }
+    };
+
+    /**
+     * 数据库迁移：版本10 -> 版本11
+     * 新建每日和每小时阅读汇总表，并从已有的会话记录汇总填充
+     */
+    public static final Migration MIGRATION_10_11 = new Migration(10, 11) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase database) {
+            database.execSQL("CREATE TABLE IF NOT EXISTS `reading_stats_daily` (" +
+                    "`date` INTEGER NOT NULL, `novelId` INTEGER NOT NULL, `duration` INTEGER NOT NULL, " +
+                    "`charCount` INTEGER NOT NULL, `sessionCount` INTEGER NOT NULL, " +
+                    "PRIMARY KEY(`date`, `novelId`))");
+            database.execSQL("CREATE TABLE IF NOT EXISTS `reading_stats_hourly` (" +
+                    "`date` INTEGER NOT NULL, `hourOfDay` INTEGER NOT NULL, `duration` INTEGER NOT NULL, " +
+                    "`charCount` INTEGER NOT NULL, PRIMARY KEY(`date`, `hourOfDay`))");
+            database.execSQL("INSERT INTO reading_stats_daily (date, novelId, duration, charCount, sessionCount) " +
+                    "SELECT date, novelId, SUM(readingDuration), SUM(readingCharCount), COUNT(*) " +
+                    "FROM reading_statistics GROUP BY date, novelId");
+            database.execSQL("INSERT INTO reading_stats_hourly (date, hourOfDay, duration, charCount) " +
+                    "SELECT date, hourOfDay, SUM(readingDuration), SUM(readingCharCount) " +
+                    "FROM reading_statistics GROUP BY date, hourOfDay");
+        }
+    };
+
+    /**
+     * 数据库迁移：版本11 -> 版本12
+     * chapters 的 novelId、chapterIndex 单列索引合并为 (novelId, chapterIndex) 复合索引，
+     * 按序号定位和按小说排序读取章节不再需要额外排序；novels 新增 sourceUrl 索引
+     */
+    public static final Migration MIGRATION_11_12 = new Migration(11, 12) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase database) {
+            database.execSQL("DROP INDEX IF EXISTS `index_chapters_novelId`");
+            database.execSQL("DROP INDEX IF EXISTS `index_chapters_chapterIndex`");
+            database.execSQL("CREATE INDEX IF NOT EXISTS `index_chapters_novelId_chapterIndex` " +
+                    "ON `chapters` (`novelId`, `chapterIndex`)");
+            database.execSQL("CREATE INDEX IF NOT EXISTS `index_novels_sourceUrl` ON `novels` (`sourceUrl`)");
+        }
+    };
+
+    /**
+     * 数据库迁移：版本12 -> 版本13
+     * 删除 titlePinyin、titleInitials 索引：搜索按 %关键词% 子串匹配且与标题、作者条件 OR 组合，
+     * 查询计划始终扫描 novels 表，这两个索引从未被使用，只增加写入开销
+     */
+    public static final Migration MIGRATION_12_13 = new Migration(12, 13) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase database) {
+            database.execSQL("DROP INDEX IF EXISTS `index_novels_titlePinyin`");
+            database.execSQL("DROP INDEX IF EXISTS `index_novels_titleInitials`");
+        }
+    };
 
     // DAO访问方法
     public abstract NovelDao novelDao();
@@ -64,4 +271,7 @@ public abstract class AppDatabase extends RoomDatabase {
     public abstract ReadingStatisticsDao readingStatisticsDao();
     public abstract BlockedWordDao blockedWordDao();
     public abstract CategoryDao categoryDao();
+    public abstract ImportCheckpointDao importCheckpointDao();
+    public abstract SummaryCacheDao summaryCacheDao();
+    public abstract ReadingProgressDao readingProgressDao();
 }
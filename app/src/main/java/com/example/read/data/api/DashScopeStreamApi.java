@@ -0,0 +1,36 @@
+package com.example.read.data.api;
+
+import com.example.read.data.api.model.DashScopeRequest;
+
+import io.reactivex.rxjava3.core.Single;
+import okhttp3.ResponseBody;
+import retrofit2.http.Body;
+import retrofit2.http.Header;
+import retrofit2.http.Headers;
+import retrofit2.http.POST;
+import retrofit2.http.Streaming;
+
+/**
+ * 通义千问流式输出API接口
+ *
+ * 响应为 Server-Sent Events，由 {@link SseEventReader} 逐个事件读取。
+ * 响应体不会被缓冲，必须使用不记录响应体的 OkHttpClient。
+ */
+public interface DashScopeStreamApi {
+
+    /**
+     * 以流式输出调用通义千问文本生成API
+     *
+     * @param authorization 授权头，格式为 "Bearer {api_key}"
+     * @param request 请求体，应设置 incremental_output
+     * @return 未读取的事件流响应体，使用完毕后必须关闭
+     */
+    @Streaming
+    @Headers({"Accept: text/event-stream", "X-DashScope-SSE: enable"})
+    @POST("services/aigc/text-generation/generation")
+    Single<ResponseBody> generateTextStream(
+            @Header("Authorization") String authorization,
+            @Header("Content-Type") String contentType,
+            @Body DashScopeRequest request
+    );
+}
@@ -0,0 +1,100 @@
+package com.example.read.data.api;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+import okio.BufferedSource;
+
+/**
+ * Server-Sent Events 读取器 - 从响应流中逐个读取事件
+ *
+ * 按 SSE 规范解析 event、id 和 data 字段，多行 data 以换行连接，空行结束一个事件；
+ * 以冒号开头的注释行被忽略。读取会阻塞到一个完整事件到达，应在IO线程调用。
+ */
+public final class SseEventReader implements Closeable {
+
+    /**
+     * 一个事件
+     */
+    public static final class Event {
+        private final String id;
+        private final String type;
+        private final String data;
+
+        Event(String id, String type, String data) {
+            this.id = id;
+            this.type = type;
+            this.data = data;
+        }
+
+        public String getId() { return id; }
+        /** 事件类型，未指定时为 "message" */
+        public String getType() { return type; }
+        public String getData() { return data; }
+    }
+
+    private final BufferedSource source;
+
+    public SseEventReader(BufferedSource source) {
+        this.source = source;
+    }
+
+    /**
+     * 读取下一个事件
+     * @return 事件，流结束时返回null
+     */
+    public Event next() throws IOException {
+        String id = null;
+        String type = null;
+        StringBuilder data = null;
+        String line;
+        while ((line = source.readUtf8Line()) != null) {
+            if (line.isEmpty()) {
+                if (data != null) {
+                    return new Event(id, type != null ? type : "message", data.toString());
+                }
+                // 没有数据的事件按规范丢弃
+                id = null;
+                type = null;
+                continue;
+            }
+            if (line.charAt(0) == ':') {
+                continue;
+            }
+            int colon = line.indexOf(':');
+            String field = colon >= 0 ? line.substring(0, colon) : line;
+            String value = "";
+            if (colon >= 0) {
+                int start = colon + 1;
+                if (start < line.length() && line.charAt(start) == ' ') {
+                    start++;
+                }
+                value = line.substring(start);
+            }
+            switch (field) {
+                case "data":
+                    if (data == null) {
+                        data = new StringBuilder(value);
+                    } else {
+                        data.append('\n').append(value);
+                    }
+                    break;
+                case "event":
+                    type = value;
+                    break;
+                case "id":
+                    id = value;
+                    break;
+                default:
+                    break;
+            }
+        }
+        // 流结束时未以空行结尾的事件也返回
+        return data != null ? new Event(id, type != null ? type : "message", data.toString()) : null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        source.close();
+    }
+}
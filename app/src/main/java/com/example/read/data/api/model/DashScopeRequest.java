@@ -66,6 +66,8 @@ public class DashScopeRequest {
         private int max_tokens = 500;
         private float temperature = 0.7f;
         private String result_format = "message";
+        // 流式输出时每个事件只返回新增部分，为null时不序列化
+        private Boolean incremental_output;
         
         public int getMax_tokens() {
             return max_tokens;
@@ -90,6 +92,14 @@ public class DashScopeRequest {
         public void setResult_format(String result_format) {
             this.result_format = result_format;
         }
+        
+        public Boolean getIncremental_output() {
+            return incremental_output;
+        }
+        
+        public void setIncremental_output(Boolean incremental_output) {
+            this.incremental_output = incremental_output;
+        }
     }
     
     // Getters and Setters
@@ -5,40 +5,169 @@ import androidx.room.Dao;
 import androidx.room.Insert;
 import androidx.room.OnConflictStrategy;
 import androidx.room.Query;
+import androidx.room.Transaction;
 import androidx.room.Update;
 
+import com.example.read.data.entity.ChapterContentEntity;
 import com.example.read.data.entity.ChapterEntity;
+import com.example.read.utils.Metrics;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
  * 章节数据访问对象 - 提供章节表的CRUD操作
+ * 正文按内容指纹存放在 chapter_contents 表中，查询时通过 LEFT JOIN 取回，
+ * 旧数据（contentHash 为空）仍直接使用 chapters.content 列
  */
 @Dao
 public interface ChapterDao {
 
-    @Query("SELECT * FROM chapters WHERE novelId = :novelId ORDER BY chapterIndex")
+    /**
+     * 章节查询的公共列，正文优先取共享的 chapter_contents 记录
+     */
+    String CHAPTER_COLUMNS = "c.id, c.novelId, c.title, COALESCE(b.content, c.content) AS content, "
+            + "c.chapterIndex, c.wordCount, c.sourceUrl, c.summary, c.createTime, c.contentHash "
+            + "FROM chapters c LEFT JOIN chapter_contents b ON b.contentHash = c.contentHash";
+
+    @Query("SELECT " + CHAPTER_COLUMNS + " WHERE c.novelId = :novelId ORDER BY c.chapterIndex")
     LiveData<List<ChapterEntity>> getChaptersByNovelId(long novelId);
 
-    @Query("SELECT * FROM chapters WHERE novelId = :novelId ORDER BY chapterIndex")
+    @Query("SELECT " + CHAPTER_COLUMNS + " WHERE c.novelId = :novelId ORDER BY c.chapterIndex")
     List<ChapterEntity> getChaptersByNovelIdSync(long novelId);
 
-    @Query("SELECT * FROM chapters WHERE id = :chapterId")
+    @Query("SELECT " + CHAPTER_COLUMNS + " WHERE c.id = :chapterId")
     ChapterEntity getChapterById(long chapterId);
 
+    /**
+     * 按章节顺序分页读取章节（键集分页），用于导出等需要遍历全书但不能一次加载全部正文的场景
+     * @param afterIndex 上一页最后一章的 chapterIndex，第一页传 -1
+     * @param limit 每页章节数
+     */
+    @Query("SELECT " + CHAPTER_COLUMNS + " WHERE c.novelId = :novelId AND c.chapterIndex > :afterIndex " +
+           "ORDER BY c.chapterIndex LIMIT :limit")
+    List<ChapterEntity> getChaptersAfter(long novelId, int afterIndex, int limit);
+
+    /**
+     * 插入章节，正文写入共享的 chapter_contents 表
+     * 内容相同的正文只保存一份；章节写入都经过这里，耗时记入 {@link Metrics#DB_CHAPTER_WRITE}
+     */
+    @Transaction
+    default void insertChapters(List<ChapterEntity> chapters) {
+        long startTime = Metrics.begin(Metrics.DB_CHAPTER_WRITE);
+        try {
+            List<ChapterContentEntity> contents = new ArrayList<>(chapters.size());
+            List<ChapterEntity> rows = new ArrayList<>(chapters.size());
+            for (ChapterEntity chapter : chapters) {
+                ChapterContentEntity body = ChapterContentEntity.fromContent(chapter.getContent());
+                contents.add(body);
+                rows.add(chapter.withExternalContent(body.getContentHash()));
+            }
+            insertChapterContents(contents);
+            insertChapterRows(rows);
+        } finally {
+            Metrics.end(Metrics.DB_CHAPTER_WRITE, startTime);
+        }
+        Metrics.add(Metrics.COUNTER_CHAPTERS_WRITTEN, chapters.size());
+    }
+
+    /**
+     * 插入单个章节，正文写入共享的 chapter_contents 表
+     */
+    @Transaction
+    default long insertChapter(ChapterEntity chapter) {
+        long startTime = Metrics.begin(Metrics.DB_CHAPTER_WRITE);
+        try {
+            ChapterContentEntity body = ChapterContentEntity.fromContent(chapter.getContent());
+            insertChapterContents(Collections.singletonList(body));
+            long id = insertChapterRow(chapter.withExternalContent(body.getContentHash()));
+            Metrics.increment(Metrics.COUNTER_CHAPTERS_WRITTEN);
+            return id;
+        } finally {
+            Metrics.end(Metrics.DB_CHAPTER_WRITE, startTime);
+        }
+    }
+
+    @Insert(onConflict = OnConflictStrategy.IGNORE)
+    void insertChapterContents(List<ChapterContentEntity> contents);
+
     @Insert(onConflict = OnConflictStrategy.REPLACE)
-    void insertChapters(List<ChapterEntity> chapters);
+    void insertChapterRows(List<ChapterEntity> chapters);
 
     @Insert(onConflict = OnConflictStrategy.REPLACE)
-    long insertChapter(ChapterEntity chapter);
+    long insertChapterRow(ChapterEntity chapter);
 
     @Update
-    void updateChapter(ChapterEntity chapter);
+    void updateChapterRow(ChapterEntity chapter);
+
+    /**
+     * 更新章节，新正文同样写入 chapter_contents 表并改指向新指纹
+     * 旧正文不再被任何章节引用时一并删除
+     */
+    @Transaction
+    default void updateChapter(ChapterEntity chapter) {
+        String oldHash = getChapterContentHash(chapter.getId());
+        ChapterContentEntity body = ChapterContentEntity.fromContent(chapter.getContent());
+        insertChapterContents(Collections.singletonList(body));
+        updateChapterRow(chapter.withExternalContent(body.getContentHash()));
+        if (oldHash != null && !oldHash.equals(body.getContentHash())) {
+            deleteUnreferencedContents(Collections.singletonList(oldHash));
+        }
+    }
 
     @Query("DELETE FROM chapters WHERE novelId = :novelId")
     void deleteChaptersByNovelId(long novelId);
 
-    @Query("SELECT * FROM chapters WHERE novelId = :novelId AND content LIKE '%' || :keyword || '%'")
+    /** 分批删除章节时每批的章节数 */
+    int DELETE_BATCH_SIZE = 500;
+
+    @Query("SELECT id FROM chapters WHERE novelId IN (:novelIds) LIMIT :limit")
+    List<Long> getChapterIdsOfNovels(List<Long> novelIds, int limit);
+
+    @Query("SELECT DISTINCT contentHash FROM chapters WHERE id IN (:chapterIds) AND contentHash IS NOT NULL")
+    List<String> getContentHashesOf(List<Long> chapterIds);
+
+    @Query("DELETE FROM chapters WHERE id IN (:chapterIds)")
+    int deleteChaptersIn(List<Long> chapterIds);
+
+    /**
+     * 删除给定指纹中已不被任何章节引用的正文（按 contentHash 索引逐个检查，不扫描整张正文表）
+     */
+    @Query("DELETE FROM chapter_contents WHERE contentHash IN (:contentHashes) " +
+           "AND NOT EXISTS (SELECT 1 FROM chapters c WHERE c.contentHash = chapter_contents.contentHash)")
+    int deleteUnreferencedContents(List<String> contentHashes);
+
+    /**
+     * 删除这些小说的下一批章节（最多 {@link #DELETE_BATCH_SIZE} 章）及随之不再被引用的正文
+     * 每批是一个短事务，删除几十万章时也不会长时间占用写锁；反复调用直到返回0
+     * @param novelIds 小说ID，不超过 {@link NovelDao#MAX_BIND_IDS} 个
+     * @return 本批删除的章节数，0表示已全部删除
+     */
+    @Transaction
+    default int deleteChapterBatch(List<Long> novelIds) {
+        List<Long> chapterIds = getChapterIdsOfNovels(novelIds, DELETE_BATCH_SIZE);
+        if (chapterIds.isEmpty()) {
+            return 0;
+        }
+        List<String> contentHashes = getContentHashesOf(chapterIds);
+        deleteChaptersIn(chapterIds);
+        if (!contentHashes.isEmpty()) {
+            deleteUnreferencedContents(contentHashes);
+        }
+        return chapterIds.size();
+    }
+
+    /**
+     * 删除不再被任何章节引用的正文记录
+     * 在删除小说或章节之后调用；遍历正文表，每条记录按 contentHash 索引检查是否仍被引用
+     */
+    @Query("DELETE FROM chapter_contents WHERE NOT EXISTS " +
+           "(SELECT 1 FROM chapters c WHERE c.contentHash = chapter_contents.contentHash)")
+    int deleteOrphanContents();
+
+    @Query("SELECT " + CHAPTER_COLUMNS + " WHERE c.novelId = :novelId " +
+           "AND COALESCE(b.content, c.content) LIKE '%' || :keyword || '%'")
     List<ChapterEntity> searchInChapters(long novelId, String keyword);
 
     @Query("SELECT COUNT(*) FROM chapters WHERE novelId = :novelId")
@@ -47,6 +176,32 @@ public interface ChapterDao {
     @Query("UPDATE chapters SET summary = :summary WHERE id = :chapterId")
     void updateChapterSummary(long chapterId, String summary);
 
-    @Query("SELECT * FROM chapters WHERE novelId = :novelId AND chapterIndex = :index")
+    /**
+     * 只读取摘要列，不加载正文
+     */
+    @Query("SELECT summary FROM chapters WHERE id = :chapterId")
+    String getChapterSummary(long chapterId);
+
+    /**
+     * 只读取内容指纹，旧数据返回null
+     */
+    @Query("SELECT contentHash FROM chapters WHERE id = :chapterId")
+    String getChapterContentHash(long chapterId);
+
+    /**
+     * 按章节顺序查询整本小说的摘要，不读取正文
+     */
+    @Query("SELECT id, summary FROM chapters WHERE novelId = :novelId ORDER BY chapterIndex")
+    List<ChapterSummaryRow> getChapterSummaries(long novelId);
+
+    @Query("SELECT " + CHAPTER_COLUMNS + " WHERE c.novelId = :novelId AND c.chapterIndex = :index")
     ChapterEntity getChapterByIndex(long novelId, int index);
+
+    /**
+     * 章节摘要查询结果
+     */
+    class ChapterSummaryRow {
+        public long id;
+        public String summary;
+    }
 }
@@ -0,0 +1,33 @@
+package com.example.read.data.dao;
+
+import androidx.room.Dao;
+import androidx.room.Insert;
+import androidx.room.OnConflictStrategy;
+import androidx.room.Query;
+
+import com.example.read.data.entity.ImportCheckpointEntity;
+
+import java.util.List;
+
+/**
+ * 导入断点数据访问对象
+ */
+@Dao
+public interface ImportCheckpointDao {
+
+    @Query("SELECT * FROM import_checkpoints WHERE contentHash = :contentHash")
+    ImportCheckpointEntity getCheckpoint(String contentHash);
+
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    void saveCheckpoint(ImportCheckpointEntity checkpoint);
+
+    @Query("DELETE FROM import_checkpoints WHERE contentHash = :contentHash")
+    void deleteCheckpoint(String contentHash);
+
+    /**
+     * 删除这些小说的断点，与小说在同一事务中删除
+     * @param novelIds 小说ID，不超过 {@link NovelDao#MAX_BIND_IDS} 个
+     */
+    @Query("DELETE FROM import_checkpoints WHERE novelId IN (:novelIds)")
+    void deleteCheckpointsForNovels(List<Long> novelIds);
+}
@@ -1,11 +1,13 @@
 package com.example.read.data.dao;
 
 import androidx.lifecycle.LiveData;
+import androidx.paging.PagingSource;
 import androidx.room.Dao;
 import androidx.room.Delete;
 import androidx.room.Insert;
 import androidx.room.OnConflictStrategy;
 import androidx.room.Query;
+import androidx.room.Transaction;
 import androidx.room.Update;
 
 import com.example.read.data.entity.NovelEntity;
@@ -17,18 +19,76 @@ import java.util.List;
  */
 @Dao
 public interface NovelDao {
-    
-    @Query("SELECT * FROM novels ORDER BY isPinned DESC, lastReadTime DESC")
-    LiveData<List<NovelEntity>> getAllNovels();
+
+    /** 书架列表行的列，只取列表展示和条目操作需要的字段 */
+    String LIST_COLUMNS = "SELECT id, title, author, coverPath, category, isPinned, totalChapters, " +
+            "currentChapterId, currentChapterTitle, latestChapterTitle FROM novels";
+
+    /**
+     * 标题和作者的原文、拼音全拼和拼音首字母匹配 :pattern
+     * 子串匹配用不上索引，搜索逐行扫描 novels 表，行数即书架上的书数
+     */
+    String SEARCH_CONDITION = "(title LIKE :pattern ESCAPE '\\' OR author LIKE :pattern ESCAPE '\\' " +
+            "OR titlePinyin LIKE :pattern ESCAPE '\\' OR titleInitials LIKE :pattern ESCAPE '\\' " +
+            "OR authorPinyin LIKE :pattern ESCAPE '\\' OR authorInitials LIKE :pattern ESCAPE '\\')";
+
+    String SHELF_ORDER = " ORDER BY isPinned DESC, lastReadTime DESC";
+
+    /** IN (...) 语句每次绑定的ID数上限，低于旧版 SQLite 每条语句999个参数的限制 */
+    int MAX_BIND_IDS = 500;
+
+    /**
+     * 书架分页数据源（按置顶和最后阅读时间排序）
+     */
+    @Query(LIST_COLUMNS + SHELF_ORDER)
+    PagingSource<Integer, NovelListRow> pageAllNovels();
+
+    /**
+     * 按分类筛选的书架分页数据源
+     */
+    @Query(LIST_COLUMNS + " WHERE category = :category" + SHELF_ORDER)
+    PagingSource<Integer, NovelListRow> pageNovelsByCategory(String category);
+
+    /**
+     * 按关键词搜索的书架分页数据源
+     * @param pattern 子串匹配模式 {@code %关键词%}，关键词中的 %、_ 和 \ 需用 \ 转义
+     */
+    @Query(LIST_COLUMNS + " WHERE " + SEARCH_CONDITION + SHELF_ORDER)
+    PagingSource<Integer, NovelListRow> pageSearchNovels(String pattern);
+
+    @Query("SELECT id FROM novels")
+    List<Long> getAllNovelIds();
+
+    @Query("SELECT id FROM novels WHERE category = :category")
+    List<Long> getNovelIdsByCategory(String category);
+
+    @Query("SELECT id FROM novels WHERE " + SEARCH_CONDITION)
+    List<Long> searchNovelIds(String pattern);
 
     @Query("SELECT * FROM novels WHERE id = :novelId")
     NovelEntity getNovelById(long novelId);
 
+    /**
+     * 插入小说，写入前计算拼音检索键
+     */
+    default long insertNovel(NovelEntity novel) {
+        novel.refreshSearchKeys();
+        return insertNovelRow(novel);
+    }
+
+    /**
+     * 更新小说，标题或作者可能已修改，写入前重新计算拼音检索键
+     */
+    default void updateNovel(NovelEntity novel) {
+        novel.refreshSearchKeys();
+        updateNovelRow(novel);
+    }
+
     @Insert(onConflict = OnConflictStrategy.REPLACE)
-    long insertNovel(NovelEntity novel);
+    long insertNovelRow(NovelEntity novel);
 
     @Update
-    void updateNovel(NovelEntity novel);
+    void updateNovelRow(NovelEntity novel);
 
     @Delete
     void deleteNovel(NovelEntity novel);
@@ -36,24 +96,38 @@ public interface NovelDao {
     @Query("DELETE FROM novels WHERE id = :novelId")
     void deleteNovelById(long novelId);
 
-    @Query("SELECT * FROM novels WHERE title LIKE '%' || :keyword || '%' OR author LIKE '%' || :keyword || '%'")
-    LiveData<List<NovelEntity>> searchNovels(String keyword);
+    @Query("DELETE FROM novels WHERE id IN (:novelIds)")
+    int deleteNovelsIn(List<Long> novelIds);
 
-    @Query("SELECT * FROM novels WHERE category = :category AND category IS NOT NULL AND category != '' ORDER BY isPinned DESC, lastReadTime DESC")
-    LiveData<List<NovelEntity>> getNovelsByCategory(String category);
+    /**
+     * 批量删除小说，在一个事务中按 {@link #MAX_BIND_IDS} 分组执行，观察者只收到一次失效通知
+     * 章节随外键级联删除；章节较多时应先用 {@link ChapterDao#deleteChapterBatch} 分批删除
+     * @return 删除的小说数
+     */
+    @Transaction
+    default int deleteNovelsByIds(List<Long> novelIds) {
+        int deleted = 0;
+        for (int start = 0; start < novelIds.size(); start += MAX_BIND_IDS) {
+            deleted += deleteNovelsIn(novelIds.subList(start, Math.min(novelIds.size(), start + MAX_BIND_IDS)));
+        }
+        return deleted;
+    }
 
     @Query("SELECT DISTINCT category FROM novels")
     LiveData<List<String>> getAllCategories();
 
-    @Query("UPDATE novels SET currentChapterId = :chapterId, currentPosition = :position, lastReadTime = :lastReadTime WHERE id = :novelId")
-    void updateReadingProgress(long novelId, long chapterId, int position, long lastReadTime);
-    
     /**
-     * 更新阅读进度（包含章节标题）
+     * 换章时更新书架显示的当前章节和最后阅读时间
+     * 同一章内翻页且距上次更新不足 touchInterval 时不改写该行（不会触发书架列表失效）
+     * @param chapterTitle 章节标题，为null时从章节表读取
+     * @return 实际更新的行数
      */
-    @Query("UPDATE novels SET currentChapterId = :chapterId, currentPosition = :position, " +
-           "currentChapterTitle = :chapterTitle, lastReadTime = :lastReadTime WHERE id = :novelId")
-    void updateReadingProgressWithTitle(long novelId, long chapterId, int position, String chapterTitle, long lastReadTime);
+    @Query("UPDATE novels SET currentChapterId = :chapterId, " +
+           "currentChapterTitle = COALESCE(:chapterTitle, (SELECT title FROM chapters WHERE id = :chapterId)), " +
+           "lastReadTime = :lastReadTime WHERE id = :novelId " +
+           "AND (currentChapterId IS NULL OR currentChapterId != :chapterId " +
+           "OR lastReadTime < :lastReadTime - :touchInterval)")
+    int updateShelfProgress(long novelId, long chapterId, String chapterTitle, long lastReadTime, long touchInterval);
     
     /**
      * 更新最新章节标题
@@ -70,6 +144,12 @@ public interface NovelDao {
     @Query("UPDATE novels SET totalChapters = :totalChapters WHERE id = :novelId")
     void updateTotalChapters(long novelId, int totalChapters);
 
+    /**
+     * 更新封面路径（封面缩略图生成后调用）
+     */
+    @Query("UPDATE novels SET coverPath = :coverPath WHERE id = :novelId")
+    void updateCoverPath(long novelId, String coverPath);
+
     @Query("UPDATE novels SET isPinned = :isPinned WHERE id = :novelId")
     void updatePinned(long novelId, boolean isPinned);
     
@@ -78,11 +158,49 @@ public interface NovelDao {
     
     @Query("UPDATE novels SET category = :category WHERE id = :novelId")
     void updateCategory(long novelId, String category);
+
+    @Query("UPDATE novels SET category = :category WHERE id IN (:novelIds)")
+    int updateCategoryIn(List<Long> novelIds, String category);
+
+    /**
+     * 批量修改分类，在一个事务中按 {@link #MAX_BIND_IDS} 分组执行
+     * @return 修改的小说数
+     */
+    @Transaction
+    default int updateCategoryByIds(List<Long> novelIds, String category) {
+        int updated = 0;
+        for (int start = 0; start < novelIds.size(); start += MAX_BIND_IDS) {
+            updated += updateCategoryIn(novelIds.subList(start, Math.min(novelIds.size(), start + MAX_BIND_IDS)),
+                    category);
+        }
+        return updated;
+    }
     
     /**
      * 根据源URL查询小说（用于断点续传检测）
      */
     @Query("SELECT * FROM novels WHERE sourceUrl = :sourceUrl LIMIT 1")
     NovelEntity getNovelBySourceUrl(String sourceUrl);
+    
+    /**
+     * 根据内容指纹查询小说（用于导入去重）
+     */
+    @Query("SELECT * FROM novels WHERE contentHash = :contentHash LIMIT 1")
+    NovelEntity getNovelByContentHash(String contentHash);
 
+    /**
+     * 书架列表行
+     */
+    class NovelListRow {
+        public long id;
+        public String title;
+        public String author;
+        public String coverPath;
+        public String category;
+        public boolean isPinned;
+        public int totalChapters;
+        public Long currentChapterId;
+        public String currentChapterTitle;
+        public String latestChapterTitle;
+    }
 }
@@ -0,0 +1,21 @@
+package com.example.read.data.dao;
+
+import androidx.room.Dao;
+import androidx.room.Insert;
+import androidx.room.OnConflictStrategy;
+import androidx.room.Query;
+
+import com.example.read.data.entity.ReadingProgressEntity;
+
+/**
+ * 阅读进度数据访问对象
+ */
+@Dao
+public interface ReadingProgressDao {
+
+    @Query("SELECT * FROM reading_progress WHERE novelId = :novelId")
+    ReadingProgressEntity getProgress(long novelId);
+
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    void saveProgress(ReadingProgressEntity progress);
+}
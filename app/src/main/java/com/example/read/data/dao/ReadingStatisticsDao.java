@@ -5,38 +5,102 @@ import androidx.room.Dao;
 import androidx.room.Insert;
 import androidx.room.OnConflictStrategy;
 import androidx.room.Query;
+import androidx.room.Transaction;
 
+import com.example.read.data.entity.DailyReadingStatsEntity;
+import com.example.read.data.entity.HourlyReadingStatsEntity;
 import com.example.read.data.entity.ReadingStatisticsEntity;
 
 import java.util.List;
 
 /**
  * 阅读统计数据访问对象 - 提供阅读统计表的CRUD操作
+ *
+ * reading_statistics 保存每次阅读会话的原始记录；统计界面只查询
+ * reading_stats_daily 和 reading_stats_hourly 两张汇总表，汇总表在记录会话时同步累加。
  */
 @Dao
 public interface ReadingStatisticsDao {
 
-    @Query("SELECT * FROM reading_statistics WHERE date BETWEEN :startDate AND :endDate ORDER BY date DESC")
-    LiveData<List<ReadingStatisticsEntity>> getStatisticsByDateRange(long startDate, long endDate);
-
-    @Query("SELECT * FROM reading_statistics WHERE date BETWEEN :startDate AND :endDate ORDER BY date DESC")
-    List<ReadingStatisticsEntity> getStatisticsByDateRangeSync(long startDate, long endDate);
-
     @Insert(onConflict = OnConflictStrategy.REPLACE)
     long insertStatistics(ReadingStatisticsEntity statistics);
 
-    @Query("SELECT SUM(readingDuration) FROM reading_statistics WHERE date BETWEEN :startDate AND :endDate")
+    /**
+     * 记录一次阅读会话：写入原始记录，并累加到当天的小说汇总和时段汇总
+     */
+    @Transaction
+    default void recordSession(ReadingStatisticsEntity session) {
+        insertStatistics(session);
+        // 先确保汇总行存在，再原地累加（minSdk 的 SQLite 不支持 UPSERT）
+        insertDailyRollup(new DailyReadingStatsEntity(session.getDate(), session.getNovelId(), 0, 0, 0));
+        addToDailyRollup(session.getDate(), session.getNovelId(),
+                session.getReadingDuration(), session.getReadingCharCount(), 1);
+        insertHourlyRollup(new HourlyReadingStatsEntity(session.getDate(), session.getHourOfDay(), 0, 0));
+        addToHourlyRollup(session.getDate(), session.getHourOfDay(),
+                session.getReadingDuration(), session.getReadingCharCount());
+    }
+
+    /**
+     * 写入一次心跳结算的会话片段
+     * 原始记录按ID覆盖为片段的累计值，首次写入时插入并回填ID；汇总表只累加本次增量
+     */
+    @Transaction
+    default void recordSessionSlices(List<SessionSlice> slices) {
+        for (SessionSlice slice : slices) {
+            ReadingStatisticsEntity session = slice.session;
+            session.setId(insertStatistics(session));
+            insertDailyRollup(new DailyReadingStatsEntity(session.getDate(), session.getNovelId(), 0, 0, 0));
+            addToDailyRollup(session.getDate(), session.getNovelId(),
+                    slice.duration, slice.charCount, slice.newSession ? 1 : 0);
+            insertHourlyRollup(new HourlyReadingStatsEntity(session.getDate(), session.getHourOfDay(), 0, 0));
+            addToHourlyRollup(session.getDate(), session.getHourOfDay(), slice.duration, slice.charCount);
+        }
+    }
+
+    @Insert(onConflict = OnConflictStrategy.IGNORE)
+    void insertDailyRollup(DailyReadingStatsEntity rollup);
+
+    @Query("UPDATE reading_stats_daily SET duration = duration + :duration, " +
+           "charCount = charCount + :charCount, sessionCount = sessionCount + :sessions " +
+           "WHERE date = :date AND novelId = :novelId")
+    void addToDailyRollup(long date, long novelId, long duration, long charCount, int sessions);
+
+    @Insert(onConflict = OnConflictStrategy.IGNORE)
+    void insertHourlyRollup(HourlyReadingStatsEntity rollup);
+
+    @Query("UPDATE reading_stats_hourly SET duration = duration + :duration, charCount = charCount + :charCount " +
+           "WHERE date = :date AND hourOfDay = :hourOfDay")
+    void addToHourlyRollup(long date, int hourOfDay, long duration, long charCount);
+
+    /**
+     * 按天汇总的阅读时长和字数，按日期升序，可直接作为图表序列
+     */
+    @Query("SELECT date, SUM(duration) AS totalDuration, SUM(charCount) AS totalCharCount " +
+           "FROM reading_stats_daily WHERE date BETWEEN :startDate AND :endDate " +
+           "GROUP BY date ORDER BY date")
+    LiveData<List<DailyReadingTotal>> getDailyTotals(long startDate, long endDate);
+
+    @Query("SELECT date, SUM(duration) AS totalDuration, SUM(charCount) AS totalCharCount " +
+           "FROM reading_stats_daily WHERE date BETWEEN :startDate AND :endDate " +
+           "GROUP BY date ORDER BY date")
+    List<DailyReadingTotal> getDailyTotalsSync(long startDate, long endDate);
+
+    @Query("SELECT SUM(duration) FROM reading_stats_daily WHERE date BETWEEN :startDate AND :endDate")
     Long getTotalReadingDuration(long startDate, long endDate);
 
-    @Query("SELECT SUM(readingCharCount) FROM reading_statistics WHERE date BETWEEN :startDate AND :endDate")
+    @Query("SELECT SUM(charCount) FROM reading_stats_daily WHERE date BETWEEN :startDate AND :endDate")
     Long getTotalReadingCharCount(long startDate, long endDate);
 
-    @Query("SELECT novelId, SUM(readingDuration) as totalDuration FROM reading_statistics " +
-           "WHERE date BETWEEN :startDate AND :endDate " +
-           "GROUP BY novelId ORDER BY totalDuration DESC LIMIT :limit")
+    /**
+     * 阅读时长排行，书名和作者在同一查询中关联取回（已删除的小说书名为null）
+     */
+    @Query("SELECT d.novelId, SUM(d.duration) AS totalDuration, n.title, n.author " +
+           "FROM reading_stats_daily d LEFT JOIN novels n ON n.id = d.novelId " +
+           "WHERE d.date BETWEEN :startDate AND :endDate " +
+           "GROUP BY d.novelId ORDER BY totalDuration DESC LIMIT :limit")
     List<NovelReadingDuration> getMostReadNovels(long startDate, long endDate, int limit);
 
-    @Query("SELECT hourOfDay, SUM(readingDuration) as totalDuration FROM reading_statistics " +
+    @Query("SELECT hourOfDay, SUM(duration) as totalDuration FROM reading_stats_hourly " +
            "WHERE date BETWEEN :startDate AND :endDate " +
            "GROUP BY hourOfDay ORDER BY hourOfDay")
     List<HourlyReadingDuration> getHourlyDistribution(long startDate, long endDate);
@@ -44,12 +108,44 @@ public interface ReadingStatisticsDao {
     @Query("DELETE FROM reading_statistics WHERE date < :beforeDate")
     void deleteOldStatistics(long beforeDate);
 
+    /**
+     * 会话在一个时段内的片段
+     */
+    class SessionSlice {
+        /** 片段累计值，尚未写入时ID为0 */
+        public final ReadingStatisticsEntity session;
+        /** 本次增加的时长（毫秒） */
+        public final long duration;
+        /** 本次增加的字数 */
+        public final int charCount;
+        /** 是否为该会话当天的第一个片段，用于累计当天的会话数 */
+        public final boolean newSession;
+
+        public SessionSlice(ReadingStatisticsEntity session, long duration, int charCount, boolean newSession) {
+            this.session = session;
+            this.duration = duration;
+            this.charCount = charCount;
+            this.newSession = newSession;
+        }
+    }
+
+    /**
+     * 每日阅读汇总结果
+     */
+    class DailyReadingTotal {
+        public long date;
+        public long totalDuration;
+        public long totalCharCount;
+    }
+
     /**
      * 小说阅读时长统计结果
      */
     class NovelReadingDuration {
         public long novelId;
         public long totalDuration;
+        public String title;
+        public String author;
     }
 
     /**
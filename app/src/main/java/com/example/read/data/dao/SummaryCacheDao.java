@@ -0,0 +1,28 @@
+package com.example.read.data.dao;
+
+import androidx.room.Dao;
+import androidx.room.Insert;
+import androidx.room.OnConflictStrategy;
+import androidx.room.Query;
+
+import com.example.read.data.entity.SummaryCacheEntity;
+
+import java.util.List;
+
+/**
+ * 摘要缓存数据访问对象
+ */
+@Dao
+public interface SummaryCacheDao {
+
+    /**
+     * 按内容指纹批量查询摘要
+     * 调用方需保证指纹数量不超过SQLite的参数上限
+     */
+    @Query("SELECT * FROM summary_cache WHERE promptVersion = :promptVersion AND model = :model " +
+           "AND contentHash IN (:contentHashes)")
+    List<SummaryCacheEntity> findSummaries(List<String> contentHashes, int promptVersion, String model);
+
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    void insertSummaries(List<SummaryCacheEntity> summaries);
+}
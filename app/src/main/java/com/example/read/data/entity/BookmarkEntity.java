@@ -29,7 +29,7 @@ public class BookmarkEntity {
     @NonNull
     private String chapterTitle;
 
-    private int position;
+    private int position; // 章节内字符偏移
     private String note;
     private long createTime;
 
@@ -0,0 +1,41 @@
+package com.example.read.data.entity;
+
+import androidx.annotation.NonNull;
+import androidx.room.Entity;
+import androidx.room.PrimaryKey;
+
+import com.example.read.utils.ContentHasher;
+
+/**
+ * 章节正文实体类 - 按内容指纹存储章节正文
+ * 内容相同的章节（如同一本书的多个版本）共享同一条正文记录
+ */
+@Entity(tableName = "chapter_contents")
+public class ChapterContentEntity {
+    @PrimaryKey
+    @NonNull
+    private String contentHash;
+
+    @NonNull
+    private String content;
+
+    public ChapterContentEntity(@NonNull String contentHash, @NonNull String content) {
+        this.contentHash = contentHash;
+        this.content = content;
+    }
+
+    /**
+     * 根据正文创建记录，指纹为正文UTF-8编码的SHA-256
+     */
+    public static ChapterContentEntity fromContent(@NonNull String content) {
+        return new ChapterContentEntity(ContentHasher.hashText(content), content);
+    }
+
+    // Getters
+    @NonNull public String getContentHash() { return contentHash; }
+    @NonNull public String getContent() { return content; }
+
+    // Setters
+    public void setContentHash(@NonNull String contentHash) { this.contentHash = contentHash; }
+    public void setContent(@NonNull String content) { this.content = content; }
+}
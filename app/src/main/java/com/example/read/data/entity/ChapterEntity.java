@@ -8,6 +8,9 @@ import androidx.room.PrimaryKey;
 
 /**
  * 章节实体类 - 存储小说章节信息
+ *
+ * 按小说取章节的查询都带 novelId 条件并按 chapterIndex 排序或定位，
+ * 使用 (novelId, chapterIndex) 复合索引，同时满足外键 novelId 的索引要求。
  */
 @Entity(
     tableName = "chapters",
@@ -17,7 +20,7 @@ import androidx.room.PrimaryKey;
         childColumns = "novelId",
         onDelete = ForeignKey.CASCADE
     ),
-    indices = {@Index("novelId"), @Index("chapterIndex")}
+    indices = {@Index({"novelId", "chapterIndex"}), @Index("contentHash")}
 )
 public class ChapterEntity {
     @PrimaryKey(autoGenerate = true)
@@ -28,6 +31,7 @@ public class ChapterEntity {
     @NonNull
     private String title;
 
+    // 正文存储在 chapter_contents 表时此列为空字符串，读取时通过 contentHash 关联取回
     @NonNull
     private String content;
 
@@ -36,6 +40,9 @@ public class ChapterEntity {
     private String sourceUrl;
     private String summary;
     private long createTime;
+    
+    // 正文内容指纹，指向 chapter_contents 表（旧数据为null，正文仍保存在 content 列）
+    private String contentHash;
 
     public ChapterEntity(long novelId, @NonNull String title, @NonNull String content, int chapterIndex) {
         this.novelId = novelId;
@@ -46,6 +53,21 @@ public class ChapterEntity {
         this.createTime = System.currentTimeMillis();
     }
 
+    /**
+     * 复制出正文移到 chapter_contents 表后的章节行：正文列置空，只保留指纹
+     * 不修改当前对象，调用方传入的章节写库后仍持有完整正文
+     */
+    public ChapterEntity withExternalContent(@NonNull String contentHash) {
+        ChapterEntity row = new ChapterEntity(novelId, title, "", chapterIndex);
+        row.id = id;
+        row.wordCount = wordCount;
+        row.sourceUrl = sourceUrl;
+        row.summary = summary;
+        row.createTime = createTime;
+        row.contentHash = contentHash;
+        return row;
+    }
+
     // Getters
     public long getId() { return id; }
     public long getNovelId() { return novelId; }
@@ -56,6 +78,7 @@ public class ChapterEntity {
     public String getSourceUrl() { return sourceUrl; }
     public String getSummary() { return summary; }
     public long getCreateTime() { return createTime; }
+    public String getContentHash() { return contentHash; }
 
     // Setters
     public void setId(long id) { this.id = id; }
@@ -67,4 +90,5 @@ public class ChapterEntity {
     public void setSourceUrl(String sourceUrl) { this.sourceUrl = sourceUrl; }
     public void setSummary(String summary) { this.summary = summary; }
     public void setCreateTime(long createTime) { this.createTime = createTime; }
+    public void setContentHash(String contentHash) { this.contentHash = contentHash; }
 }
@@ -0,0 +1,44 @@
+package com.example.read.data.entity;
+
+import androidx.room.Entity;
+
+/**
+ * 每日阅读汇总实体类 - 每天每本小说一行，记录阅读会话时累加
+ *
+ * 统计界面的每日时长、总计和小说排行都从这张表分组查询，
+ * 扫描的行数只与统计周期内读过的书数有关，与会话记录的多少无关。
+ */
+@Entity(
+    tableName = "reading_stats_daily",
+    primaryKeys = {"date", "novelId"}
+)
+public class DailyReadingStatsEntity {
+
+    private long date; // 日期时间戳（精确到天）
+    private long novelId;
+    private long duration; // 阅读时长（毫秒）
+    private long charCount; // 阅读字数
+    private int sessionCount; // 阅读会话数
+
+    public DailyReadingStatsEntity(long date, long novelId, long duration, long charCount, int sessionCount) {
+        this.date = date;
+        this.novelId = novelId;
+        this.duration = duration;
+        this.charCount = charCount;
+        this.sessionCount = sessionCount;
+    }
+
+    // Getters
+    public long getDate() { return date; }
+    public long getNovelId() { return novelId; }
+    public long getDuration() { return duration; }
+    public long getCharCount() { return charCount; }
+    public int getSessionCount() { return sessionCount; }
+
+    // Setters
+    public void setDate(long date) { this.date = date; }
+    public void setNovelId(long novelId) { this.novelId = novelId; }
+    public void setDuration(long duration) { this.duration = duration; }
+    public void setCharCount(long charCount) { this.charCount = charCount; }
+    public void setSessionCount(int sessionCount) { this.sessionCount = sessionCount; }
+}
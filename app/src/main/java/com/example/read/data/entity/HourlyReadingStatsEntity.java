@@ -0,0 +1,39 @@
+package com.example.read.data.entity;
+
+import androidx.room.Entity;
+
+/**
+ * 每小时阅读汇总实体类 - 每天每个时段一行，记录阅读会话时累加
+ *
+ * 时段分布图按时段对统计周期内的行分组求和，最多扫描 天数×24 行。
+ */
+@Entity(
+    tableName = "reading_stats_hourly",
+    primaryKeys = {"date", "hourOfDay"}
+)
+public class HourlyReadingStatsEntity {
+
+    private long date; // 日期时间戳（精确到天）
+    private int hourOfDay; // 阅读时段（0-23）
+    private long duration; // 阅读时长（毫秒）
+    private long charCount; // 阅读字数
+
+    public HourlyReadingStatsEntity(long date, int hourOfDay, long duration, long charCount) {
+        this.date = date;
+        this.hourOfDay = hourOfDay;
+        this.duration = duration;
+        this.charCount = charCount;
+    }
+
+    // Getters
+    public long getDate() { return date; }
+    public int getHourOfDay() { return hourOfDay; }
+    public long getDuration() { return duration; }
+    public long getCharCount() { return charCount; }
+
+    // Setters
+    public void setDate(long date) { this.date = date; }
+    public void setHourOfDay(int hourOfDay) { this.hourOfDay = hourOfDay; }
+    public void setDuration(long duration) { this.duration = duration; }
+    public void setCharCount(long charCount) { this.charCount = charCount; }
+}
@@ -0,0 +1,40 @@
+package com.example.read.data.entity;
+
+import androidx.annotation.NonNull;
+import androidx.room.Entity;
+import androidx.room.PrimaryKey;
+
+/**
+ * 导入断点实体类 - 记录本地文件分段导入时已提交的进度
+ * 导入完成后删除；被取消或中断的导入再次导入同一文件时从断点继续
+ */
+@Entity(tableName = "import_checkpoints")
+public class ImportCheckpointEntity {
+
+    @PrimaryKey
+    @NonNull
+    private String contentHash;     // 文件内容指纹
+
+    private long novelId;           // 已创建的小说ID
+    private int chaptersCommitted;  // 已提交的章节数（按章节顺序）
+    private long updateTime;        // 最后一次提交时间
+
+    public ImportCheckpointEntity(@NonNull String contentHash, long novelId, int chaptersCommitted) {
+        this.contentHash = contentHash;
+        this.novelId = novelId;
+        this.chaptersCommitted = chaptersCommitted;
+        this.updateTime = System.currentTimeMillis();
+    }
+
+    // Getters
+    @NonNull public String getContentHash() { return contentHash; }
+    public long getNovelId() { return novelId; }
+    public int getChaptersCommitted() { return chaptersCommitted; }
+    public long getUpdateTime() { return updateTime; }
+
+    // Setters
+    public void setContentHash(@NonNull String contentHash) { this.contentHash = contentHash; }
+    public void setNovelId(long novelId) { this.novelId = novelId; }
+    public void setChaptersCommitted(int chaptersCommitted) { this.chaptersCommitted = chaptersCommitted; }
+    public void setUpdateTime(long updateTime) { this.updateTime = updateTime; }
+}
@@ -1,13 +1,21 @@
 package com.example.read.data.entity;
 
 import androidx.annotation.NonNull;
+import androidx.room.ColumnInfo;
 import androidx.room.Entity;
+import androidx.room.Index;
 import androidx.room.PrimaryKey;
 
+import com.example.read.utils.PinyinHelper;
+
 /**
  * 小说实体类 - 存储小说的基本信息
  */
-@Entity(tableName = "novels")
+@Entity(
+    tableName = "novels",
+    indices = {@Index("contentHash"), @Index("category"), @Index({"isPinned", "lastReadTime"}),
+               @Index("sourceUrl")}
+)
 public class NovelEntity {
     @PrimaryKey(autoGenerate = true)
     private long id;
@@ -27,7 +35,7 @@ public class NovelEntity {
     private String sourceUrl;
     private int totalChapters;
     private Long currentChapterId;
-    private int currentPosition;
+    private int currentPosition; // 章节内字符偏移（版本10起阅读位置存于 reading_progress 表，此列不再更新）
     private long lastReadTime;
     private long createTime;
 
@@ -39,6 +47,20 @@ public class NovelEntity {
     // 缓存的章节标题信息，避免复杂JOIN查询
     private String currentChapterTitle;  // 当前阅读章节标题
     private String latestChapterTitle;   // 最新章节标题（最后一章）
+    
+    // 源文件内容指纹（SHA-256），用于导入去重
+    private String contentHash;
+    
+    // 拼音检索键（全拼、首字母），写库前由 refreshSearchKeys 计算，搜索时直接匹配
+    // 搜索按子串匹配，逐行比较书架上的每本书，这四列不建索引
+    @ColumnInfo(collate = ColumnInfo.NOCASE)
+    private String titlePinyin;
+    @ColumnInfo(collate = ColumnInfo.NOCASE)
+    private String titleInitials;
+    @ColumnInfo(collate = ColumnInfo.NOCASE)
+    private String authorPinyin;
+    @ColumnInfo(collate = ColumnInfo.NOCASE)
+    private String authorInitials;
 
     public NovelEntity(@NonNull String title, @NonNull String author) {
         this.title = title;
@@ -68,6 +90,11 @@ public class NovelEntity {
     public boolean isPinned() { return isPinned; }
     public String getCurrentChapterTitle() { return currentChapterTitle; }
     public String getLatestChapterTitle() { return latestChapterTitle; }
+    public String getContentHash() { return contentHash; }
+    public String getTitlePinyin() { return titlePinyin; }
+    public String getTitleInitials() { return titleInitials; }
+    public String getAuthorPinyin() { return authorPinyin; }
+    public String getAuthorInitials() { return authorInitials; }
 
     // Setters
     public void setId(long id) { this.id = id; }
@@ -86,4 +113,20 @@ public class NovelEntity {
     public void setPinned(boolean pinned) { isPinned = pinned; }
     public void setCurrentChapterTitle(String currentChapterTitle) { this.currentChapterTitle = currentChapterTitle; }
     public void setLatestChapterTitle(String latestChapterTitle) { this.latestChapterTitle = latestChapterTitle; }
+    public void setContentHash(String contentHash) { this.contentHash = contentHash; }
+    public void setTitlePinyin(String titlePinyin) { this.titlePinyin = titlePinyin; }
+    public void setTitleInitials(String titleInitials) { this.titleInitials = titleInitials; }
+    public void setAuthorPinyin(String authorPinyin) { this.authorPinyin = authorPinyin; }
+    public void setAuthorInitials(String authorInitials) { this.authorInitials = authorInitials; }
+
+    /**
+     * 根据标题和作者重新计算拼音检索键
+     * 由 NovelDao 在插入和更新前调用
+     */
+    public void refreshSearchKeys() {
+        this.titlePinyin = PinyinHelper.getFullPinyin(title);
+        this.titleInitials = PinyinHelper.getPinyinInitials(title);
+        this.authorPinyin = PinyinHelper.getFullPinyin(author);
+        this.authorInitials = PinyinHelper.getPinyinInitials(author);
+    }
 }
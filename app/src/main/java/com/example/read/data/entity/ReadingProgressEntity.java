@@ -0,0 +1,49 @@
+package com.example.read.data.entity;
+
+import androidx.room.Entity;
+import androidx.room.ForeignKey;
+import androidx.room.PrimaryKey;
+
+/**
+ * 阅读进度实体类 - 每本小说一行，记录最近阅读的章节和章节内位置
+ *
+ * 翻页时只写这张表：书架观察的是 novels 表，章节内位置单独存放后，
+ * 翻页不会让书架列表失效重新查询。novels 表中的当前章节和最后阅读时间只在换章时更新。
+ */
+@Entity(
+    tableName = "reading_progress",
+    foreignKeys = @ForeignKey(
+        entity = NovelEntity.class,
+        parentColumns = "id",
+        childColumns = "novelId",
+        onDelete = ForeignKey.CASCADE
+    )
+)
+public class ReadingProgressEntity {
+
+    @PrimaryKey
+    private long novelId;
+
+    private long chapterId;
+    private int position;       // 章节内字符偏移
+    private long updateTime;
+
+    public ReadingProgressEntity(long novelId, long chapterId, int position, long updateTime) {
+        this.novelId = novelId;
+        this.chapterId = chapterId;
+        this.position = position;
+        this.updateTime = updateTime;
+    }
+
+    // Getters
+    public long getNovelId() { return novelId; }
+    public long getChapterId() { return chapterId; }
+    public int getPosition() { return position; }
+    public long getUpdateTime() { return updateTime; }
+
+    // Setters
+    public void setNovelId(long novelId) { this.novelId = novelId; }
+    public void setChapterId(long chapterId) { this.chapterId = chapterId; }
+    public void setPosition(int position) { this.position = position; }
+    public void setUpdateTime(long updateTime) { this.updateTime = updateTime; }
+}
@@ -0,0 +1,48 @@
+package com.example.read.data.entity;
+
+import androidx.annotation.NonNull;
+import androidx.room.Entity;
+
+/**
+ * 摘要缓存实体类 - 按章节内容指纹保存AI摘要
+ * 与章节记录无关，小说删除后重新下载或导入，内容相同的章节仍可直接使用；
+ * 提示词版本或模型变化后旧摘要自然失效
+ */
+@Entity(tableName = "summary_cache", primaryKeys = {"contentHash", "promptVersion", "model"})
+public class SummaryCacheEntity {
+
+    @NonNull
+    private String contentHash;     // 章节内容指纹
+
+    private int promptVersion;      // 摘要提示词版本
+
+    @NonNull
+    private String model;           // 生成摘要的模型
+
+    @NonNull
+    private String summary;
+    private long createTime;
+
+    public SummaryCacheEntity(@NonNull String contentHash, int promptVersion, @NonNull String model,
+                              @NonNull String summary) {
+        this.contentHash = contentHash;
+        this.promptVersion = promptVersion;
+        this.model = model;
+        this.summary = summary;
+        this.createTime = System.currentTimeMillis();
+    }
+
+    // Getters
+    @NonNull public String getContentHash() { return contentHash; }
+    public int getPromptVersion() { return promptVersion; }
+    @NonNull public String getModel() { return model; }
+    @NonNull public String getSummary() { return summary; }
+    public long getCreateTime() { return createTime; }
+
+    // Setters
+    public void setContentHash(@NonNull String contentHash) { this.contentHash = contentHash; }
+    public void setPromptVersion(int promptVersion) { this.promptVersion = promptVersion; }
+    public void setModel(@NonNull String model) { this.model = model; }
+    public void setSummary(@NonNull String summary) { this.summary = summary; }
+    public void setCreateTime(long createTime) { this.createTime = createTime; }
+}
@@ -0,0 +1,260 @@
+package com.example.read.data.export;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.TimeZone;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * EPUB导出写入器
+ * 通过ZipOutputStream流式生成EPUB 3（同时包含NCX以兼容EPUB 2阅读器）：
+ * 每个章节写成一个XHTML条目后立即释放，OPF、NCX和nav目录在最后根据章节标题生成，
+ * 因此内存中只保留章节标题列表
+ */
+public class EpubNovelWriter implements NovelExportWriter {
+
+    private static final String MIMETYPE = "application/epub+zip";
+    private static final String CONTENT_DIR = "OEBPS/";
+
+    private final ZipOutputStream zip;
+    private final BufferedWriter writer;
+    private final String identifier;
+    private final List<String> chapterTitles = new ArrayList<>();
+
+    private String title;
+    private String author;
+    private String description;
+
+    /**
+     * @param outputStream 输出流（不会被关闭）
+     * @param identifier 书籍唯一标识，写入OPF的dc:identifier
+     */
+    public EpubNovelWriter(OutputStream outputStream, String identifier) {
+        this.zip = new ZipOutputStream(outputStream);
+        this.writer = new BufferedWriter(new OutputStreamWriter(zip, StandardCharsets.UTF_8), 64 * 1024);
+        this.identifier = identifier;
+    }
+
+    @Override
+    public void begin(String title, String author, String description) throws IOException {
+        this.title = title;
+        this.author = author;
+        this.description = description;
+
+        // mimetype必须是第一个条目且不压缩
+        byte[] mimetype = MIMETYPE.getBytes(StandardCharsets.US_ASCII);
+        CRC32 crc = new CRC32();
+        crc.update(mimetype);
+        ZipEntry mimetypeEntry = new ZipEntry("mimetype");
+        mimetypeEntry.setMethod(ZipEntry.STORED);
+        mimetypeEntry.setSize(mimetype.length);
+        mimetypeEntry.setCompressedSize(mimetype.length);
+        mimetypeEntry.setCrc(crc.getValue());
+        zip.putNextEntry(mimetypeEntry);
+        zip.write(mimetype);
+        zip.closeEntry();
+
+        beginEntry("META-INF/container.xml");
+        writer.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+                + "<container version=\"1.0\" xmlns=\"urn:oasis:names:tc:opendocument:xmlns:container\">\n"
+                + "  <rootfiles>\n"
+                + "    <rootfile full-path=\"" + CONTENT_DIR + "content.opf\" media-type=\"application/oebps-package+xml\"/>\n"
+                + "  </rootfiles>\n"
+                + "</container>\n");
+        endEntry();
+
+        beginEntry(CONTENT_DIR + "style.css");
+        writer.write("body { margin: 0 5%; line-height: 1.6; }\n"
+                + "h1 { font-size: 1.4em; text-align: center; margin: 1em 0; }\n"
+                + "p { text-indent: 2em; margin: 0.3em 0; }\n");
+        endEntry();
+    }
+
+    @Override
+    public void writeChapter(String chapterTitle, String content) throws IOException {
+        chapterTitles.add(chapterTitle);
+        beginEntry(CONTENT_DIR + chapterFileName(chapterTitles.size()));
+        writer.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+                + "<!DOCTYPE html>\n"
+                + "<html xmlns=\"http://www.w3.org/1999/xhtml\" xml:lang=\"zh-CN\">\n"
+                + "<head>\n<meta charset=\"UTF-8\"/>\n<title>");
+        writeEscaped(chapterTitle, 0, chapterTitle.length());
+        writer.write("</title>\n<link rel=\"stylesheet\" type=\"text/css\" href=\"style.css\"/>\n</head>\n<body>\n<h1>");
+        writeEscaped(chapterTitle, 0, chapterTitle.length());
+        writer.write("</h1>\n");
+        writeParagraphs(content);
+        writer.write("</body>\n</html>\n");
+        endEntry();
+    }
+
+    @Override
+    public void finish() throws IOException {
+        writeOpf();
+        writeNcx();
+        writeNav();
+        writer.flush();
+        zip.finish();
+    }
+
+    private void writeOpf() throws IOException {
+        beginEntry(CONTENT_DIR + "content.opf");
+        writer.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+                + "<package xmlns=\"http://www.idpf.org/2007/opf\" version=\"3.0\" unique-identifier=\"book-id\">\n"
+                + "  <metadata xmlns:dc=\"http://purl.org/dc/elements/1.1/\">\n"
+                + "    <dc:identifier id=\"book-id\">");
+        writeEscaped(identifier);
+        writer.write("</dc:identifier>\n    <dc:title>");
+        writeEscaped(title);
+        writer.write("</dc:title>\n    <dc:language>zh-CN</dc:language>\n");
+        if (author != null && !author.isEmpty()) {
+            writer.write("    <dc:creator>");
+            writeEscaped(author);
+            writer.write("</dc:creator>\n");
+        }
+        if (description != null && !description.isEmpty()) {
+            writer.write("    <dc:description>");
+            writeEscaped(description);
+            writer.write("</dc:description>\n");
+        }
+        writer.write("    <meta property=\"dcterms:modified\">" + formatModifiedTime() + "</meta>\n"
+                + "  </metadata>\n"
+                + "  <manifest>\n"
+                + "    <item id=\"nav\" href=\"nav.xhtml\" media-type=\"application/xhtml+xml\" properties=\"nav\"/>\n"
+                + "    <item id=\"ncx\" href=\"toc.ncx\" media-type=\"application/x-dtbncx+xml\"/>\n"
+                + "    <item id=\"css\" href=\"style.css\" media-type=\"text/css\"/>\n");
+        for (int i = 1; i <= chapterTitles.size(); i++) {
+            writer.write("    <item id=\"" + chapterId(i) + "\" href=\"" + chapterFileName(i)
+                    + "\" media-type=\"application/xhtml+xml\"/>\n");
+        }
+        writer.write("  </manifest>\n  <spine toc=\"ncx\">\n");
+        for (int i = 1; i <= chapterTitles.size(); i++) {
+            writer.write("    <itemref idref=\"" + chapterId(i) + "\"/>\n");
+        }
+        writer.write("  </spine>\n</package>\n");
+        endEntry();
+    }
+
+    private void writeNcx() throws IOException {
+        beginEntry(CONTENT_DIR + "toc.ncx");
+        writer.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+                + "<ncx xmlns=\"http://www.daisy.org/z3986/2005/ncx/\" version=\"2005-1\">\n"
+                + "  <head>\n    <meta name=\"dtb:uid\" content=\"");
+        writeEscaped(identifier);
+        writer.write("\"/>\n  </head>\n  <docTitle><text>");
+        writeEscaped(title);
+        writer.write("</text></docTitle>\n  <navMap>\n");
+        for (int i = 1; i <= chapterTitles.size(); i++) {
+            writer.write("    <navPoint id=\"nav-" + i + "\" playOrder=\"" + i + "\">\n      <navLabel><text>");
+            writeEscaped(chapterTitles.get(i - 1));
+            writer.write("</text></navLabel>\n      <content src=\"" + chapterFileName(i) + "\"/>\n    </navPoint>\n");
+        }
+        writer.write("  </navMap>\n</ncx>\n");
+        endEntry();
+    }
+
+    private void writeNav() throws IOException {
+        beginEntry(CONTENT_DIR + "nav.xhtml");
+        writer.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+                + "<!DOCTYPE html>\n"
+                + "<html xmlns=\"http://www.w3.org/1999/xhtml\" xmlns:epub=\"http://www.idpf.org/2007/ops\">\n"
+                + "<head>\n<meta charset=\"UTF-8\"/>\n<title>目录</title>\n</head>\n<body>\n"
+                + "<nav epub:type=\"toc\" id=\"toc\">\n<h1>目录</h1>\n<ol>\n");
+        for (int i = 1; i <= chapterTitles.size(); i++) {
+            writer.write("<li><a href=\"" + chapterFileName(i) + "\">");
+            writeEscaped(chapterTitles.get(i - 1));
+            writer.write("</a></li>\n");
+        }
+        writer.write("</ol>\n</nav>\n</body>\n</html>\n");
+        endEntry();
+    }
+
+    private void beginEntry(String name) throws IOException {
+        zip.putNextEntry(new ZipEntry(name));
+    }
+
+    private void endEntry() throws IOException {
+        // 先把缓冲的字符写入当前条目再关闭
+        writer.flush();
+        zip.closeEntry();
+    }
+
+    /**
+     * 按行输出段落，空行跳过
+     */
+    private void writeParagraphs(String content) throws IOException {
+        int length = content.length();
+        int lineStart = 0;
+        while (lineStart <= length) {
+            int lineEnd = content.indexOf('\n', lineStart);
+            if (lineEnd < 0) {
+                lineEnd = length;
+            }
+            int start = lineStart;
+            int end = lineEnd;
+            while (start < end && Character.isWhitespace(content.charAt(start))) start++;
+            while (end > start && Character.isWhitespace(content.charAt(end - 1))) end--;
+            if (start < end) {
+                writer.write("<p>");
+                writeEscaped(content, start, end);
+                writer.write("</p>\n");
+            }
+            lineStart = lineEnd + 1;
+        }
+    }
+
+    private void writeEscaped(String text) throws IOException {
+        if (text != null) {
+            writeEscaped(text, 0, text.length());
+        }
+    }
+
+    /**
+     * 转义XML特殊字符并去掉XML不允许的控制字符
+     */
+    private void writeEscaped(String text, int start, int end) throws IOException {
+        int runStart = start;
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            String replacement;
+            switch (c) {
+                case '&': replacement = "&amp;"; break;
+                case '<': replacement = "&lt;"; break;
+                case '>': replacement = "&gt;"; break;
+                case '"': replacement = "&quot;"; break;
+                default:
+                    replacement = c < 0x20 && c != '\t' && c != '\n' && c != '\r' ? "" : null;
+                    break;
+            }
+            if (replacement != null) {
+                writer.write(text, runStart, i - runStart);
+                writer.write(replacement);
+                runStart = i + 1;
+            }
+        }
+        writer.write(text, runStart, end - runStart);
+    }
+
+    private static String chapterId(int number) {
+        return "chapter-" + number;
+    }
+
+    private static String chapterFileName(int number) {
+        return String.format(Locale.ROOT, "chapter_%05d.xhtml", number);
+    }
+
+    private static String formatModifiedTime() {
+        SimpleDateFormat format = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss'Z'", Locale.ROOT);
+        format.setTimeZone(TimeZone.getTimeZone("UTC"));
+        return format.format(new Date());
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.read.data.export;
+
+import java.io.IOException;
+
+/**
+ * 小说导出写入器
+ * 章节按顺序逐个写入，写入器只保留必要的目录信息，不缓存正文
+ */
+public interface NovelExportWriter {
+
+    /**
+     * 写入书籍信息，在第一个章节之前调用一次
+     */
+    void begin(String title, String author, String description) throws IOException;
+
+    /**
+     * 按顺序写入一个章节
+     */
+    void writeChapter(String title, String content) throws IOException;
+
+    /**
+     * 写入目录等收尾内容并刷新输出，不关闭底层输出流
+     */
+    void finish() throws IOException;
+}
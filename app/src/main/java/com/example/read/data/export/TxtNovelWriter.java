@@ -0,0 +1,78 @@
+package com.example.read.data.export;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.Charset;
+
+/**
+ * TXT导出写入器
+ * 输出格式与TXT导入兼容：书名、作者信息后依次为"章节标题 + 正文"
+ */
+public class TxtNovelWriter implements NovelExportWriter {
+
+    private static final String LINE_SEPARATOR = "\r\n";
+
+    private final BufferedWriter writer;
+
+    /**
+     * @param outputStream 输出流（不会被关闭）
+     * @param charset 输出编码，如UTF-8、GBK；编码无法表示的字符会被替换
+     */
+    public TxtNovelWriter(OutputStream outputStream, Charset charset) {
+        this.writer = new BufferedWriter(new OutputStreamWriter(outputStream, charset), 64 * 1024);
+    }
+
+    @Override
+    public void begin(String title, String author, String description) throws IOException {
+        writer.write(title);
+        writer.write(LINE_SEPARATOR);
+        if (author != null && !author.isEmpty()) {
+            writer.write("作者：");
+            writer.write(author);
+            writer.write(LINE_SEPARATOR);
+        }
+        if (description != null && !description.isEmpty()) {
+            writer.write(LINE_SEPARATOR);
+            writeNormalized(description);
+            writer.write(LINE_SEPARATOR);
+        }
+        writer.write(LINE_SEPARATOR);
+    }
+
+    @Override
+    public void writeChapter(String title, String content) throws IOException {
+        writer.write(LINE_SEPARATOR);
+        writer.write(title);
+        writer.write(LINE_SEPARATOR);
+        writer.write(LINE_SEPARATOR);
+        writeNormalized(content);
+        writer.write(LINE_SEPARATOR);
+    }
+
+    @Override
+    public void finish() throws IOException {
+        writer.flush();
+    }
+
+    /**
+     * 写入正文，统一换行符为CRLF（便于Windows记事本打开）
+     */
+    private void writeNormalized(String text) throws IOException {
+        int start = 0;
+        int length = text.length();
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (c == '\n' || c == '\r') {
+                writer.write(text, start, i - start);
+                writer.write(LINE_SEPARATOR);
+                if (c == '\r' && i + 1 < length && text.charAt(i + 1) == '\n') {
+                    i++;
+                }
+                start = i + 1;
+            }
+        }
+        writer.write(text, start, length - start);
+    }
+}
@@ -1,132 +1,149 @@
 package com.example.read.data.repository;
 
+import com.example.read.config.AIConfig;
+import com.example.read.data.AppDatabase;
 import com.example.read.data.dao.ChapterDao;
+import com.example.read.data.dao.SummaryCacheDao;
+import com.example.read.data.entity.SummaryCacheEntity;
 import com.example.read.data.entity.ChapterEntity;
+import com.example.read.data.service.BatchSummarizer;
+import com.example.read.data.service.HierarchicalSummarizer;
+import com.example.read.domain.error.AppError;
+import com.example.read.domain.mapper.ChapterMapper;
+import com.example.read.domain.model.BookSummary;
 import com.example.read.domain.model.Chapter;
 import com.example.read.domain.repository.AIServiceRepository;
 import com.example.read.domain.service.AIService;
+import com.example.read.utils.ContentHasher;
 
-import java.util.LinkedHashMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
 
+import io.reactivex.rxjava3.core.Flowable;
 import io.reactivex.rxjava3.core.Single;
 import io.reactivex.rxjava3.schedulers.Schedulers;
 
 /**
  * AI服务仓库实现类
  * 
- * 实现摘要生成、缓存管理和批量处理功能
+ * 实现摘要生成、缓存管理和批量处理功能。
+ * 摘要除写入章节记录外，还按"内容指纹 + 提示词版本 + 模型"保存在 summary_cache 表中，
+ * 小说重新下载或导入后内容相同的章节可直接复用；分层摘要的分段和合并结果也保存在同一张表中
  * 
  * 验证需求：8.2, 8.4, 8.5
  */
 @Singleton
 public class AIServiceRepositoryImpl implements AIServiceRepository {
 
+    // 单条IN查询的最大参数数，低于SQLite的999上限
+    private static final int QUERY_CHUNK_SIZE = 500;
+    // 生成全书摘要时每次载入正文的章节数，避免一次载入整本书
+    private static final int CONTENT_WINDOW_SIZE = 32;
+
     private final AIService aiService;
     private final ChapterDao chapterDao;
+    private final SummaryCacheDao summaryCacheDao;
+    private final AppDatabase database;
+    private final HierarchicalSummarizer hierarchicalSummarizer;
+    private final BatchSummarizer batchSummarizer;
 
     @Inject
-    public AIServiceRepositoryImpl(AIService aiService, ChapterDao chapterDao) {
+    public AIServiceRepositoryImpl(AIService aiService, ChapterDao chapterDao,
+                                   SummaryCacheDao summaryCacheDao, AppDatabase database) {
         this.aiService = aiService;
         this.chapterDao = chapterDao;
+        this.summaryCacheDao = summaryCacheDao;
+        this.database = database;
+        this.hierarchicalSummarizer = new HierarchicalSummarizer(aiService, new HierarchicalSummarizer.NodeCache() {
+            @Override
+            public Map<String, String> findSummaries(List<String> keys) {
+                return findCachedSummaries(keys);
+            }
+
+            @Override
+            public void saveSummary(String key, String summary) {
+                summaryCacheDao.insertSummaries(Collections.singletonList(newCacheEntity(key, summary)));
+            }
+        }, AIConfig.SUMMARY_CONCURRENCY, AIConfig.SUMMARY_MIN_INTERVAL_MS,
+                AIConfig.SUMMARY_INPUT_TOKENS, AIConfig.SUMMARY_ARC_SIZE);
+        this.batchSummarizer = new BatchSummarizer(hierarchicalSummarizer, new BatchSummarizer.SummaryStore() {
+            @Override
+            public Map<String, String> findSummaries(List<String> contentHashes) {
+                return findCachedSummaries(contentHashes);
+            }
+
+            @Override
+            public void saveSummaries(List<BatchSummarizer.Result> results) {
+                saveBatchResults(results);
+            }
+        }, AIConfig.SUMMARY_CONCURRENCY);
     }
 
     /**
      * 生成单个章节的摘要
      * 验证需求：8.1 - 调用AI服务API并传递章节文本
+     * 
+     * 超长章节分段摘要后合并，而不是只取开头部分
      */
     @Override
     public Single<String> generateSummary(String chapterContent) {
-        return aiService.generateSummary(chapterContent);
+        return hierarchicalSummarizer.summarizeChapter(chapterContent);
     }
 
     /**
      * 批量生成多个章节的摘要
-     * 验证需求：8.5 - 按顺序处理多个章节并显示进度
+     * 验证需求：8.5 - 处理多个章节并显示进度
      * 
-     * 按照输入章节列表的顺序依次处理，确保顺序性
+     * 以有限并发请求AI，结果分批写入数据库
      */
     @Override
-    @SuppressWarnings("unchecked")
     public Single<Map<Long, String>> batchGenerateSummaries(List<Chapter> chapters, ProgressCallback callback) {
-        if (chapters == null || chapters.isEmpty()) {
-            return Single.just(new LinkedHashMap<>());
-        }
-
-        return Single.<Map<Long, String>>create(emitter -> {
-            // 使用LinkedHashMap保持插入顺序
-            Map<Long, String> results = new LinkedHashMap<>();
-            int total = chapters.size();
-            
-            for (int i = 0; i < chapters.size(); i++) {
-                if (emitter.isDisposed()) {
-                    break;
-                }
-                
-                Chapter chapter = chapters.get(i);
-                int currentIndex = i + 1;
-                
-                // 通知进度
-                if (callback != null) {
-                    callback.onProgress(currentIndex, total);
-                }
-                
-                try {
-                    // 首先检查缓存
-                    String cachedSummary = getCachedSummary(chapter.getId());
-                    if (cachedSummary != null && !cachedSummary.isEmpty()) {
-                        results.put(chapter.getId(), cachedSummary);
-                        continue;
-                    }
-                    
-                    // 生成新摘要
-                    String summary = aiService.generateSummary(chapter.getContent())
-                            .blockingGet();
-                    
-                    // 保存到缓存
-                    saveSummaryCache(chapter.getId(), summary);
-                    
-                    results.put(chapter.getId(), summary);
-                } catch (Exception e) {
-                    // 单个章节失败不影响其他章节，记录空摘要
-                    results.put(chapter.getId(), null);
-                }
-            }
-            
-            emitter.onSuccess(results);
-        }).subscribeOn(Schedulers.io());
+        return batchSummarizer.summarize(chapters, callback == null ? null : (result, completed, total) -> {
+            callback.onSummaryReady(result.getChapterId(), result.getSummary());
+            callback.onProgress(completed, total);
+        });
     }
 
     /**
      * 获取缓存的摘要
      * 验证需求：8.4 - 直接显示缓存内容而不重复调用API
      * 
-     * 从数据库中读取章节的summary字段
+     * 先读章节的summary列，没有时再按内容指纹查摘要缓存
      */
     @Override
     public String getCachedSummary(long chapterId) {
-        ChapterEntity entity = chapterDao.getChapterById(chapterId);
-        if (entity != null) {
-            return entity.getSummary();
+        String summary = chapterDao.getChapterSummary(chapterId);
+        if (summary != null && !summary.isEmpty()) {
+            return summary;
         }
-        return null;
+        String contentHash = chapterDao.getChapterContentHash(chapterId);
+        return contentHash != null ? findSummary(contentHash) : null;
     }
 
     /**
      * 保存摘要到缓存
      * 验证需求：8.2 - 显示摘要文字并保存到本地存储
      * 
-     * 将摘要保存到数据库中章节的summary字段
+     * 将摘要保存到数据库中章节的summary字段，章节有内容指纹时同时写入摘要缓存
      */
     @Override
     public void saveSummaryCache(long chapterId, String summary) {
-        if (summary != null && !summary.isEmpty()) {
-            chapterDao.updateChapterSummary(chapterId, summary);
+        if (summary == null || summary.isEmpty()) {
+            return;
         }
+        String contentHash = chapterDao.getChapterContentHash(chapterId);
+        database.runInTransaction(() -> {
+            chapterDao.updateChapterSummary(chapterId, summary);
+            if (contentHash != null) {
+                summaryCacheDao.insertSummaries(Collections.singletonList(newCacheEntity(contentHash, summary)));
+            }
+        });
     }
 
     /**
@@ -135,22 +152,194 @@ public class AIServiceRepositoryImpl implements AIServiceRepository {
      */
     @Override
     public Single<String> getOrGenerateSummary(Chapter chapter) {
-        return Single.fromCallable(() -> {
-            // 首先检查缓存
-            String cachedSummary = getCachedSummary(chapter.getId());
-            if (cachedSummary != null && !cachedSummary.isEmpty()) {
-                return cachedSummary;
-            }
-            return null;
-        }).subscribeOn(Schedulers.io())
+        return Single.fromCallable(() -> findExistingSummary(chapter))
+          .subscribeOn(Schedulers.io())
           .flatMap(cached -> {
-              if (cached != null) {
+              if (!cached.isEmpty()) {
                   // 返回缓存的摘要
                   return Single.just(cached);
               }
               // 生成新摘要并保存
               return generateSummary(chapter.getContent())
-                      .doOnSuccess(summary -> saveSummaryCache(chapter.getId(), summary));
+                      .doOnSuccess(summary -> writeSummaries(Collections.singletonList(
+                              new SummaryRecord(chapter.getId(), ContentHasher.hashText(chapter.getContent()), summary))));
           });
     }
+
+    /**
+     * 以流式输出获取或生成摘要（优先使用缓存）
+     */
+    @Override
+    public Flowable<String> streamSummary(Chapter chapter) {
+        return Single.fromCallable(() -> findExistingSummary(chapter))
+          .subscribeOn(Schedulers.io())
+          .flatMapPublisher(cached -> {
+              if (!cached.isEmpty()) {
+                  return Flowable.just(cached);
+              }
+              StringBuilder summary = new StringBuilder();
+              return hierarchicalSummarizer.streamChapter(chapter.getContent())
+                      .doOnNext(summary::append)
+                      // 完整生成后才保存，取消订阅时不会执行
+                      .doOnComplete(() -> {
+                          if (summary.length() > 0) {
+                              writeSummaries(Collections.singletonList(new SummaryRecord(chapter.getId(),
+                                      ContentHasher.hashText(chapter.getContent()), summary.toString())));
+                          }
+                      });
+          });
+    }
+
+    /**
+     * 生成全书摘要
+     * 
+     * 先为缺少摘要的章节分批生成摘要（每批只载入少量章节的正文），
+     * 再按章节顺序每 {@link AIConfig#SUMMARY_ARC_SIZE} 章合并为分段摘要，最后合并为全书摘要
+     */
+    @Override
+    public Single<BookSummary> generateBookSummary(long novelId, ProgressCallback callback) {
+        return Single.fromCallable(() -> chapterDao.getChapterSummaries(novelId))
+                .subscribeOn(Schedulers.io())
+                .flatMap(rows -> fillMissingSummaries(rows, callback))
+                .flatMap(summaries -> summaries.isEmpty()
+                        ? Single.error(new AppError.AIServiceError("小说没有章节", false))
+                        : hierarchicalSummarizer.summarizeBook(summaries));
+    }
+
+    /**
+     * 为缺少摘要的章节生成摘要
+     * @return 按章节顺序排列的摘要，生成失败的章节为null
+     */
+    private Single<List<String>> fillMissingSummaries(List<ChapterDao.ChapterSummaryRow> rows,
+                                                      ProgressCallback callback) {
+        List<String> summaries = new ArrayList<>(rows.size());
+        Map<Long, Integer> positions = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (int i = 0; i < rows.size(); i++) {
+            ChapterDao.ChapterSummaryRow row = rows.get(i);
+            summaries.add(row.summary != null && !row.summary.isEmpty() ? row.summary : null);
+            if (summaries.get(i) == null) {
+                positions.put(row.id, i);
+                missing.add(row.id);
+            }
+        }
+        if (missing.isEmpty()) {
+            return Single.just(summaries);
+        }
+
+        List<List<Long>> windows = new ArrayList<>();
+        for (int i = 0; i < missing.size(); i += CONTENT_WINDOW_SIZE) {
+            windows.add(missing.subList(i, Math.min(missing.size(), i + CONTENT_WINDOW_SIZE)));
+        }
+        int total = missing.size();
+        int[] completedBefore = {0};
+        return Flowable.fromIterable(windows)
+                .concatMapSingle(window -> Single.fromCallable(() -> loadChapters(window))
+                        .flatMap(chapters -> batchSummarizer.summarize(chapters, (result, completed, count) -> {
+                            if (callback != null) {
+                                callback.onSummaryReady(result.getChapterId(), result.getSummary());
+                                callback.onProgress(completedBefore[0] + completed, total);
+                            }
+                        }))
+                        .doOnSuccess(results -> completedBefore[0] += window.size()))
+                .doOnNext(results -> {
+                    for (Map.Entry<Long, String> entry : results.entrySet()) {
+                        summaries.set(positions.get(entry.getKey()), entry.getValue());
+                    }
+                })
+                .ignoreElements()
+                .toSingleDefault(summaries);
+    }
+
+    private List<Chapter> loadChapters(List<Long> chapterIds) {
+        List<Chapter> chapters = new ArrayList<>(chapterIds.size());
+        for (long chapterId : chapterIds) {
+            ChapterEntity entity = chapterDao.getChapterById(chapterId);
+            if (entity != null) {
+                chapters.add(ChapterMapper.toDomain(entity));
+            }
+        }
+        return chapters;
+    }
+
+    /**
+     * 首先检查章节记录，再按内容指纹检查摘要缓存
+     * @return 已有的摘要，没有时返回空字符串
+     */
+    private String findExistingSummary(Chapter chapter) {
+        String cachedSummary = getCachedSummary(chapter.getId());
+        if ((cachedSummary == null || cachedSummary.isEmpty()) && chapter.getContent() != null) {
+            cachedSummary = findSummary(ContentHasher.hashText(chapter.getContent()));
+        }
+        return cachedSummary != null ? cachedSummary : "";
+    }
+
+    // ==================== 摘要存储 ====================
+
+    /**
+     * 按内容指纹批量查询摘要缓存，分段查询以避免超出SQLite参数上限
+     */
+    private Map<String, String> findCachedSummaries(List<String> contentHashes) {
+        Map<String, String> summaries = new HashMap<>();
+        for (int i = 0; i < contentHashes.size(); i += QUERY_CHUNK_SIZE) {
+            List<String> chunk = contentHashes.subList(i, Math.min(contentHashes.size(), i + QUERY_CHUNK_SIZE));
+            for (SummaryCacheEntity entity : summaryCacheDao.findSummaries(
+                    chunk, AIConfig.SUMMARY_PROMPT_VERSION, AIConfig.MODEL_NAME)) {
+                summaries.put(entity.getContentHash(), entity.getSummary());
+            }
+        }
+        return summaries;
+    }
+
+    /**
+     * 在一个事务中写入一批摘要：更新章节记录，新生成的摘要同时写入摘要缓存
+     */
+    private void saveBatchResults(List<BatchSummarizer.Result> results) {
+        List<SummaryRecord> records = new ArrayList<>(results.size());
+        for (BatchSummarizer.Result result : results) {
+            records.add(new SummaryRecord(result.getChapterId(),
+                    result.isFromCache() ? null : result.getContentHash(), result.getSummary()));
+        }
+        writeSummaries(records);
+    }
+
+    private void writeSummaries(List<SummaryRecord> records) {
+        List<SummaryCacheEntity> entities = new ArrayList<>(records.size());
+        for (SummaryRecord record : records) {
+            if (record.contentHash != null) {
+                entities.add(newCacheEntity(record.contentHash, record.summary));
+            }
+        }
+        database.runInTransaction(() -> {
+            for (SummaryRecord record : records) {
+                chapterDao.updateChapterSummary(record.chapterId, record.summary);
+            }
+            if (!entities.isEmpty()) {
+                summaryCacheDao.insertSummaries(entities);
+            }
+        });
+    }
+
+    private String findSummary(String contentHash) {
+        return findCachedSummaries(Collections.singletonList(contentHash)).get(contentHash);
+    }
+
+    private static SummaryCacheEntity newCacheEntity(String contentHash, String summary) {
+        return new SummaryCacheEntity(contentHash, AIConfig.SUMMARY_PROMPT_VERSION, AIConfig.MODEL_NAME, summary);
+    }
+
+    /**
+     * 待写入的一条摘要，contentHash 为null时只更新章节记录
+     */
+    private static final class SummaryRecord {
+        final long chapterId;
+        final String contentHash;
+        final String summary;
+
+        SummaryRecord(long chapterId, String contentHash, String summary) {
+            this.chapterId = chapterId;
+            this.contentHash = contentHash;
+            this.summary = summary;
+        }
+    }
 }
@@ -8,6 +8,7 @@ import com.example.read.data.entity.BlockedWordEntity;
 import com.example.read.domain.mapper.BlockedWordMapper;
 import com.example.read.domain.model.BlockedWord;
 import com.example.read.domain.repository.BlockedWordRepository;
+import com.example.read.utils.BlockedWordFilter;
 
 import java.util.List;
 
@@ -74,33 +75,6 @@ public class BlockedWordRepositoryImpl implements BlockedWordRepository {
 
     @Override
     public String applyBlockedWords(String text, List<String> blockedWords) {
-        if (text == null || text.isEmpty()) {
-            return text;
-        }
-        
-        if (blockedWords == null || blockedWords.isEmpty()) {
-            return text;
-        }
-        
-        String result = text;
-        for (String word : blockedWords) {
-            if (word != null && !word.isEmpty()) {
-                String replacement = generateStars(word.length());
-                result = result.replace(word, replacement);
-            }
-        }
-        
-        return result;
-    }
-
-    /**
-     * 生成指定长度的星号字符串
-     */
-    private String generateStars(int length) {
-        StringBuilder sb = new StringBuilder();
-        for (int i = 0; i < length; i++) {
-            sb.append("*");
-        }
-        return sb.toString();
+        return BlockedWordFilter.apply(text, blockedWords);
     }
 }
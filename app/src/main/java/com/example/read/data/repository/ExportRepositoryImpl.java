@@ -0,0 +1,170 @@
+package com.example.read.data.repository;
+
+import android.content.Context;
+import android.net.Uri;
+import android.provider.DocumentsContract;
+import android.util.Log;
+
+import com.example.read.data.dao.ChapterDao;
+import com.example.read.data.dao.NovelDao;
+import com.example.read.data.entity.ChapterEntity;
+import com.example.read.data.entity.NovelEntity;
+import com.example.read.data.export.EpubNovelWriter;
+import com.example.read.data.export.NovelExportWriter;
+import com.example.read.data.export.TxtNovelWriter;
+import com.example.read.domain.error.AppError;
+import com.example.read.domain.model.ExportFormat;
+import com.example.read.domain.model.ExportHandle;
+import com.example.read.domain.repository.ExportRepository;
+
+import java.io.BufferedOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import dagger.hilt.android.qualifiers.ApplicationContext;
+import io.reactivex.rxjava3.core.Single;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+
+/**
+ * 导出Repository实现
+ * 按 chapterIndex 键集分页读取章节，逐章交给写入器，每次只有一页正文在内存中
+ */
+@Singleton
+public class ExportRepositoryImpl implements ExportRepository {
+    
+    private static final String TAG = "ExportRepository";
+    
+    // 每次从数据库读取的章节数
+    private static final int PAGE_SIZE = 20;
+    
+    private final Context context;
+    private final NovelDao novelDao;
+    private final ChapterDao chapterDao;
+    
+    @Inject
+    public ExportRepositoryImpl(
+            @ApplicationContext Context context,
+            NovelDao novelDao,
+            ChapterDao chapterDao) {
+        this.context = context;
+        this.novelDao = novelDao;
+        this.chapterDao = chapterDao;
+    }
+    
+    @Override
+    public Single<Integer> exportNovel(long novelId, ExportFormat format, String charsetName,
+                                       Uri targetUri, ExportHandle handle, ProgressCallback callback) {
+        return Single.<Integer>create(emitter -> {
+            // 订阅被取消时（如界面销毁）停止写出
+            emitter.setCancellable(handle::cancel);
+            try {
+                emitter.onSuccess(writeNovel(novelId, format, charsetName, targetUri, handle, callback));
+            } catch (Throwable error) {
+                Log.e(TAG, "导出失败", error);
+                // 删除未完成的导出文件；订阅已取消时错误不再发送给下游
+                deleteQuietly(targetUri);
+                emitter.tryOnError(error instanceof AppError ? error : new AppError.FileError(
+                        "导出失败: " + error.getMessage(),
+                        targetUri.toString(),
+                        error));
+            }
+        })
+        .subscribeOn(Schedulers.io());
+    }
+    
+    /**
+     * 写出整本小说到目标文件
+     * @return 导出的章节数
+     */
+    private int writeNovel(long novelId, ExportFormat format, String charsetName, Uri targetUri,
+                           ExportHandle handle, ProgressCallback callback) throws Exception {
+        NovelEntity novel = novelDao.getNovelById(novelId);
+        if (novel == null) {
+            throw new AppError.DatabaseError("小说不存在", null);
+        }
+        int total = chapterDao.getChapterCount(novelId);
+        Log.d(TAG, "开始导出: " + novel.getTitle() + ", 格式: " + format + ", 章节数: " + total);
+        
+        int exported;
+        try (OutputStream outputStream = context.getContentResolver().openOutputStream(targetUri, "wt")) {
+            if (outputStream == null) {
+                throw new AppError.FileError("无法创建导出文件", targetUri.toString());
+            }
+            OutputStream bufferedStream = new BufferedOutputStream(outputStream, 64 * 1024);
+            NovelExportWriter writer = createWriter(novel, format, charsetName, bufferedStream);
+            exported = writeChapters(novel, writer, total, handle, callback);
+            bufferedStream.flush();
+        }
+        
+        if (handle.isCancelled()) {
+            throw new AppError.FileError("导出已取消", targetUri.toString());
+        }
+        Log.d(TAG, "导出完成: " + exported + " 章");
+        return exported;
+    }
+    
+    /**
+     * 按章节顺序分页写出全部章节
+     * @return 写出的章节数；被取消时提前返回
+     */
+    private int writeChapters(NovelEntity novel, NovelExportWriter writer, int total,
+                              ExportHandle handle, ProgressCallback callback) throws Exception {
+        writer.begin(novel.getTitle(), novel.getAuthor(), novel.getDescription());
+        
+        int exported = 0;
+        int afterIndex = -1;
+        while (true) {
+            List<ChapterEntity> page = chapterDao.getChaptersAfter(novel.getId(), afterIndex, PAGE_SIZE);
+            if (page.isEmpty()) {
+                break;
+            }
+            for (ChapterEntity chapter : page) {
+                if (handle.isCancelled()) {
+                    return exported;
+                }
+                writer.writeChapter(chapter.getTitle(), chapter.getContent());
+                exported++;
+                if (callback != null) {
+                    callback.onProgress(exported, total);
+                }
+            }
+            afterIndex = page.get(page.size() - 1).getChapterIndex();
+        }
+        
+        writer.finish();
+        return exported;
+    }
+    
+    private NovelExportWriter createWriter(NovelEntity novel, ExportFormat format, String charsetName,
+                                           OutputStream outputStream) throws AppError {
+        if (format == ExportFormat.EPUB) {
+            String identifier = novel.getContentHash() != null
+                    ? "urn:sha256:" + novel.getContentHash()
+                    : "novel-" + novel.getId() + "-" + novel.getCreateTime();
+            return new EpubNovelWriter(outputStream, identifier);
+        }
+        Charset charset;
+        try {
+            charset = charsetName != null ? Charset.forName(charsetName) : StandardCharsets.UTF_8;
+        } catch (IllegalArgumentException e) {
+            throw new AppError.ValidationError("不支持的编码: " + charsetName, "charset");
+        }
+        return new TxtNovelWriter(outputStream, charset);
+    }
+    
+    /**
+     * 删除未完成的导出文件
+     */
+    private void deleteQuietly(Uri uri) {
+        try {
+            DocumentsContract.deleteDocument(context.getContentResolver(), uri);
+        } catch (Exception e) {
+            Log.w(TAG, "删除未完成的导出文件失败: " + uri, e);
+        }
+    }
+}
@@ -1,27 +1,48 @@
 package com.example.read.data.repository;
 
+import android.content.ContentResolver;
+import android.content.Context;
+import android.database.Cursor;
 import android.net.Uri;
+import android.provider.DocumentsContract;
+import android.provider.OpenableColumns;
 import android.util.Log;
 
 import com.example.read.data.AppDatabase;
 import com.example.read.data.dao.ChapterDao;
+import com.example.read.data.dao.ImportCheckpointDao;
 import com.example.read.data.dao.NovelDao;
 import com.example.read.data.entity.ChapterEntity;
+import com.example.read.data.entity.ImportCheckpointEntity;
 import com.example.read.data.entity.NovelEntity;
 import com.example.read.domain.error.AppError;
 import com.example.read.domain.mapper.NovelMapper;
+import com.example.read.domain.model.BatchImportProgress;
+import com.example.read.domain.model.ImportHandle;
+import com.example.read.domain.model.ImportProgress;
 import com.example.read.domain.model.Novel;
 import com.example.read.domain.model.NovelSource;
 import com.example.read.domain.model.ParsedNovel;
 import com.example.read.domain.repository.FileImportRepository;
+import com.example.read.domain.service.CoverService;
 import com.example.read.domain.service.FileParserService;
+import com.example.read.utils.Metrics;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
 
+import dagger.hilt.android.qualifiers.ApplicationContext;
 import io.reactivex.rxjava3.core.Single;
 import io.reactivex.rxjava3.schedulers.Schedulers;
 
@@ -34,24 +55,69 @@ public class FileImportRepositoryImpl implements FileImportRepository {
 
     private static final String TAG = "FileImportRepository";
     
+    private final Context context;
     private final FileParserService fileParserService;
+    private final CoverService coverService;
     private final NovelDao novelDao;
     private final ChapterDao chapterDao;
-    private final AppDatabase database;
+    private final ImportCheckpointDao importCheckpointDao;
+    private final Consumer<Runnable> transaction;   // 在一个数据库事务中执行
     
     // 批量插入的分块大小，避免一次性插入太多数据
     private static final int BATCH_SIZE = 50;
+    
+    // 批量导入的解析线程数，与CPU核心数一致
+    private static final int PARSE_THREADS = Math.max(1, Runtime.getRuntime().availableProcessors());
+    
+    // 同时驻留内存的已解析小说上限（解析中 + 等待写入），避免解析快于写入时内存堆积
+    private static final int MAX_PENDING_NOVELS = PARSE_THREADS * 2;
+    
+    // 批量导入的单一写线程，所有数据库写入和进度统计都在该线程上串行执行
+    private final ExecutorService writeExecutor = Executors.newSingleThreadExecutor();
+    
+    // 分段导入时每次提交的章节数上限
+    private static final int CHECKPOINT_CHAPTERS = 200;
+    
+    // 分段导入时每次提交的正文字符数上限，避免超长章节在内存中堆积
+    private static final int CHECKPOINT_CHARS = 2 * 1024 * 1024;
+    
+    // 进度回调的最小间隔（毫秒）
+    private static final long PROGRESS_INTERVAL_MS = 200;
+    
+    // 正在进行的分段导入数
+    private final AtomicInteger activeImports = new AtomicInteger();
 
     @Inject
     public FileImportRepositoryImpl(
+            @ApplicationContext Context context,
             FileParserService fileParserService,
+            CoverService coverService,
             NovelDao novelDao,
             ChapterDao chapterDao,
+            ImportCheckpointDao importCheckpointDao,
             AppDatabase database) {
+        this(context, fileParserService, coverService, novelDao, chapterDao, importCheckpointDao,
+                database::runInTransaction);
+    }
+
+    /**
+     * 测试用构造函数，可替换事务的执行方式
+     */
+    FileImportRepositoryImpl(
+            Context context,
+            FileParserService fileParserService,
+            CoverService coverService,
+            NovelDao novelDao,
+            ChapterDao chapterDao,
+            ImportCheckpointDao importCheckpointDao,
+            Consumer<Runnable> transaction) {
+        this.context = context;
         this.fileParserService = fileParserService;
+        this.coverService = coverService;
         this.novelDao = novelDao;
         this.chapterDao = chapterDao;
-        this.database = database;
+        this.importCheckpointDao = importCheckpointDao;
+        this.transaction = transaction;
     }
 
     @Override
@@ -100,82 +166,756 @@ public class FileImportRepositoryImpl implements FileImportRepository {
                 });
     }
 
+    @Override
+    public Single<Novel> importFile(Uri uri, ImportHandle handle, ImportProgressCallback callback) {
+        Log.d(TAG, "开始分段导入文件: " + uri);
+        
+        return Single.fromCallable(() -> runCheckpointedImport(uri, handle, callback))
+                .doOnSubscribe(d -> activeImports.incrementAndGet())
+                .doFinally(activeImports::decrementAndGet)
+                // 订阅被取消时（如界面销毁）停止解析，已提交的章节保留
+                .doOnDispose(() -> handle.cancel(true))
+                .subscribeOn(Schedulers.io())
+                .onErrorResumeNext(error -> {
+                    Log.e(TAG, "分段导入文件失败", error);
+                    if (error instanceof AppError) {
+                        return Single.error(error);
+                    }
+                    return Single.error(new AppError.FileError(
+                            "导入文件失败: " + error.getMessage(),
+                            uri.toString(),
+                            error));
+                });
+    }
+    
+    @Override
+    public boolean isImporting() {
+        return activeImports.get() > 0;
+    }
+    
+    /**
+     * 查找可继续的导入断点
+     * 断点对应的小说必须仍然存在且内容指纹一致，否则（小说已被删除）删除断点，从头导入
+     * @return 可继续的断点，没有时返回null
+     * @throws AppError.DuplicateError 没有可继续的断点而书架中已有相同内容的小说
+     */
+    ImportCheckpointEntity findResumableCheckpoint(String contentHash) throws AppError.DuplicateError {
+        ImportCheckpointEntity checkpoint = importCheckpointDao.getCheckpoint(contentHash);
+        if (checkpoint != null) {
+            NovelEntity novel = novelDao.getNovelById(checkpoint.getNovelId());
+            if (novel != null && contentHash.equals(novel.getContentHash())) {
+                return checkpoint;
+            }
+            importCheckpointDao.deleteCheckpoint(contentHash);
+        }
+        NovelEntity existing = novelDao.getNovelByContentHash(contentHash);
+        if (existing != null) {
+            throw new AppError.DuplicateError(
+                    "书架中已存在相同内容的小说《" + existing.getTitle() + "》",
+                    existing.getId());
+        }
+        return null;
+    }
+    
+    /**
+     * 执行分段导入：计算指纹 -> 去重或恢复断点 -> 流式解析并分段提交 -> 更新小说信息
+     */
+    private Novel runCheckpointedImport(Uri uri, ImportHandle handle, ImportProgressCallback callback)
+            throws Exception {
+        String sourceUrl = uri.toString();
+        String fileName = queryDisplayName(uri);
+        boolean epub = fileName.toLowerCase().endsWith(".epub");
+        CheckpointedImport job = new CheckpointedImport(sourceUrl, querySize(uri), handle, callback);
+        
+        // 1. 计算文件指纹，写入任何数据之前完成去重判断
+        long hashStart = Metrics.begin(Metrics.IMPORT_HASH);
+        String contentHash;
+        try {
+            contentHash = fileParserService.computeContentHash(uri, job);
+        } finally {
+            Metrics.end(Metrics.IMPORT_HASH, hashStart);
+        }
+        if (contentHash == null || handle.isCancelled()) {
+            throw new AppError.FileError("导入已取消", sourceUrl);
+        }
+        
+        // 2. 去重或恢复断点
+        ImportCheckpointEntity checkpoint = findResumableCheckpoint(contentHash);
+        if (checkpoint != null) {
+            Log.d(TAG, "从断点继续导入，已提交章节数: " + checkpoint.getChaptersCommitted());
+            job.resume(contentHash, checkpoint);
+        } else {
+            job.start(contentHash, stripExtension(fileName), sourceUrl);
+        }
+        
+        // 3. 流式解析，章节分段提交
+        try {
+            ParsedNovel metadata;
+            long parseStart = Metrics.begin(Metrics.IMPORT_PARSE);
+            try {
+                metadata = fileParserService.parseFileStreaming(uri, epub, job);
+            } finally {
+                Metrics.end(Metrics.IMPORT_PARSE, parseStart);
+            }
+            if (handle.isCancelled()) {
+                throw new AppError.FileError("导入已取消", sourceUrl);
+            }
+            return job.finish(metadata);
+        } catch (Exception e) {
+            // 失败时保留已提交的章节（一章未提交时删除空小说），取消时按取消时的选择
+            job.abort(handle.isKeepPartial());
+            throw e;
+        }
+    }
+
+    @Override
+    public Single<BatchImportProgress> importFiles(List<Uri> uris, BatchProgressCallback callback) {
+        return Single.fromCallable(() -> {
+            List<ImportSource> sources = new ArrayList<>();
+            if (uris != null) {
+                for (Uri uri : uris) {
+                    // 无效的文件在解析时计为失败，不影响同批次的其他文件
+                    sources.add(new ImportSource(uri, uri != null ? queryDisplayName(uri) : "未知文件"));
+                }
+            }
+            Log.d(TAG, "开始批量导入，文件数: " + sources.size());
+            return runBatchImport(sources, callback);
+        })
+        .subscribeOn(Schedulers.io())
+        .onErrorResumeNext(error -> {
+            Log.e(TAG, "批量导入文件失败", error);
+            if (error instanceof AppError) {
+                return Single.error(error);
+            }
+            return Single.error(new AppError.FileError(
+                    "批量导入文件失败: " + error.getMessage(),
+                    null,
+                    error));
+        });
+    }
+
+    @Override
+    public Single<BatchImportProgress> importDocumentTree(Uri treeUri, BatchProgressCallback callback) {
+        return Single.fromCallable(() -> {
+            List<ImportSource> sources = new ArrayList<>();
+            collectDocumentTree(treeUri, DocumentsContract.getTreeDocumentId(treeUri), sources);
+            Log.d(TAG, "文件夹扫描完成，可导入文件数: " + sources.size());
+            return runBatchImport(sources, callback);
+        })
+        .subscribeOn(Schedulers.io())
+        .onErrorResumeNext(error -> {
+            Log.e(TAG, "导入文件夹失败", error);
+            if (error instanceof AppError) {
+                return Single.error(error);
+            }
+            return Single.error(new AppError.FileError(
+                    "导入文件夹失败: " + error.getMessage(),
+                    treeUri.toString(),
+                    error));
+        });
+    }
+
+    /**
+     * 执行批量导入
+     * 解析在有界线程池中并行进行，解析结果交给单一写线程串行写库，
+     * 总耗时接近"解析总耗时 / 核心数"，而不是逐个导入的串行总和
+     * @param sources 待导入文件
+     * @param callback 进度回调
+     * @return 最终的导入统计
+     */
+    private BatchImportProgress runBatchImport(List<ImportSource> sources, BatchProgressCallback callback)
+            throws InterruptedException {
+        BatchTracker tracker = new BatchTracker(sources.size(), callback);
+        if (sources.isEmpty()) {
+            return tracker.snapshot(null);
+        }
+        
+        ExecutorService parseExecutor = Executors.newFixedThreadPool(Math.min(PARSE_THREADS, sources.size()));
+        Semaphore pendingPermits = new Semaphore(MAX_PENDING_NOVELS);
+        CountDownLatch latch = new CountDownLatch(sources.size());
+        // 本批次内已出现的内容指纹，仅由写线程访问
+        Set<String> batchHashes = new HashSet<>();
+        
+        try {
+            for (ImportSource source : sources) {
+                pendingPermits.acquire();
+                parseExecutor.execute(() -> {
+                    ParsedNovel parsed = null;
+                    Throwable parseError = null;
+                    try {
+                        parsed = parseSource(source);
+                    } catch (Throwable e) {
+                        Log.w(TAG, "批量导入解析失败: " + source.fileName, e);
+                        parseError = e;
+                    }
+                    
+                    final ParsedNovel result = parsed;
+                    final boolean parseFailed = parseError != null;
+                    writeExecutor.execute(() -> {
+                        try {
+                            if (parseFailed) {
+                                tracker.recordFailed(source.fileName);
+                            } else if (writeParsedNovel(result, source.uri.toString(), batchHashes)) {
+                                tracker.recordImported(source.fileName);
+                            } else {
+                                Log.d(TAG, "跳过重复文件: " + source.fileName);
+                                tracker.recordDuplicate(source.fileName);
+                            }
+                        } catch (Throwable e) {
+                            Log.w(TAG, "批量导入保存失败: " + source.fileName, e);
+                            tracker.recordFailed(source.fileName);
+                        } finally {
+                            pendingPermits.release();
+                            latch.countDown();
+                        }
+                    });
+                });
+            }
+            latch.await();
+        } catch (InterruptedException e) {
+            // 订阅被取消，停止尚未开始的解析任务
+            parseExecutor.shutdownNow();
+            throw e;
+        } finally {
+            parseExecutor.shutdown();
+        }
+        
+        BatchImportProgress result = tracker.snapshot(null);
+        Log.d(TAG, "批量导入完成: 成功=" + result.getImported() + ", 重复=" + result.getDuplicates()
+                + ", 失败=" + result.getFailed());
+        return result;
+    }
+
+    /**
+     * 按文件扩展名选择解析方式（在解析线程上阻塞执行）
+     */
+    private ParsedNovel parseSource(ImportSource source) {
+        long startTime = Metrics.begin(Metrics.IMPORT_PARSE);
+        try {
+            if (source.fileName.toLowerCase().endsWith(".epub")) {
+                return fileParserService.parseEpubFile(source.uri).blockingGet();
+            }
+            return fileParserService.parseTxtFile(source.uri).blockingGet();
+        } finally {
+            Metrics.end(Metrics.IMPORT_PARSE, startTime);
+        }
+    }
+
+    /**
+     * 在写线程上保存一本解析后的小说
+     * @return true 已保存；false 内容与已导入完成的小说重复而跳过
+     */
+    private boolean writeParsedNovel(ParsedNovel parsedNovel, String sourceUrl, Set<String> batchHashes)
+            throws AppError {
+        String contentHash = parsedNovel.getContentHash();
+        if (contentHash != null) {
+            // 写线程是唯一的写入者，因此"检查后插入"不会产生竞争
+            if (batchHashes.contains(contentHash) || findImportedNovel(contentHash) != null) {
+                return false;
+            }
+        }
+        insertParsedNovel(parsedNovel, sourceUrl);
+        // 事务提交后才记录指纹，写入失败时同批次内相同内容的文件仍可导入
+        if (contentHash != null) {
+            batchHashes.add(contentHash);
+        }
+        return true;
+    }
+
+    /**
+     * 递归收集文档树中的TXT/EPUB文件
+     */
+    private void collectDocumentTree(Uri treeUri, String parentDocumentId, List<ImportSource> sources) {
+        ContentResolver resolver = context.getContentResolver();
+        Uri childrenUri = DocumentsContract.buildChildDocumentsUriUsingTree(treeUri, parentDocumentId);
+        String[] projection = {
+                DocumentsContract.Document.COLUMN_DOCUMENT_ID,
+                DocumentsContract.Document.COLUMN_DISPLAY_NAME,
+                DocumentsContract.Document.COLUMN_MIME_TYPE
+        };
+        
+        try (Cursor cursor = resolver.query(childrenUri, projection, null, null, null)) {
+            if (cursor == null) {
+                return;
+            }
+            while (cursor.moveToNext()) {
+                String documentId = cursor.getString(0);
+                String displayName = cursor.getString(1);
+                String mimeType = cursor.getString(2);
+                
+                if (DocumentsContract.Document.MIME_TYPE_DIR.equals(mimeType)) {
+                    // 无法读取的子文件夹只跳过该文件夹，其余文件照常导入
+                    try {
+                        collectDocumentTree(treeUri, documentId, sources);
+                    } catch (Exception e) {
+                        Log.w(TAG, "无法读取子文件夹: " + displayName, e);
+                    }
+                } else if (isSupportedFile(displayName)) {
+                    Uri documentUri = DocumentsContract.buildDocumentUriUsingTree(treeUri, documentId);
+                    sources.add(new ImportSource(documentUri, displayName));
+                }
+            }
+        }
+    }
+
+    /**
+     * 检查是否为支持导入的文件类型
+     */
+    private boolean isSupportedFile(String fileName) {
+        if (fileName == null) {
+            return false;
+        }
+        String lower = fileName.toLowerCase();
+        return lower.endsWith(".txt") || lower.endsWith(".epub");
+    }
+
+    /**
+     * 查询文件大小，未知时返回-1
+     */
+    private long querySize(Uri uri) {
+        if ("content".equals(uri.getScheme())) {
+            try (Cursor cursor = context.getContentResolver().query(
+                    uri, new String[]{OpenableColumns.SIZE}, null, null, null)) {
+                if (cursor != null && cursor.moveToFirst() && !cursor.isNull(0)) {
+                    return cursor.getLong(0);
+                }
+            } catch (Exception e) {
+                Log.w(TAG, "无法获取文件大小: " + uri, e);
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 去掉文件扩展名，作为默认书名
+     */
+    private String stripExtension(String fileName) {
+        int dot = fileName.lastIndexOf('.');
+        return dot > 0 ? fileName.substring(0, dot) : fileName;
+    }
+
+    /**
+     * 查询文件的显示名称
+     */
+    private String queryDisplayName(Uri uri) {
+        if ("content".equals(uri.getScheme())) {
+            try (Cursor cursor = context.getContentResolver().query(
+                    uri, new String[]{OpenableColumns.DISPLAY_NAME}, null, null, null)) {
+                if (cursor != null && cursor.moveToFirst()) {
+                    String name = cursor.getString(0);
+                    if (name != null && !name.isEmpty()) {
+                        return name;
+                    }
+                }
+            } catch (Exception e) {
+                Log.w(TAG, "无法获取文件名: " + uri, e);
+            }
+        }
+        String lastSegment = uri.getLastPathSegment();
+        return lastSegment != null ? lastSegment : "未知文件";
+    }
+
     /**
      * 将解析后的小说保存到数据库
-     * 使用事务和分批插入优化性能
+     * 使用事务和分批插入优化性能，内容指纹与已有小说相同时抛出DuplicateError
      * @param parsedNovel 解析后的小说数据
      * @param sourceUrl 源文件路径
      * @return 保存后的小说对象（包含数据库生成的ID）
      */
     private Single<Novel> saveNovelToDatabase(ParsedNovel parsedNovel, String sourceUrl) {
         return Single.fromCallable(() -> {
-            // 验证解析结果
-            if (parsedNovel == null) {
-                throw new AppError.FileError("解析结果为空", sourceUrl);
+            // 写入任何数据之前先按内容指纹检查是否已导入过
+            String contentHash = parsedNovel.getContentHash();
+            if (contentHash != null) {
+                NovelEntity existing = findImportedNovel(contentHash);
+                if (existing != null) {
+                    throw new AppError.DuplicateError(
+                            "书架中已存在相同内容的小说《" + existing.getTitle() + "》",
+                            existing.getId());
+                }
             }
+
+            long novelId = insertParsedNovel(parsedNovel, sourceUrl);
+
+            // 获取保存后的小说（包含ID）
+            NovelEntity savedNovel = novelDao.getNovelById(novelId);
             
-            if (parsedNovel.getChapters() == null || parsedNovel.getChapters().isEmpty()) {
-                throw new AppError.FileError("未能解析出任何章节", sourceUrl);
+            if (savedNovel == null) {
+                throw new AppError.DatabaseError("无法获取保存的小说", null);
             }
 
-            // 创建小说实体
-            NovelEntity novelEntity = new NovelEntity(
-                    parsedNovel.getTitle() != null ? parsedNovel.getTitle() : "未知标题",
-                    parsedNovel.getAuthor() != null ? parsedNovel.getAuthor() : "未知作者"
-            );
-            novelEntity.setDescription(parsedNovel.getDescription());
-            novelEntity.setCoverPath(parsedNovel.getCoverPath());
-            novelEntity.setSource(NovelSource.LOCAL.getValue());
-            novelEntity.setSourceUrl(sourceUrl);
-            novelEntity.setTotalChapters(parsedNovel.getChapters().size());
+            return NovelMapper.toDomain(savedNovel);
+        });
+    }
+
+    /**
+     * 在一个事务中写入小说及其全部章节
+     * @param parsedNovel 解析后的小说数据
+     * @param sourceUrl 源文件路径
+     * @return 数据库生成的小说ID
+     */
+    private long insertParsedNovel(ParsedNovel parsedNovel, String sourceUrl) throws AppError {
+        // 验证解析结果
+        if (parsedNovel == null) {
+            throw new AppError.FileError("解析结果为空", sourceUrl);
+        }
+        
+        if (parsedNovel.getChapters() == null || parsedNovel.getChapters().isEmpty()) {
+            throw new AppError.FileError("未能解析出任何章节", sourceUrl);
+        }
+
+        // 创建小说实体
+        NovelEntity novelEntity = new NovelEntity(
+                parsedNovel.getTitle() != null ? parsedNovel.getTitle() : "未知标题",
+                parsedNovel.getAuthor() != null ? parsedNovel.getAuthor() : "未知作者"
+        );
+        novelEntity.setDescription(parsedNovel.getDescription());
+        novelEntity.setCoverPath(parsedNovel.getCoverPath());
+        novelEntity.setSource(NovelSource.LOCAL.getValue());
+        novelEntity.setSourceUrl(sourceUrl);
+        novelEntity.setTotalChapters(parsedNovel.getChapters().size());
+        novelEntity.setContentHash(parsedNovel.getContentHash());
 
-            // 使用事务保存小说和章节
-            final long[] novelIdHolder = new long[1];
+        // 使用事务保存小说和章节
+        final long[] novelIdHolder = new long[1];
+        
+        transaction.accept(() -> {
+            // 保存小说到数据库
+            novelIdHolder[0] = novelDao.insertNovel(novelEntity);
             
-            database.runInTransaction(() -> {
-                // 保存小说到数据库
-                novelIdHolder[0] = novelDao.insertNovel(novelEntity);
-                
-                if (novelIdHolder[0] <= 0) {
-                    throw new RuntimeException("保存小说失败");
-                }
+            if (novelIdHolder[0] <= 0) {
+                throw new RuntimeException("保存小说失败");
+            }
 
-                // 分批创建和插入章节实体
-                List<ChapterEntity> batch = new ArrayList<>(BATCH_SIZE);
-                for (ParsedNovel.ParsedChapter parsedChapter : parsedNovel.getChapters()) {
-                    ChapterEntity chapterEntity = new ChapterEntity(
-                            novelIdHolder[0],
-                            parsedChapter.getTitle() != null ? parsedChapter.getTitle() : "未知章节",
-                            parsedChapter.getContent() != null ? parsedChapter.getContent() : "",
-                            parsedChapter.getIndex()
-                    );
-                    batch.add(chapterEntity);
-                    
-                    // 达到批量大小时插入
-                    if (batch.size() >= BATCH_SIZE) {
-                        chapterDao.insertChapters(batch);
-                        batch.clear();
-                    }
-                }
+            // 分批创建和插入章节实体
+            List<ChapterEntity> batch = new ArrayList<>(BATCH_SIZE);
+            for (ParsedNovel.ParsedChapter parsedChapter : parsedNovel.getChapters()) {
+                ChapterEntity chapterEntity = new ChapterEntity(
+                        novelIdHolder[0],
+                        parsedChapter.getTitle() != null ? parsedChapter.getTitle() : "未知章节",
+                        parsedChapter.getContent() != null ? parsedChapter.getContent() : "",
+                        parsedChapter.getIndex()
+                );
+                batch.add(chapterEntity);
                 
-                // 插入剩余的章节
-                if (!batch.isEmpty()) {
+                // 达到批量大小时插入
+                if (batch.size() >= BATCH_SIZE) {
                     chapterDao.insertChapters(batch);
+                    batch.clear();
                 }
+            }
+            
+            // 插入剩余的章节
+            if (!batch.isEmpty()) {
+                chapterDao.insertChapters(batch);
+            }
+        });
+        
+        if (novelIdHolder[0] <= 0) {
+            throw new AppError.DatabaseError("保存小说失败", null);
+        }
+        
+        String coverPath = createCover(novelIdHolder[0], parsedNovel.getCoverImage(), novelEntity.getTitle());
+        if (coverPath != null) {
+            novelDao.updateCoverPath(novelIdHolder[0], coverPath);
+        }
+        return novelIdHolder[0];
+    }
+
+    /**
+     * 查找内容指纹相同且已导入完成的小说
+     * 仍有断点的小说是中断的分段导入，不算重复：整本导入时删除它，由本次导入取代；
+     * 有分段导入正在进行时无法判断是否就是这本，仍按重复处理
+     * @return 已导入的小说，没有时返回null
+     */
+    NovelEntity findImportedNovel(String contentHash) {
+        NovelEntity existing = novelDao.getNovelByContentHash(contentHash);
+        if (existing == null) {
+            return null;
+        }
+        ImportCheckpointEntity checkpoint = importCheckpointDao.getCheckpoint(contentHash);
+        if (checkpoint == null || checkpoint.getNovelId() != existing.getId() || activeImports.get() > 0) {
+            return existing;
+        }
+        Log.d(TAG, "删除未完成的分段导入: " + existing.getTitle() + ", 已提交章节数: "
+                + checkpoint.getChaptersCommitted());
+        deleteUnfinishedNovel(existing.getId(), contentHash);
+        return null;
+    }
+
+    /**
+     * 在一个事务中删除未完成导入的小说、断点和不再被引用的章节正文
+     */
+    private void deleteUnfinishedNovel(long novelId, String contentHash) {
+        transaction.accept(() -> {
+            novelDao.deleteNovelById(novelId);
+            importCheckpointDao.deleteCheckpoint(contentHash);
+            chapterDao.deleteOrphanContents();
+        });
+    }
+
+    /**
+     * 生成封面缩略图：有内嵌封面时缩放，否则生成占位封面
+     * 在事务之外调用，图片解码不占用数据库写锁
+     * @return 缩略图路径，生成失败时返回null
+     */
+    private String createCover(long novelId, byte[] coverImage, String title) {
+        String coverPath = coverService.saveCover(novelId, coverImage);
+        return coverPath != null ? coverPath : coverService.createPlaceholderCover(novelId, title);
+    }
+
+    /**
+     * 一次分段导入的状态
+     * 解析回调都在导入线程上顺序执行，因此无需同步
+     */
+    class CheckpointedImport implements FileParserService.ParseListener {
+        private final String sourceUrl;
+        private final long totalBytes;
+        private final ImportHandle handle;
+        private final ImportProgressCallback callback;
+        private final List<ChapterEntity> pending = new ArrayList<>();
+
+        private ImportProgress.Stage stage = ImportProgress.Stage.HASHING;
+        private String contentHash;
+        private long novelId;
+        private boolean resumed;
+        private int skipChapters;      // 断点之前已提交、本次只需跳过的章节数
+        private int chaptersFound;
+        private int chaptersWritten;
+        private int pendingChars;
+        private String lastTitle;
+        private long bytesRead;
+        private long lastNotifyTime;
+
+        CheckpointedImport(String sourceUrl, long totalBytes, ImportHandle handle,
+                           ImportProgressCallback callback) {
+            this.sourceUrl = sourceUrl;
+            this.totalBytes = totalBytes;
+            this.handle = handle;
+            this.callback = callback;
+        }
+
+        /**
+         * 新建小说和初始断点
+         */
+        void start(String contentHash, String title, String sourceUrl) {
+            this.contentHash = contentHash;
+            NovelEntity novelEntity = new NovelEntity(title, "未知作者");
+            novelEntity.setSource(NovelSource.LOCAL.getValue());
+            novelEntity.setSourceUrl(sourceUrl);
+            novelEntity.setContentHash(contentHash);
+            transaction.accept(() -> {
+                novelId = novelDao.insertNovel(novelEntity);
+                importCheckpointDao.saveCheckpoint(new ImportCheckpointEntity(contentHash, novelId, 0));
             });
+            enterParsing();
+        }
+
+        /**
+         * 从已有断点继续
+         */
+        void resume(String contentHash, ImportCheckpointEntity checkpoint) {
+            this.contentHash = contentHash;
+            this.novelId = checkpoint.getNovelId();
+            this.resumed = true;
+            this.skipChapters = checkpoint.getChaptersCommitted();
+            this.chaptersWritten = skipChapters;
+            enterParsing();
+        }
+
+        private void enterParsing() {
+            stage = ImportProgress.Stage.PARSING;
+            bytesRead = 0;
+            notifyProgress(true);
+        }
+
+        @Override
+        public void onBytesRead(long bytesRead) {
+            this.bytesRead = bytesRead;
+            notifyProgress(false);
+        }
+
+        @Override
+        public void onChapter(ParsedNovel.ParsedChapter chapter) {
+            chaptersFound++;
+            if (chapter.getIndex() < skipChapters) {
+                // 断点之前的章节已在上次导入中提交
+                return;
+            }
+            String title = chapter.getTitle() != null ? chapter.getTitle() : "未知章节";
+            String content = chapter.getContent() != null ? chapter.getContent() : "";
+            pending.add(new ChapterEntity(novelId, title, content, chapter.getIndex()));
+            pendingChars += content.length();
+            lastTitle = title;
             
-            if (novelIdHolder[0] <= 0) {
-                throw new AppError.DatabaseError("保存小说失败", null);
+            if (pending.size() >= CHECKPOINT_CHAPTERS || pendingChars >= CHECKPOINT_CHARS) {
+                commit();
             }
+            notifyProgress(false);
+        }
 
-            // 获取保存后的小说（包含ID）
-            NovelEntity savedNovel = novelDao.getNovelById(novelIdHolder[0]);
+        @Override
+        public boolean isCancelled() {
+            return handle.isCancelled();
+        }
+
+        /**
+         * 在一个事务中提交待写入的章节并推进断点
+         */
+        private void commit() {
+            if (pending.isEmpty()) {
+                return;
+            }
+            int committed = chaptersWritten + pending.size();
+            long startTime = Metrics.begin(Metrics.IMPORT_COMMIT);
+            try {
+                transaction.accept(() -> {
+                    chapterDao.insertChapters(pending);
+                    novelDao.updateChapterInfo(novelId, committed, lastTitle);
+                    importCheckpointDao.saveCheckpoint(new ImportCheckpointEntity(contentHash, novelId, committed));
+                });
+            } finally {
+                Metrics.end(Metrics.IMPORT_COMMIT, startTime);
+            }
+            Metrics.add(Metrics.COUNTER_IMPORT_CHAPTERS, pending.size());
+            chaptersWritten = committed;
+            pending.clear();
+            pendingChars = 0;
+            notifyProgress(true);
+        }
+
+        /**
+         * 提交剩余章节，写入解析出的书名作者并删除断点
+         */
+        Novel finish(ParsedNovel metadata) throws AppError {
+            stage = ImportProgress.Stage.FINISHING;
+            commit();
+            if (chaptersWritten == 0) {
+                throw new AppError.FileError("未能解析出任何章节", sourceUrl);
+            }
+            
+            long startTime = Metrics.begin(Metrics.IMPORT_FINISH);
+            try {
+                String coverPath = createCover(novelId, metadata.getCoverImage(), metadata.getTitle());
+                transaction.accept(() -> {
+                    NovelEntity novel = novelDao.getNovelById(novelId);
+                    if (novel != null) {
+                        if (metadata.getTitle() != null) novel.setTitle(metadata.getTitle());
+                        if (metadata.getAuthor() != null) novel.setAuthor(metadata.getAuthor());
+                        novel.setDescription(metadata.getDescription());
+                        novel.setCoverPath(coverPath != null ? coverPath : metadata.getCoverPath());
+                        novel.setTotalChapters(chaptersWritten);
+                        novelDao.updateNovel(novel);
+                    }
+                    importCheckpointDao.deleteCheckpoint(contentHash);
+                });
+            } finally {
+                Metrics.end(Metrics.IMPORT_FINISH, startTime);
+            }
+            notifyProgress(true);
             
+            NovelEntity savedNovel = novelDao.getNovelById(novelId);
             if (savedNovel == null) {
                 throw new AppError.DatabaseError("无法获取保存的小说", null);
             }
-
+            Log.d(TAG, "分段导入完成: " + savedNovel.getTitle() + ", 章节数: " + chaptersWritten);
             return NovelMapper.toDomain(savedNovel);
-        });
+        }
+
+        /**
+         * 导入被取消或失败
+         * keepPartial为true时提交已解析的章节并保留断点，否则删除已写入的小说；
+         * 一章都没有提交时没有可保留的内容，无论keepPartial如何都删除空小说和断点
+         */
+        void abort(boolean keepPartial) {
+            if (novelId <= 0) {
+                return;
+            }
+            if (keepPartial) {
+                try {
+                    commit();
+                } catch (Exception e) {
+                    Log.w(TAG, "提交中断前的章节失败", e);
+                }
+                if (chaptersWritten > 0) {
+                    Log.d(TAG, "导入中断，已保存断点: " + chaptersWritten + " 章");
+                    return;
+                }
+            }
+            try {
+                deleteUnfinishedNovel(novelId, contentHash);
+                Log.d(TAG, "导入中断，已删除未完成的小说");
+            } catch (Exception e) {
+                Log.w(TAG, "处理中断的导入失败", e);
+            }
+        }
+
+        private void notifyProgress(boolean force) {
+            if (callback == null) {
+                return;
+            }
+            long now = System.currentTimeMillis();
+            if (!force && now - lastNotifyTime < PROGRESS_INTERVAL_MS) {
+                return;
+            }
+            lastNotifyTime = now;
+            callback.onProgress(new ImportProgress(stage, bytesRead, totalBytes,
+                    chaptersFound, chaptersWritten, resumed));
+        }
+    }
+
+    /**
+     * 批量导入的待导入文件
+     */
+    private static class ImportSource {
+        final Uri uri;
+        final String fileName;
+
+        ImportSource(Uri uri, String fileName) {
+            this.uri = uri;
+            this.fileName = fileName;
+        }
+    }
+
+    /**
+     * 批量导入统计
+     * 所有record方法都只在写线程上调用，因此无需同步
+     */
+    private static class BatchTracker {
+        private final int total;
+        private final BatchProgressCallback callback;
+        private int imported;
+        private int duplicates;
+        private int failed;
+
+        BatchTracker(int total, BatchProgressCallback callback) {
+            this.total = total;
+            this.callback = callback;
+        }
+
+        void recordImported(String fileName) {
+            imported++;
+            notifyProgress(fileName);
+        }
+
+        void recordDuplicate(String fileName) {
+            duplicates++;
+            notifyProgress(fileName);
+        }
+
+        void recordFailed(String fileName) {
+            failed++;
+            notifyProgress(fileName);
+        }
+
+        BatchImportProgress snapshot(String fileName) {
+            return new BatchImportProgress(total, imported, duplicates, failed, fileName);
+        }
+
+        private void notifyProgress(String fileName) {
+            if (callback != null) {
+                callback.onProgress(snapshot(fileName));
+            }
+        }
     }
 }
@@ -2,24 +2,40 @@ package com.example.read.data.repository;
 
 import androidx.lifecycle.LiveData;
 import androidx.lifecycle.Transformations;
+import androidx.paging.Pager;
+import androidx.paging.PagingConfig;
+import androidx.paging.PagingData;
+import androidx.paging.PagingDataTransforms;
+import androidx.paging.PagingLiveData;
+import androidx.paging.PagingSource;
 
+import com.example.read.data.AppDatabase;
 import com.example.read.data.dao.CategoryDao;
 import com.example.read.data.dao.ChapterDao;
+import com.example.read.data.dao.ImportCheckpointDao;
 import com.example.read.data.dao.NovelDao;
+import com.example.read.data.dao.ReadingProgressDao;
 import com.example.read.data.entity.CategoryEntity;
 import com.example.read.data.entity.ChapterEntity;
 import com.example.read.data.entity.NovelEntity;
+import com.example.read.data.entity.ReadingProgressEntity;
+import com.example.read.data.service.ReadingProgressWriter;
 import com.example.read.domain.mapper.ChapterMapper;
 import com.example.read.domain.mapper.NovelMapper;
 import com.example.read.domain.model.Chapter;
 import com.example.read.domain.model.Novel;
 import com.example.read.domain.model.SearchResult;
 import com.example.read.domain.repository.NovelRepository;
+import com.example.read.domain.service.CoverService;
+import com.example.read.utils.Metrics;
 import com.example.read.utils.PinyinHelper;
 
+import java.io.File;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
@@ -32,27 +48,91 @@ public class NovelRepositoryImpl implements NovelRepository {
     
     private static final int PREVIEW_CONTEXT_LENGTH = 30; // 搜索预览上下文长度
     
+    // 书架分页：每页条数、距离边缘多少条时预取、首次加载条数
+    private static final int PAGE_SIZE = 30;
+    private static final int PREFETCH_DISTANCE = 30;
+    private static final int INITIAL_LOAD_SIZE = 60;
+    
+    private final AppDatabase database;
     private final NovelDao novelDao;
     private final ChapterDao chapterDao;
     private final CategoryDao categoryDao;
+    private final ImportCheckpointDao importCheckpointDao;
+    private final ReadingProgressDao readingProgressDao;
+    private final ReadingProgressWriter progressWriter;
+    private final CoverService coverService;
+    
+    // 书架列表行转换为领域模型的线程
+    private final ExecutorService listMapExecutor = Executors.newSingleThreadExecutor();
     
     @Inject
-    public NovelRepositoryImpl(NovelDao novelDao, ChapterDao chapterDao, CategoryDao categoryDao) {
+    public NovelRepositoryImpl(AppDatabase database, NovelDao novelDao, ChapterDao chapterDao,
+                               CategoryDao categoryDao, ImportCheckpointDao importCheckpointDao,
+                               ReadingProgressDao readingProgressDao, ReadingProgressWriter progressWriter,
+                               CoverService coverService) {
+        this.database = database;
         this.novelDao = novelDao;
         this.chapterDao = chapterDao;
         this.categoryDao = categoryDao;
+        this.importCheckpointDao = importCheckpointDao;
+        this.readingProgressDao = readingProgressDao;
+        this.progressWriter = progressWriter;
+        this.coverService = coverService;
+    }
+    
+    @Override
+    public LiveData<PagingData<Novel>> getBookshelfNovels(String keyword, String category) {
+        Pager<Integer, NovelDao.NovelListRow> pager = new Pager<>(
+                new PagingConfig(PAGE_SIZE, PREFETCH_DISTANCE, true, INITIAL_LOAD_SIZE),
+                () -> createBookshelfSource(keyword, category));
+        return Transformations.map(PagingLiveData.getLiveData(pager),
+                rows -> PagingDataTransforms.map(rows, listMapExecutor, NovelMapper::fromListRow));
+    }
+    
+    /**
+     * 创建书架分页数据源，筛选条件在 SQL 中完成
+     */
+    private PagingSource<Integer, NovelDao.NovelListRow> createBookshelfSource(String keyword, String category) {
+        if (keyword != null && !keyword.trim().isEmpty()) {
+            return novelDao.pageSearchNovels(searchPattern(keyword));
+        }
+        if (isCategoryFilter(category)) {
+            return novelDao.pageNovelsByCategory(category);
+        }
+        return novelDao.pageAllNovels();
     }
     
     @Override
-    public LiveData<List<Novel>> getAllNovels() {
-        // 暂时使用简单查询，不获取章节标题
-        return Transformations.map(novelDao.getAllNovels(), NovelMapper::toDomainList);
+    public List<Long> getBookshelfNovelIds(String keyword, String category) {
+        if (keyword != null && !keyword.trim().isEmpty()) {
+            return novelDao.searchNovelIds(searchPattern(keyword));
+        }
+        if (isCategoryFilter(category)) {
+            return novelDao.getNovelIdsByCategory(category);
+        }
+        return novelDao.getAllNovelIds();
+    }
+    
+    private static boolean isCategoryFilter(String category) {
+        return category != null && !category.isEmpty() && !"全部".equals(category);
     }
     
     @Override
     public Novel getNovelById(long novelId) {
         NovelEntity entity = novelDao.getNovelById(novelId);
-        return NovelMapper.toDomain(entity);
+        Novel novel = NovelMapper.toDomain(entity);
+        if (novel != null) {
+            // 章节内位置保存在阅读进度表，novels 表中只有换章时才更新的当前章节；尚未写入的进度优先
+            ReadingProgressEntity progress = progressWriter.getPending(novelId);
+            if (progress == null) {
+                progress = readingProgressDao.getProgress(novelId);
+            }
+            if (progress != null) {
+                novel.setCurrentChapterId(progress.getChapterId());
+                novel.setCurrentPosition(progress.getPosition());
+            }
+        }
+        return novel;
     }
     
     @Override
@@ -69,50 +149,39 @@ public class NovelRepositoryImpl implements NovelRepository {
     
     @Override
     public void deleteNovel(long novelId) {
-        // 由于设置了外键级联删除，删除小说时会自动删除关联的章节
-        novelDao.deleteNovelById(novelId);
+        batchDeleteNovels(Collections.singletonList(novelId));
     }
     
     @Override
-    public LiveData<List<Novel>> searchNovels(String keyword) {
-        if (keyword == null || keyword.trim().isEmpty()) {
-            return getAllNovels();
+    public String replaceCover(long novelId, String imagePath) {
+        String coverPath = coverService.saveCoverFromFile(novelId, imagePath);
+        if (coverPath != null && !coverPath.equals(imagePath)) {
+            new File(imagePath).delete();
         }
-        
-        String searchKeyword = keyword.trim().toLowerCase();
-        
-        // 使用内存过滤方式，支持拼音搜索
-        // 先获取所有小说，然后在内存中使用 PinyinHelper 进行过滤
-        return Transformations.map(novelDao.getAllNovels(), entities -> {
-            if (entities == null) {
-                return new ArrayList<>();
-            }
-            
-            List<NovelEntity> filtered = entities.stream()
-                .filter(entity -> {
-                    // 匹配标题（支持中文、拼音全拼、拼音首字母）
-                    if (PinyinHelper.matches(entity.getTitle(), searchKeyword)) {
-                        return true;
-                    }
-                    // 匹配作者（支持中文、拼音全拼、拼音首字母）
-                    if (PinyinHelper.matches(entity.getAuthor(), searchKeyword)) {
-                        return true;
-                    }
-                    return false;
-                })
-                .collect(Collectors.toList());
-            
-            return NovelMapper.toDomainList(filtered);
-        });
+        return coverPath;
     }
     
-    @Override
-    public LiveData<List<Novel>> getNovelsByCategory(String category) {
-        if (category == null || category.isEmpty() || "全部".equals(category)) {
-            return getAllNovels();
+    /**
+     * 转义 LIKE 模式中的通配符，使关键词按字面匹配
+     */
+    private static String escapeLike(String keyword) {
+        StringBuilder builder = new StringBuilder(keyword.length() + 4);
+        for (int i = 0; i < keyword.length(); i++) {
+            char c = keyword.charAt(i);
+            if (c == '%' || c == '_' || c == '\\') {
+                builder.append('\\');
+            }
+            builder.append(c);
         }
-        // 暂时使用简单查询
-        return Transformations.map(novelDao.getNovelsByCategory(category), NovelMapper::toDomainList);
+        return builder.toString();
+    }
+    
+    /**
+     * 关键词转为 LIKE 子串匹配模式
+     * 标题和作者的拼音全拼、首字母在写库时已计算好，直接在数据库中匹配（支持中文、拼音全拼、拼音首字母）
+     */
+    private static String searchPattern(String keyword) {
+        return "%" + escapeLike(PinyinHelper.normalizeKeyword(keyword)) + "%";
     }
     
     @Override
@@ -128,20 +197,35 @@ public class NovelRepositoryImpl implements NovelRepository {
     
     @Override
     public List<Chapter> getChaptersByNovelIdSync(long novelId) {
-        List<ChapterEntity> entities = chapterDao.getChaptersByNovelIdSync(novelId);
-        return ChapterMapper.toDomainList(entities);
+        long startTime = Metrics.begin(Metrics.DB_CHAPTER_READ);
+        try {
+            List<ChapterEntity> entities = chapterDao.getChaptersByNovelIdSync(novelId);
+            return ChapterMapper.toDomainList(entities);
+        } finally {
+            Metrics.end(Metrics.DB_CHAPTER_READ, startTime);
+        }
     }
     
     @Override
     public Chapter getChapterById(long chapterId) {
-        ChapterEntity entity = chapterDao.getChapterById(chapterId);
-        return ChapterMapper.toDomain(entity);
+        long startTime = Metrics.begin(Metrics.DB_CHAPTER_READ);
+        try {
+            ChapterEntity entity = chapterDao.getChapterById(chapterId);
+            return ChapterMapper.toDomain(entity);
+        } finally {
+            Metrics.end(Metrics.DB_CHAPTER_READ, startTime);
+        }
     }
     
     @Override
     public Chapter getChapterByIndex(long novelId, int index) {
-        ChapterEntity entity = chapterDao.getChapterByIndex(novelId, index);
-        return ChapterMapper.toDomain(entity);
+        long startTime = Metrics.begin(Metrics.DB_CHAPTER_READ);
+        try {
+            ChapterEntity entity = chapterDao.getChapterByIndex(novelId, index);
+            return ChapterMapper.toDomain(entity);
+        } finally {
+            Metrics.end(Metrics.DB_CHAPTER_READ, startTime);
+        }
     }
     
     @Override
@@ -171,13 +255,13 @@ public class NovelRepositoryImpl implements NovelRepository {
     }
 
     @Override
-    public void updateReadingProgress(long novelId, long chapterId, int position) {
-        long currentTime = System.currentTimeMillis();
-        // 获取章节标题
-        ChapterEntity chapter = chapterDao.getChapterById(chapterId);
-        String chapterTitle = chapter != null ? chapter.getTitle() : null;
-        // 更新阅读进度（包含章节标题）
-        novelDao.updateReadingProgressWithTitle(novelId, chapterId, position, chapterTitle, currentTime);
+    public void updateReadingProgress(long novelId, long chapterId, String chapterTitle, int position) {
+        progressWriter.update(novelId, chapterId, chapterTitle, position);
+    }
+    
+    @Override
+    public void flushReadingProgress() {
+        progressWriter.flush();
     }
     
     @Override
@@ -299,9 +383,30 @@ public class NovelRepositoryImpl implements NovelRepository {
         if (novelIds == null || novelIds.isEmpty()) {
             return;
         }
-        // 批量删除小说（由于设置了外键级联删除，会自动删除关联的章节）
+        // 先分批删除章节和不再被引用的正文：每批一个短事务，不会长时间占用写锁阻塞阅读；
+        // 书架只查询 novels 表，这一步不会刷新书架
+        long startTime = Metrics.begin(Metrics.DB_BATCH_DELETE);
+        try {
+            for (int start = 0; start < novelIds.size(); start += NovelDao.MAX_BIND_IDS) {
+                List<Long> chunk = novelIds.subList(start, Math.min(novelIds.size(), start + NovelDao.MAX_BIND_IDS));
+                while (chapterDao.deleteChapterBatch(chunk) > 0) {
+                    // 继续删除下一批
+                }
+            }
+            // 再在一个事务中删除小说（阅读进度随外键级联删除）和未完成导入的断点，书架只刷新一次；
+            // 断点与小说一起删除，再次导入同一文件时重新开始，而不是续传到已删除的小说
+            database.runInTransaction(() -> {
+                for (int start = 0; start < novelIds.size(); start += NovelDao.MAX_BIND_IDS) {
+                    importCheckpointDao.deleteCheckpointsForNovels(
+                            novelIds.subList(start, Math.min(novelIds.size(), start + NovelDao.MAX_BIND_IDS)));
+                }
+                novelDao.deleteNovelsByIds(novelIds);
+            });
+        } finally {
+            Metrics.end(Metrics.DB_BATCH_DELETE, startTime);
+        }
         for (Long novelId : novelIds) {
-            novelDao.deleteNovelById(novelId);
+            coverService.deleteCover(novelId);
         }
     }
     
@@ -310,9 +415,7 @@ public class NovelRepositoryImpl implements NovelRepository {
         if (novelIds == null || novelIds.isEmpty()) {
             return;
         }
-        // 批量更新小说分类
-        for (Long novelId : novelIds) {
-            novelDao.updateCategory(novelId, category);
-        }
+        // 一个事务内按ID集合更新，书架只刷新一次
+        novelDao.updateCategoryByIds(novelIds, category);
     }
 }
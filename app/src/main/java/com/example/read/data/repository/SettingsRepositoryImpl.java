@@ -1,7 +1,8 @@
 package com.example.read.data.repository;
 
 import android.content.Context;
-import android.content.SharedPreferences;
+import android.os.Handler;
+import android.os.Looper;
 
 import androidx.lifecycle.LiveData;
 import androidx.lifecycle.MutableLiveData;
@@ -16,6 +17,9 @@ import dagger.hilt.android.qualifiers.ApplicationContext;
 /**
  * 设置仓库实现类
  * 
+ * 设置保存在 {@link SettingsStore}：读取只访问内存快照，修改合并后在后台写盘，
+ * 拖动字号、行间距滑块时不会在主线程上同步写文件
+ * 
  * 验证需求：5.4, 5.5, 13.4
  */
 @Singleton
@@ -34,6 +38,7 @@ public class SettingsRepositoryImpl implements SettingsRepository {
     public static final String KEY_PAGE_MODE = "page_mode";
     public static final String KEY_PAGE_ANIMATION = "page_animation";
     public static final String KEY_FONT_FAMILY = "font_family";
+    public static final String KEY_TTS_AUDIO_CACHE = "tts_audio_cache";
 
     // 默认值
     private static final float DEFAULT_FONT_SIZE = 18f;
@@ -47,15 +52,42 @@ public class SettingsRepositoryImpl implements SettingsRepository {
     private static final float MIN_LINE_SPACING = 1.0f;
     private static final float MAX_LINE_SPACING = 3.0f;
 
-    private final SharedPreferences prefs;
+    private final SettingsStore prefs;
     private final MutableLiveData<Float> fontSizeLiveData;
     private final MutableLiveData<Float> lineSpacingLiveData;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
 
     @Inject
     public SettingsRepositoryImpl(@ApplicationContext Context context) {
-        this.prefs = context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
-        this.fontSizeLiveData = new MutableLiveData<>(getFontSize());
-        this.lineSpacingLiveData = new MutableLiveData<>(getLineSpacing());
+        this.prefs = SettingsStore.open(context, PREFS_NAME);
+        // 构造可能发生在主线程上，先用默认值，设置加载完成后再发布实际值，不等待读盘
+        this.fontSizeLiveData = new MutableLiveData<>(DEFAULT_FONT_SIZE);
+        this.lineSpacingLiveData = new MutableLiveData<>(DEFAULT_LINE_SPACING);
+        prefs.whenLoaded(() -> mainHandler.post(() -> {
+            // 在主线程上读取，不会覆盖加载后通过监听器发布的更新的值
+            fontSizeLiveData.setValue(getFontSize());
+            lineSpacingLiveData.setValue(getLineSpacing());
+        }));
+        // 字号和行间距无论从哪里修改（包括恢复默认）都通过 LiveData 通知界面
+        prefs.addListener(key -> {
+            if (KEY_FONT_SIZE.equals(key)) {
+                fontSizeLiveData.postValue(getFontSize());
+            } else if (KEY_LINE_SPACING.equals(key)) {
+                lineSpacingLiveData.postValue(getLineSpacing());
+            }
+        });
+    }
+
+    /**
+     * 在后台预先加载阅读设置，应用启动时调用，进入阅读界面时不再等待读盘
+     */
+    public static void preload(Context context) {
+        SettingsStore.open(context, PREFS_NAME);
+    }
+
+    @Override
+    public void whenLoaded(Runnable action) {
+        prefs.whenLoaded(() -> mainHandler.post(action));
     }
 
 
@@ -82,8 +114,7 @@ public class SettingsRepositoryImpl implements SettingsRepository {
     @Override
     public void setFontSize(float size) {
         float clampedSize = Math.max(MIN_FONT_SIZE, Math.min(MAX_FONT_SIZE, size));
-        prefs.edit().putFloat(KEY_FONT_SIZE, clampedSize).commit();
-        fontSizeLiveData.postValue(clampedSize);
+        prefs.edit().putFloat(KEY_FONT_SIZE, clampedSize).apply();
     }
 
     // ==================== 行间距设置 ====================
@@ -109,8 +140,7 @@ public class SettingsRepositoryImpl implements SettingsRepository {
     @Override
     public void setLineSpacing(float spacing) {
         float clampedSpacing = Math.max(MIN_LINE_SPACING, Math.min(MAX_LINE_SPACING, spacing));
-        prefs.edit().putFloat(KEY_LINE_SPACING, clampedSpacing).commit();
-        lineSpacingLiveData.postValue(clampedSpacing);
+        prefs.edit().putFloat(KEY_LINE_SPACING, clampedSpacing).apply();
     }
 
     // ==================== 主题设置 ====================
@@ -169,6 +199,18 @@ public class SettingsRepositoryImpl implements SettingsRepository {
         prefs.edit().putBoolean(KEY_FULL_SCREEN_READING, fullScreen).apply();
     }
 
+    // ==================== 朗读设置 ====================
+
+    @Override
+    public boolean isTTSAudioCacheEnabled() {
+        return prefs.getBoolean(KEY_TTS_AUDIO_CACHE, false);
+    }
+
+    @Override
+    public void setTTSAudioCacheEnabled(boolean enabled) {
+        prefs.edit().putBoolean(KEY_TTS_AUDIO_CACHE, enabled).apply();
+    }
+
     // ==================== 翻页设置 ====================
 
     @Override
@@ -178,7 +220,7 @@ public class SettingsRepositoryImpl implements SettingsRepository {
 
     @Override
     public void setPageMode(String modeId) {
-        prefs.edit().putString(KEY_PAGE_MODE, modeId).commit();
+        prefs.edit().putString(KEY_PAGE_MODE, modeId).apply();
     }
 
     @Override
@@ -188,7 +230,7 @@ public class SettingsRepositoryImpl implements SettingsRepository {
 
     @Override
     public void setPageAnimation(String animationId) {
-        prefs.edit().putString(KEY_PAGE_ANIMATION, animationId).commit();
+        prefs.edit().putString(KEY_PAGE_ANIMATION, animationId).apply();
     }
 
     // ==================== 字体设置 ====================
@@ -200,7 +242,7 @@ public class SettingsRepositoryImpl implements SettingsRepository {
 
     @Override
     public void setFontFamily(String fontId) {
-        prefs.edit().putString(KEY_FONT_FAMILY, fontId).commit();
+        prefs.edit().putString(KEY_FONT_FAMILY, fontId).apply();
     }
 
     // ==================== 设置持久化 ====================
@@ -215,13 +257,11 @@ public class SettingsRepositoryImpl implements SettingsRepository {
                 .putBoolean(KEY_KEEP_SCREEN_ON, false)
                 .putBoolean(KEY_VOLUME_KEY_PAGE_TURN, false)
                 .putBoolean(KEY_FULL_SCREEN_READING, false)
+                .putBoolean(KEY_TTS_AUDIO_CACHE, false)
                 .putString(KEY_PAGE_MODE, DEFAULT_PAGE_MODE)
                 .putString(KEY_PAGE_ANIMATION, DEFAULT_PAGE_ANIMATION)
                 .putString(KEY_FONT_FAMILY, DEFAULT_FONT_FAMILY)
                 .apply();
-        
-        fontSizeLiveData.postValue(DEFAULT_FONT_SIZE);
-        lineSpacingLiveData.postValue(DEFAULT_LINE_SPACING);
     }
 
     /**
@@ -0,0 +1,320 @@
+package com.example.read.data.repository;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.util.Log;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 设置存储 - 内存快照加异步合并写入的键值存储，替代 SharedPreferences
+ *
+ * 每个存储对应 filesDir/settings/名称.json，打开时在后台线程读入内存，读取只访问内存快照。
+ * 修改立即更新快照并通知监听器，写盘推迟 {@link #WRITE_DELAY_MS} 毫秒，
+ * 期间的多次修改（如拖动字号滑块）合并为一次写入；写入先落到临时文件再重命名，
+ * 进程被杀时文件保持上一次完整写入的内容。
+ * 首次打开时从同名的旧 SharedPreferences 导入数据，导入写盘后删除旧文件。
+ *
+ * 应用启动时调用 {@link #open} 预先加载，读取方法只在加载完成前被调用时才会等待；
+ * 不能等待的调用方（如在主线程上构造的仓库）用 {@link #whenLoaded} 在加载后再读取。
+ */
+public final class SettingsStore {
+
+    private static final String TAG = "SettingsStore";
+
+    private static final String DIRECTORY = "settings";
+    private static final String FILE_SUFFIX = ".json";
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    /** 修改后延迟写盘的时间，期间的修改合并写入 */
+    static final long WRITE_DELAY_MS = 200;
+
+    private static final Map<String, SettingsStore> stores = new HashMap<>();
+    private static ScheduledExecutorService sharedExecutor;
+
+    /**
+     * 设置变化监听器，在修改设置的线程上回调
+     */
+    public interface OnChangeListener {
+        void onSettingChanged(String key);
+    }
+
+    private final File file;
+    private final ScheduledExecutorService executor;
+    private final CountDownLatch loaded = new CountDownLatch(1);
+    private final List<OnChangeListener> listeners = new CopyOnWriteArrayList<>();
+
+    private final Object lock = new Object();
+    // 当前设置的不可变快照
+    private volatile Map<String, Object> snapshot = Collections.emptyMap();
+    private boolean writeScheduled;
+
+    /**
+     * 打开（必要时创建）设置存储，同名存储在进程内只有一个实例
+     * @param name 存储名称，同时是要导入的旧 SharedPreferences 名称
+     */
+    public static SettingsStore open(Context context, String name) {
+        synchronized (stores) {
+            SettingsStore store = stores.get(name);
+            if (store == null) {
+                if (sharedExecutor == null) {
+                    sharedExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                        Thread thread = new Thread(runnable, TAG);
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+                }
+                Context appContext = context.getApplicationContext();
+                File directory = new File(appContext.getFilesDir(), DIRECTORY);
+                store = new SettingsStore(new File(directory, name + FILE_SUFFIX), sharedExecutor,
+                        () -> appContext.getSharedPreferences(name, Context.MODE_PRIVATE),
+                        () -> appContext.deleteSharedPreferences(name));
+                stores.put(name, store);
+            }
+            return store;
+        }
+    }
+
+    interface LegacySource {
+        SharedPreferences get();
+    }
+
+    interface LegacyCleanup {
+        void delete();
+    }
+
+    SettingsStore(File file, ScheduledExecutorService executor,
+                  LegacySource legacySource, LegacyCleanup legacyCleanup) {
+        this.file = file;
+        this.executor = executor;
+        executor.execute(() -> load(legacySource, legacyCleanup));
+    }
+
+    // ==================== 读取 ====================
+
+    public float getFloat(String key, float defaultValue) {
+        Object value = values().get(key);
+        return value instanceof Number ? ((Number) value).floatValue() : defaultValue;
+    }
+
+    public int getInt(String key, int defaultValue) {
+        Object value = values().get(key);
+        return value instanceof Number ? ((Number) value).intValue() : defaultValue;
+    }
+
+    public boolean getBoolean(String key, boolean defaultValue) {
+        Object value = values().get(key);
+        return value instanceof Boolean ? (Boolean) value : defaultValue;
+    }
+
+    public String getString(String key, String defaultValue) {
+        Object value = values().get(key);
+        return value instanceof String ? (String) value : defaultValue;
+    }
+
+    public boolean contains(String key) {
+        return values().containsKey(key);
+    }
+
+    // ==================== 修改 ====================
+
+    /**
+     * 开始一组修改，{@link Editor#apply()} 后一起生效
+     */
+    public Editor edit() {
+        return new Editor();
+    }
+
+    public void addListener(OnChangeListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(OnChangeListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * 加载完成后在存储线程上执行，调用线程不等待读盘；已加载完成时同样异步执行
+     */
+    public void whenLoaded(Runnable action) {
+        // 加载任务最先提交到单线程的存储线程，之后提交的任务都在加载完成后执行
+        executor.execute(action);
+    }
+
+    /**
+     * 一组设置修改
+     */
+    public final class Editor {
+        private final Map<String, Object> changes = new HashMap<>();
+
+        private Editor() {}
+
+        public Editor putFloat(String key, float value) {
+            changes.put(key, value);
+            return this;
+        }
+
+        public Editor putInt(String key, int value) {
+            changes.put(key, value);
+            return this;
+        }
+
+        public Editor putBoolean(String key, boolean value) {
+            changes.put(key, value);
+            return this;
+        }
+
+        public Editor putString(String key, String value) {
+            changes.put(key, value);
+            return this;
+        }
+
+        /**
+         * 更新内存快照并安排写盘，不阻塞调用线程（加载完成前调用时等待加载）
+         */
+        public void apply() {
+            awaitLoaded();
+            List<String> changedKeys = new ArrayList<>();
+            synchronized (lock) {
+                Map<String, Object> next = new HashMap<>(snapshot);
+                for (Map.Entry<String, Object> change : changes.entrySet()) {
+                    Object previous = change.getValue() != null
+                            ? next.put(change.getKey(), change.getValue())
+                            : next.remove(change.getKey());
+                    if (!Objects.equals(previous, change.getValue())) {
+                        changedKeys.add(change.getKey());
+                    }
+                }
+                if (changedKeys.isEmpty()) {
+                    return;
+                }
+                snapshot = Collections.unmodifiableMap(next);
+                if (!writeScheduled) {
+                    writeScheduled = true;
+                    executor.schedule(SettingsStore.this::writeNow, WRITE_DELAY_MS, TimeUnit.MILLISECONDS);
+                }
+            }
+            for (String key : changedKeys) {
+                for (OnChangeListener listener : listeners) {
+                    listener.onSettingChanged(key);
+                }
+            }
+        }
+    }
+
+    // ==================== 加载与写盘（在存储线程上执行） ====================
+
+    private Map<String, Object> values() {
+        awaitLoaded();
+        return snapshot;
+    }
+
+    private void awaitLoaded() {
+        if (loaded.getCount() == 0) {
+            return;
+        }
+        boolean interrupted = false;
+        while (true) {
+            try {
+                loaded.await();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void load(LegacySource legacySource, LegacyCleanup legacyCleanup) {
+        try {
+            if (file.isFile()) {
+                snapshot = Collections.unmodifiableMap(readFile());
+            } else if (legacySource != null) {
+                // 首次打开：导入旧的 SharedPreferences，写盘成功后再删除旧文件
+                Map<String, Object> imported = new HashMap<>(legacySource.get().getAll());
+                snapshot = Collections.unmodifiableMap(imported);
+                if (!imported.isEmpty() && writeFile(imported) && legacyCleanup != null) {
+                    legacyCleanup.delete();
+                }
+            }
+        } catch (IOException | JSONException | RuntimeException e) {
+            Log.w(TAG, "读取设置失败，使用默认值: " + file, e);
+        } finally {
+            loaded.countDown();
+        }
+    }
+
+    void writeNow() {
+        Map<String, Object> values;
+        synchronized (lock) {
+            writeScheduled = false;
+            values = snapshot;
+        }
+        writeFile(values);
+    }
+
+    private Map<String, Object> readFile() throws IOException, JSONException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (InputStream input = new FileInputStream(file)) {
+            byte[] buffer = new byte[4096];
+            int len;
+            while ((len = input.read(buffer)) != -1) {
+                output.write(buffer, 0, len);
+            }
+        }
+        JSONObject json = new JSONObject(new String(output.toByteArray(), StandardCharsets.UTF_8));
+        Map<String, Object> values = new HashMap<>();
+        Iterator<String> keys = json.keys();
+        while (keys.hasNext()) {
+            String key = keys.next();
+            values.put(key, json.get(key));
+        }
+        return values;
+    }
+
+    private boolean writeFile(Map<String, Object> values) {
+        File directory = file.getParentFile();
+        if (directory != null && !directory.isDirectory() && !directory.mkdirs()) {
+            Log.w(TAG, "无法创建设置目录: " + directory);
+            return false;
+        }
+        File temp = new File(file.getPath() + TEMP_SUFFIX);
+        try (FileOutputStream output = new FileOutputStream(temp)) {
+            output.write(new JSONObject(values).toString().getBytes(StandardCharsets.UTF_8));
+            output.getFD().sync();
+        } catch (IOException e) {
+            Log.w(TAG, "写入设置失败: " + file, e);
+            temp.delete();
+            return false;
+        }
+        if (!temp.renameTo(file)) {
+            Log.w(TAG, "写入设置失败: " + file);
+            temp.delete();
+            return false;
+        }
+        return true;
+    }
+}
@@ -3,11 +3,9 @@ package com.example.read.data.repository;
 import androidx.lifecycle.LiveData;
 import androidx.lifecycle.Transformations;
 
-import com.example.read.data.dao.NovelDao;
 import com.example.read.data.dao.ReadingStatisticsDao;
-import com.example.read.data.entity.NovelEntity;
 import com.example.read.data.entity.ReadingStatisticsEntity;
-import com.example.read.domain.mapper.ReadingStatisticsMapper;
+import com.example.read.data.service.ReadingSessionRecorder;
 import com.example.read.domain.model.NovelReadingStats;
 import com.example.read.domain.model.ReadingStatistics;
 import com.example.read.domain.model.StatisticsPeriod;
@@ -15,7 +13,9 @@ import com.example.read.domain.repository.StatisticsRepository;
 
 import java.util.ArrayList;
 import java.util.Calendar;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
@@ -24,6 +24,8 @@ import javax.inject.Singleton;
  * 阅读统计仓库实现类
  * 
  * 实现阅读会话记录、统计数据查询和阅读排行功能
+ * 记录会话时同步累加每日和每小时汇总表，查询只读汇总表并在 SQL 中分组，
+ * 打开统计界面的耗时与历史会话数无关。阅读中的会话由 {@link ReadingSessionRecorder} 按心跳分段写入
  * 
  * 验证需求：12.1, 12.5, 12.6
  */
@@ -31,12 +33,12 @@ import javax.inject.Singleton;
 public class StatisticsRepositoryImpl implements StatisticsRepository {
 
     private final ReadingStatisticsDao statisticsDao;
-    private final NovelDao novelDao;
+    private final ReadingSessionRecorder sessionRecorder;
 
     @Inject
-    public StatisticsRepositoryImpl(ReadingStatisticsDao statisticsDao, NovelDao novelDao) {
+    public StatisticsRepositoryImpl(ReadingStatisticsDao statisticsDao, ReadingSessionRecorder sessionRecorder) {
         this.statisticsDao = statisticsDao;
-        this.novelDao = novelDao;
+        this.sessionRecorder = sessionRecorder;
     }
 
     /**
@@ -68,8 +70,33 @@ public class StatisticsRepositoryImpl implements StatisticsRepository {
                 hourOfDay
         );
         
-        // 保存到数据库
-        statisticsDao.insertStatistics(entity);
+        // 保存到数据库，同一事务内累加汇总表
+        statisticsDao.recordSession(entity);
+    }
+
+    @Override
+    public void startReadingSession(long novelId) {
+        sessionRecorder.start(novelId);
+    }
+
+    @Override
+    public void pauseReadingSession() {
+        sessionRecorder.pause();
+    }
+
+    @Override
+    public void resumeReadingSession() {
+        sessionRecorder.resume();
+    }
+
+    @Override
+    public void updateReadingSessionCharCount(int charCount) {
+        sessionRecorder.updateCharCount(charCount);
+    }
+
+    @Override
+    public void endReadingSession() {
+        sessionRecorder.stop();
     }
 
     /**
@@ -82,8 +109,8 @@ public class StatisticsRepositoryImpl implements StatisticsRepository {
         long endDate = period.getEndTimestamp();
         
         return Transformations.map(
-                statisticsDao.getStatisticsByDateRange(startDate, endDate),
-                ReadingStatisticsMapper::toDomainListGroupedByDate
+                statisticsDao.getDailyTotals(startDate, endDate),
+                StatisticsRepositoryImpl::toDailyStatistics
         );
     }
 
@@ -95,8 +122,25 @@ public class StatisticsRepositoryImpl implements StatisticsRepository {
         long startDate = period.getStartTimestamp();
         long endDate = period.getEndTimestamp();
         
-        List<ReadingStatisticsEntity> entities = statisticsDao.getStatisticsByDateRangeSync(startDate, endDate);
-        return ReadingStatisticsMapper.toDomainListGroupedByDate(entities);
+        return toDailyStatistics(statisticsDao.getDailyTotalsSync(startDate, endDate));
+    }
+
+    /**
+     * 获取指定周期的时段分布
+     * 验证需求：12.4 - 展示最常阅读的时间段分布
+     */
+    @Override
+    public Map<Integer, Long> getHourDistribution(StatisticsPeriod period) {
+        Map<Integer, Long> distribution = new LinkedHashMap<>();
+        for (int hour = 0; hour < 24; hour++) {
+            distribution.put(hour, 0L);
+        }
+        List<ReadingStatisticsDao.HourlyReadingDuration> hours =
+                statisticsDao.getHourlyDistribution(period.getStartTimestamp(), period.getEndTimestamp());
+        for (ReadingStatisticsDao.HourlyReadingDuration hour : hours) {
+            distribution.put(hour.hourOfDay, hour.totalDuration);
+        }
+        return distribution;
     }
 
     /**
@@ -143,7 +187,7 @@ public class StatisticsRepositoryImpl implements StatisticsRepository {
         long startDate = period.getStartTimestamp();
         long endDate = period.getEndTimestamp();
         
-        // 从DAO获取按小说分组的阅读时长
+        // 从DAO获取按小说分组的阅读时长（书名作者已在同一查询中关联）
         List<ReadingStatisticsDao.NovelReadingDuration> durations = 
                 statisticsDao.getMostReadNovels(startDate, endDate, limit);
         
@@ -151,16 +195,14 @@ public class StatisticsRepositoryImpl implements StatisticsRepository {
             return new ArrayList<>();
         }
         
-        // 转换为领域模型并填充小说信息
+        // 转换为领域模型
         List<NovelReadingStats> result = new ArrayList<>();
         for (ReadingStatisticsDao.NovelReadingDuration duration : durations) {
             NovelReadingStats stats = new NovelReadingStats(duration.novelId, duration.totalDuration);
             
-            // 获取小说信息
-            NovelEntity novel = novelDao.getNovelById(duration.novelId);
-            if (novel != null) {
-                stats.setNovelTitle(novel.getTitle());
-                stats.setNovelAuthor(novel.getAuthor());
+            if (duration.title != null) {
+                stats.setNovelTitle(duration.title);
+                stats.setNovelAuthor(duration.author);
             } else {
                 stats.setNovelTitle("未知小说");
                 stats.setNovelAuthor("未知作者");
@@ -172,6 +214,20 @@ public class StatisticsRepositoryImpl implements StatisticsRepository {
         return result;
     }
 
+    /**
+     * 每日汇总行转为领域模型，保持日期升序
+     */
+    private static List<ReadingStatistics> toDailyStatistics(List<ReadingStatisticsDao.DailyReadingTotal> totals) {
+        List<ReadingStatistics> result = new ArrayList<>(totals != null ? totals.size() : 0);
+        if (totals == null) {
+            return result;
+        }
+        for (ReadingStatisticsDao.DailyReadingTotal total : totals) {
+            result.add(new ReadingStatistics(total.date, total.totalDuration, (int) total.totalCharCount));
+        }
+        return result;
+    }
+
     /**
      * 获取一天的开始时间戳（00:00:00.000）
      */
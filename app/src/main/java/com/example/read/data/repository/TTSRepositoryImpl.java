@@ -32,6 +32,7 @@ public class TTSRepositoryImpl implements TTSRepository {
     private final MutableLiveData<Integer> currentPositionLiveData = new MutableLiveData<>(0);
 
     private OnChapterCompleteListener chapterCompleteListener;
+    private OnChapterChangedListener chapterChangedListener;
 
     @Inject
     public TTSRepositoryImpl(
@@ -76,6 +77,13 @@ public class TTSRepositoryImpl implements TTSRepository {
                 }
             }
 
+            @Override
+            public void onChapterChanged(long chapterId) {
+                if (chapterChangedListener != null) {
+                    chapterChangedListener.onChapterChanged(chapterId);
+                }
+            }
+
             @Override
             public void onError(String error) {
                 TTSState state = ttsService.getCurrentState();
@@ -98,6 +106,14 @@ public class TTSRepositoryImpl implements TTSRepository {
         ttsService.speak(text, startPosition);
     }
 
+    /**
+     * 预先提供下一章文本
+     */
+    @Override
+    public void queueNextChapter(long chapterId, String text) {
+        ttsService.enqueueNext(chapterId, text);
+    }
+
     /**
      * 暂停朗读
      * 验证需求：10.6 - 暂停朗读时保存当前朗读位置
@@ -125,6 +141,14 @@ public class TTSRepositoryImpl implements TTSRepository {
         ttsService.stop();
     }
 
+    /**
+     * 开启或关闭音频缓存模式
+     */
+    @Override
+    public void setAudioCacheEnabled(boolean enabled) {
+        ttsService.setAudioCacheEnabled(enabled);
+    }
+
     /**
      * 设置语速
      * 验证需求：10.3 - 立即应用新的语速设置
@@ -184,6 +208,14 @@ public class TTSRepositoryImpl implements TTSRepository {
         this.chapterCompleteListener = listener;
     }
 
+    /**
+     * 设置朗读跨章回调
+     */
+    @Override
+    public void setOnChapterChangedListener(OnChapterChangedListener listener) {
+        this.chapterChangedListener = listener;
+    }
+
     /**
      * 检查TTS是否已初始化
      */
@@ -1,7 +1,8 @@
 package com.example.read.data.repository;
 
 import android.content.Context;
-import android.content.SharedPreferences;
+import android.os.Handler;
+import android.os.Looper;
 
 import androidx.lifecycle.LiveData;
 import androidx.lifecycle.MutableLiveData;
@@ -25,6 +26,9 @@ import dagger.hilt.android.qualifiers.ApplicationContext;
 /**
  * 主题仓库实现类
  * 
+ * 当前主题和自定义主题保存在 {@link SettingsStore}，修改在后台合并写盘；
+ * 构造时不等待读盘，设置加载完成后在主线程上读取当前主题并通过 LiveData 发布
+ * 
  * 验证需求：6.1, 6.2, 6.5, 6.6
  */
 @Singleton
@@ -40,30 +44,45 @@ public class ThemeRepositoryImpl implements ThemeRepository {
     private static final int DEFAULT_NIGHT_START = 22; // 晚上10点
     private static final int DEFAULT_NIGHT_END = 6;    // 早上6点
 
-    private final SharedPreferences prefs;
+    private final SettingsStore prefs;
     private final Gson gson;
     private final MutableLiveData<ReaderTheme> currentThemeLiveData;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
 
-    private ReaderTheme currentTheme;
-    private List<ReaderTheme> customThemes;
+    private ReaderTheme currentTheme;         // 设置加载完成且未被修改前为 null
+    private List<ReaderTheme> customThemes;   // 首次使用时加载
 
     @Inject
     public ThemeRepositoryImpl(@ApplicationContext Context context) {
-        this.prefs = context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+        this.prefs = SettingsStore.open(context, PREFS_NAME);
         this.gson = new Gson();
         this.currentThemeLiveData = new MutableLiveData<>();
 
-        // 先加载自定义主题列表（必须在 loadCurrentTheme 之前，因为 getThemeById 需要访问 customThemes）
-        loadCustomThemes();
-        // 再加载当前主题
-        loadCurrentTheme();
+        // 构造可能发生在主线程上，设置加载完成后再读取当前主题，不等待读盘
+        whenLoaded(() -> {
+            // 加载完成前已经通过 setCurrentTheme 修改过时不再覆盖
+            if (currentTheme == null) {
+                loadCurrentTheme();
+            }
+            // 应用自动主题切换
+            applyAutoThemeSwitch();
+        });
+    }
+
+    /**
+     * 在后台预先加载主题设置，应用启动时调用
+     */
+    public static void preload(Context context) {
+        SettingsStore.open(context, PREFS_NAME);
+    }
 
-        // 应用自动主题切换
-        applyAutoThemeSwitch();
+    @Override
+    public void whenLoaded(Runnable action) {
+        prefs.whenLoaded(() -> mainHandler.post(action));
     }
 
     /**
-     * 加载当前主题
+     * 加载当前主题（getThemeById 会先加载自定义主题列表）
      */
     private void loadCurrentTheme() {
         String themeId = prefs.getString(KEY_CURRENT_THEME_ID, "day");
@@ -71,26 +90,28 @@ public class ThemeRepositoryImpl implements ThemeRepository {
         if (currentTheme == null) {
             currentTheme = ReaderTheme.DAY;
         }
-        currentThemeLiveData.postValue(currentTheme);
+        currentThemeLiveData.setValue(currentTheme);
     }
 
     /**
-     * 加载自定义主题列表
+     * 获取自定义主题列表，首次使用时从设置中加载
+     * 通常在设置加载完成后才会用到，设置未加载完时会等待读盘
      */
-    private void loadCustomThemes() {
-        String json = prefs.getString(KEY_CUSTOM_THEMES, "[]");
-        Type type = new TypeToken<List<ReaderTheme>>(){}.getType();
-        customThemes = gson.fromJson(json, type);
+    private List<ReaderTheme> customThemes() {
         if (customThemes == null) {
-            customThemes = new ArrayList<>();
+            String json = prefs.getString(KEY_CUSTOM_THEMES, "[]");
+            Type type = new TypeToken<List<ReaderTheme>>(){}.getType();
+            List<ReaderTheme> loaded = gson.fromJson(json, type);
+            customThemes = loaded != null ? loaded : new ArrayList<>();
         }
+        return customThemes;
     }
 
     /**
      * 保存自定义主题列表
      */
     private void saveCustomThemesToPrefs() {
-        String json = gson.toJson(customThemes);
+        String json = gson.toJson(customThemes());
         prefs.edit().putString(KEY_CUSTOM_THEMES, json).apply();
     }
 
@@ -121,7 +142,7 @@ public class ThemeRepositoryImpl implements ThemeRepository {
         if (theme == null) return;
         
         this.currentTheme = theme.copy();
-        prefs.edit().putString(KEY_CURRENT_THEME_ID, theme.getId()).commit();
+        prefs.edit().putString(KEY_CURRENT_THEME_ID, theme.getId()).apply();
         currentThemeLiveData.postValue(currentTheme);
     }
 
@@ -150,7 +171,7 @@ public class ThemeRepositoryImpl implements ThemeRepository {
      */
     @Override
     public List<ReaderTheme> getCustomThemes() {
-        return new ArrayList<>(customThemes);
+        return new ArrayList<>(customThemes());
     }
 
     /**
@@ -160,7 +181,7 @@ public class ThemeRepositoryImpl implements ThemeRepository {
     public List<ReaderTheme> getAllThemes() {
         List<ReaderTheme> allThemes = new ArrayList<>();
         allThemes.addAll(getPresetThemes());
-        allThemes.addAll(customThemes);
+        allThemes.addAll(customThemes());
         return allThemes;
     }
 
@@ -173,6 +194,7 @@ public class ThemeRepositoryImpl implements ThemeRepository {
         if (theme == null || !theme.isCustom()) return;
 
         // 检查是否已存在
+        List<ReaderTheme> customThemes = customThemes();
         int existingIndex = -1;
         for (int i = 0; i < customThemes.size(); i++) {
             if (customThemes.get(i).getId().equals(theme.getId())) {
@@ -199,7 +221,7 @@ public class ThemeRepositoryImpl implements ThemeRepository {
     public void deleteCustomTheme(String themeId) {
         if (themeId == null) return;
 
-        customThemes.removeIf(theme -> theme.getId().equals(themeId));
+        customThemes().removeIf(theme -> theme.getId().equals(themeId));
         saveCustomThemesToPrefs();
 
         // 如果删除的是当前主题，切换到默认主题
@@ -223,7 +245,7 @@ public class ThemeRepositoryImpl implements ThemeRepository {
         }
 
         // 再查找自定义主题
-        for (ReaderTheme custom : customThemes) {
+        for (ReaderTheme custom : customThemes()) {
             if (custom.getId().equals(themeId)) {
                 return custom.copy();
             }
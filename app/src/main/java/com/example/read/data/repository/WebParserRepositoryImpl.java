@@ -15,9 +15,11 @@ import com.example.read.domain.model.NovelMetadata;
 import com.example.read.domain.model.NovelSource;
 import com.example.read.domain.model.ParserRule;
 import com.example.read.domain.repository.WebParserRepository;
+import com.example.read.domain.service.CoverService;
 import com.example.read.domain.service.WebParserService;
 import com.example.read.utils.NetworkRequestManager;
 
+import java.net.URI;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
@@ -60,6 +62,7 @@ public class WebParserRepositoryImpl implements WebParserRepository {
     );
     
     private final WebParserService webParserService;
+    private final CoverService coverService;
     private final NetworkRequestManager networkRequestManager;
     private final NovelDao novelDao;
     private final ChapterDao chapterDao;
@@ -74,10 +77,12 @@ public class WebParserRepositoryImpl implements WebParserRepository {
     @Inject
     public WebParserRepositoryImpl(
             WebParserService webParserService,
+            CoverService coverService,
             NetworkRequestManager networkRequestManager,
             NovelDao novelDao,
             ChapterDao chapterDao) {
         this.webParserService = webParserService;
+        this.coverService = coverService;
         this.networkRequestManager = networkRequestManager;
         this.novelDao = novelDao;
         this.chapterDao = chapterDao;
@@ -272,12 +277,46 @@ public class WebParserRepositoryImpl implements WebParserRepository {
                 throw new AppError.DatabaseError("保存小说失败", null);
             }
             
+            // 封面与章节下载并行，下载完成后书架刷新显示
+            String coverUrl = resolveCoverUrl(sourceUrl, metadata.getCoverUrl());
+            Schedulers.io().scheduleDirect(() -> attachCover(novelId, coverUrl, novelEntity.getTitle()));
+            
             return novelId;
         })
         .subscribeOn(Schedulers.io())
         .flatMap(novelId -> downloadChaptersFromIndex(novelId, chapterList, rule, callback, startIndex));
     }
     
+    /**
+     * 下载封面并生成缩略图，没有封面或下载失败时生成占位封面
+     */
+    private void attachCover(long novelId, String coverUrl, String title) {
+        String coverPath = coverService.downloadCover(novelId, coverUrl);
+        if (coverPath == null) {
+            coverPath = coverService.createPlaceholderCover(novelId, title);
+        }
+        if (coverPath != null) {
+            novelDao.updateCoverPath(novelId, coverPath);
+        }
+    }
+    
+    /**
+     * 将页面中的封面地址按小说来源地址解析为绝对地址
+     * @return 绝对地址；没有封面或地址无效时返回null
+     */
+    private String resolveCoverUrl(String sourceUrl, String coverUrl) {
+        if (coverUrl == null || coverUrl.isEmpty()) {
+            return null;
+        }
+        try {
+            String resolved = URI.create(sourceUrl).resolve(coverUrl).toString();
+            return resolved.startsWith("http://") || resolved.startsWith("https://") ? resolved : null;
+        } catch (IllegalArgumentException e) {
+            Log.w(TAG, "无效的封面地址: " + coverUrl);
+            return null;
+        }
+    }
+    
     /**
      * 从指定索引开始下载章节（并发下载优化版）
      */
@@ -2,18 +2,27 @@ package com.example.read.data.service;
 
 import com.example.read.config.AIConfig;
 import com.example.read.data.api.DashScopeApi;
+import com.example.read.data.api.DashScopeStreamApi;
+import com.example.read.data.api.SseEventReader;
 import com.example.read.data.api.model.DashScopeRequest;
 import com.example.read.data.api.model.DashScopeResponse;
 import com.example.read.domain.error.AppError;
+import com.example.read.domain.model.SummaryScope;
 import com.example.read.domain.service.AIService;
+import com.example.read.utils.TokenEstimator;
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
 
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
 
+import io.reactivex.rxjava3.core.Flowable;
 import io.reactivex.rxjava3.core.Single;
 import io.reactivex.rxjava3.schedulers.Schedulers;
+import okhttp3.ResponseBody;
 
 /**
  * AI服务实现类 - 使用通义千问API
@@ -24,10 +33,13 @@ import io.reactivex.rxjava3.schedulers.Schedulers;
 public class AIServiceImpl implements AIService {
 
     private final DashScopeApi dashScopeApi;
+    private final DashScopeStreamApi dashScopeStreamApi;
+    private final Gson gson = new Gson();
 
     @Inject
-    public AIServiceImpl(DashScopeApi dashScopeApi) {
+    public AIServiceImpl(DashScopeApi dashScopeApi, DashScopeStreamApi dashScopeStreamApi) {
         this.dashScopeApi = dashScopeApi;
+        this.dashScopeStreamApi = dashScopeStreamApi;
     }
 
     /**
@@ -37,20 +49,9 @@ public class AIServiceImpl implements AIService {
      */
     @Override
     public Single<String> callAIApi(String prompt, String content) {
-        // 构建请求
-        DashScopeRequest request = new DashScopeRequest(
-                AIConfig.MODEL_NAME,
-                prompt,
-                content
-        );
-
-        // 设置参数
-        request.getParameters().setMax_tokens(AIConfig.MAX_TOKENS);
-        request.getParameters().setTemperature(AIConfig.TEMPERATURE);
-
-        String authorization = "Bearer " + AIConfig.DASHSCOPE_API_KEY;
+        DashScopeRequest request = buildRequest(prompt, content);
 
-        return dashScopeApi.generateText(authorization, "application/json", request)
+        return dashScopeApi.generateText(authorization(), "application/json", request)
                 .subscribeOn(Schedulers.io())
                 .timeout(AIConfig.API_TIMEOUT_MS, TimeUnit.MILLISECONDS)
                 .map(response -> {
@@ -67,19 +68,96 @@ public class AIServiceImpl implements AIService {
                         );
                     }
                 })
-                .onErrorResumeNext(error -> {
-                    // 验证需求：8.3 - AI服务调用失败显示错误提示
-                    if (error instanceof java.util.concurrent.TimeoutException) {
-                        // 验证需求：8.6 - 超时处理
-                        return Single.error(new AppError.AIServiceError(
-                                "AI服务请求超时，请稍后重试", true));
-                    } else if (error instanceof AppError.AIServiceError) {
-                        return Single.error(error);
-                    } else {
-                        return Single.error(new AppError.AIServiceError(
-                                "AI服务调用失败: " + error.getMessage(), false));
+                // 验证需求：8.3 - AI服务调用失败显示错误提示
+                .onErrorResumeNext(error -> Single.error(toAIServiceError(error)));
+    }
+
+    /**
+     * 以流式输出调用AI API
+     * 
+     * 使用增量输出模式，服务端每生成一段文本就推送一个SSE事件，首个片段通常在一秒内到达。
+     * 超时按相邻两个片段的间隔计算：超过30秒没有收到新片段即终止请求。
+     */
+    @Override
+    public Flowable<String> streamAIApi(String prompt, String content) {
+        DashScopeRequest request = buildRequest(prompt, content);
+        request.getParameters().setIncremental_output(true);
+
+        return dashScopeStreamApi.generateTextStream(authorization(), "application/json", request)
+                .flatMapPublisher(this::readStream)
+                .subscribeOn(Schedulers.io())
+                // 验证需求：8.6 - 超时处理
+                .timeout(AIConfig.API_TIMEOUT_MS, TimeUnit.MILLISECONDS)
+                .onErrorResumeNext(error -> Flowable.error(toAIServiceError(error)));
+    }
+
+    /**
+     * 逐个读取事件并发出其中的文本片段，取消订阅时关闭响应体以断开连接
+     */
+    private Flowable<String> readStream(ResponseBody body) {
+        return Flowable.<String, SseEventReader>generate(
+                () -> new SseEventReader(body.source()),
+                (reader, emitter) -> {
+                    SseEventReader.Event event;
+                    while ((event = reader.next()) != null) {
+                        DashScopeResponse response = parseEvent(event);
+                        if (response == null || !response.isSuccess()) {
+                            String message = response != null ? response.getErrorMessage() : event.getData();
+                            emitter.onError(new AppError.AIServiceError("AI服务调用失败: " + message, false));
+                            return;
+                        }
+                        String text = response.getGeneratedText();
+                        if (text != null && !text.isEmpty()) {
+                            emitter.onNext(text);
+                            return;
+                        }
                     }
-                });
+                    emitter.onComplete();
+                },
+                SseEventReader::close)
+                .doOnCancel(body::close);
+    }
+
+    private DashScopeResponse parseEvent(SseEventReader.Event event) {
+        try {
+            DashScopeResponse response = gson.fromJson(event.getData(), DashScopeResponse.class);
+            if (response != null && "error".equals(event.getType()) && response.getCode() == null) {
+                // 错误事件缺少错误码时也按失败处理
+                response.setCode("error");
+            }
+            return response;
+        } catch (JsonParseException e) {
+            return null;
+        }
+    }
+
+    private DashScopeRequest buildRequest(String prompt, String content) {
+        DashScopeRequest request = new DashScopeRequest(
+                AIConfig.MODEL_NAME,
+                prompt,
+                content
+        );
+
+        // 设置参数
+        request.getParameters().setMax_tokens(AIConfig.MAX_TOKENS);
+        request.getParameters().setTemperature(AIConfig.TEMPERATURE);
+        return request;
+    }
+
+    private static String authorization() {
+        return "Bearer " + AIConfig.DASHSCOPE_API_KEY;
+    }
+
+    private static AppError.AIServiceError toAIServiceError(Throwable error) {
+        if (error instanceof java.util.concurrent.TimeoutException
+                || error instanceof java.net.SocketTimeoutException) {
+            // 验证需求：8.6 - 超时处理
+            return new AppError.AIServiceError("AI服务请求超时，请稍后重试", true);
+        } else if (error instanceof AppError.AIServiceError) {
+            return (AppError.AIServiceError) error;
+        } else {
+            return new AppError.AIServiceError("AI服务调用失败: " + error.getMessage(), false);
+        }
     }
 
     /**
@@ -102,13 +180,78 @@ public class AIServiceImpl implements AIService {
             return Single.error(new AppError.AIServiceError("章节内容为空", false));
         }
 
-        // 如果内容过长，截取前面部分
-        String content = chapterContent;
-        if (content.length() > 3000) {
-            content = content.substring(0, 3000) + "...（内容已截断）";
+        String content = truncateForSummary(chapterContent);
+        String prompt = buildSummaryPrompt(content);
+        return callAIApi(prompt, content);
+    }
+
+    /**
+     * 以流式输出生成章节摘要
+     */
+    @Override
+    public Flowable<String> streamSummary(String chapterContent) {
+        if (chapterContent == null || chapterContent.trim().isEmpty()) {
+            return Flowable.error(new AppError.AIServiceError("章节内容为空", false));
         }
 
+        String content = truncateForSummary(chapterContent);
         String prompt = buildSummaryPrompt(content);
-        return callAIApi(prompt, content);
+        return streamAIApi(prompt, content);
+    }
+
+    /**
+     * 构建合并摘要的Prompt
+     */
+    @Override
+    public String buildMergePrompt(SummaryScope scope) {
+        return "你是一个专业的小说内容分析助手。以下是同一" + scope.getDisplayName()
+                + "中按先后顺序排列的若干部分的摘要，请将它们合并为一个连贯的摘要，" +
+                "保留主要情节、关键人物和重要事件，不要逐条复述。" +
+                "摘要长度控制在" + scope.getLengthHint() + "之间，使用中文回复。";
+    }
+
+    /**
+     * 合并若干部分的摘要
+     */
+    @Override
+    public Single<String> mergeSummaries(List<String> partSummaries, SummaryScope scope) {
+        if (partSummaries == null || partSummaries.isEmpty()) {
+            return Single.error(new AppError.AIServiceError("没有可合并的摘要", false));
+        }
+        return callAIApi(buildMergePrompt(scope), truncateForSummary(formatParts(partSummaries)));
+    }
+
+    /**
+     * 以流式输出合并若干部分的摘要
+     */
+    @Override
+    public Flowable<String> streamMergeSummaries(List<String> partSummaries, SummaryScope scope) {
+        if (partSummaries == null || partSummaries.isEmpty()) {
+            return Flowable.error(new AppError.AIServiceError("没有可合并的摘要", false));
+        }
+        return streamAIApi(buildMergePrompt(scope), truncateForSummary(formatParts(partSummaries)));
+    }
+
+    private static String formatParts(List<String> partSummaries) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < partSummaries.size(); i++) {
+            if (i > 0) {
+                builder.append("\n\n");
+            }
+            builder.append("第").append(i + 1).append("部分：").append(partSummaries.get(i));
+        }
+        return builder.toString();
+    }
+
+    /**
+     * 如果内容超出token预算，截取前面部分
+     * 超长章节应先经 HierarchicalSummarizer 分段，不会走到截断
+     */
+    private static String truncateForSummary(String content) {
+        if (TokenEstimator.estimate(content) > AIConfig.SUMMARY_INPUT_TOKENS) {
+            int end = TokenEstimator.fitEnd(content, 0, AIConfig.SUMMARY_INPUT_TOKENS);
+            return content.substring(0, end) + "...（内容已截断）";
+        }
+        return content;
     }
 }
@@ -0,0 +1,210 @@
+package com.example.read.data.service;
+
+import com.example.read.domain.model.Chapter;
+import com.example.read.utils.ContentHasher;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.core.Single;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+
+/**
+ * 批量摘要生成器 - 以有限并发生成多个章节的摘要
+ *
+ * 先按章节内容指纹批量查询摘要缓存，只有未命中的章节才生成，内容相同的章节只生成一次；
+ * 每章交给 {@link HierarchicalSummarizer} 生成（超长章节分段后合并），请求数和间隔由其统一限流，
+ * 同时处理的章节不超过 concurrency 个。
+ * 每完成一章回调一次进度，结果攒够 {@link #WRITE_BATCH_SIZE} 条后一次写入存储。
+ */
+public class BatchSummarizer {
+
+    /** 每批写入的摘要数 */
+    public static final int WRITE_BATCH_SIZE = 16;
+
+    /**
+     * 摘要存储
+     */
+    public interface SummaryStore {
+        /**
+         * 按内容指纹批量查询已缓存的摘要
+         * @return 内容指纹 -> 摘要
+         */
+        Map<String, String> findSummaries(List<String> contentHashes);
+
+        /**
+         * 批量保存摘要（包括命中缓存的结果，以便写回章节记录），失败的章节不会传入
+         */
+        void saveSummaries(List<Result> results);
+    }
+
+    /**
+     * 进度回调，按完成顺序调用，同一时间只有一个回调在执行
+     */
+    public interface Listener {
+        void onSummaryReady(Result result, int completed, int total);
+    }
+
+    /**
+     * 单个章节的摘要结果
+     */
+    public static final class Result {
+        private final long chapterId;
+        private final String contentHash;
+        private final String summary;
+        private final boolean fromCache;
+
+        Result(long chapterId, String contentHash, String summary, boolean fromCache) {
+            this.chapterId = chapterId;
+            this.contentHash = contentHash;
+            this.summary = summary;
+            this.fromCache = fromCache;
+        }
+
+        public long getChapterId() { return chapterId; }
+        public String getContentHash() { return contentHash; }
+        /** 生成失败时为null */
+        public String getSummary() { return summary; }
+        public boolean isFromCache() { return fromCache; }
+        public boolean isSuccess() { return summary != null; }
+    }
+
+    /**
+     * 内容相同的一组章节，只请求一次
+     */
+    private static final class Job {
+        final String contentHash;
+        final String content;
+        final List<Long> chapterIds = new ArrayList<>(1);
+        String summary;  // 请求失败时为null
+
+        Job(String contentHash, String content) {
+            this.contentHash = contentHash;
+            this.content = content;
+        }
+    }
+
+    private final HierarchicalSummarizer chapterSummarizer;
+    private final SummaryStore store;
+    private final int concurrency;
+
+    public BatchSummarizer(HierarchicalSummarizer chapterSummarizer, SummaryStore store, int concurrency) {
+        this.chapterSummarizer = chapterSummarizer;
+        this.store = store;
+        this.concurrency = Math.max(1, concurrency);
+    }
+
+    /**
+     * 生成摘要
+     * @return 章节ID -> 摘要（失败为null），顺序与输入一致
+     */
+    public Single<Map<Long, String>> summarize(List<Chapter> chapters, Listener listener) {
+        if (chapters == null || chapters.isEmpty()) {
+            return Single.just(new LinkedHashMap<>());
+        }
+        return Single.defer(() -> {
+            int total = chapters.size();
+            Map<Long, String> results = new LinkedHashMap<>();
+            Map<String, Job> jobs = new LinkedHashMap<>();
+            List<Result> failed = new ArrayList<>();
+            for (Chapter chapter : chapters) {
+                results.put(chapter.getId(), null);
+                String content = chapter.getContent();
+                if (content == null || content.trim().isEmpty()) {
+                    failed.add(new Result(chapter.getId(), null, null, false));
+                    continue;
+                }
+                String hash = ContentHasher.hashText(content);
+                Job job = jobs.get(hash);
+                if (job == null) {
+                    job = new Job(hash, content);
+                    jobs.put(hash, job);
+                }
+                job.chapterIds.add(chapter.getId());
+            }
+
+            Progress progress = new Progress(results, total, listener);
+            for (Result result : failed) {
+                progress.complete(result);
+            }
+
+            // 一次查出所有已缓存的摘要
+            Map<String, String> cached = jobs.isEmpty()
+                    ? Collections.emptyMap() : store.findSummaries(new ArrayList<>(jobs.keySet()));
+            List<Job> pending = new ArrayList<>(jobs.size());
+            for (Job job : jobs.values()) {
+                String summary = cached.get(job.contentHash);
+                if (summary != null && !summary.isEmpty()) {
+                    for (long chapterId : job.chapterIds) {
+                        progress.complete(new Result(chapterId, job.contentHash, summary, true));
+                    }
+                } else {
+                    pending.add(job);
+                }
+            }
+
+            return Flowable.fromIterable(pending)
+                    .flatMapSingle(job -> chapterSummarizer.summarizeChapter(job.content)
+                            .map(summary -> {
+                                job.summary = summary;
+                                return job;
+                            })
+                            // 单个章节失败不影响其他章节
+                            .onErrorReturnItem(job),
+                            false, concurrency)
+                    .doOnNext(job -> {
+                        for (long chapterId : job.chapterIds) {
+                            progress.complete(new Result(chapterId, job.contentHash, job.summary, false));
+                        }
+                    })
+                    .ignoreElements()
+                    .andThen(Single.fromCallable(() -> {
+                        progress.flush();
+                        return results;
+                    }));
+        }).subscribeOn(Schedulers.io());
+    }
+
+    /**
+     * 记录完成的章节、回调进度并分批写入
+     * 只在串行化的下游回调中使用，不需要同步
+     */
+    private final class Progress {
+        private final Map<Long, String> results;
+        private final int total;
+        private final Listener listener;
+        private final List<Result> writeBuffer = new ArrayList<>(WRITE_BATCH_SIZE);
+        private int completed;
+
+        Progress(Map<Long, String> results, int total, Listener listener) {
+            this.results = results;
+            this.total = total;
+            this.listener = listener;
+        }
+
+        void complete(Result result) {
+            results.put(result.chapterId, result.summary);
+            completed++;
+            if (result.isSuccess()) {
+                writeBuffer.add(result);
+                if (writeBuffer.size() >= WRITE_BATCH_SIZE) {
+                    flush();
+                }
+            }
+            if (listener != null) {
+                listener.onSummaryReady(result, completed, total);
+            }
+        }
+
+        void flush() {
+            if (!writeBuffer.isEmpty()) {
+                store.saveSummaries(new ArrayList<>(writeBuffer));
+                writeBuffer.clear();
+            }
+        }
+    }
+}
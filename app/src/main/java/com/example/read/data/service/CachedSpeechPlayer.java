@@ -0,0 +1,367 @@
+package com.example.read.data.service;
+
+import android.media.AudioAttributes;
+import android.media.MediaPlayer;
+import android.os.Bundle;
+import android.os.Handler;
+import android.os.Looper;
+import android.speech.tts.TextToSpeech;
+import android.util.Log;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 缓存朗读播放器 - 先用 synthesizeToFile 把排队的句子合成到 {@link TTSAudioCache}，再用 MediaPlayer 依次播放
+ *
+ * 合成按队列顺序逐句在后台进行，已缓存的句子直接播放；相邻两句通过 setNextMediaPlayer 衔接，没有停顿。
+ * 回调含义与 UtteranceProgressListener 相同，所有操作都在主线程执行，回调时不持有任何锁；
+ * 缓存的查找、提交和删除在单独的后台线程按顺序执行，音频用 prepareAsync 准备，主线程不读写磁盘。
+ */
+final class CachedSpeechPlayer {
+
+    private static final String TAG = "CachedSpeechPlayer";
+    private static final String SYNTHESIS_ID_PREFIX = "tts_synthesis_";
+
+    /**
+     * 播放进度回调
+     */
+    interface Listener {
+        void onStart(String utteranceId);
+        void onDone(String utteranceId);
+        void onError(String utteranceId);
+    }
+
+    /**
+     * 排队等待播放的一句
+     */
+    private static final class Item {
+        final String utteranceId;
+        final String text;
+        final String cacheKey;
+        File file;  // 合成完成前为null
+
+        Item(String utteranceId, String text, String cacheKey) {
+            this.utteranceId = utteranceId;
+            this.text = text;
+            this.cacheKey = cacheKey;
+        }
+    }
+
+    /**
+     * 正在进行的合成
+     */
+    private static final class SynthesisRequest {
+        final String cacheKey;
+        final File tempFile;
+
+        SynthesisRequest(String cacheKey, File tempFile) {
+            this.cacheKey = cacheKey;
+            this.tempFile = tempFile;
+        }
+    }
+
+    private final TextToSpeech textToSpeech;
+    private final TTSAudioCache cache;
+    private final Listener listener;
+    private final Handler handler = new Handler(Looper.getMainLooper());
+    private final ExecutorService cacheExecutor = Executors.newSingleThreadExecutor();
+
+    private final ArrayDeque<Item> items = new ArrayDeque<>();
+    private final Map<String, SynthesisRequest> synthesisRequests = new HashMap<>();
+    private int synthesisSequence;
+    private boolean lookupPending;  // 是否有排队中的句子正在查找缓存
+    private int generation;         // 每次清空队列加一，丢弃清空前发起的查找结果
+
+    private MediaPlayer currentPlayer;
+    private MediaPlayer nextPlayer;
+    private boolean currentStarted;  // 当前句是否已准备好并开始播放
+    private boolean nextChained;     // 下一句是否已准备好并衔接到当前句之后
+
+    CachedSpeechPlayer(TextToSpeech textToSpeech, TTSAudioCache cache, Listener listener) {
+        this.textToSpeech = textToSpeech;
+        this.cache = cache;
+        this.listener = listener;
+    }
+
+    /**
+     * 判断引擎回调的ID是否属于本播放器发起的合成
+     */
+    static boolean isSynthesisId(String utteranceId) {
+        return utteranceId != null && utteranceId.startsWith(SYNTHESIS_ID_PREFIX);
+    }
+
+    /**
+     * 加入一句
+     * @param flush 是否先清空已排队的句子
+     */
+    void submit(String utteranceId, String text, String cacheKey, boolean flush) {
+        handler.post(() -> {
+            if (flush) {
+                clearInternal();
+            }
+            items.addLast(new Item(utteranceId, text, cacheKey));
+            pump();
+        });
+    }
+
+    /**
+     * 清空队列并停止播放
+     */
+    void clear() {
+        handler.post(this::clearInternal);
+    }
+
+    /**
+     * 合成完成（引擎回调）
+     */
+    void onSynthesisDone(String synthesisId) {
+        handler.post(() -> {
+            SynthesisRequest request = synthesisRequests.get(synthesisId);
+            if (request == null) {
+                return;
+            }
+            // 提交完成前仍视为合成中，避免同一句被重复合成
+            cacheExecutor.execute(() -> {
+                File file = cache.commit(request.cacheKey, request.tempFile);
+                handler.post(() -> onCommitted(synthesisId, request, file));
+            });
+        });
+    }
+
+    private void onCommitted(String synthesisId, SynthesisRequest request, File file) {
+        synthesisRequests.remove(synthesisId);
+        for (Item item : items) {
+            if (item.file == null && item.cacheKey.equals(request.cacheKey)) {
+                if (file == null) {
+                    failItem(item);
+                    return;
+                }
+                item.file = file;
+            }
+        }
+        pump();
+    }
+
+    /**
+     * 合成失败或被中断（引擎回调）
+     * @param failed 是否为失败（被 stop 中断时为false）
+     */
+    void onSynthesisStopped(String synthesisId, boolean failed) {
+        handler.post(() -> {
+            SynthesisRequest request = synthesisRequests.remove(synthesisId);
+            if (request == null) {
+                return;
+            }
+            discard(request.tempFile);
+            if (failed) {
+                for (Item item : items) {
+                    if (item.file == null && item.cacheKey.equals(request.cacheKey)) {
+                        failItem(item);
+                        return;
+                    }
+                }
+            }
+            pump();
+        });
+    }
+
+    /**
+     * 推进合成和播放
+     */
+    private void pump() {
+        // 按队列顺序查找缓存或合成，同一时间只处理一句
+        if (!lookupPending && !isSynthesizingQueuedItem()) {
+            for (Item item : items) {
+                if (item.file == null) {
+                    lookUp(item);
+                    break;
+                }
+            }
+        }
+
+        // 准备完成后在 onPrepared 中开始播放
+        Item head = items.peekFirst();
+        if (currentPlayer == null && head != null && head.file != null) {
+            currentPlayer = createPlayer(head);
+            currentStarted = false;
+            if (currentPlayer == null) {
+                failItem(head);
+                return;
+            }
+        }
+
+        // 当前句开始播放后提前准备下一句，准备完成后衔接，由系统无缝切换
+        if (currentStarted && nextPlayer == null && items.size() > 1) {
+            Iterator<Item> iterator = items.iterator();
+            iterator.next();
+            Item second = iterator.next();
+            if (second.file != null) {
+                nextPlayer = createPlayer(second);
+                nextChained = false;
+            }
+        }
+    }
+
+    /**
+     * 在后台线程查找缓存，未命中时同时创建合成用的临时文件，结果回到主线程处理
+     */
+    private void lookUp(Item item) {
+        lookupPending = true;
+        int lookupGeneration = generation;
+        cacheExecutor.execute(() -> {
+            File cached = cache.get(item.cacheKey);
+            File tempFile = cached == null ? cache.newTempFile(item.cacheKey) : null;
+            handler.post(() -> onLookedUp(lookupGeneration, item, cached, tempFile));
+        });
+    }
+
+    private void onLookedUp(int lookupGeneration, Item item, File cached, File tempFile) {
+        if (lookupGeneration != generation) {
+            discard(tempFile);
+            return;
+        }
+        lookupPending = false;
+        if (cached != null) {
+            item.file = cached;
+        } else if (!requestSynthesis(item, tempFile)) {
+            failItem(item);
+            return;
+        }
+        pump();
+    }
+
+    private void onPrepared(MediaPlayer player) {
+        if (player == currentPlayer && !currentStarted) {
+            Item head = items.peekFirst();
+            currentStarted = true;
+            currentPlayer.start();
+            if (head != null) {
+                listener.onStart(head.utteranceId);
+            }
+            pump();
+        } else if (player == nextPlayer && !nextChained) {
+            nextChained = true;
+            currentPlayer.setNextMediaPlayer(nextPlayer);
+        }
+    }
+
+    /**
+     * 是否有排队中的句子正在合成（清空队列前发起的合成完成后仍会写入缓存，但不再阻塞新的合成）
+     */
+    private boolean isSynthesizingQueuedItem() {
+        for (SynthesisRequest request : synthesisRequests.values()) {
+            for (Item item : items) {
+                if (item.file == null && item.cacheKey.equals(request.cacheKey)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private boolean requestSynthesis(Item item, File tempFile) {
+        String synthesisId = SYNTHESIS_ID_PREFIX + (synthesisSequence++);
+        Bundle params = new Bundle();
+        params.putString(TextToSpeech.Engine.KEY_PARAM_UTTERANCE_ID, synthesisId);
+        synthesisRequests.put(synthesisId, new SynthesisRequest(item.cacheKey, tempFile));
+        int result = textToSpeech.synthesizeToFile(item.text, params, tempFile, synthesisId);
+        if (result != TextToSpeech.SUCCESS) {
+            synthesisRequests.remove(synthesisId);
+            discard(tempFile);
+            return false;
+        }
+        return true;
+    }
+
+    private MediaPlayer createPlayer(Item item) {
+        MediaPlayer player = new MediaPlayer();
+        try {
+            player.setAudioAttributes(new AudioAttributes.Builder()
+                    .setUsage(AudioAttributes.USAGE_MEDIA)
+                    .setContentType(AudioAttributes.CONTENT_TYPE_SPEECH)
+                    .build());
+            player.setDataSource(item.file.getAbsolutePath());
+            player.setOnPreparedListener(this::onPrepared);
+            player.setOnCompletionListener(this::onPlaybackCompleted);
+            player.setOnErrorListener(this::onPlayerError);
+            player.prepareAsync();
+        } catch (IOException | RuntimeException e) {
+            Log.e(TAG, "准备音频失败: " + item.file, e);
+            player.release();
+            return null;
+        }
+        return player;
+    }
+
+    private boolean onPlayerError(MediaPlayer player, int what, int extra) {
+        Item current = items.peekFirst();
+        if (player == currentPlayer && current != null) {
+            failItem(current);
+        } else if (player == nextPlayer) {
+            // 下一句准备失败时不衔接，轮到它时重新准备
+            if (nextChained) {
+                currentPlayer.setNextMediaPlayer(null);
+            }
+            nextPlayer.release();
+            nextPlayer = null;
+            nextChained = false;
+        }
+        return true;
+    }
+
+    private void onPlaybackCompleted(MediaPlayer player) {
+        if (player != currentPlayer) {
+            return;
+        }
+        Item done = items.pollFirst();
+        currentPlayer.release();
+        // 已衔接的下一句由 setNextMediaPlayer 自动开始播放，尚未准备好的在 onPrepared 中开始
+        currentPlayer = nextPlayer;
+        currentStarted = nextChained;
+        nextPlayer = null;
+        nextChained = false;
+        if (done != null) {
+            listener.onDone(done.utteranceId);
+        }
+        Item head = items.peekFirst();
+        if (currentStarted && head != null) {
+            listener.onStart(head.utteranceId);
+        }
+        pump();
+    }
+
+    private void failItem(Item item) {
+        String utteranceId = item.utteranceId;
+        clearInternal();
+        listener.onError(utteranceId);
+    }
+
+    private void clearInternal() {
+        items.clear();
+        generation++;
+        lookupPending = false;
+        currentStarted = false;
+        nextChained = false;
+        if (currentPlayer != null) {
+            currentPlayer.release();
+            currentPlayer = null;
+        }
+        if (nextPlayer != null) {
+            nextPlayer.release();
+            nextPlayer = null;
+        }
+    }
+
+    private void discard(File tempFile) {
+        if (tempFile != null) {
+            cacheExecutor.execute(() -> cache.discard(tempFile));
+        }
+    }
+}
@@ -0,0 +1,284 @@
+package com.example.read.data.service;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Paint;
+import android.graphics.Rect;
+import android.os.Build;
+import android.text.Layout;
+import android.text.StaticLayout;
+import android.text.TextPaint;
+import android.text.TextUtils;
+import android.util.Log;
+
+import com.example.read.domain.service.CoverService;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import javax.inject.Singleton;
+
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+/**
+ * 封面服务实现
+ *
+ * 缩略图保存为 filesDir/covers/thumb_小说ID_生成时间.webp，固定 {@link #THUMBNAIL_WIDTH}×{@link #THUMBNAIL_HEIGHT}，
+ * 按 centerCrop 裁剪。原图先只读取尺寸，再按2的幂次采样解码，只解码接近目标尺寸的位图。
+ * 每次生成使用新文件名并删除该小说的旧缩略图：封面路径随之变化，书架条目会重新绑定，
+ * Glide 也不会命中旧图的缓存。写入先落到临时文件再重命名，书架不会读到写了一半的缩略图。
+ */
+@Singleton
+public class CoverServiceImpl implements CoverService {
+
+    private static final String TAG = "CoverService";
+
+    static final String DIRECTORY = "covers";
+    private static final String THUMBNAIL_PREFIX = "thumb_";
+    private static final String THUMBNAIL_SUFFIX = ".webp";
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    // 原图大小上限，超过时不下载
+    private static final int MAX_SOURCE_BYTES = 8 * 1024 * 1024;
+    private static final int WEBP_QUALITY = 80;
+
+    // 占位封面底色，按小说ID取一种
+    private static final int[] PLACEHOLDER_COLORS = {
+        0xFF5C6BC0, 0xFF26A69A, 0xFF8D6E63, 0xFFEF6C00,
+        0xFF7E57C2, 0xFF42A5F5, 0xFF66BB6A, 0xFFEC407A
+    };
+    private static final int PLACEHOLDER_MAX_LINES = 4;
+
+    private final File directory;
+    private final OkHttpClient httpClient;
+
+    public CoverServiceImpl(Context context, OkHttpClient httpClient) {
+        this.directory = new File(context.getFilesDir(), DIRECTORY);
+        // 共享连接池，但去掉日志拦截器：BODY级别日志会把整张图片读入内存
+        OkHttpClient.Builder builder = httpClient.newBuilder();
+        builder.interceptors().clear();
+        this.httpClient = builder.build();
+    }
+
+    @Override
+    public String saveCover(long novelId, byte[] imageData) {
+        if (imageData == null || imageData.length == 0) {
+            return null;
+        }
+        return saveThumbnail(novelId, options ->
+                BitmapFactory.decodeByteArray(imageData, 0, imageData.length, options));
+    }
+
+    @Override
+    public String saveCoverFromFile(long novelId, String imagePath) {
+        if (imagePath == null || !new File(imagePath).isFile()) {
+            return null;
+        }
+        return saveThumbnail(novelId, options -> BitmapFactory.decodeFile(imagePath, options));
+    }
+
+    @Override
+    public String downloadCover(long novelId, String imageUrl) {
+        if (imageUrl == null || imageUrl.isEmpty()) {
+            return null;
+        }
+        Request request = new Request.Builder()
+                .url(imageUrl)
+                .header("User-Agent", "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36")
+                .build();
+        try (Response response = httpClient.newCall(request).execute()) {
+            ResponseBody body = response.body();
+            if (!response.isSuccessful() || body == null || body.contentLength() > MAX_SOURCE_BYTES) {
+                Log.w(TAG, "封面下载失败: " + response.code() + " " + imageUrl);
+                return null;
+            }
+            byte[] data = readLimited(body.byteStream(), MAX_SOURCE_BYTES);
+            if (data == null) {
+                Log.w(TAG, "封面图片过大: " + imageUrl);
+                return null;
+            }
+            return saveCover(novelId, data);
+        } catch (IOException | IllegalArgumentException e) {
+            Log.w(TAG, "封面下载失败: " + imageUrl, e);
+            return null;
+        }
+    }
+
+    @Override
+    public String createPlaceholderCover(long novelId, String title) {
+        Bitmap bitmap = Bitmap.createBitmap(THUMBNAIL_WIDTH, THUMBNAIL_HEIGHT, Bitmap.Config.ARGB_8888);
+        try {
+            Canvas canvas = new Canvas(bitmap);
+            int color = PLACEHOLDER_COLORS[(int) Math.floorMod(novelId, (long) PLACEHOLDER_COLORS.length)];
+            canvas.drawColor(color);
+
+            // 左侧书脊
+            Paint spinePaint = new Paint();
+            spinePaint.setColor(0x33000000);
+            canvas.drawRect(0, 0, THUMBNAIL_WIDTH / 14f, THUMBNAIL_HEIGHT, spinePaint);
+
+            String text = title != null && !title.trim().isEmpty() ? title.trim() : "?";
+            TextPaint textPaint = new TextPaint(Paint.ANTI_ALIAS_FLAG);
+            textPaint.setColor(Color.WHITE);
+            textPaint.setTextSize(THUMBNAIL_WIDTH / 7f);
+            textPaint.setFakeBoldText(true);
+            int padding = THUMBNAIL_WIDTH / 8;
+            int textWidth = THUMBNAIL_WIDTH - padding * 2;
+            StaticLayout layout = StaticLayout.Builder.obtain(text, 0, text.length(), textPaint, textWidth)
+                    .setAlignment(Layout.Alignment.ALIGN_CENTER)
+                    .setMaxLines(PLACEHOLDER_MAX_LINES)
+                    .setEllipsize(TextUtils.TruncateAt.END)
+                    .build();
+            canvas.save();
+            canvas.translate(padding, (THUMBNAIL_HEIGHT - layout.getHeight()) / 2f);
+            layout.draw(canvas);
+            canvas.restore();
+
+            return writeThumbnail(novelId, bitmap);
+        } finally {
+            bitmap.recycle();
+        }
+    }
+
+    @Override
+    public void deleteCover(long novelId) {
+        deleteThumbnails(novelId, null);
+    }
+
+    /**
+     * 计算采样倍数：不小于目标尺寸的前提下尽量缩小，取2的幂次
+     */
+    static int calculateSampleSize(int width, int height, int targetWidth, int targetHeight) {
+        int sampleSize = 1;
+        while (width / (sampleSize * 2) >= targetWidth && height / (sampleSize * 2) >= targetHeight) {
+            sampleSize *= 2;
+        }
+        return sampleSize;
+    }
+
+    private interface BitmapSource {
+        Bitmap decode(BitmapFactory.Options options);
+    }
+
+    private String saveThumbnail(long novelId, BitmapSource source) {
+        BitmapFactory.Options bounds = new BitmapFactory.Options();
+        bounds.inJustDecodeBounds = true;
+        source.decode(bounds);
+        if (bounds.outWidth <= 0 || bounds.outHeight <= 0) {
+            Log.w(TAG, "无法识别的封面图片: " + novelId);
+            return null;
+        }
+
+        BitmapFactory.Options options = new BitmapFactory.Options();
+        options.inSampleSize = calculateSampleSize(bounds.outWidth, bounds.outHeight,
+                THUMBNAIL_WIDTH, THUMBNAIL_HEIGHT);
+        Bitmap decoded = source.decode(options);
+        if (decoded == null) {
+            Log.w(TAG, "封面解码失败: " + novelId);
+            return null;
+        }
+
+        Bitmap thumbnail = Bitmap.createBitmap(THUMBNAIL_WIDTH, THUMBNAIL_HEIGHT, Bitmap.Config.ARGB_8888);
+        try {
+            Canvas canvas = new Canvas(thumbnail);
+            canvas.drawColor(Color.WHITE); // 透明背景的PNG转为白底
+            canvas.drawBitmap(decoded, centerCropRect(decoded.getWidth(), decoded.getHeight()),
+                    new Rect(0, 0, THUMBNAIL_WIDTH, THUMBNAIL_HEIGHT),
+                    new Paint(Paint.FILTER_BITMAP_FLAG));
+            return writeThumbnail(novelId, thumbnail);
+        } finally {
+            decoded.recycle();
+            thumbnail.recycle();
+        }
+    }
+
+    /**
+     * 原图中按目标宽高比居中裁剪的区域
+     */
+    private static Rect centerCropRect(int width, int height) {
+        // width / height 与 THUMBNAIL_WIDTH / THUMBNAIL_HEIGHT 比较，避免浮点
+        if ((long) width * THUMBNAIL_HEIGHT > (long) height * THUMBNAIL_WIDTH) {
+            int cropWidth = (int) ((long) height * THUMBNAIL_WIDTH / THUMBNAIL_HEIGHT);
+            int left = (width - cropWidth) / 2;
+            return new Rect(left, 0, left + cropWidth, height);
+        }
+        int cropHeight = (int) ((long) width * THUMBNAIL_HEIGHT / THUMBNAIL_WIDTH);
+        int top = (height - cropHeight) / 2;
+        return new Rect(0, top, width, top + cropHeight);
+    }
+
+    @SuppressWarnings("deprecation")
+    private String writeThumbnail(long novelId, Bitmap bitmap) {
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            Log.w(TAG, "无法创建封面目录: " + directory);
+            return null;
+        }
+        Bitmap.CompressFormat format = Build.VERSION.SDK_INT >= Build.VERSION_CODES.R
+                ? Bitmap.CompressFormat.WEBP_LOSSY
+                : Bitmap.CompressFormat.WEBP;
+        File target = new File(directory, thumbnailPrefix(novelId) + System.currentTimeMillis() + THUMBNAIL_SUFFIX);
+        File temp = new File(directory, target.getName() + "." + System.nanoTime() + TEMP_SUFFIX);
+        try (OutputStream output = new FileOutputStream(temp)) {
+            if (!bitmap.compress(format, WEBP_QUALITY, output)) {
+                throw new IOException("压缩失败");
+            }
+        } catch (IOException e) {
+            Log.w(TAG, "写入封面失败: " + novelId, e);
+            temp.delete();
+            return null;
+        }
+        if (!temp.renameTo(target)) {
+            temp.delete();
+            return null;
+        }
+        deleteThumbnails(novelId, target);
+        return target.getAbsolutePath();
+    }
+
+    /**
+     * 删除小说的缩略图
+     * @param keep 保留的文件，为null时全部删除
+     */
+    private void deleteThumbnails(long novelId, File keep) {
+        String prefix = thumbnailPrefix(novelId);
+        File[] files = directory.listFiles((dir, name) -> name.startsWith(prefix) && name.endsWith(THUMBNAIL_SUFFIX));
+        if (files == null) {
+            return;
+        }
+        for (File file : files) {
+            if (!file.equals(keep) && !file.delete()) {
+                Log.w(TAG, "删除封面失败: " + file);
+            }
+        }
+    }
+
+    private static String thumbnailPrefix(long novelId) {
+        return THUMBNAIL_PREFIX + novelId + "_";
+    }
+
+    /**
+     * 读取输入流，超过上限时返回null
+     */
+    private static byte[] readLimited(InputStream input, int maxBytes) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int len;
+        while ((len = input.read(buffer)) != -1) {
+            if (output.size() + len > maxBytes) {
+                return null;
+            }
+            output.write(buffer, 0, len);
+        }
+        return output.toByteArray();
+    }
+}
@@ -7,11 +7,18 @@ import android.util.Log;
 
 import com.example.read.domain.model.ParsedNovel;
 import com.example.read.domain.service.FileParserService;
+import com.example.read.utils.ChapterHeadingRecognizer;
+import com.example.read.utils.ContentHasher;
+import com.example.read.utils.EpubCoverLocator;
 
 import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.regex.Matcher;
@@ -33,20 +40,37 @@ public class FileParserServiceImpl implements FileParserService {
 
     private static final String TAG = "FileParserService";
     
+    // 读取缓冲区大小
+    private static final int BUFFER_SIZE = 8192;
+    
+    // 进度回调的字节间隔
+    private static final long PROGRESS_STEP_BYTES = 64 * 1024;
+    
+    // 封面图片的大小上限，超过时不提取（之后会生成占位封面）
+    private static final int MAX_COVER_BYTES = 8 * 1024 * 1024;
+    
     private final Context context;
     
-    // 章节标题匹配模式 - 更严格的版本
-    // 匹配以"第X章"、"Chapter X"或"数字、"开头的行
-    private static final Pattern CHAPTER_PATTERN = Pattern.compile(
-        "^\\s*(第[\\u96f6\\u4e00\\u4e8c\\u4e09\\u56db\\u4e94\\u516d\\u4e03\\u516b\\u4e5d\\u5341\\u767e\\u5343\\u4e070-9]+[\\u7ae0\\u8282\\u56de\\u5377\\u96c6\\u90e8\\u7bc7].*|" +
-        "[Cc]hapter\\s*\\d+.*|" +
-        "\\d{1,5}[\\u3001.\\uff0e].*)$",
+    // 章节标题识别器 - 匹配以"第X章"、"Chapter X"或"数字、"开头且不超过50字的行
+    private final ChapterHeadingRecognizer headingRecognizer = ChapterHeadingRecognizer.getDefault();
+
+    // 作者匹配模式 - 支持多种格式
+    // 格式1: 作者：xxx / Author: xxx / 著：xxx / by xxx（行首）
+    // 格式2: 《书名》作者：xxx（书名后面）
+    // 格式3: 书名 作者：xxx
+    private static final Pattern AUTHOR_PATTERN_1 = Pattern.compile(
+        "^\\s*(?:作者|Author|著|by|作\\s*者)[：:：\\s]+(.+)$",
+        Pattern.CASE_INSENSITIVE
+    );
+    private static final Pattern AUTHOR_PATTERN_2 = Pattern.compile(
+        "(?:》|erta)\\s*(?:作者|Author|著|by|作\\s*者)[：:：\\s]*(.+?)(?:\\s*$|\\s+文案|\\s+简介|\\s+内容)",
+        Pattern.CASE_INSENSITIVE
+    );
+    private static final Pattern AUTHOR_PATTERN_3 = Pattern.compile(
+        "(?:作者|Author|著|by|作\\s*者)[：:：\\s]+([^\\s《》\\n]+)",
         Pattern.CASE_INSENSITIVE
     );
     
-    // 用于检测是否是有效的章节标题（排除正文中的引用）
-    private static final int MAX_CHAPTER_TITLE_LENGTH = 50;
-
     @Inject
     public FileParserServiceImpl(Context context) {
         this.context = context;
@@ -64,7 +88,14 @@ public class FileParserServiceImpl implements FileParserService {
                     throw new IOException("无法打开文件");
                 }
                 Log.d(TAG, "成功打开文件输入流");
-                ParsedNovel result = parseTxtContent(inputStream, getFileNameFromUri(uri));
+                // 解析的同时计算文件指纹，避免为去重再读一遍文件
+                MessageDigest digest = ContentHasher.newDigest();
+                DigestInputStream digestStream = new DigestInputStream(inputStream, digest);
+                ChapterCollector collector = new ChapterCollector();
+                ParsedNovel result = parseTxtContent(digestStream, getFileNameFromUri(uri), collector);
+                result.setChapters(collector.chapters);
+                drain(digestStream);
+                result.setContentHash(ContentHasher.toHex(digest.digest()));
                 Log.d(TAG, "TXT解析完成，标题: " + result.getTitle() + ", 章节数: " + 
                         (result.getChapters() != null ? result.getChapters().size() : 0));
                 return result;
@@ -88,7 +119,13 @@ public class FileParserServiceImpl implements FileParserService {
                     throw new IOException("无法打开文件");
                 }
                 Log.d(TAG, "成功打开文件输入流");
-                ParsedNovel result = parseEpubContent(inputStream, getFileNameFromUri(uri));
+                // 解析的同时计算文件指纹，避免为去重再读一遍文件
+                MessageDigest digest = ContentHasher.newDigest();
+                DigestInputStream digestStream = new DigestInputStream(inputStream, digest);
+                ChapterCollector collector = new ChapterCollector();
+                ParsedNovel result = parseEpubContent(digestStream, getFileNameFromUri(uri), collector);
+                result.setChapters(collector.chapters);
+                result.setContentHash(ContentHasher.toHex(digest.digest()));
                 Log.d(TAG, "EPUB解析完成，标题: " + result.getTitle() + ", 章节数: " + 
                         (result.getChapters() != null ? result.getChapters().size() : 0));
                 return result;
@@ -99,10 +136,54 @@ public class FileParserServiceImpl implements FileParserService {
         });
     }
 
+    @Override
+    public String computeContentHash(Uri uri, ParseListener listener) throws IOException {
+        try (InputStream inputStream = context.getContentResolver().openInputStream(uri)) {
+            if (inputStream == null) {
+                throw new IOException("无法打开文件");
+            }
+            MessageDigest digest = ContentHasher.newDigest();
+            byte[] buffer = new byte[BUFFER_SIZE];
+            long bytesRead = 0;
+            long nextReport = PROGRESS_STEP_BYTES;
+            int len;
+            while ((len = inputStream.read(buffer)) != -1) {
+                if (listener.isCancelled()) {
+                    return null;
+                }
+                digest.update(buffer, 0, len);
+                bytesRead += len;
+                if (bytesRead >= nextReport) {
+                    listener.onBytesRead(bytesRead);
+                    nextReport = bytesRead + PROGRESS_STEP_BYTES;
+                }
+            }
+            listener.onBytesRead(bytesRead);
+            return ContentHasher.toHex(digest.digest());
+        }
+    }
+
+    @Override
+    public ParsedNovel parseFileStreaming(Uri uri, boolean epub, ParseListener listener) throws IOException {
+        Log.d(TAG, "开始流式解析文件: " + uri);
+        try (InputStream inputStream = context.getContentResolver().openInputStream(uri)) {
+            if (inputStream == null) {
+                throw new IOException("无法打开文件");
+            }
+            InputStream progressStream = new ProgressInputStream(inputStream, listener);
+            String fileName = getFileNameFromUri(uri);
+            return epub
+                    ? parseEpubContent(progressStream, fileName, listener)
+                    : parseTxtContent(progressStream, fileName, listener);
+        }
+    }
+
     /**
      * 解析TXT文件内容 - 优化版本，流式处理避免内存问题
+     * 不依赖ContentResolver，基准测试直接以内存中的文本调用
      */
-    private ParsedNovel parseTxtContent(InputStream inputStream, String fileName) throws IOException {
+    ParsedNovel parseTxtContent(InputStream inputStream, String fileName, ParseListener listener)
+            throws IOException {
         BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, "UTF-8"), 8192);
         
         ParsedNovel novel = new ParsedNovel();
@@ -117,43 +198,32 @@ public class FileParserServiceImpl implements FileParserService {
         
         // 流式解析章节，避免一次性加载整个文件
         // 同时尝试从前几行提取作者信息
-        List<ParsedNovel.ParsedChapter> chapters = parseChaptersStreamingWithAuthor(reader, novel);
-        novel.setChapters(chapters);
+        parseChaptersStreamingWithAuthor(reader, novel, listener);
         
         return novel;
     }
 
     /**
      * 流式解析章节内容并尝试提取作者信息
+     * 每个章节在遇到下一个标题时才完整，随即交给listener，不在内存中保留
+     * @return 解析出的章节数
      */
-    private List<ParsedNovel.ParsedChapter> parseChaptersStreamingWithAuthor(BufferedReader reader, ParsedNovel novel) throws IOException {
-        List<ParsedNovel.ParsedChapter> chapters = new ArrayList<>();
+    private int parseChaptersStreamingWithAuthor(BufferedReader reader, ParsedNovel novel,
+                                                 ParseListener listener) throws IOException {
         StringBuilder currentContent = new StringBuilder();
         String currentTitle = null;
         String line;
         int chapterIndex = 0;
-        String lastChapterTitle = null;
+        ChapterHeadingRecognizer.Match heading = new ChapterHeadingRecognizer.Match();
+        int lastChapterNumber = -1;
+        int lastChapterLevel = -1;
         int lineCount = 0;
         boolean authorFound = false;
         
-        // 作者匹配模式 - 支持多种格式
-        // 格式1: 作者：xxx / Author: xxx / 著：xxx / by xxx（行首）
-        // 格式2: 《书名》作者：xxx（书名后面）
-        // 格式3: 书名 作者：xxx
-        Pattern authorPattern1 = Pattern.compile(
-            "^\\s*(?:作者|Author|著|by|作\\s*者)[：:：\\s]+(.+)$",
-            Pattern.CASE_INSENSITIVE
-        );
-        Pattern authorPattern2 = Pattern.compile(
-            "(?:》|erta)\\s*(?:作者|Author|著|by|作\\s*者)[：:：\\s]*(.+?)(?:\\s*$|\\s+文案|\\s+简介|\\s+内容)",
-            Pattern.CASE_INSENSITIVE
-        );
-        Pattern authorPattern3 = Pattern.compile(
-            "(?:作者|Author|著|by|作\\s*者)[：:：\\s]+([^\\s《》\\n]+)",
-            Pattern.CASE_INSENSITIVE
-        );
-        
         while ((line = reader.readLine()) != null) {
+            if (listener.isCancelled()) {
+                return chapterIndex;
+            }
             lineCount++;
             
             // 在前50行中尝试提取作者信息
@@ -162,14 +232,14 @@ public class FileParserServiceImpl implements FileParserService {
                 String author = null;
                 
                 // 尝试格式1：行首的作者信息
-                Matcher authorMatcher = authorPattern1.matcher(trimmedLine);
+                Matcher authorMatcher = AUTHOR_PATTERN_1.matcher(trimmedLine);
                 if (authorMatcher.find()) {
                     author = authorMatcher.group(1).trim();
                 }
                 
                 // 尝试格式2：书名后面的作者信息（如《书名》作者：xxx）
                 if (author == null) {
-                    authorMatcher = authorPattern2.matcher(trimmedLine);
+                    authorMatcher = AUTHOR_PATTERN_2.matcher(trimmedLine);
                     if (authorMatcher.find()) {
                         author = authorMatcher.group(1).trim();
                     }
@@ -177,7 +247,7 @@ public class FileParserServiceImpl implements FileParserService {
                 
                 // 尝试格式3：通用格式
                 if (author == null) {
-                    authorMatcher = authorPattern3.matcher(trimmedLine);
+                    authorMatcher = AUTHOR_PATTERN_3.matcher(trimmedLine);
                     if (authorMatcher.find()) {
                         author = authorMatcher.group(1).trim();
                     }
@@ -191,27 +261,20 @@ public class FileParserServiceImpl implements FileParserService {
             }
             
             // 检查是否是章节标题
-            if (isValidChapterTitle(line, lastChapterTitle)) {
+            if (isValidChapterTitle(line, heading, lastChapterNumber, lastChapterLevel)) {
                 // 保存之前的章节
                 if (currentTitle != null && currentContent.length() > 0) {
-                    ParsedNovel.ParsedChapter chapter = new ParsedNovel.ParsedChapter();
-                    chapter.setTitle(currentTitle);
-                    chapter.setContent(currentContent.toString().trim());
-                    chapter.setIndex(chapterIndex++);
-                    chapters.add(chapter);
-                    currentContent.setLength(0);
+                    emitChapter(listener, currentTitle, currentContent, chapterIndex++);
                 } else if (currentContent.length() > 100) {
                     // 第一章之前的内容作为序言
-                    ParsedNovel.ParsedChapter chapter = new ParsedNovel.ParsedChapter();
-                    chapter.setTitle("序言");
-                    chapter.setContent(currentContent.toString().trim());
-                    chapter.setIndex(chapterIndex++);
-                    chapters.add(chapter);
-                    currentContent.setLength(0);
+                    emitChapter(listener, "序言", currentContent, chapterIndex++);
                 }
+                // 较短的开头（书名、作者等）不并入第一章
+                currentContent.setLength(0);
                 
-                currentTitle = line.trim();
-                lastChapterTitle = extractChapterNumber(currentTitle);
+                currentTitle = line.substring(heading.getStart(), heading.getEnd());
+                lastChapterNumber = heading.getNumber();
+                lastChapterLevel = heading.getLevel();
             } else {
                 currentContent.append(line).append("\n");
             }
@@ -219,96 +282,61 @@ public class FileParserServiceImpl implements FileParserService {
         
         // 保存最后一个章节
         if (currentTitle != null && currentContent.length() > 0) {
-            ParsedNovel.ParsedChapter chapter = new ParsedNovel.ParsedChapter();
-            chapter.setTitle(currentTitle);
-            chapter.setContent(currentContent.toString().trim());
-            chapter.setIndex(chapterIndex++);
-            chapters.add(chapter);
-        } else if (chapters.isEmpty() && currentContent.length() > 0) {
+            emitChapter(listener, currentTitle, currentContent, chapterIndex++);
+        } else if (chapterIndex == 0 && currentContent.length() > 0) {
             // 没有找到章节标题，将整个内容作为一个章节
-            ParsedNovel.ParsedChapter chapter = new ParsedNovel.ParsedChapter();
-            chapter.setTitle("正文");
-            chapter.setContent(currentContent.toString().trim());
-            chapter.setIndex(0);
-            chapters.add(chapter);
+            emitChapter(listener, "正文", currentContent, chapterIndex++);
         }
         
-        return chapters;
+        return chapterIndex;
+    }
+    
+    /**
+     * 创建章节并交给listener
+     */
+    private void emitChapter(ParseListener listener, String title, CharSequence content, int index)
+            throws IOException {
+        ParsedNovel.ParsedChapter chapter = new ParsedNovel.ParsedChapter();
+        chapter.setTitle(title);
+        chapter.setContent(content.toString().trim());
+        chapter.setIndex(index);
+        listener.onChapter(chapter);
     }
     
     /**
      * 检查是否是有效的章节标题
      * @param line 当前行
+     * @param heading 识别结果（复用的对象，匹配成功时写入编号和标题范围）
      * @param lastChapterNumber 上一个章节的编号（用于检测重复）
+     * @param lastChapterLevel 上一个章节的标题级别
      * @return 是否是有效的章节标题
      */
-    private boolean isValidChapterTitle(String line, String lastChapterNumber) {
-        if (line == null || line.trim().isEmpty()) {
+    private boolean isValidChapterTitle(String line, ChapterHeadingRecognizer.Match heading,
+                                        int lastChapterNumber, int lastChapterLevel) {
+        if (!headingRecognizer.recognize(line, heading)) {
             return false;
         }
         
-        String trimmedLine = line.trim();
-        
-        // 检查长度限制
-        if (trimmedLine.length() > MAX_CHAPTER_TITLE_LENGTH) {
-            return false;
-        }
-        
-        // 检查是否匹配章节标题模式
-        Matcher matcher = CHAPTER_PATTERN.matcher(trimmedLine);
-        if (!matcher.matches()) {
-            return false;
-        }
-        
-        // 提取当前章节编号
-        String currentChapterNumber = extractChapterNumber(trimmedLine);
-        
         // 如果章节编号与上一个相同，可能是正文中的引用，跳过
-        if (currentChapterNumber != null && currentChapterNumber.equals(lastChapterNumber)) {
-            Log.d(TAG, "跳过重复章节标题: " + trimmedLine);
+        if (heading.isSameHeading(lastChapterNumber, lastChapterLevel)) {
+            Log.d(TAG, "跳过重复章节标题: " + line.trim());
             return false;
         }
         
         return true;
     }
-    
-    /**
-     * 从章节标题中提取章节编号
-     * 例如："第八百五十五章 炼制" -> "八百五十五"
-     */
-    private String extractChapterNumber(String title) {
-        if (title == null) return null;
-        
-        // 匹配中文数字章节号
-        Pattern chinesePattern = Pattern.compile("第([零一二三四五六七八九十百千万0-9]+)[章节回卷集部篇]");
-        Matcher matcher = chinesePattern.matcher(title);
-        if (matcher.find()) {
-            return matcher.group(1);
-        }
-        
-        // 匹配英文章节号
-        Pattern englishPattern = Pattern.compile("[Cc]hapter\\s*(\\d+)", Pattern.CASE_INSENSITIVE);
-        matcher = englishPattern.matcher(title);
-        if (matcher.find()) {
-            return matcher.group(1);
-        }
-        
-        // 匹配数字章节号
-        Pattern numberPattern = Pattern.compile("^(\\d{1,5})[、.．]");
-        matcher = numberPattern.matcher(title);
-        if (matcher.find()) {
-            return matcher.group(1);
-        }
-        
-        return null;
-    }
 
 
     /**
      * 解析EPUB文件内容
      * EPUB本质上是一个ZIP文件，包含HTML/XHTML内容
+     * 
+     * 封面：优先取OPF声明的封面图片；OPF未声明或图片先于OPF出现时，
+     * 取文件名含 cover 的图片。只保留一张封面的原始数据。
+     * 与 {@link #parseTxtContent} 一样不依赖ContentResolver，测试直接以内存中的文件调用
      */
-    private ParsedNovel parseEpubContent(InputStream inputStream, String fileName) throws IOException {
+    ParsedNovel parseEpubContent(InputStream inputStream, String fileName, ParseListener listener)
+            throws IOException {
         ParsedNovel novel = new ParsedNovel();
         
         // 从文件名提取标题
@@ -319,13 +347,18 @@ public class FileParserServiceImpl implements FileParserService {
         novel.setTitle(title);
         novel.setAuthor("未知作者");
         
-        List<ParsedNovel.ParsedChapter> chapters = new ArrayList<>();
+        int chapterIndex = 0;
+        String opfCoverEntry = null;     // OPF声明的封面条目路径
+        String fallbackCoverEntry = null;
+        byte[] fallbackCover = null;     // 按文件名猜测的封面
         
         try (ZipInputStream zipInputStream = new ZipInputStream(inputStream)) {
             ZipEntry entry;
-            int chapterIndex = 0;
             
             while ((entry = zipInputStream.getNextEntry()) != null) {
+                if (listener.isCancelled()) {
+                    return novel;
+                }
                 String entryName = entry.getName().toLowerCase();
                 
                 // 解析HTML/XHTML内容文件
@@ -339,39 +372,67 @@ public class FileParserServiceImpl implements FileParserService {
                         String chapterTitle = extractTitleFromHtml(htmlContent);
                         if (chapterTitle == null || chapterTitle.isEmpty()) {
                             chapterTitle = "第" + (chapterIndex + 1) + "章";
+                        } else {
+                            textContent = stripLeadingTitle(textContent, chapterTitle);
                         }
                         
-                        ParsedNovel.ParsedChapter chapter = new ParsedNovel.ParsedChapter();
-                        chapter.setTitle(chapterTitle);
-                        chapter.setContent(textContent.trim());
-                        chapter.setIndex(chapterIndex);
-                        chapters.add(chapter);
-                        chapterIndex++;
+                        emitChapter(listener, chapterTitle, textContent, chapterIndex++);
                     }
                 }
                 // 尝试从OPF文件提取元数据
                 else if (entryName.endsWith(".opf")) {
                     String opfContent = readZipEntryContent(zipInputStream);
                     extractMetadataFromOpf(opfContent, novel);
+                    String coverHref = EpubCoverLocator.findCoverHref(opfContent);
+                    if (coverHref != null) {
+                        opfCoverEntry = EpubCoverLocator.resolve(entry.getName(), coverHref);
+                        // 封面图片排在OPF之前，已按文件名读取
+                        if (opfCoverEntry.equalsIgnoreCase(fallbackCoverEntry)) {
+                            novel.setCoverImage(fallbackCover);
+                        }
+                    }
+                }
+                // 提取封面图片
+                else if (novel.getCoverImage() == null && EpubCoverLocator.isImage(entryName)) {
+                    if (opfCoverEntry != null && opfCoverEntry.equalsIgnoreCase(entry.getName())) {
+                        novel.setCoverImage(readZipEntryBytes(zipInputStream, MAX_COVER_BYTES));
+                    } else if (fallbackCover == null && EpubCoverLocator.looksLikeCover(entryName)) {
+                        fallbackCover = readZipEntryBytes(zipInputStream, MAX_COVER_BYTES);
+                        fallbackCoverEntry = fallbackCover != null ? entry.getName() : null;
+                    }
                 }
                 
                 zipInputStream.closeEntry();
             }
+            
+            // 关闭ZipInputStream会同时关闭底层流，需在此之前读完剩余字节
+            drain(inputStream);
+        }
+        
+        // OPF声明的封面缺失或过大时，退回按文件名猜测的封面
+        if (novel.getCoverImage() == null) {
+            novel.setCoverImage(fallbackCover);
         }
         
         // 如果没有解析到章节，创建一个空章节
-        if (chapters.isEmpty()) {
-            ParsedNovel.ParsedChapter chapter = new ParsedNovel.ParsedChapter();
-            chapter.setTitle("正文");
-            chapter.setContent("无法解析EPUB内容");
-            chapter.setIndex(0);
-            chapters.add(chapter);
+        if (chapterIndex == 0) {
+            emitChapter(listener, "正文", "无法解析EPUB内容", 0);
         }
         
-        novel.setChapters(chapters);
         return novel;
     }
 
+    /**
+     * 读完输入流的剩余部分，保证摘要覆盖整个文件
+     * （EPUB解析读到ZIP中央目录时就会停止，TXT逐行读取到末尾时此处为空操作）
+     */
+    private void drain(InputStream inputStream) throws IOException {
+        byte[] buffer = new byte[8192];
+        while (inputStream.read(buffer) != -1) {
+            // 仅用于推进摘要计算
+        }
+    }
+
     /**
      * 读取ZIP条目内容
      */
@@ -387,13 +448,33 @@ public class FileParserServiceImpl implements FileParserService {
         return content.toString();
     }
 
+    /**
+     * 读取ZIP条目的原始字节
+     * @return 条目内容，超过上限时返回null（剩余部分由 closeEntry 跳过）
+     */
+    private byte[] readZipEntryBytes(ZipInputStream zipInputStream, int maxBytes) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        byte[] buffer = new byte[BUFFER_SIZE];
+        int len;
+        
+        while ((len = zipInputStream.read(buffer)) > 0) {
+            if (output.size() + len > maxBytes) {
+                return null;
+            }
+            output.write(buffer, 0, len);
+        }
+        
+        return output.size() > 0 ? output.toByteArray() : null;
+    }
+
     /**
      * 从HTML中提取纯文本内容
      */
     private String extractTextFromHtml(String html) {
         if (html == null) return "";
         
-        // 移除script和style标签及其内容
+        // 移除head（其中的title已作为章节标题）、script和style标签及其内容
+        html = html.replaceAll("(?is)<head[\\s>].*?</head>", "");
         html = html.replaceAll("(?is)<script.*?</script>", "");
         html = html.replaceAll("(?is)<style.*?</style>", "");
         
@@ -405,13 +486,7 @@ public class FileParserServiceImpl implements FileParserService {
         // 移除所有HTML标签
         html = html.replaceAll("<[^>]+>", "");
         
-        // 解码HTML实体
-        html = html.replace("&nbsp;", " ");
-        html = html.replace("&lt;", "<");
-        html = html.replace("&gt;", ">");
-        html = html.replace("&amp;", "&");
-        html = html.replace("&quot;", "\"");
-        html = html.replace("&#39;", "'");
+        html = decodeEntities(html);
         
         // 清理多余空白
         html = html.replaceAll("\\s*\\n\\s*\\n\\s*", "\n\n");
@@ -419,6 +494,31 @@ public class FileParserServiceImpl implements FileParserService {
         return html.trim();
     }
 
+    /**
+     * 解码常见的HTML实体（&amp;最后解码，避免"&amp;lt;"被解码两次）
+     */
+    private String decodeEntities(String html) {
+        return html.replace("&nbsp;", " ")
+                .replace("&lt;", "<")
+                .replace("&gt;", ">")
+                .replace("&quot;", "\"")
+                .replace("&#39;", "'")
+                .replace("&amp;", "&");
+    }
+
+    /**
+     * 去掉正文开头与章节标题相同的标题行（如正文中的h1），避免标题在正文中重复
+     */
+    private String stripLeadingTitle(String text, String title) {
+        if (text.startsWith(title)) {
+            String rest = text.substring(title.length());
+            if (rest.isEmpty() || rest.charAt(0) == '\n') {
+                return rest.trim();
+            }
+        }
+        return text;
+    }
+
     /**
      * 从HTML中提取标题
      */
@@ -429,14 +529,14 @@ public class FileParserServiceImpl implements FileParserService {
         Pattern titlePattern = Pattern.compile("<title[^>]*>([^<]+)</title>", Pattern.CASE_INSENSITIVE);
         Matcher matcher = titlePattern.matcher(html);
         if (matcher.find()) {
-            return matcher.group(1).trim();
+            return decodeEntities(matcher.group(1)).trim();
         }
         
         // 尝试从h1标签提取
         Pattern h1Pattern = Pattern.compile("<h1[^>]*>([^<]+)</h1>", Pattern.CASE_INSENSITIVE);
         matcher = h1Pattern.matcher(html);
         if (matcher.find()) {
-            return matcher.group(1).trim();
+            return decodeEntities(matcher.group(1)).trim();
         }
         
         return null;
@@ -512,4 +612,73 @@ public class FileParserServiceImpl implements FileParserService {
         
         return fileName != null && !fileName.isEmpty() ? fileName : "未知文件";
     }
+
+    /**
+     * 将章节收集到列表中，用于一次性返回全部章节的解析方法
+     */
+    private static class ChapterCollector implements ParseListener {
+        final List<ParsedNovel.ParsedChapter> chapters = new ArrayList<>();
+
+        @Override
+        public void onBytesRead(long bytesRead) {}
+
+        @Override
+        public void onChapter(ParsedNovel.ParsedChapter chapter) {
+            chapters.add(chapter);
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return false;
+        }
+    }
+
+    /**
+     * 统计已读取字节数的输入流，每读取 PROGRESS_STEP_BYTES 字节回调一次进度
+     */
+    private static class ProgressInputStream extends FilterInputStream {
+        private final ParseListener listener;
+        private long bytesRead;
+        private long nextReport = PROGRESS_STEP_BYTES;
+
+        ProgressInputStream(InputStream in, ParseListener listener) {
+            super(in);
+            this.listener = listener;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b != -1) {
+                advance(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int n = super.read(buffer, offset, length);
+            if (n > 0) {
+                advance(n);
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            if (skipped > 0) {
+                advance(skipped);
+            }
+            return skipped;
+        }
+
+        private void advance(long n) {
+            bytesRead += n;
+            if (bytesRead >= nextReport) {
+                listener.onBytesRead(bytesRead);
+                nextReport = bytesRead + PROGRESS_STEP_BYTES;
+            }
+        }
+    }
 }
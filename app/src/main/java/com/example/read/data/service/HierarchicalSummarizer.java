@@ -0,0 +1,266 @@
+package com.example.read.data.service;
+
+import com.example.read.domain.error.AppError;
+import com.example.read.domain.model.BookSummary;
+import com.example.read.domain.model.SummaryScope;
+import com.example.read.domain.service.AIService;
+import com.example.read.utils.ContentHasher;
+import com.example.read.utils.TextChunker;
+import com.example.read.utils.TokenEstimator;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.core.Single;
+
+/**
+ * 分层摘要生成器 - 以 map-reduce 方式生成长章节和全书的摘要
+ *
+ * 超出输入预算的章节按段落切成若干块，各块并发生成摘要（map），再逐层合并为章节摘要（reduce）；
+ * 章节摘要每 arcSize 章合并为一个分段摘要，分段摘要再合并为全书摘要。
+ * 每个节点的摘要按其输入计算缓存键：文本块用块内容的指纹，合并节点用层级加各输入摘要的指纹，
+ * 因此追加章节后只有最后一个分段和全书需要重新合并，其余节点直接命中缓存。
+ */
+public class HierarchicalSummarizer {
+
+    // 超时请求的重试次数
+    private static final int MAX_RETRIES = 2;
+
+    /**
+     * 中间结果缓存
+     */
+    public interface NodeCache {
+        /**
+         * 批量查询已缓存的节点摘要
+         * @return 缓存键 -> 摘要
+         */
+        Map<String, String> findSummaries(List<String> keys);
+
+        /**
+         * 保存一个节点的摘要
+         */
+        void saveSummary(String key, String summary);
+    }
+
+    private final AIService aiService;
+    private final NodeCache cache;
+    private final RequestThrottle throttle;
+    private final int concurrency;
+    private final int inputTokens;
+    private final int arcSize;
+
+    /**
+     * @param concurrency 同时进行的请求数上限（所有层级共享）
+     * @param minIntervalMs 相邻请求的最小发起间隔
+     * @param inputTokens 单次请求输入的token预算
+     * @param arcSize 每个分段包含的章节数
+     */
+    public HierarchicalSummarizer(AIService aiService, NodeCache cache, int concurrency,
+                                  long minIntervalMs, int inputTokens, int arcSize) {
+        this.aiService = aiService;
+        this.cache = cache;
+        this.concurrency = Math.max(1, concurrency);
+        this.throttle = new RequestThrottle(this.concurrency, minIntervalMs);
+        this.inputTokens = inputTokens;
+        this.arcSize = Math.max(1, arcSize);
+    }
+
+    /**
+     * 生成章节摘要：预算内的章节直接请求，超长章节分段摘要后合并
+     * 章节本身的结果由调用方按内容指纹缓存，这里只缓存分段和中间合并结果
+     */
+    public Single<String> summarizeChapter(String content) {
+        if (content == null || content.trim().isEmpty()) {
+            return Single.error(new AppError.AIServiceError("章节内容为空", false));
+        }
+        if (TokenEstimator.estimate(content) <= inputTokens) {
+            return request(aiService.generateSummary(content));
+        }
+        return summarizeChunks(content)
+                .flatMap(parts -> reduce(SummaryScope.CHAPTER, parts));
+    }
+
+    /**
+     * 以流式输出生成章节摘要：超长章节的分段摘要照常生成，只有最后一次合并以流式输出
+     */
+    public Flowable<String> streamChapter(String content) {
+        if (content == null || content.trim().isEmpty() || TokenEstimator.estimate(content) <= inputTokens) {
+            return aiService.streamSummary(content);
+        }
+        return summarizeChunks(content)
+                .flatMap(parts -> reduceToFit(SummaryScope.CHAPTER, parts))
+                .flatMapPublisher(parts -> parts.size() == 1
+                        ? Flowable.just(parts.get(0))
+                        : aiService.streamMergeSummaries(parts, SummaryScope.CHAPTER));
+    }
+
+    /**
+     * 由章节摘要生成全书摘要
+     * @param chapterSummaries 按章节顺序排列的摘要，没有摘要的章节为null（不参与合并，但占据位置，
+     *                         使分段边界不随个别章节失败而移动）
+     */
+    public Single<BookSummary> summarizeBook(List<String> chapterSummaries) {
+        return Single.defer(() -> {
+            List<int[]> ranges = new ArrayList<>();
+            List<List<String>> arcParts = new ArrayList<>();
+            for (int start = 0; start < chapterSummaries.size(); start += arcSize) {
+                int end = Math.min(chapterSummaries.size(), start + arcSize);
+                List<String> parts = new ArrayList<>(end - start);
+                for (String summary : chapterSummaries.subList(start, end)) {
+                    if (summary != null && !summary.isEmpty()) {
+                        parts.add(summary);
+                    }
+                }
+                if (!parts.isEmpty()) {
+                    ranges.add(new int[]{start, end});
+                    arcParts.add(parts);
+                }
+            }
+            if (arcParts.isEmpty()) {
+                return Single.error(new AppError.AIServiceError("没有可用的章节摘要", false));
+            }
+            List<Integer> indices = new ArrayList<>(arcParts.size());
+            for (int i = 0; i < arcParts.size(); i++) {
+                indices.add(i);
+            }
+            return Flowable.fromIterable(indices)
+                    .concatMapEager(i -> reduce(SummaryScope.ARC, arcParts.get(i)).toFlowable(),
+                            concurrency, 1)
+                    .toList()
+                    .flatMap(arcSummaries -> reduce(SummaryScope.BOOK, arcSummaries)
+                            .map(bookSummary -> {
+                                List<BookSummary.Arc> arcs = new ArrayList<>(arcSummaries.size());
+                                for (int i = 0; i < arcSummaries.size(); i++) {
+                                    int[] range = ranges.get(i);
+                                    arcs.add(new BookSummary.Arc(range[0], range[1], arcSummaries.get(i)));
+                                }
+                                return new BookSummary(bookSummary, arcs);
+                            }));
+        });
+    }
+
+    // ==================== map ====================
+
+    /**
+     * 切分超长章节并并发生成各块的摘要，已缓存的块不再请求
+     * @return 按原文顺序排列的块摘要
+     */
+    private Single<List<String>> summarizeChunks(String content) {
+        return Single.defer(() -> {
+            List<String> chunks = TextChunker.split(content, inputTokens);
+            List<String> keys = new ArrayList<>(chunks.size());
+            for (String chunk : chunks) {
+                keys.add(ContentHasher.hashText(chunk));
+            }
+            Map<String, String> cached = cache.findSummaries(keys);
+            List<Integer> indices = new ArrayList<>(chunks.size());
+            for (int i = 0; i < chunks.size(); i++) {
+                indices.add(i);
+            }
+            return Flowable.fromIterable(indices)
+                    .concatMapEager(i -> {
+                        String summary = cached.get(keys.get(i));
+                        if (summary != null && !summary.isEmpty()) {
+                            return Flowable.just(summary);
+                        }
+                        return request(aiService.generateSummary(chunks.get(i)))
+                                .doOnSuccess(result -> cache.saveSummary(keys.get(i), result))
+                                .toFlowable();
+                    }, concurrency, 1)
+                    .toList();
+        });
+    }
+
+    // ==================== reduce ====================
+
+    /**
+     * 把若干部分的摘要合并为一个
+     * 输入超出预算时先分组合并，逐层进行直到剩下一个
+     */
+    private Single<String> reduce(SummaryScope scope, List<String> parts) {
+        if (parts.size() == 1) {
+            return Single.just(parts.get(0));
+        }
+        return Single.defer(() -> {
+            String key = nodeKey(scope, parts);
+            String cached = cache.findSummaries(Collections.singletonList(key)).get(key);
+            if (cached != null && !cached.isEmpty()) {
+                return Single.just(cached);
+            }
+            List<List<String>> groups = group(parts);
+            Single<String> merged = groups.size() == 1
+                    ? request(aiService.mergeSummaries(parts, scope))
+                    : reduceGroups(scope, groups).flatMap(next -> reduce(scope, next));
+            return merged.doOnSuccess(summary -> cache.saveSummary(key, summary));
+        });
+    }
+
+    /**
+     * 逐层合并，直到剩余部分可以在一次请求中合并
+     */
+    private Single<List<String>> reduceToFit(SummaryScope scope, List<String> parts) {
+        List<List<String>> groups = group(parts);
+        if (groups.size() == 1) {
+            return Single.just(parts);
+        }
+        return reduceGroups(scope, groups).flatMap(next -> reduceToFit(scope, next));
+    }
+
+    /**
+     * 并发合并各组
+     * @return 按顺序排列的各组合并结果
+     */
+    private Single<List<String>> reduceGroups(SummaryScope scope, List<List<String>> groups) {
+        return Flowable.fromIterable(groups)
+                .concatMapEager(g -> reduce(scope, g).toFlowable(), concurrency, 1)
+                .toList();
+    }
+
+    /**
+     * 按预算把各部分分组，每组至少两部分以保证层数收敛
+     * 全部部分在预算内，或每组两部分也放不下时只有一组（合并时超出部分由AI服务截断）
+     */
+    private List<List<String>> group(List<String> parts) {
+        List<List<String>> groups = new ArrayList<>();
+        List<String> group = new ArrayList<>();
+        int groupTokens = 0;
+        for (String part : parts) {
+            int tokens = TokenEstimator.estimate(part);
+            if (group.size() >= 2 && groupTokens + tokens > inputTokens) {
+                groups.add(group);
+                group = new ArrayList<>();
+                groupTokens = 0;
+            }
+            group.add(part);
+            groupTokens += tokens;
+        }
+        if (group.size() == 1 && !groups.isEmpty()) {
+            groups.get(groups.size() - 1).addAll(group);
+        } else {
+            groups.add(group);
+        }
+        return groups;
+    }
+
+    // ==================== 请求 ====================
+
+    /**
+     * 在限流下发起请求，超时时重试
+     */
+    private Single<String> request(Single<String> call) {
+        return throttle.run(call)
+                .retry(MAX_RETRIES, error -> error instanceof AppError.AIServiceError
+                        && ((AppError.AIServiceError) error).isTimeout());
+    }
+
+    private static String nodeKey(SummaryScope scope, List<String> parts) {
+        StringBuilder builder = new StringBuilder(scope.name());
+        for (String part : parts) {
+            builder.append('\n').append(ContentHasher.hashText(part));
+        }
+        return ContentHasher.hashText(builder.toString());
+    }
+}
@@ -0,0 +1,178 @@
+package com.example.read.data.service;
+
+import android.database.sqlite.SQLiteConstraintException;
+import android.util.Log;
+
+import com.example.read.data.AppDatabase;
+import com.example.read.data.dao.NovelDao;
+import com.example.read.data.dao.ReadingProgressDao;
+import com.example.read.data.entity.ReadingProgressEntity;
+import com.example.read.utils.Metrics;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+/**
+ * 阅读进度写入器 - 合并频繁的阅读位置更新，定时写入数据库
+ *
+ * 翻页和滚动时只在内存中保留每本小说的最新位置，距上次写入满 {@link #FLUSH_INTERVAL_MS} 毫秒后
+ * 才写入一次；离开阅读界面时调用 {@link #flush()} 立即写入。章节标题由调用方从已加载的目录中给出，
+ * 写入时不再按章节ID读取章节行。
+ *
+ * 进度行和书架行在同一个事务中写入；写入失败（如数据库忙）时进度留在队列中等下次写入，
+ * 期间只会被更新的位置替换。小说已被删除时丢弃。
+ *
+ * {@link Metrics#COUNTER_PROGRESS_UPDATES} 与 {@link Metrics#COUNTER_PROGRESS_WRITES} 之比即合并率。
+ */
+@Singleton
+public class ReadingProgressWriter {
+
+    private static final String TAG = "ReadingProgressWriter";
+
+    /** 两次写入的最小间隔 */
+    static final long FLUSH_INTERVAL_MS = 5_000L;
+
+    // 同一章内持续阅读时，书架行的最后阅读时间最多每分钟刷新一次
+    private static final long SHELF_TOUCH_INTERVAL_MS = 60_000L;
+
+    private final ReadingProgressDao progressDao;
+    private final NovelDao novelDao;
+    private final Consumer<Runnable> transaction;   // 在一个数据库事务中执行
+    private final ScheduledExecutorService executor;
+    private final LongSupplier clock;
+
+    private final Object lock = new Object();
+    // 小说ID -> 尚未写入的最新进度
+    private final Map<Long, PendingProgress> pending = new LinkedHashMap<>();
+    private ScheduledFuture<?> scheduledFlush;
+    private long lastFlushTime;
+
+    @Inject
+    public ReadingProgressWriter(ReadingProgressDao progressDao, NovelDao novelDao, AppDatabase database) {
+        this(progressDao, novelDao, database::runInTransaction, Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, TAG);
+            thread.setDaemon(true);
+            return thread;
+        }), System::currentTimeMillis);
+    }
+
+    ReadingProgressWriter(ReadingProgressDao progressDao, NovelDao novelDao, Consumer<Runnable> transaction,
+                          ScheduledExecutorService executor, LongSupplier clock) {
+        this.progressDao = progressDao;
+        this.novelDao = novelDao;
+        this.transaction = transaction;
+        this.executor = executor;
+        this.clock = clock;
+        // 启动后的第一次更新同样等满一个间隔再写入
+        this.lastFlushTime = clock.getAsLong();
+    }
+
+    /**
+     * 记录最新阅读位置，最迟在下一个写入间隔到达时写入
+     * @param chapterTitle 章节标题，为null时写入时从章节表读取
+     */
+    public void update(long novelId, long chapterId, String chapterTitle, int position) {
+        Metrics.increment(Metrics.COUNTER_PROGRESS_UPDATES);
+        synchronized (lock) {
+            long now = clock.getAsLong();
+            pending.put(novelId, new PendingProgress(
+                    new ReadingProgressEntity(novelId, chapterId, position, now), chapterTitle));
+            if (scheduledFlush == null) {
+                long delay = Math.max(0, lastFlushTime + FLUSH_INTERVAL_MS - now);
+                scheduledFlush = executor.schedule(this::flushNow, delay, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    /**
+     * 立即写入所有尚未写入的进度（在写入线程上执行，不阻塞调用方）
+     */
+    public void flush() {
+        executor.execute(this::flushNow);
+    }
+
+    /**
+     * 获取尚未写入的进度，读取阅读位置时优先于数据库中的记录
+     * @return 没有未写入的进度时返回null
+     */
+    public ReadingProgressEntity getPending(long novelId) {
+        synchronized (lock) {
+            PendingProgress progress = pending.get(novelId);
+            return progress != null ? progress.progress : null;
+        }
+    }
+
+    void flushNow() {
+        List<PendingProgress> batch;
+        synchronized (lock) {
+            if (scheduledFlush != null) {
+                scheduledFlush.cancel(false);
+                scheduledFlush = null;
+            }
+            if (pending.isEmpty()) {
+                return;
+            }
+            batch = new ArrayList<>(pending.values());
+            lastFlushTime = clock.getAsLong();
+        }
+
+        boolean retry = false;
+        for (PendingProgress item : batch) {
+            ReadingProgressEntity progress = item.progress;
+            boolean done = true;
+            try {
+                transaction.accept(() -> {
+                    progressDao.saveProgress(progress);
+                    // 同一章内翻页不改写 novels 行，书架列表不会因此失效
+                    novelDao.updateShelfProgress(progress.getNovelId(), progress.getChapterId(), item.chapterTitle,
+                            progress.getUpdateTime(), SHELF_TOUCH_INTERVAL_MS);
+                });
+                Metrics.increment(Metrics.COUNTER_PROGRESS_WRITES);
+            } catch (SQLiteConstraintException e) {
+                // 小说已被删除，丢弃该进度
+                Log.w(TAG, "小说不存在，丢弃阅读进度: " + progress.getNovelId(), e);
+            } catch (RuntimeException e) {
+                // 数据库忙等暂时的失败，保留该进度等下次写入
+                Log.w(TAG, "保存阅读进度失败，稍后重试: " + progress.getNovelId(), e);
+                done = false;
+                retry = true;
+            }
+            if (done) {
+                synchronized (lock) {
+                    // 写入期间有更新的进度时保留，等下次写入
+                    if (pending.get(progress.getNovelId()) == item) {
+                        pending.remove(progress.getNovelId());
+                    }
+                }
+            }
+        }
+        if (retry) {
+            synchronized (lock) {
+                if (scheduledFlush == null) {
+                    scheduledFlush = executor.schedule(this::flushNow, FLUSH_INTERVAL_MS, TimeUnit.MILLISECONDS);
+                }
+            }
+        }
+    }
+
+    private static final class PendingProgress {
+        final ReadingProgressEntity progress;
+        final String chapterTitle;
+
+        PendingProgress(ReadingProgressEntity progress, String chapterTitle) {
+            this.progress = progress;
+            this.chapterTitle = chapterTitle;
+        }
+    }
+}
@@ -0,0 +1,302 @@
+package com.example.read.data.service;
+
+import android.util.Log;
+
+import com.example.read.data.dao.ReadingStatisticsDao;
+import com.example.read.data.entity.ReadingStatisticsEntity;
+
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TimeZone;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+/**
+ * 阅读会话记录器 - 以心跳方式把阅读时长分段写入统计表
+ *
+ * 阅读期间每 {@link #HEARTBEAT_INTERVAL_MS} 毫秒结算一次：上次结算以来的时长按整点切分，
+ * 先在内存中按时段合并，再在一个事务中写入。同一会话在同一时段只有一条原始记录，
+ * 之后的心跳按ID覆盖其累计值，汇总表只累加增量。暂停和结束时立即结算，
+ * 进程被杀时最多丢失一个心跳的时长。字数计入结算时所在的时段，暂停期间上报的字数计入恢复后的结算。
+ *
+ * 公开方法可在任意线程调用，会话状态只在内部单线程上访问。
+ */
+@Singleton
+public class ReadingSessionRecorder {
+
+    private static final String TAG = "ReadingSessionRecorder";
+
+    /** 心跳间隔 */
+    static final long HEARTBEAT_INTERVAL_MS = 30_000;
+
+    private final ReadingStatisticsDao statisticsDao;
+    private final ScheduledExecutorService executor;
+    private final LongSupplier clock;
+    private final TimeZone timeZone;
+
+    // 当前会话的小说ID，没有会话时为-1
+    private long novelId = -1;
+    // 上次结算时间，未计时时为0
+    private long lastBeatTime;
+    // 界面在后台，此时开始的会话等恢复后再计时
+    private boolean paused;
+    // 界面上报的累计字数中已计入的部分
+    private int reportedCharCount;
+    private int pendingCharCount;
+
+    // 时段开始时间 -> 未写入的增量，按时间顺序
+    private final Map<Long, long[]> pending = new LinkedHashMap<>();
+    // 时段开始时间 -> 本会话在该时段的原始记录
+    private final Map<Long, ReadingStatisticsEntity> sessionRows = new HashMap<>();
+    // 本会话已计入会话数的日期
+    private final Set<Long> countedDays = new HashSet<>();
+
+    private ScheduledFuture<?> heartbeat;
+
+    @Inject
+    public ReadingSessionRecorder(ReadingStatisticsDao statisticsDao) {
+        this(statisticsDao, Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, TAG);
+            thread.setDaemon(true);
+            return thread;
+        }), System::currentTimeMillis, null);
+    }
+
+    ReadingSessionRecorder(ReadingStatisticsDao statisticsDao, ScheduledExecutorService executor,
+                           LongSupplier clock, TimeZone timeZone) {
+        this.statisticsDao = statisticsDao;
+        this.executor = executor;
+        this.clock = clock;
+        this.timeZone = timeZone;
+    }
+
+    /**
+     * 开始阅读会话，已有会话时先结束它
+     */
+    public void start(long novelId) {
+        executor.execute(() -> startNow(novelId));
+    }
+
+    /**
+     * 暂停计时（离开阅读界面），立即写入已读时长
+     */
+    public void pause() {
+        executor.execute(this::pauseNow);
+    }
+
+    /**
+     * 恢复计时
+     */
+    public void resume() {
+        executor.execute(this::resumeNow);
+    }
+
+    /**
+     * 更新本会话的累计阅读字数
+     */
+    public void updateCharCount(int totalCharCount) {
+        executor.execute(() -> updateCharCountNow(totalCharCount));
+    }
+
+    /**
+     * 结束阅读会话，立即写入剩余时长
+     */
+    public void stop() {
+        executor.execute(this::stopNow);
+    }
+
+    // ==================== 以下方法只在内部线程上调用 ====================
+
+    void startNow(long novelId) {
+        stopNow();
+        if (novelId <= 0) {
+            return;
+        }
+        this.novelId = novelId;
+        if (!paused) {
+            startTiming();
+        }
+    }
+
+    void pauseNow() {
+        paused = true;
+        stopTiming();
+    }
+
+    void resumeNow() {
+        paused = false;
+        startTiming();
+    }
+
+    private void stopTiming() {
+        if (lastBeatTime <= 0) {
+            return;
+        }
+        beat();
+        lastBeatTime = 0;
+        if (heartbeat != null) {
+            heartbeat.cancel(false);
+            heartbeat = null;
+        }
+    }
+
+    private void startTiming() {
+        if (novelId <= 0 || lastBeatTime > 0) {
+            return;
+        }
+        lastBeatTime = clock.getAsLong();
+        if (heartbeat == null) {
+            heartbeat = executor.scheduleWithFixedDelay(this::beat,
+                    HEARTBEAT_INTERVAL_MS, HEARTBEAT_INTERVAL_MS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    void updateCharCountNow(int totalCharCount) {
+        if (novelId <= 0) {
+            return;
+        }
+        if (totalCharCount > reportedCharCount) {
+            pendingCharCount += totalCharCount - reportedCharCount;
+        }
+        reportedCharCount = totalCharCount;
+    }
+
+    void stopNow() {
+        if (novelId <= 0) {
+            return;
+        }
+        stopTiming();
+        // 之前写入失败而保留的增量
+        flush();
+        novelId = -1;
+        reportedCharCount = 0;
+        pendingCharCount = 0;
+        pending.clear();
+        sessionRows.clear();
+        countedDays.clear();
+    }
+
+    /**
+     * 心跳：结算到当前时间并写入
+     */
+    void beat() {
+        if (lastBeatTime > 0) {
+            long now = clock.getAsLong();
+            accumulate(lastBeatTime, now);
+            // 系统时间被调回时从新时间重新计时
+            lastBeatTime = now;
+        }
+        flush();
+    }
+
+    /**
+     * 把 [from, to) 按整点切分后合并到待写入增量，字数计入最后一个时段
+     */
+    private void accumulate(long from, long to) {
+        if (to <= from) {
+            return;
+        }
+        Calendar calendar = calendar();
+        long hourStart = 0;
+        while (from < to) {
+            hourStart = hourStart(calendar, from);
+            calendar.setTimeInMillis(hourStart);
+            calendar.add(Calendar.HOUR_OF_DAY, 1);
+            long end = Math.min(to, calendar.getTimeInMillis());
+            pendingFor(hourStart)[0] += end - from;
+            from = end;
+        }
+        pendingFor(hourStart)[1] += pendingCharCount;
+        pendingCharCount = 0;
+    }
+
+    private long[] pendingFor(long hourStart) {
+        long[] delta = pending.get(hourStart);
+        if (delta == null) {
+            delta = new long[2];
+            pending.put(hourStart, delta);
+        }
+        return delta;
+    }
+
+    /**
+     * 在一个事务中写入待写入增量；失败时保留增量，下次心跳重试
+     */
+    private void flush() {
+        if (pending.isEmpty() || novelId <= 0) {
+            return;
+        }
+
+        Calendar calendar = calendar();
+        List<Long> keys = new ArrayList<>(pending.size());
+        List<ReadingStatisticsDao.SessionSlice> slices = new ArrayList<>(pending.size());
+        Set<Long> newDays = new HashSet<>();
+        for (Map.Entry<Long, long[]> entry : pending.entrySet()) {
+            long hourStart = entry.getKey();
+            long duration = entry.getValue()[0];
+            int charCount = (int) entry.getValue()[1];
+
+            ReadingStatisticsEntity row = sessionRows.get(hourStart);
+            ReadingStatisticsEntity total;
+            if (row == null) {
+                calendar.setTimeInMillis(hourStart);
+                int hourOfDay = calendar.get(Calendar.HOUR_OF_DAY);
+                total = new ReadingStatisticsEntity(dayStart(calendar, hourStart), novelId,
+                        duration, charCount, hourOfDay);
+            } else {
+                total = new ReadingStatisticsEntity(row.getDate(), novelId,
+                        row.getReadingDuration() + duration, row.getReadingCharCount() + charCount,
+                        row.getHourOfDay());
+                total.setId(row.getId());
+            }
+            boolean newSession = !countedDays.contains(total.getDate()) && newDays.add(total.getDate());
+            keys.add(hourStart);
+            slices.add(new ReadingStatisticsDao.SessionSlice(total, duration, charCount, newSession));
+        }
+
+        try {
+            statisticsDao.recordSessionSlices(slices);
+        } catch (RuntimeException e) {
+            Log.w(TAG, "写入阅读统计失败", e);
+            return;
+        }
+        for (int i = 0; i < keys.size(); i++) {
+            sessionRows.put(keys.get(i), slices.get(i).session);
+        }
+        countedDays.addAll(newDays);
+        pending.clear();
+    }
+
+    private Calendar calendar() {
+        return timeZone != null ? Calendar.getInstance(timeZone) : Calendar.getInstance();
+    }
+
+    private static long hourStart(Calendar calendar, long timestamp) {
+        calendar.setTimeInMillis(timestamp);
+        calendar.set(Calendar.MINUTE, 0);
+        calendar.set(Calendar.SECOND, 0);
+        calendar.set(Calendar.MILLISECOND, 0);
+        return calendar.getTimeInMillis();
+    }
+
+    private static long dayStart(Calendar calendar, long timestamp) {
+        calendar.setTimeInMillis(timestamp);
+        calendar.set(Calendar.HOUR_OF_DAY, 0);
+        calendar.set(Calendar.MINUTE, 0);
+        calendar.set(Calendar.SECOND, 0);
+        calendar.set(Calendar.MILLISECOND, 0);
+        return calendar.getTimeInMillis();
+    }
+}
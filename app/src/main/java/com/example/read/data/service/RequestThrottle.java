@@ -0,0 +1,106 @@
+package com.example.read.data.service;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.TimeUnit;
+
+import io.reactivex.rxjava3.core.Single;
+import io.reactivex.rxjava3.subjects.CompletableSubject;
+
+/**
+ * 请求限流 - 限制同时进行的AI请求数和相邻请求的发起间隔
+ *
+ * 分层摘要中各层的请求互相嵌套，因此限流按单次请求计，而不是按章节计；
+ * 名额不足时请求按先来后到排队，等待不占用线程，取消订阅时离开队列或归还已拿到的名额。
+ */
+final class RequestThrottle {
+
+    /**
+     * 一次请求的排队凭证
+     */
+    private static final class Ticket {
+        final CompletableSubject granted = CompletableSubject.create();
+        boolean holding;   // 已拿到名额
+        boolean released;  // 已归还名额或离开队列
+    }
+
+    private final long minIntervalMs;
+
+    private final Object lock = new Object();
+    private final ArrayDeque<Ticket> waiting = new ArrayDeque<>();
+    private int available;
+    private long nextRequestTime;
+
+    RequestThrottle(int maxConcurrent, long minIntervalMs) {
+        this.available = Math.max(1, maxConcurrent);
+        this.minIntervalMs = Math.max(0, minIntervalMs);
+    }
+
+    /**
+     * 在限流下执行一次请求，请求结束或取消时归还名额
+     */
+    <T> Single<T> run(Single<T> request) {
+        return Single.using(this::enqueue,
+                ticket -> ticket.granted
+                        .andThen(Single.defer(() -> Single.timer(reserveRequestSlot(), TimeUnit.MILLISECONDS)))
+                        .flatMap(tick -> request),
+                this::release);
+    }
+
+    /**
+     * 有空闲名额且无人排队时直接拿到名额，否则排到队尾
+     */
+    private Ticket enqueue() {
+        Ticket ticket = new Ticket();
+        synchronized (lock) {
+            if (available > 0 && waiting.isEmpty()) {
+                available--;
+                ticket.holding = true;
+            } else {
+                waiting.addLast(ticket);
+            }
+        }
+        if (ticket.holding) {
+            ticket.granted.onComplete();
+        }
+        return ticket;
+    }
+
+    /**
+     * 归还名额并交给队首的请求；尚未拿到名额时只离开队列
+     */
+    private void release(Ticket ticket) {
+        Ticket next;
+        synchronized (lock) {
+            if (ticket.released) {
+                return;
+            }
+            ticket.released = true;
+            if (!ticket.holding) {
+                waiting.remove(ticket);
+                return;
+            }
+            next = waiting.pollFirst();
+            if (next != null) {
+                next.holding = true;
+            } else {
+                available++;
+            }
+        }
+        if (next != null) {
+            next.granted.onComplete();
+        }
+    }
+
+    /**
+     * 预约下一个请求的发起时间
+     * @return 需要等待的毫秒数
+     */
+    private long reserveRequestSlot() {
+        synchronized (lock) {
+            long now = System.currentTimeMillis();
+            long start = Math.max(now, nextRequestTime);
+            nextRequestTime = start + minIntervalMs;
+            return start - now;
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.example.read.data.service;
+
+import com.example.read.utils.ContentHasher;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * TTS音频磁盘缓存 - 保存 synthesizeToFile 合成的句子音频
+ *
+ * 缓存键由章节内容指纹、句子范围、语音和语速组成，任一项变化都会重新合成；
+ * 文件名为缓存键的SHA-256。总大小超过上限时按最近使用顺序淘汰，
+ * 使用顺序记录在文件修改时间上，应用重启后仍然有效。
+ * 除 {@link #key} 外的方法都会读写磁盘，只能在后台线程调用（见 {@link CachedSpeechPlayer}）。
+ */
+final class TTSAudioCache {
+
+    /** 默认缓存上限 */
+    static final long DEFAULT_MAX_BYTES = 256L * 1024 * 1024;
+
+    private static final String AUDIO_SUFFIX = ".wav";
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private final File directory;
+    private final long maxBytes;
+
+    // 缓存键 -> 文件大小，按访问顺序排列（最久未用的在前）
+    private final LinkedHashMap<String, Long> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private long totalBytes;
+    private boolean loaded;
+
+    TTSAudioCache(File directory, long maxBytes) {
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * 生成句子音频的缓存键
+     *
+     * @param chapterHash 章节内容指纹
+     * @param start 句子在章节中的起始偏移
+     * @param end 句子在章节中的结束偏移
+     * @param voiceId 语音ID
+     * @param speechRate 语速
+     */
+    static String key(String chapterHash, int start, int end, String voiceId, float speechRate) {
+        String raw = chapterHash + ':' + start + ':' + end + ':'
+                + (voiceId != null ? voiceId : "default") + ':'
+                + String.format(Locale.ROOT, "%.2f", speechRate);
+        return ContentHasher.hashText(raw);
+    }
+
+    /**
+     * 获取已缓存的音频文件，并标记为最近使用
+     * @return 音频文件，未缓存时返回null
+     */
+    synchronized File get(String key) {
+        ensureLoaded();
+        if (entries.get(key) == null) {
+            return null;
+        }
+        File file = audioFile(key);
+        if (!file.isFile()) {
+            Long size = entries.remove(key);
+            totalBytes -= size != null ? size : 0;
+            return null;
+        }
+        file.setLastModified(System.currentTimeMillis());
+        return file;
+    }
+
+    /**
+     * 为合成创建临时文件，合成完成后通过 {@link #commit} 放入缓存
+     */
+    synchronized File newTempFile(String key) {
+        ensureLoaded();
+        return new File(directory, key + "." + System.nanoTime() + TEMP_SUFFIX);
+    }
+
+    /**
+     * 将合成好的临时文件放入缓存，必要时淘汰最久未用的音频
+     * @return 缓存中的音频文件，临时文件无效时返回null
+     */
+    synchronized File commit(String key, File tempFile) {
+        ensureLoaded();
+        if (tempFile == null || !tempFile.isFile() || tempFile.length() == 0) {
+            if (tempFile != null) {
+                tempFile.delete();
+            }
+            return null;
+        }
+        File target = audioFile(key);
+        Long oldSize = entries.remove(key);
+        totalBytes -= oldSize != null ? oldSize : 0;
+        target.delete();
+        if (!tempFile.renameTo(target)) {
+            tempFile.delete();
+            return null;
+        }
+        long size = target.length();
+        entries.put(key, size);
+        totalBytes += size;
+        trimToSize(key);
+        return target;
+    }
+
+    /**
+     * 删除临时文件（合成被中断时调用）
+     */
+    void discard(File tempFile) {
+        if (tempFile != null) {
+            tempFile.delete();
+        }
+    }
+
+    private void trimToSize(String keepKey) {
+        Iterator<Map.Entry<String, Long>> iterator = entries.entrySet().iterator();
+        while (totalBytes > maxBytes && iterator.hasNext()) {
+            Map.Entry<String, Long> entry = iterator.next();
+            if (entry.getKey().equals(keepKey)) {
+                continue;
+            }
+            audioFile(entry.getKey()).delete();
+            totalBytes -= entry.getValue();
+            iterator.remove();
+        }
+    }
+
+    /**
+     * 首次使用时扫描缓存目录，按修改时间恢复使用顺序，并清理上次残留的临时文件
+     */
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        loaded = true;
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            return;
+        }
+        File[] files = directory.listFiles();
+        if (files == null) {
+            return;
+        }
+        Arrays.sort(files, (a, b) -> Long.compare(a.lastModified(), b.lastModified()));
+        for (File file : files) {
+            String name = file.getName();
+            if (name.endsWith(TEMP_SUFFIX)) {
+                file.delete();
+            } else if (name.endsWith(AUDIO_SUFFIX)) {
+                long size = file.length();
+                entries.put(name.substring(0, name.length() - AUDIO_SUFFIX.length()), size);
+                totalBytes += size;
+            }
+        }
+        trimToSize(null);
+    }
+
+    private File audioFile(String key) {
+        return new File(directory, key + AUDIO_SUFFIX);
+    }
+}
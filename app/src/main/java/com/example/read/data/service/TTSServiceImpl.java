@@ -13,11 +13,16 @@ import com.example.read.domain.model.TTSStatus;
 import com.example.read.domain.model.VoiceInfo;
 import com.example.read.domain.service.TTSService;
 
+import com.example.read.utils.ContentHasher;
+import com.example.read.utils.Metrics;
+import com.example.read.utils.SentenceSplitter;
+
+import java.io.File;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
 import java.util.Set;
-import java.util.UUID;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
@@ -25,6 +30,14 @@ import javax.inject.Singleton;
 /**
  * TTS服务实现类 - 使用Android TextToSpeech API
  * 
+ * 章节正文按句切分后逐句提交给引擎：首句使用 QUEUE_FLUSH，其后始终用 QUEUE_ADD
+ * 保持 {@link #LOOKAHEAD} 句排队，每读完一句补充一句。暂停和恢复以句为单位；
+ * 通过 {@link #enqueueNext} 预先提供下一章后，当前章节的句子排完即接着排下一章，
+ * 章节之间没有停顿。
+ * 
+ * 开启音频缓存后改为先用 synthesizeToFile 合成到磁盘缓存再播放（见 {@link CachedSpeechPlayer}），
+ * 排队句数增加到 {@link #CACHED_LOOKAHEAD}，合成在播放前完成，重复收听同一章节不再重新合成。
+ * 
  * 验证需求：10.1, 10.2, 10.3, 10.4, 10.5, 10.6, 10.7
  */
 @Singleton
@@ -33,17 +46,65 @@ public class TTSServiceImpl implements TTSService {
     private static final String TAG = "TTSServiceImpl";
     private static final String UTTERANCE_ID_PREFIX = "tts_utterance_";
 
+    // 引擎中排队的句子数，保证一句读完时下一句已合成好
+    private static final int LOOKAHEAD = 3;
+    // 音频缓存模式下提前合成的句子数
+    private static final int CACHED_LOOKAHEAD = 8;
+    // 单句最大长度，远低于引擎的输入上限
+    private static final int MAX_UTTERANCE_LENGTH = 200;
+
+    /**
+     * 已提交给引擎的一句
+     */
+    private static final class Utterance {
+        final String id;
+        final long chapterId;
+        final int start;
+        final int end;
+
+        Utterance(String id, long chapterId, int start, int end) {
+            this.id = id;
+            this.chapterId = chapterId;
+            this.start = start;
+            this.end = end;
+        }
+    }
+
     private TextToSpeech textToSpeech;
     private TTSCallback callback;
     private TTSState currentState;
     private boolean isInitialized = false;
 
-    // 当前朗读的文本和位置
+    // 当前朗读的章节文本和位置
     private String currentText;
+    private long currentChapterId = -1;
+    // 阅读界面当前显示的章节，下次开始朗读时使用
+    private long requestedChapterId = -1;
     private int currentPosition;
     private int pausedPosition;
     private List<VoiceInfo> availableVoices;
 
+    // 预先提供的下一章，当前章节的句子排完后接着排队
+    private String nextText;
+    private long nextChapterId = -1;
+
+    // 句子队列：feedingNext 表示正在从下一章取句，feedCursor 为下一句的起点
+    private final ArrayDeque<Utterance> queuedUtterances = new ArrayDeque<>();
+    private boolean feedingNext;
+    private int feedCursor;
+    private boolean flushOnNextSubmit;
+    private int utteranceSequence;
+    // 每次重新开始排队时递增，用于忽略已被清除的旧句子的回调
+    private int queueGeneration;
+    // 最近一次开始排队的时间，第一句开始播放时记录启动延迟后清零
+    private long queueStartNanos;
+
+    // 音频缓存模式
+    private CachedSpeechPlayer audioPlayer;
+    private boolean audioCacheEnabled;
+    private String currentTextHash;  // 章节内容指纹，缓存模式下按需计算
+    private String nextTextHash;
+
     @Inject
     public TTSServiceImpl() {
         this.currentState = new TTSState();
@@ -98,67 +159,191 @@ public class TTSServiceImpl implements TTSService {
                 Log.e(TAG, "TTS初始化失败");
             }
         });
+
+        TTSAudioCache audioCache = new TTSAudioCache(
+                new File(context.getCacheDir(), "tts_audio"), TTSAudioCache.DEFAULT_MAX_BYTES);
+        audioPlayer = new CachedSpeechPlayer(textToSpeech, audioCache, new CachedSpeechPlayer.Listener() {
+            @Override
+            public void onStart(String utteranceId) {
+                handleUtteranceStart(utteranceId);
+            }
+
+            @Override
+            public void onDone(String utteranceId) {
+                handleUtteranceDone(utteranceId);
+            }
+
+            @Override
+            public void onError(String utteranceId) {
+                handleUtteranceError(utteranceId);
+            }
+        });
     }
 
 
     /**
      * 设置朗读进度监听器
+     * 回调在引擎的binder线程上执行，与主线程的调用通过对象锁互斥；
+     * 缓存模式下合成任务的回调转给 {@link CachedSpeechPlayer}
      */
     private void setupProgressListener() {
         textToSpeech.setOnUtteranceProgressListener(new UtteranceProgressListener() {
             @Override
             public void onStart(String utteranceId) {
-                currentState.setStatus(TTSStatus.PLAYING);
-                notifyStateChanged();
-
-                if (callback != null) {
-                    callback.onStart();
+                if (!CachedSpeechPlayer.isSynthesisId(utteranceId)) {
+                    handleUtteranceStart(utteranceId);
                 }
-
-                Log.d(TAG, "开始朗读: " + utteranceId);
             }
 
             @Override
             public void onDone(String utteranceId) {
-                currentState.setStatus(TTSStatus.IDLE);
-                currentPosition = currentText != null ? currentText.length() : 0;
-                currentState.setCurrentPosition(currentPosition);
-                notifyStateChanged();
-
-                if (callback != null) {
-                    // 验证需求：10.5 - 当前章节朗读完成，通知回调以便自动切换下一章
-                    callback.onComplete();
+                if (CachedSpeechPlayer.isSynthesisId(utteranceId)) {
+                    audioPlayer.onSynthesisDone(utteranceId);
+                } else {
+                    handleUtteranceDone(utteranceId);
                 }
-
-                Log.d(TAG, "朗读完成: " + utteranceId);
             }
 
             @Override
             public void onError(String utteranceId) {
-                currentState.setStatus(TTSStatus.ERROR);
-                currentState.setErrorMessage("朗读出错");
-                notifyStateChanged();
-
-                if (callback != null) {
-                    callback.onError("朗读出错");
+                if (CachedSpeechPlayer.isSynthesisId(utteranceId)) {
+                    audioPlayer.onSynthesisStopped(utteranceId, true);
+                } else {
+                    handleUtteranceError(utteranceId);
                 }
+            }
 
-                Log.e(TAG, "朗读出错: " + utteranceId);
+            @Override
+            public void onStop(String utteranceId, boolean interrupted) {
+                if (CachedSpeechPlayer.isSynthesisId(utteranceId)) {
+                    audioPlayer.onSynthesisStopped(utteranceId, false);
+                }
             }
 
             @Override
             public void onRangeStart(String utteranceId, int start, int end, int frame) {
-                // 更新当前朗读位置
-                currentPosition = start;
-                currentState.setCurrentPosition(currentPosition);
-
-                if (callback != null) {
-                    callback.onProgress(currentPosition);
+                if (!CachedSpeechPlayer.isSynthesisId(utteranceId)) {
+                    handleRangeStart(utteranceId, start);
                 }
             }
         });
     }
 
+    /**
+     * 一句开始朗读（引擎朗读或缓存音频播放）
+     */
+    private void handleUtteranceStart(String utteranceId) {
+        long changedChapterId;
+        int position;
+        synchronized (this) {
+            Utterance utterance = findQueuedUtterance(utteranceId);
+            if (utterance == null) {
+                return;
+            }
+            changedChapterId = -1;
+            if (utterance.chapterId != currentChapterId && utterance.chapterId == nextChapterId) {
+                // 下一章的第一句开始朗读，当前章节切换为下一章
+                currentText = nextText;
+                currentTextHash = nextTextHash;
+                currentChapterId = nextChapterId;
+                nextText = null;
+                nextTextHash = null;
+                nextChapterId = -1;
+                feedingNext = false;
+                currentState.setCurrentChapterId(currentChapterId);
+                changedChapterId = currentChapterId;
+            }
+            if (queueStartNanos != 0) {
+                Metrics.record(Metrics.TTS_START_LATENCY, System.nanoTime() - queueStartNanos);
+                queueStartNanos = 0;
+            }
+            currentPosition = utterance.start;
+            position = currentPosition;
+            currentState.setStatus(TTSStatus.PLAYING);
+            currentState.setCurrentPosition(position);
+        }
+        notifyStateChanged();
+
+        if (callback != null) {
+            if (changedChapterId >= 0) {
+                callback.onChapterChanged(changedChapterId);
+            }
+            callback.onStart();
+            callback.onProgress(position);
+        }
+    }
+
+    /**
+     * 一句朗读完成，补充队列；队列读空时整段朗读完成
+     */
+    private void handleUtteranceDone(String utteranceId) {
+        boolean completed;
+        synchronized (this) {
+            Utterance utterance = findQueuedUtterance(utteranceId);
+            if (utterance == null) {
+                return;
+            }
+            // 该句及之前的句子都已读完
+            while (!queuedUtterances.isEmpty() && queuedUtterances.pollFirst() != utterance) {
+                // 继续移除
+            }
+            fillQueue();
+            completed = queuedUtterances.isEmpty();
+            if (completed) {
+                currentState.setStatus(TTSStatus.IDLE);
+                currentPosition = currentText != null ? currentText.length() : 0;
+                currentState.setCurrentPosition(currentPosition);
+            }
+        }
+        if (!completed) {
+            return;
+        }
+        notifyStateChanged();
+
+        if (callback != null) {
+            // 验证需求：10.5 - 当前章节朗读完成，通知回调以便自动切换下一章
+            callback.onComplete();
+        }
+
+        Log.d(TAG, "朗读完成: " + utteranceId);
+    }
+
+    private void handleUtteranceError(String utteranceId) {
+        synchronized (this) {
+            if (findQueuedUtterance(utteranceId) == null) {
+                return;
+            }
+            clearQueue();
+            currentState.setStatus(TTSStatus.ERROR);
+            currentState.setErrorMessage("朗读出错");
+        }
+        notifyStateChanged();
+
+        if (callback != null) {
+            callback.onError("朗读出错");
+        }
+
+        Log.e(TAG, "朗读出错: " + utteranceId);
+    }
+
+    private void handleRangeStart(String utteranceId, int start) {
+        int position;
+        synchronized (this) {
+            Utterance utterance = findQueuedUtterance(utteranceId);
+            if (utterance == null || utterance.chapterId != currentChapterId) {
+                return;
+            }
+            // 引擎报告的是句内偏移，换算为章节内位置
+            currentPosition = utterance.start + start;
+            position = currentPosition;
+            currentState.setCurrentPosition(position);
+        }
+
+        if (callback != null) {
+            callback.onProgress(position);
+        }
+    }
+
     /**
      * 加载可用语音列表
      */
@@ -215,41 +400,51 @@ public class TTSServiceImpl implements TTSService {
             return;
         }
 
-        // 停止当前朗读
-        stop();
-
-        // 保存当前文本
-        this.currentText = text;
-        this.currentPosition = startPosition;
-        this.pausedPosition = startPosition;
-
-        // 从指定位置开始朗读
-        String textToSpeak = text.substring(Math.min(startPosition, text.length()));
-
-        // 生成唯一的utterance ID
-        String utteranceId = UTTERANCE_ID_PREFIX + UUID.randomUUID().toString();
-
-        // 使用Bundle设置参数
-        Bundle params = new Bundle();
-        params.putString(TextToSpeech.Engine.KEY_PARAM_UTTERANCE_ID, utteranceId);
-
-        // 开始朗读
-        int result = textToSpeech.speak(textToSpeak, TextToSpeech.QUEUE_FLUSH, params, utteranceId);
+        int start = Math.max(0, Math.min(startPosition, text.length()));
+        boolean started;
+        synchronized (this) {
+            // 重新开始朗读，之前提供的下一章不再有效
+            nextText = null;
+            nextChapterId = -1;
+            currentText = text;
+            currentTextHash = null;
+            currentChapterId = requestedChapterId;
+            currentPosition = start;
+            pausedPosition = start;
+            started = startQueue(start);
+        }
 
-        if (result == TextToSpeech.SUCCESS) {
-            currentState.setStatus(TTSStatus.PLAYING);
-            currentState.setCurrentPosition(startPosition);
+        if (started) {
             notifyStateChanged();
-            Log.d(TAG, "开始朗读，起始位置: " + startPosition);
+            Log.d(TAG, "开始朗读，起始位置: " + start);
         } else {
-            currentState.setStatus(TTSStatus.ERROR);
-            currentState.setErrorMessage("启动朗读失败");
-            notifyStateChanged();
+            onSubmitFailed();
+        }
+    }
 
-            if (callback != null) {
-                callback.onError("启动朗读失败");
+    /**
+     * 预先提供下一章的文本
+     * 当前章节的句子全部排队后会接着排下一章，朗读进入下一章时回调 onChapterChanged
+     */
+    @Override
+    public void enqueueNext(long chapterId, String text) {
+        if (!isInitialized || text == null || text.isEmpty()) {
+            return;
+        }
+        boolean failed;
+        synchronized (this) {
+            if (chapterId == currentChapterId || feedingNext) {
+                // 已经在朗读该章，或下一章已开始排队，不再替换
+                return;
             }
-            Log.e(TAG, "启动朗读失败");
+            nextText = text;
+            nextTextHash = null;
+            nextChapterId = chapterId;
+            // 当前章节可能已全部排队，立即补充
+            failed = currentState.isPlaying() && !queuedUtterances.isEmpty() && !fillQueue();
+        }
+        if (failed) {
+            onSubmitFailed();
         }
     }
 
@@ -263,14 +458,20 @@ public class TTSServiceImpl implements TTSService {
             return;
         }
 
-        // 保存当前位置
-        pausedPosition = currentPosition;
+        synchronized (this) {
+            // 以句为单位暂停，恢复时从当前句的开头重读
+            Utterance speaking = queuedUtterances.peekFirst();
+            pausedPosition = speaking != null && speaking.chapterId == currentChapterId
+                    ? speaking.start : currentPosition;
+            clearQueue();
 
-        // 停止TTS（Android TTS没有真正的暂停功能）
-        textToSpeech.stop();
+            // 停止TTS（Android TTS没有真正的暂停功能）
+            textToSpeech.stop();
 
-        currentState.setStatus(TTSStatus.PAUSED);
-        currentState.setCurrentPosition(pausedPosition);
+            currentPosition = pausedPosition;
+            currentState.setStatus(TTSStatus.PAUSED);
+            currentState.setCurrentPosition(pausedPosition);
+        }
         notifyStateChanged();
 
         Log.d(TAG, "暂停朗读，位置: " + pausedPosition);
@@ -286,10 +487,19 @@ public class TTSServiceImpl implements TTSService {
             return;
         }
 
-        if (currentText != null && !currentText.isEmpty()) {
-            // 从暂停位置继续朗读
-            speak(currentText, pausedPosition);
+        boolean started;
+        synchronized (this) {
+            if (currentText == null || currentText.isEmpty()) {
+                return;
+            }
+            // 保留已提供的下一章，从暂停的句子继续排队
+            started = startQueue(pausedPosition);
+        }
+        if (started) {
+            notifyStateChanged();
             Log.d(TAG, "恢复朗读，位置: " + pausedPosition);
+        } else {
+            onSubmitFailed();
         }
     }
 
@@ -303,17 +513,164 @@ public class TTSServiceImpl implements TTSService {
             return;
         }
 
-        textToSpeech.stop();
+        synchronized (this) {
+            clearQueue();
+            nextText = null;
+            nextChapterId = -1;
+            textToSpeech.stop();
 
-        currentState.setStatus(TTSStatus.IDLE);
-        currentPosition = 0;
-        pausedPosition = 0;
-        currentState.setCurrentPosition(0);
+            currentState.setStatus(TTSStatus.IDLE);
+            currentPosition = 0;
+            pausedPosition = 0;
+            currentState.setCurrentPosition(0);
+        }
         notifyStateChanged();
 
         Log.d(TAG, "停止朗读");
     }
 
+    // ==================== 句子队列 ====================
+
+    /**
+     * 清空队列并从当前章节的指定位置重新排队
+     * 调用方需持有对象锁
+     * @return 是否提交成功
+     */
+    private boolean startQueue(int start) {
+        clearQueue();
+        queueStartNanos = System.nanoTime();
+        feedCursor = start;
+        flushOnNextSubmit = true;
+        if (!fillQueue()) {
+            return false;
+        }
+        currentState.setStatus(queuedUtterances.isEmpty() ? TTSStatus.IDLE : TTSStatus.PLAYING);
+        currentState.setCurrentChapterId(currentChapterId);
+        currentState.setCurrentPosition(start);
+        return true;
+    }
+
+    /**
+     * 清除已排队的句子，之后收到的旧句子回调都会被忽略
+     */
+    private void clearQueue() {
+        queueGeneration++;
+        queueStartNanos = 0;
+        queuedUtterances.clear();
+        feedingNext = false;
+        if (audioPlayer != null) {
+            audioPlayer.clear();
+        }
+    }
+
+    /**
+     * 补充句子直到排队数达到 {@link #LOOKAHEAD}（缓存模式为 {@link #CACHED_LOOKAHEAD}）
+     * 调用方需持有对象锁
+     * @return 是否提交成功
+     */
+    private boolean fillQueue() {
+        boolean cached = audioCacheEnabled && audioPlayer != null;
+        int lookahead = cached ? CACHED_LOOKAHEAD : LOOKAHEAD;
+        while (queuedUtterances.size() < lookahead) {
+            String text = feedingNext ? nextText : currentText;
+            long chapterId = feedingNext ? nextChapterId : currentChapterId;
+            int start = text != null ? SentenceSplitter.skipSpace(text, feedCursor) : 0;
+            if (text == null || start >= text.length()) {
+                if (!feedingNext && nextText != null) {
+                    // 当前章节已全部排队，接着排下一章
+                    feedingNext = true;
+                    feedCursor = 0;
+                    continue;
+                }
+                return true;
+            }
+            int end = SentenceSplitter.findSentenceEnd(text, start, MAX_UTTERANCE_LENGTH);
+            feedCursor = end;
+
+            String utteranceId = UTTERANCE_ID_PREFIX + queueGeneration + "_" + (utteranceSequence++);
+            if (cached) {
+                String cacheKey = TTSAudioCache.key(feedingNext ? nextTextHash() : currentTextHash(),
+                        start, end, currentState.getCurrentVoiceId(), currentState.getSpeechRate());
+                audioPlayer.submit(utteranceId, text.substring(start, end), cacheKey, flushOnNextSubmit);
+            } else {
+                Bundle params = new Bundle();
+                params.putString(TextToSpeech.Engine.KEY_PARAM_UTTERANCE_ID, utteranceId);
+                int queueMode = flushOnNextSubmit ? TextToSpeech.QUEUE_FLUSH : TextToSpeech.QUEUE_ADD;
+                int result = textToSpeech.speak(text.substring(start, end), queueMode, params, utteranceId);
+                if (result != TextToSpeech.SUCCESS) {
+                    clearQueue();
+                    return false;
+                }
+            }
+            flushOnNextSubmit = false;
+            queuedUtterances.addLast(new Utterance(utteranceId, chapterId, start, end));
+        }
+        return true;
+    }
+
+    private String currentTextHash() {
+        if (currentTextHash == null) {
+            currentTextHash = ContentHasher.hashText(currentText);
+        }
+        return currentTextHash;
+    }
+
+    private String nextTextHash() {
+        if (nextTextHash == null) {
+            nextTextHash = ContentHasher.hashText(nextText);
+        }
+        return nextTextHash;
+    }
+
+    /**
+     * 在队列中查找句子，已被清除的旧句子返回null
+     */
+    private Utterance findQueuedUtterance(String utteranceId) {
+        for (Utterance utterance : queuedUtterances) {
+            if (utterance.id.equals(utteranceId)) {
+                return utterance;
+            }
+        }
+        return null;
+    }
+
+    private void onSubmitFailed() {
+        currentState.setStatus(TTSStatus.ERROR);
+        currentState.setErrorMessage("启动朗读失败");
+        notifyStateChanged();
+
+        if (callback != null) {
+            callback.onError("启动朗读失败");
+        }
+        Log.e(TAG, "启动朗读失败");
+    }
+
+    /**
+     * 开启或关闭音频缓存模式
+     * 正在朗读时从当前句重新开始，以新的方式继续
+     */
+    @Override
+    public void setAudioCacheEnabled(boolean enabled) {
+        boolean failed = false;
+        synchronized (this) {
+            if (audioCacheEnabled == enabled) {
+                return;
+            }
+            audioCacheEnabled = enabled;
+            if (isInitialized && currentState.isPlaying()) {
+                Utterance speaking = queuedUtterances.peekFirst();
+                int restart = speaking != null && speaking.chapterId == currentChapterId
+                        ? speaking.start : currentPosition;
+                clearQueue();
+                textToSpeech.stop();
+                failed = !startQueue(restart);
+            }
+        }
+        if (failed) {
+            onSubmitFailed();
+        }
+        Log.d(TAG, "音频缓存模式: " + enabled);
+    }
 
     /**
      * 设置语速
@@ -408,7 +765,14 @@ public class TTSServiceImpl implements TTSService {
      */
     @Override
     public void setCurrentChapterId(long chapterId) {
-        currentState.setCurrentChapterId(chapterId);
+        synchronized (this) {
+            requestedChapterId = chapterId;
+            if (!currentState.isIdle()) {
+                // 朗读过程中状态里的章节以实际朗读到的章节为准
+                return;
+            }
+            currentState.setCurrentChapterId(chapterId);
+        }
         notifyStateChanged();
     }
 
@@ -417,6 +781,11 @@ public class TTSServiceImpl implements TTSService {
      */
     @Override
     public void shutdown() {
+        synchronized (this) {
+            clearQueue();
+            nextText = null;
+            nextChapterId = -1;
+        }
         if (textToSpeech != null) {
             textToSpeech.stop();
             textToSpeech.shutdown();
@@ -6,6 +6,8 @@ import com.example.read.domain.model.ChapterInfo;
 import com.example.read.domain.model.NovelMetadata;
 import com.example.read.domain.model.ParserRule;
 import com.example.read.domain.service.WebParserService;
+import com.example.read.utils.ChapterHeadingRecognizer;
+import com.example.read.utils.Metrics;
 
 import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
@@ -14,7 +16,9 @@ import org.jsoup.select.Elements;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
 import java.util.regex.Pattern;
 
@@ -40,8 +44,8 @@ public class WebParserServiceImpl implements WebParserService {
     private static final String[] DEFAULT_AD_SELECTORS = {
         ".ad", ".ads", ".advertisement", ".advert",
         "#ad", "#ads", "#advertisement",
-        "[class*='ad-']", "[class*='ads-']",
-        "[id*='ad-']", "[id*='ads-']",
+        // 只匹配以 ad-/ads- 开头的类名和ID，子串匹配会误删 read-page、head-nav 等整块内容
+        "[class~=(^|\\s)ads?-]", "[id~=^ads?-]",
         ".banner", "#banner",
         ".popup", "#popup",
         ".sponsor", "#sponsor",
@@ -74,17 +78,26 @@ public class WebParserServiceImpl implements WebParserService {
         Pattern.compile("(?m)^\u65b0\u7b14\u8da3\u9601$"),
     };
 
+    private final ChapterHeadingRecognizer headingRecognizer = ChapterHeadingRecognizer.getDefault();
+
     @Inject
     public WebParserServiceImpl() {}
 
     @Override
     public Single<String> fetchHtml(String url) {
         return Single.fromCallable(() -> {
-            Document doc = Jsoup.connect(url)
-                    .timeout((int) TimeUnit.SECONDS.toMillis(TIMEOUT_SECONDS))
-                    .userAgent("Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36")
-                    .get();
-            return doc.html();
+            long startTime = Metrics.begin(Metrics.PARSER_FETCH_HTML);
+            try {
+                Document doc = Jsoup.connect(url)
+                        .timeout((int) TimeUnit.SECONDS.toMillis(TIMEOUT_SECONDS))
+                        .userAgent("Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36")
+                        .get();
+                String html = doc.html();
+                Metrics.add(Metrics.COUNTER_FETCHED_CHARS, html.length());
+                return html;
+            } finally {
+                Metrics.end(Metrics.PARSER_FETCH_HTML, startTime);
+            }
         }).subscribeOn(Schedulers.io());
     }
 
@@ -109,6 +122,9 @@ public class WebParserServiceImpl implements WebParserService {
         String description = extractDescription(doc, rule);
         metadata.setDescription(description);
         
+        // 提取封面地址
+        metadata.setCoverUrl(extractCoverUrl(doc));
+        
         return metadata;
     }
 
@@ -188,7 +204,82 @@ public class WebParserServiceImpl implements WebParserService {
             }
         }
         
-        return chapters;
+        return normalizeCatalog(chapters);
+    }
+    
+    // 目录开头"最新章节"区块的最大长度
+    private static final int MAX_LATEST_BLOCK_SIZE = 30;
+    
+    /**
+     * 规范化章节目录
+     * 1. 识别每个标题的章节编号
+     * 2. 去掉目录开头重复出现的"最新章节"区块（编号在后文再次出现且位于第一章之前）
+     * 3. 去掉链接重复的章节并重新编排索引
+     */
+    List<ChapterInfo> normalizeCatalog(List<ChapterInfo> chapters) {
+        if (chapters.isEmpty()) {
+            return chapters;
+        }
+        
+        ChapterHeadingRecognizer.Match heading = new ChapterHeadingRecognizer.Match();
+        int minNumber = Integer.MAX_VALUE;
+        int minIndex = -1;
+        for (int i = 0; i < chapters.size(); i++) {
+            ChapterInfo chapter = chapters.get(i);
+            if (headingRecognizer.recognize(chapter.getTitle(), heading)
+                    && heading.getLevel() == ChapterHeadingRecognizer.LEVEL_CHAPTER) {
+                chapter.setNumber(heading.getNumber());
+                if (heading.getNumber() < minNumber) {
+                    minNumber = heading.getNumber();
+                    minIndex = i;
+                }
+            }
+        }
+        
+        // 第一章之前的条目如果都有编号且都在后文再次出现，视为"最新章节"区块
+        int skip = 0;
+        if (minIndex > 0 && minIndex <= MAX_LATEST_BLOCK_SIZE) {
+            Set<Integer> laterNumbers = new HashSet<>();
+            for (int i = minIndex; i < chapters.size(); i++) {
+                laterNumbers.add(chapters.get(i).getNumber());
+            }
+            boolean allRepeated = true;
+            for (int i = 0; i < minIndex; i++) {
+                int number = chapters.get(i).getNumber();
+                if (number < 0 || !laterNumbers.contains(number)) {
+                    allRepeated = false;
+                    break;
+                }
+            }
+            if (allRepeated) {
+                skip = minIndex;
+                Log.d(TAG, "跳过目录开头的最新章节区块: " + skip + " 项");
+            }
+        }
+        
+        List<ChapterInfo> normalized = new ArrayList<>(chapters.size() - skip);
+        Set<String> seenUrls = new HashSet<>();
+        int lastNumber = -1;
+        int gaps = 0;
+        for (int i = skip; i < chapters.size(); i++) {
+            ChapterInfo chapter = chapters.get(i);
+            if (!seenUrls.add(chapter.getUrl())) {
+                continue;
+            }
+            if (chapter.getNumber() >= 0) {
+                if (lastNumber >= 0 && chapter.getNumber() > lastNumber + 1) {
+                    gaps++;
+                }
+                lastNumber = chapter.getNumber();
+            }
+            chapter.setIndex(normalized.size());
+            normalized.add(chapter);
+        }
+        
+        if (gaps > 0) {
+            Log.d(TAG, "章节目录存在 " + gaps + " 处编号不连续");
+        }
+        return normalized;
     }
 
     // 常见的章节内容选择器（按优先级排序）
@@ -217,7 +308,15 @@ public class WebParserServiceImpl implements WebParserService {
             return "";
         }
         
-        Document doc = Jsoup.parse(html);
+        long startTime = Metrics.begin(Metrics.PARSER_EXTRACT_CONTENT);
+        try {
+            return extractChapterContentFromDocument(Jsoup.parse(html), html, rule);
+        } finally {
+            Metrics.end(Metrics.PARSER_EXTRACT_CONTENT, startTime);
+        }
+    }
+
+    private String extractChapterContentFromDocument(Document doc, String html, ParserRule rule) {
         
         // 首先移除规则中指定的元素
         if (rule != null && rule.getRemoveSelectors() != null) {
@@ -537,6 +636,31 @@ public class WebParserServiceImpl implements WebParserService {
         return "";
     }
     
+    /**
+     * 从文档中提取封面图片地址（og:image 等分享元数据）
+     * fetchHtml 返回的HTML不带页面地址，相对地址由调用方按小说来源地址解析
+     */
+    private String extractCoverUrl(Document doc) {
+        String[][] coverSelectors = {
+            {"meta[property='og:image']", "content"},
+            {"meta[name='og:image']", "content"},
+            {"meta[name='twitter:image']", "content"},
+            {"link[rel='image_src']", "href"}
+        };
+        
+        for (String[] selector : coverSelectors) {
+            Element element = doc.selectFirst(selector[0]);
+            if (element != null) {
+                String url = element.attr(selector[1]).trim();
+                if (!url.isEmpty()) {
+                    return url;
+                }
+            }
+        }
+        
+        return null;
+    }
+    
     /**
      * 移除文档中的广告元素
      */
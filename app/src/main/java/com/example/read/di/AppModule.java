@@ -4,10 +4,13 @@ import android.content.Context;
 import android.content.SharedPreferences;
 
 import com.example.read.data.api.DashScopeApi;
+import com.example.read.data.api.DashScopeStreamApi;
 import com.example.read.data.service.AIServiceImpl;
+import com.example.read.data.service.CoverServiceImpl;
 import com.example.read.data.service.FileParserServiceImpl;
 import com.example.read.data.service.WebParserServiceImpl;
 import com.example.read.domain.service.AIService;
+import com.example.read.domain.service.CoverService;
 import com.example.read.domain.service.FileParserService;
 import com.example.read.domain.service.WebParserService;
 
@@ -19,6 +22,8 @@ import dagger.hilt.components.SingletonComponent;
 
 import javax.inject.Singleton;
 
+import okhttp3.OkHttpClient;
+
 /**
  * Hilt module for application-level dependencies.
  * Provides singleton instances of common dependencies.
@@ -56,13 +61,23 @@ public class AppModule {
         return new WebParserServiceImpl();
     }
     
+    /**
+     * Provides CoverService instance for cover thumbnails.
+     * 导入和下载时生成书架封面缩略图
+     */
+    @Provides
+    @Singleton
+    public CoverService provideCoverService(@ApplicationContext Context context, OkHttpClient okHttpClient) {
+        return new CoverServiceImpl(context, okHttpClient);
+    }
+    
     /**
      * Provides AIService instance for AI-powered features.
      * 用于章节摘要生成等AI功能
      */
     @Provides
     @Singleton
-    public AIService provideAIService(DashScopeApi dashScopeApi) {
-        return new AIServiceImpl(dashScopeApi);
+    public AIService provideAIService(DashScopeApi dashScopeApi, DashScopeStreamApi dashScopeStreamApi) {
+        return new AIServiceImpl(dashScopeApi, dashScopeStreamApi);
     }
 }
@@ -1,6 +1,7 @@
 package com.example.read.di;
 
 import android.content.Context;
+import android.database.Cursor;
 
 import androidx.annotation.NonNull;
 import androidx.room.Room;
@@ -13,9 +14,12 @@ import com.example.read.data.dao.BlockedWordDao;
 import com.example.read.data.dao.BookmarkDao;
 import com.example.read.data.dao.CategoryDao;
 import com.example.read.data.dao.ChapterDao;
+import com.example.read.data.dao.ImportCheckpointDao;
 import com.example.read.data.dao.NovelDao;
 import com.example.read.data.dao.ParserRuleDao;
+import com.example.read.data.dao.ReadingProgressDao;
 import com.example.read.data.dao.ReadingStatisticsDao;
+import com.example.read.data.dao.SummaryCacheDao;
 
 import java.util.concurrent.Executors;
 
@@ -51,7 +55,24 @@ public class DatabaseModule {
     };
 
     /**
-     * 数据库创建回调 - 插入默认解析规则
+     * 全部迁移，按版本顺序
+     */
+    public static final Migration[] MIGRATIONS = {
+            MIGRATION_1_2, AppDatabase.MIGRATION_2_3, AppDatabase.MIGRATION_3_4,
+            AppDatabase.MIGRATION_4_5, AppDatabase.MIGRATION_5_6,
+            AppDatabase.MIGRATION_6_7, AppDatabase.MIGRATION_7_8,
+            AppDatabase.MIGRATION_8_9, AppDatabase.MIGRATION_9_10,
+            AppDatabase.MIGRATION_10_11, AppDatabase.MIGRATION_11_12,
+            AppDatabase.MIGRATION_12_13
+    };
+
+    // WAL 达到该页数（约4MB）时自动检查点；系统默认100页，导入整本书时检查点过于频繁
+    private static final int WAL_AUTOCHECKPOINT_PAGES = 1000;
+    // 检查点后 WAL 文件截断到的上限
+    private static final long WAL_SIZE_LIMIT_BYTES = 4L * 1024 * 1024;
+
+    /**
+     * 数据库回调 - 创建时插入默认解析规则，每次打开时设置 WAL 检查点策略
      */
     private static final RoomDatabase.Callback DATABASE_CALLBACK = new RoomDatabase.Callback() {
         @Override
@@ -62,8 +83,26 @@ public class DatabaseModule {
                 insertDefaultParserRules(db);
             });
         }
+
+        @Override
+        public void onOpen(@NonNull SupportSQLiteDatabase db) {
+            super.onOpen(db);
+            // WAL 模式下 NORMAL 只在检查点时同步，断电最多丢失最近的事务，不会损坏数据库
+            pragma(db, "PRAGMA synchronous = NORMAL");
+            pragma(db, "PRAGMA wal_autocheckpoint = " + WAL_AUTOCHECKPOINT_PAGES);
+            pragma(db, "PRAGMA journal_size_limit = " + WAL_SIZE_LIMIT_BYTES);
+        }
     };
 
+    /**
+     * 执行 PRAGMA（部分 PRAGMA 返回结果行，不能用 execSQL）
+     */
+    private static void pragma(SupportSQLiteDatabase db, String sql) {
+        try (Cursor cursor = db.query(sql)) {
+            cursor.moveToFirst();
+        }
+    }
+
     /**
      * 插入默认解析规则
      * 这些规则适用于常见的小说网站结构
@@ -145,9 +184,11 @@ public class DatabaseModule {
                 AppDatabase.class,
                 AppDatabase.DATABASE_NAME
             )
-            .addMigrations(MIGRATION_1_2, AppDatabase.MIGRATION_2_3)
+            .addMigrations(MIGRATIONS)
+            .setJournalMode(RoomDatabase.JournalMode.WRITE_AHEAD_LOGGING)
             .addCallback(DATABASE_CALLBACK)
-            .fallbackToDestructiveMigration()
+            // 升级必须走迁移，缺少迁移时启动失败而不是清空书架；只有降级时重建
+            .fallbackToDestructiveMigrationOnDowngrade()
             .build();
     }
 
@@ -192,4 +233,22 @@ public class DatabaseModule {
     public CategoryDao provideCategoryDao(AppDatabase database) {
         return database.categoryDao();
     }
+
+    @Provides
+    @Singleton
+    public ImportCheckpointDao provideImportCheckpointDao(AppDatabase database) {
+        return database.importCheckpointDao();
+    }
+
+    @Provides
+    @Singleton
+    public SummaryCacheDao provideSummaryCacheDao(AppDatabase database) {
+        return database.summaryCacheDao();
+    }
+
+    @Provides
+    @Singleton
+    public ReadingProgressDao provideReadingProgressDao(AppDatabase database) {
+        return database.readingProgressDao();
+    }
 }
@@ -2,6 +2,7 @@ package com.example.read.di;
 
 import com.example.read.config.AIConfig;
 import com.example.read.data.api.DashScopeApi;
+import com.example.read.data.api.DashScopeStreamApi;
 import com.example.read.utils.NetworkConnectivityChecker;
 import com.example.read.utils.NetworkRequestManager;
 import com.example.read.utils.RequestQueueManager;
@@ -91,6 +92,24 @@ public class NetworkModule {
                 .build();
     }
     
+    /**
+     * 提供AI流式输出专用的OkHttpClient
+     * 与aiClient共享连接池；读超时按相邻两次读取的间隔计算，
+     * 日志只记录请求头，BODY级别的日志会先读完整个响应体，使流式输出失效
+     */
+    @Provides
+    @Singleton
+    @Named("aiStreamClient")
+    public OkHttpClient provideAIStreamHttpClient(@Named("aiClient") OkHttpClient aiClient) {
+        HttpLoggingInterceptor headerLogging = new HttpLoggingInterceptor();
+        headerLogging.setLevel(HttpLoggingInterceptor.Level.HEADERS);
+        OkHttpClient.Builder builder = aiClient.newBuilder();
+        builder.interceptors().clear();
+        return builder
+                .addInterceptor(headerLogging)
+                .build();
+    }
+    
     /**
      * 提供 Retrofit 实例
      */
@@ -129,6 +148,21 @@ public class NetworkModule {
         return retrofit.create(DashScopeApi.class);
     }
     
+    /**
+     * 提供通义千问流式输出API接口
+     */
+    @Provides
+    @Singleton
+    public DashScopeStreamApi provideDashScopeStreamApi(@Named("aiStreamClient") OkHttpClient okHttpClient) {
+        return new Retrofit.Builder()
+                .baseUrl(DASHSCOPE_BASE_URL)
+                .client(okHttpClient)
+                .addConverterFactory(GsonConverterFactory.create())
+                .addCallAdapterFactory(RxJava3CallAdapterFactory.create())
+                .build()
+                .create(DashScopeStreamApi.class);
+    }
+    
     /**
      * 提供请求队列管理器
      */
@@ -3,6 +3,7 @@ package com.example.read.di;
 import com.example.read.data.repository.AIServiceRepositoryImpl;
 import com.example.read.data.repository.BlockedWordRepositoryImpl;
 import com.example.read.data.repository.BookmarkRepositoryImpl;
+import com.example.read.data.repository.ExportRepositoryImpl;
 import com.example.read.data.repository.FileImportRepositoryImpl;
 import com.example.read.data.repository.NovelRepositoryImpl;
 import com.example.read.data.repository.ParserRuleRepositoryImpl;
@@ -14,6 +15,7 @@ import com.example.read.data.repository.WebParserRepositoryImpl;
 import com.example.read.domain.repository.AIServiceRepository;
 import com.example.read.domain.repository.BlockedWordRepository;
 import com.example.read.domain.repository.BookmarkRepository;
+import com.example.read.domain.repository.ExportRepository;
 import com.example.read.domain.repository.FileImportRepository;
 import com.example.read.domain.repository.NovelRepository;
 import com.example.read.domain.repository.ParserRuleRepository;
@@ -91,4 +93,9 @@ public abstract class RepositoryModule {
     @Singleton
     public abstract SettingsRepository bindSettingsRepository(
             SettingsRepositoryImpl impl);
+    
+    @Binds
+    @Singleton
+    public abstract ExportRepository bindExportRepository(
+            ExportRepositoryImpl impl);
 }
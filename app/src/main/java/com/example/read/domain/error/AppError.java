@@ -116,6 +116,22 @@ public abstract class AppError extends Exception {
         }
     }
 
+    /**
+     * 重复导入错误 - 书架中已存在内容相同的小说
+     */
+    public static class DuplicateError extends AppError {
+        private final long existingNovelId;
+        
+        public DuplicateError(String message, long existingNovelId) {
+            super(message);
+            this.existingNovelId = existingNovelId;
+        }
+        
+        public long getExistingNovelId() {
+            return existingNovelId;
+        }
+    }
+
     /**
      * 验证错误
      */
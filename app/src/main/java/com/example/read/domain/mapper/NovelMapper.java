@@ -1,5 +1,6 @@
 package com.example.read.domain.mapper;
 
+import com.example.read.data.dao.NovelDao;
 import com.example.read.data.entity.NovelEntity;
 import com.example.read.domain.model.Novel;
 import com.example.read.domain.model.NovelSource;
@@ -37,10 +38,34 @@ public class NovelMapper {
         novel.setPinned(entity.isPinned());
         novel.setCurrentChapterTitle(entity.getCurrentChapterTitle());
         novel.setLatestChapterTitle(entity.getLatestChapterTitle());
+        novel.setContentHash(entity.getContentHash());
         
         return novel;
     }
 
+    /**
+     * 书架列表行转 Domain，只填充列表行包含的字段
+     */
+    public static Novel fromListRow(NovelDao.NovelListRow row) {
+        if (row == null) {
+            return null;
+        }
+
+        Novel novel = new Novel();
+        novel.setId(row.id);
+        novel.setTitle(row.title);
+        novel.setAuthor(row.author);
+        novel.setCoverPath(row.coverPath);
+        novel.setCategory(row.category);
+        novel.setPinned(row.isPinned);
+        novel.setTotalChapters(row.totalChapters);
+        novel.setCurrentChapterId(row.currentChapterId);
+        novel.setCurrentChapterTitle(row.currentChapterTitle);
+        novel.setLatestChapterTitle(row.latestChapterTitle);
+
+        return novel;
+    }
+
     /**
      * Domain 转 Entity
      */
@@ -64,6 +89,7 @@ public class NovelMapper {
         entity.setPinned(novel.isPinned());
         entity.setCurrentChapterTitle(novel.getCurrentChapterTitle());
         entity.setLatestChapterTitle(novel.getLatestChapterTitle());
+        entity.setContentHash(novel.getContentHash());
         
         return entity;
     }
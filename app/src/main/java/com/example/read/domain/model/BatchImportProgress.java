@@ -0,0 +1,50 @@
+package com.example.read.domain.model;
+
+/**
+ * 批量导入进度模型
+ * 汇总一批文件的导入情况，既用于进度回调也作为最终结果
+ */
+public class BatchImportProgress {
+    private final int total;        // 待导入文件总数
+    private final int imported;     // 导入成功数
+    private final int duplicates;   // 因内容重复而跳过的数量
+    private final int failed;       // 导入失败数
+    private final String currentFileName; // 最近处理完成的文件名
+
+    public BatchImportProgress(int total, int imported, int duplicates, int failed, String currentFileName) {
+        this.total = total;
+        this.imported = imported;
+        this.duplicates = duplicates;
+        this.failed = failed;
+        this.currentFileName = currentFileName;
+    }
+
+    // Getters
+    public int getTotal() { return total; }
+    public int getImported() { return imported; }
+    public int getDuplicates() { return duplicates; }
+    public int getFailed() { return failed; }
+    public String getCurrentFileName() { return currentFileName; }
+
+    /**
+     * 获取已处理（成功、跳过、失败）的文件数
+     */
+    public int getCompleted() {
+        return imported + duplicates + failed;
+    }
+
+    /**
+     * 检查是否全部处理完成
+     */
+    public boolean isFinished() {
+        return getCompleted() >= total;
+    }
+
+    /**
+     * 获取进度百分比（0-100）
+     */
+    public int getPercentage() {
+        if (total <= 0) return 100;
+        return (int) ((getCompleted() * 100L) / total);
+    }
+}
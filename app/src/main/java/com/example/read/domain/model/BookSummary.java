@@ -0,0 +1,42 @@
+package com.example.read.domain.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 全书摘要 - 由分段摘要合并而来，分段摘要由章节摘要合并而来
+ */
+public class BookSummary {
+
+    /**
+     * 连续若干章节的摘要
+     */
+    public static class Arc {
+        private final int startPosition;
+        private final int endPosition;
+        private final String summary;
+
+        public Arc(int startPosition, int endPosition, String summary) {
+            this.startPosition = startPosition;
+            this.endPosition = endPosition;
+            this.summary = summary;
+        }
+
+        /** 第一章在章节列表中的位置（从0开始） */
+        public int getStartPosition() { return startPosition; }
+        /** 最后一章之后的位置（不含） */
+        public int getEndPosition() { return endPosition; }
+        public String getSummary() { return summary; }
+    }
+
+    private final String summary;
+    private final List<Arc> arcs;
+
+    public BookSummary(String summary, List<Arc> arcs) {
+        this.summary = summary;
+        this.arcs = arcs != null ? arcs : new ArrayList<>();
+    }
+
+    public String getSummary() { return summary; }
+    public List<Arc> getArcs() { return arcs; }
+}
@@ -8,6 +8,7 @@ public class ChapterInfo {
     private String title;
     private String url;
     private int index;
+    private int number = -1; // 从标题识别出的章节编号，-1表示未识别
 
     public ChapterInfo() {}
 
@@ -26,11 +27,13 @@ public class ChapterInfo {
     public String getTitle() { return title; }
     public String getUrl() { return url; }
     public int getIndex() { return index; }
+    public int getNumber() { return number; }
 
     // Setters
     public void setTitle(String title) { this.title = title; }
     public void setUrl(String url) { this.url = url; }
     public void setIndex(int index) { this.index = index; }
+    public void setNumber(int number) { this.number = number; }
 
     /**
      * 检查章节信息是否有效
@@ -0,0 +1,25 @@
+package com.example.read.domain.model;
+
+/**
+ * 导出格式枚举
+ */
+public enum ExportFormat {
+    TXT("txt", "text/plain"),
+    EPUB("epub", "application/epub+zip");
+
+    private final String extension;
+    private final String mimeType;
+
+    ExportFormat(String extension, String mimeType) {
+        this.extension = extension;
+        this.mimeType = mimeType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public String getMimeType() {
+        return mimeType;
+    }
+}
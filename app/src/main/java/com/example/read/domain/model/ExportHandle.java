@@ -0,0 +1,19 @@
+package com.example.read.domain.model;
+
+/**
+ * 单次导出的控制句柄
+ * 每次导出使用独立的句柄，取消只影响这一次导出；由界面线程取消，导出线程读取
+ */
+public class ExportHandle {
+
+    private volatile boolean cancelled;
+
+    /**
+     * 取消导出，写出在下一章处停止，已写入的目标文件会被删除
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public boolean isCancelled() { return cancelled; }
+}
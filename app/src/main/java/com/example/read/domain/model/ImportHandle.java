@@ -0,0 +1,27 @@
+package com.example.read.domain.model;
+
+/**
+ * 单个文件分段导入的控制句柄
+ * 每次导入使用独立的句柄，取消只影响这一次导入；由界面线程取消，导入线程读取
+ */
+public class ImportHandle {
+
+    private volatile boolean cancelled;
+    private volatile boolean keepPartial = true;  // 失败或被中断时默认保留已提交的章节
+
+    /**
+     * 取消导入，解析在下一章处停止；重复取消时以第一次的选择为准
+     * @param keepPartial true 保留已提交的章节，再次导入同一文件时从断点继续；
+     *                    false 删除已写入的小说和断点
+     */
+    public synchronized void cancel(boolean keepPartial) {
+        if (cancelled) {
+            return;
+        }
+        this.keepPartial = keepPartial;
+        this.cancelled = true;
+    }
+
+    public boolean isCancelled() { return cancelled; }
+    public boolean isKeepPartial() { return keepPartial; }
+}
@@ -0,0 +1,50 @@
+package com.example.read.domain.model;
+
+/**
+ * 单个文件导入进度模型
+ * 导入分为校验（计算内容指纹）和解析写入两个阶段，字节进度按阶段分别计算
+ */
+public class ImportProgress {
+
+    /**
+     * 导入阶段
+     */
+    public enum Stage {
+        HASHING,   // 计算文件指纹，用于去重和断点续传
+        PARSING,   // 解析章节并分段写入数据库
+        FINISHING  // 写入剩余章节并更新小说信息
+    }
+
+    private final Stage stage;
+    private final long bytesRead;        // 当前阶段已读取的字节数
+    private final long totalBytes;       // 文件总字节数，未知时为-1
+    private final int chaptersFound;     // 已解析出的章节数
+    private final int chaptersWritten;   // 已提交到数据库的章节数（含断点之前已提交的）
+    private final boolean resumed;       // 是否从上次的断点继续
+
+    public ImportProgress(Stage stage, long bytesRead, long totalBytes,
+                          int chaptersFound, int chaptersWritten, boolean resumed) {
+        this.stage = stage;
+        this.bytesRead = bytesRead;
+        this.totalBytes = totalBytes;
+        this.chaptersFound = chaptersFound;
+        this.chaptersWritten = chaptersWritten;
+        this.resumed = resumed;
+    }
+
+    // Getters
+    public Stage getStage() { return stage; }
+    public long getBytesRead() { return bytesRead; }
+    public long getTotalBytes() { return totalBytes; }
+    public int getChaptersFound() { return chaptersFound; }
+    public int getChaptersWritten() { return chaptersWritten; }
+    public boolean isResumed() { return resumed; }
+
+    /**
+     * 获取当前阶段的字节进度百分比（0-100），总大小未知时返回-1
+     */
+    public int getPercentage() {
+        if (totalBytes <= 0) return -1;
+        return (int) Math.min(100, (bytesRead * 100L) / totalBytes);
+    }
+}
@@ -21,6 +21,7 @@ public class Novel {
     private float readingProgress; // 0.0 - 1.0
     private String currentChapterTitle; // 当前阅读章节标题
     private String latestChapterTitle;  // 最新章节标题
+    private String contentHash;         // 源文件内容指纹
 
     public Novel() {}
 
@@ -51,6 +52,7 @@ public class Novel {
     public float getReadingProgress() { return readingProgress; }
     public String getCurrentChapterTitle() { return currentChapterTitle; }
     public String getLatestChapterTitle() { return latestChapterTitle; }
+    public String getContentHash() { return contentHash; }
 
 
     // Setters
@@ -71,6 +73,7 @@ public class Novel {
     public void setReadingProgress(float readingProgress) { this.readingProgress = readingProgress; }
     public void setCurrentChapterTitle(String currentChapterTitle) { this.currentChapterTitle = currentChapterTitle; }
     public void setLatestChapterTitle(String latestChapterTitle) { this.latestChapterTitle = latestChapterTitle; }
+    public void setContentHash(String contentHash) { this.contentHash = contentHash; }
 
     /**
      * 计算阅读进度
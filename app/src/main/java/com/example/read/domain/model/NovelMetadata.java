@@ -8,6 +8,7 @@ public class NovelMetadata {
     private String title;
     private String author;
     private String description;
+    private String coverUrl; // 封面图片地址（og:image），可能是相对地址
 
     public NovelMetadata() {}
 
@@ -21,11 +22,13 @@ public class NovelMetadata {
     public String getTitle() { return title; }
     public String getAuthor() { return author; }
     public String getDescription() { return description; }
+    public String getCoverUrl() { return coverUrl; }
 
     // Setters
     public void setTitle(String title) { this.title = title; }
     public void setAuthor(String author) { this.author = author; }
     public void setDescription(String description) { this.description = description; }
+    public void setCoverUrl(String coverUrl) { this.coverUrl = coverUrl; }
 
     /**
      * 检查元数据是否完整（标题、作者、简介都非空）
@@ -12,6 +12,8 @@ public class ParsedNovel {
     private String author;
     private String description;
     private String coverPath;
+    private String contentHash; // 源文件内容指纹（SHA-256），用于导入去重
+    private byte[] coverImage; // 文件内嵌的封面原图（EPUB），导入时生成缩略图
     private List<ParsedChapter> chapters;
 
     public ParsedNovel() {
@@ -29,6 +31,8 @@ public class ParsedNovel {
     public String getAuthor() { return author; }
     public String getDescription() { return description; }
     public String getCoverPath() { return coverPath; }
+    public String getContentHash() { return contentHash; }
+    public byte[] getCoverImage() { return coverImage; }
     public List<ParsedChapter> getChapters() { return chapters; }
 
     // Setters
@@ -36,6 +40,8 @@ public class ParsedNovel {
     public void setAuthor(String author) { this.author = author; }
     public void setDescription(String description) { this.description = description; }
     public void setCoverPath(String coverPath) { this.coverPath = coverPath; }
+    public void setContentHash(String contentHash) { this.contentHash = contentHash; }
+    public void setCoverImage(byte[] coverImage) { this.coverImage = coverImage; }
     public void setChapters(List<ParsedChapter> chapters) { this.chapters = chapters; }
 
     public void addChapter(ParsedChapter chapter) {
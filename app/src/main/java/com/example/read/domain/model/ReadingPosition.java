@@ -6,7 +6,7 @@ package com.example.read.domain.model;
  */
 public class ReadingPosition {
     private long chapterId;
-    private int position;
+    private int position; // 章节内字符偏移
 
     public ReadingPosition() {}
 
@@ -0,0 +1,25 @@
+package com.example.read.domain.model;
+
+/**
+ * 摘要层级 - 分层摘要中合并摘要时的范围
+ */
+public enum SummaryScope {
+    /** 单个章节（由章节内各段的摘要合并而来） */
+    CHAPTER("章节", "100-200字"),
+    /** 连续的若干章节 */
+    ARC("连续若干章节", "200-300字"),
+    /** 整本小说 */
+    BOOK("整本小说", "300-500字");
+
+    private final String displayName;
+    private final String lengthHint;
+
+    SummaryScope(String displayName, String lengthHint) {
+        this.displayName = displayName;
+        this.lengthHint = lengthHint;
+    }
+
+    public String getDisplayName() { return displayName; }
+    /** 合并后摘要的建议长度 */
+    public String getLengthHint() { return lengthHint; }
+}
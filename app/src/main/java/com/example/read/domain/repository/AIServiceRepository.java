@@ -1,10 +1,12 @@
 package com.example.read.domain.repository;
 
+import com.example.read.domain.model.BookSummary;
 import com.example.read.domain.model.Chapter;
 
 import java.util.List;
 import java.util.Map;
 
+import io.reactivex.rxjava3.core.Flowable;
 import io.reactivex.rxjava3.core.Single;
 
 /**
@@ -25,11 +27,13 @@ public interface AIServiceRepository {
     
     /**
      * 批量生成多个章节的摘要
-     * 验证需求：8.5 - 按顺序处理多个章节并显示进度
+     * 验证需求：8.5 - 处理多个章节并显示进度
+     * 
+     * 多个请求并发进行，进度按完成顺序回调；返回的映射仍按输入顺序排列
      * 
      * @param chapters 章节列表
      * @param callback 进度回调
-     * @return 返回章节ID到摘要的映射
+     * @return 返回章节ID到摘要的映射（生成失败的章节为null）
      */
     Single<Map<Long, String>> batchGenerateSummaries(List<Chapter> chapters, ProgressCallback callback);
     
@@ -60,15 +64,45 @@ public interface AIServiceRepository {
      */
     Single<String> getOrGenerateSummary(Chapter chapter);
     
+    /**
+     * 以流式输出获取或生成摘要（优先使用缓存）
+     * 
+     * 有缓存时只发出完整的缓存摘要；否则边生成边发出文本片段，全部完成后保存到缓存，
+     * 中途取消或失败不保存
+     * 
+     * @param chapter 章节对象
+     * @return 摘要的文本片段，拼接后即完整摘要
+     */
+    Flowable<String> streamSummary(Chapter chapter);
+    
+    /**
+     * 生成全书摘要
+     * 
+     * 缺少摘要的章节先生成章节摘要（进度按这些章节计算），再逐层合并为分段摘要和全书摘要；
+     * 各层结果都会缓存，追加章节后再次生成只需重新合并受影响的分段
+     * 
+     * @param novelId 小说ID
+     * @param callback 章节摘要的进度回调，可以为null
+     * @return 全书摘要及各分段摘要
+     */
+    Single<BookSummary> generateBookSummary(long novelId, ProgressCallback callback);
+    
     /**
      * 进度回调接口
      */
     interface ProgressCallback {
         /**
          * 进度更新回调
-         * @param current 当前处理的章节索引（从1开始）
+         * @param current 已完成的章节数
          * @param total 总章节数
          */
         void onProgress(int current, int total);
+
+        /**
+         * 单个章节的摘要已生成（或命中缓存）
+         * @param chapterId 章节ID
+         * @param summary 摘要，生成失败时为null
+         */
+        default void onSummaryReady(long chapterId, String summary) {}
     }
 }
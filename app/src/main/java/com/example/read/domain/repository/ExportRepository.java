@@ -0,0 +1,41 @@
+package com.example.read.domain.repository;
+
+import android.net.Uri;
+
+import com.example.read.domain.model.ExportFormat;
+import com.example.read.domain.model.ExportHandle;
+
+import io.reactivex.rxjava3.core.Single;
+
+/**
+ * 导出Repository接口
+ * 负责把书架中的小说导出为TXT或EPUB文件
+ */
+public interface ExportRepository {
+    
+    /**
+     * 导出小说
+     * 章节按顺序分页读取并直接写入目标文件，内存占用与书籍大小无关
+     * @param novelId 小说ID
+     * @param format 导出格式
+     * @param charsetName TXT的输出编码（如"UTF-8"、"GBK"），EPUB忽略该参数
+     * @param targetUri 目标文件URI（通常来自ACTION_CREATE_DOCUMENT）
+     * @param handle 本次导出的控制句柄，取消或取消订阅时停止写出并删除已写入的目标文件
+     * @param callback 进度回调（在后台线程调用），可为null
+     * @return 导出的章节数
+     */
+    Single<Integer> exportNovel(long novelId, ExportFormat format, String charsetName,
+                                Uri targetUri, ExportHandle handle, ProgressCallback callback);
+    
+    /**
+     * 导出进度回调接口
+     */
+    interface ProgressCallback {
+        /**
+         * 导出进度更新
+         * @param current 已导出章节数
+         * @param total 总章节数
+         */
+        void onProgress(int current, int total);
+    }
+}
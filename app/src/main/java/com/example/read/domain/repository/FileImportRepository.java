@@ -2,8 +2,13 @@ package com.example.read.domain.repository;
 
 import android.net.Uri;
 
+import com.example.read.domain.model.BatchImportProgress;
+import com.example.read.domain.model.ImportHandle;
+import com.example.read.domain.model.ImportProgress;
 import com.example.read.domain.model.Novel;
 
+import java.util.List;
+
 import io.reactivex.rxjava3.core.Single;
 
 /**
@@ -25,4 +30,62 @@ public interface FileImportRepository {
      * @return 导入成功后的小说对象（包含ID）
      */
     Single<Novel> importEpubFile(Uri uri);
+    
+    /**
+     * 分段导入单个文件（TXT或EPUB，按文件扩展名区分），支持进度回调、取消和断点续传
+     * 先计算文件指纹：与已有小说重复时抛出DuplicateError，存在未完成的断点时从断点继续；
+     * 解析出的章节分段提交并记录断点，内存占用与文件大小无关
+     * 失败时保留已提交的章节以便续传；通过handle取消时按取消时的选择保留或删除，
+     * 取消订阅等同于保留已提交章节的取消
+     * @param uri 文件URI
+     * @param handle 本次导入的控制句柄，用于取消
+     * @param callback 进度回调（在后台线程调用），可为null
+     * @return 导入成功后的小说对象（包含ID）
+     */
+    Single<Novel> importFile(Uri uri, ImportHandle handle, ImportProgressCallback callback);
+    
+    /**
+     * 检查是否有正在进行的分段导入
+     */
+    boolean isImporting();
+    
+    /**
+     * 批量导入多个文件
+     * 文件在有界线程池中并行解析，数据库写入由单一写线程串行完成，
+     * 内容指纹与已有小说（或本批次中其他文件）相同的文件会被跳过
+     * @param uris 文件URI列表（TXT或EPUB，按文件扩展名区分）
+     * @param callback 进度回调（在后台线程调用）
+     * @return 最终的导入统计
+     */
+    Single<BatchImportProgress> importFiles(List<Uri> uris, BatchProgressCallback callback);
+    
+    /**
+     * 批量导入文件夹（SAF文档树）中的所有TXT/EPUB文件，包含子文件夹
+     * @param treeUri ACTION_OPEN_DOCUMENT_TREE返回的文档树URI
+     * @param callback 进度回调（在后台线程调用）
+     * @return 最终的导入统计
+     */
+    Single<BatchImportProgress> importDocumentTree(Uri treeUri, BatchProgressCallback callback);
+    
+    /**
+     * 单个文件导入进度回调接口
+     */
+    interface ImportProgressCallback {
+        /**
+         * 进度变化时回调（有节流）
+         * @param progress 当前进度
+         */
+        void onProgress(ImportProgress progress);
+    }
+    
+    /**
+     * 批量导入进度回调接口
+     */
+    interface BatchProgressCallback {
+        /**
+         * 每处理完一个文件回调一次
+         * @param progress 当前的汇总进度
+         */
+        void onProgress(BatchImportProgress progress);
+    }
 }
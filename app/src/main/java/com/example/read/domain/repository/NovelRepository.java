@@ -1,6 +1,7 @@
 package com.example.read.domain.repository;
 
 import androidx.lifecycle.LiveData;
+import androidx.paging.PagingData;
 
 import com.example.read.domain.model.Chapter;
 import com.example.read.domain.model.Novel;
@@ -14,12 +15,18 @@ import java.util.List;
 public interface NovelRepository {
     
     /**
-     * 获取所有小说（按置顶和最后阅读时间排序）
+     * 书架分页数据（按置顶和最后阅读时间排序）
+     * 有搜索关键词时按标题或作者搜索，否则按分类筛选；分类为空或"全部"时不筛选
      */
-    LiveData<List<Novel>> getAllNovels();
+    LiveData<PagingData<Novel>> getBookshelfNovels(String keyword, String category);
     
     /**
-     * 根据ID获取小说
+     * 同步获取与 {@link #getBookshelfNovels} 条件相同的全部小说ID（用于全选）
+     */
+    List<Long> getBookshelfNovelIds(String keyword, String category);
+    
+    /**
+     * 根据ID获取小说（包含最近保存的阅读位置）
      */
     Novel getNovelById(long novelId);
     
@@ -40,14 +47,12 @@ public interface NovelRepository {
     void deleteNovel(long novelId);
     
     /**
-     * 搜索小说（按标题或作者）
+     * 用图片文件替换小说封面：生成缩略图后删除原文件
+     * @param novelId 小说ID
+     * @param imagePath 用户选择的图片文件路径
+     * @return 缩略图路径；图片无法解码时返回null，原文件保留
      */
-    LiveData<List<Novel>> searchNovels(String keyword);
-    
-    /**
-     * 按分类筛选小说
-     */
-    LiveData<List<Novel>> getNovelsByCategory(String category);
+    String replaceCover(long novelId, String imagePath);
     
     /**
      * 获取所有分类
@@ -81,8 +86,16 @@ public interface NovelRepository {
     
     /**
      * 更新阅读进度
+     * 频繁的更新在内存中合并，定时写入；书架显示的当前章节和最后阅读时间只在换章时更新
+     * 
+     * @param chapterTitle 章节标题（取自已加载的目录），为null时写入时从章节表读取
+     */
+    void updateReadingProgress(long novelId, long chapterId, String chapterTitle, int position);
+    
+    /**
+     * 立即写入尚未写入的阅读进度（离开阅读界面时调用）
      */
-    void updateReadingProgress(long novelId, long chapterId, int position);
+    void flushReadingProgress();
     
     /**
      * 在小说中搜索关键词
@@ -135,6 +135,22 @@ public interface SettingsRepository {
      */
     void setFullScreenReading(boolean fullScreen);
 
+    // ==================== 朗读设置 ====================
+
+    /**
+     * 获取朗读音频缓存设置
+     * 
+     * @return 是否先合成到磁盘缓存再播放
+     */
+    boolean isTTSAudioCacheEnabled();
+
+    /**
+     * 设置朗读音频缓存
+     * 
+     * @param enabled 是否先合成到磁盘缓存再播放
+     */
+    void setTTSAudioCacheEnabled(boolean enabled);
+
     // ==================== 翻页设置 ====================
 
     /**
@@ -196,4 +212,12 @@ public interface SettingsRepository {
      * @return 是否已持久化
      */
     boolean isSettingPersisted(String key);
+
+    /**
+     * 设置从磁盘加载完成后在主线程执行操作
+     * 在主线程上构造的调用方（如 ViewModel）在这里读取初始设置，不等待读盘
+     * 
+     * @param action 加载完成后执行的操作，已加载时也在之后的主线程循环中执行
+     */
+    void whenLoaded(Runnable action);
 }
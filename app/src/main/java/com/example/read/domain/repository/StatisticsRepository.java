@@ -7,6 +7,7 @@ import com.example.read.domain.model.ReadingStatistics;
 import com.example.read.domain.model.StatisticsPeriod;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * 阅读统计仓库接口 - 定义阅读统计相关操作
@@ -25,12 +26,42 @@ public interface StatisticsRepository {
      */
     void recordReadingSession(long novelId, long duration, int charCount);
     
+    /**
+     * 开始阅读会话，之后定期写入已读时长，直到暂停或结束
+     * 验证需求：12.1 - 记录阅读时长到本地存储
+     * 
+     * @param novelId 小说ID
+     */
+    void startReadingSession(long novelId);
+    
+    /**
+     * 暂停当前阅读会话的计时（离开阅读界面）
+     */
+    void pauseReadingSession();
+    
+    /**
+     * 恢复当前阅读会话的计时
+     */
+    void resumeReadingSession();
+    
+    /**
+     * 更新当前阅读会话的累计阅读字数
+     * 
+     * @param charCount 本次会话累计阅读字数
+     */
+    void updateReadingSessionCharCount(int charCount);
+    
+    /**
+     * 结束当前阅读会话并写入剩余时长
+     */
+    void endReadingSession();
+    
     /**
      * 按周期获取统计数据
      * 验证需求：12.6 - 切换统计周期（日、周、月）更新显示对应周期的数据
      * 
      * @param period 统计周期
-     * @return 统计数据列表（按日期分组）
+     * @return 统计数据列表（按日期分组，日期升序）
      */
     LiveData<List<ReadingStatistics>> getStatisticsByPeriod(StatisticsPeriod period);
     
@@ -42,6 +73,15 @@ public interface StatisticsRepository {
      */
     List<ReadingStatistics> getStatisticsByPeriodSync(StatisticsPeriod period);
     
+    /**
+     * 获取指定周期的时段分布
+     * 验证需求：12.4 - 展示最常阅读的时间段分布
+     * 
+     * @param period 统计周期
+     * @return 时段（0-23）-> 阅读时长（毫秒），24个时段都有值
+     */
+    Map<Integer, Long> getHourDistribution(StatisticsPeriod period);
+    
     /**
      * 获取指定周期的总阅读时长
      * 
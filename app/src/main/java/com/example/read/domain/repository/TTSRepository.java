@@ -23,6 +23,14 @@ public interface TTSRepository {
      */
     void startReading(String text, int startPosition);
 
+    /**
+     * 预先提供下一章文本，当前章节读完后无缝接续
+     * 
+     * @param chapterId 下一章ID
+     * @param text 下一章文本
+     */
+    void queueNextChapter(long chapterId, String text);
+
     /**
      * 暂停朗读
      * 验证需求：10.6 - 暂停朗读时保存当前朗读位置
@@ -41,6 +49,13 @@ public interface TTSRepository {
      */
     void stopReading();
 
+    /**
+     * 开启或关闭音频缓存模式
+     * 
+     * @param enabled 是否先合成到磁盘缓存再播放
+     */
+    void setAudioCacheEnabled(boolean enabled);
+
     /**
      * 设置语速
      * 验证需求：10.3 - 立即应用新的语速设置
@@ -93,6 +108,13 @@ public interface TTSRepository {
      */
     void setOnChapterCompleteListener(OnChapterCompleteListener listener);
 
+    /**
+     * 设置朗读跨章回调
+     * 
+     * @param listener 朗读章节切换监听器
+     */
+    void setOnChapterChangedListener(OnChapterChangedListener listener);
+
     /**
      * 检查TTS是否已初始化
      * 
@@ -117,4 +139,16 @@ public interface TTSRepository {
          */
         void onChapterComplete(long chapterId);
     }
+
+    /**
+     * 朗读章节切换监听器
+     */
+    interface OnChapterChangedListener {
+        /**
+         * 朗读已从上一章无缝进入新章节
+         * 
+         * @param chapterId 正在朗读的章节ID
+         */
+        void onChapterChanged(long chapterId);
+    }
 }
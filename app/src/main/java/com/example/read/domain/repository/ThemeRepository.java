@@ -138,4 +138,11 @@ public interface ThemeRepository {
      * 如果启用了自动切换，根据当前时间自动切换主题
      */
     void applyAutoThemeSwitch();
+
+    /**
+     * 主题设置从磁盘加载完成后在主线程执行操作，加载完成前 {@link #getCurrentTheme()} 返回日间主题
+     * 
+     * @param action 加载完成后执行的操作，已加载时也在之后的主线程循环中执行
+     */
+    void whenLoaded(Runnable action);
 }
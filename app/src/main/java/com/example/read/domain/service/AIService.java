@@ -1,5 +1,10 @@
 package com.example.read.domain.service;
 
+import com.example.read.domain.model.SummaryScope;
+
+import java.util.List;
+
+import io.reactivex.rxjava3.core.Flowable;
 import io.reactivex.rxjava3.core.Single;
 
 /**
@@ -34,4 +39,47 @@ public interface AIService {
      * @return 返回生成的摘要
      */
     Single<String> generateSummary(String chapterContent);
+    
+    /**
+     * 以流式输出调用AI API
+     * 
+     * @param prompt 系统提示词
+     * @param content 用户内容（章节文本）
+     * @return 按生成顺序发出的文本片段，拼接后即完整响应；取消订阅会断开连接
+     */
+    Flowable<String> streamAIApi(String prompt, String content);
+    
+    /**
+     * 以流式输出生成章节摘要
+     * 
+     * @param chapterContent 章节内容
+     * @return 摘要的文本片段
+     */
+    Flowable<String> streamSummary(String chapterContent);
+    
+    /**
+     * 构建合并摘要的Prompt
+     * 
+     * @param scope 合并后摘要的范围
+     * @return 构建好的提示词
+     */
+    String buildMergePrompt(SummaryScope scope);
+    
+    /**
+     * 把按顺序排列的若干部分摘要合并为一个摘要
+     * 
+     * @param partSummaries 各部分的摘要
+     * @param scope 合并后摘要的范围
+     * @return 合并后的摘要
+     */
+    Single<String> mergeSummaries(List<String> partSummaries, SummaryScope scope);
+    
+    /**
+     * 以流式输出合并摘要
+     * 
+     * @param partSummaries 各部分的摘要
+     * @param scope 合并后摘要的范围
+     * @return 合并后摘要的文本片段
+     */
+    Flowable<String> streamMergeSummaries(List<String> partSummaries, SummaryScope scope);
 }
@@ -0,0 +1,56 @@
+package com.example.read.domain.service;
+
+/**
+ * 封面服务接口
+ * 负责把封面原图缩放为固定尺寸的缩略图，并为没有封面的小说生成占位封面
+ *
+ * 缩略图按小说ID保存在应用私有目录，书架列表只加载缩略图，
+ * 每个条目的解码耗时和内存占用与原图大小无关。
+ * 所有方法在调用线程上阻塞执行，封面不影响导入结果，失败时返回null。
+ */
+public interface CoverService {
+
+    /** 缩略图宽度（像素），对应书架条目 70dp 封面在 xxhdpi 下的尺寸 */
+    int THUMBNAIL_WIDTH = 210;
+
+    /** 缩略图高度（像素），对应书架条目 95dp 封面在 xxhdpi 下的尺寸 */
+    int THUMBNAIL_HEIGHT = 285;
+
+    /**
+     * 从图片数据生成缩略图
+     * @param novelId 小说ID
+     * @param imageData 图片原始数据（JPEG/PNG/WebP/GIF）
+     * @return 缩略图路径；无法解码时返回null
+     */
+    String saveCover(long novelId, byte[] imageData);
+
+    /**
+     * 从图片文件生成缩略图
+     * @param novelId 小说ID
+     * @param imagePath 图片文件路径
+     * @return 缩略图路径；无法解码时返回null
+     */
+    String saveCoverFromFile(long novelId, String imagePath);
+
+    /**
+     * 下载网络图片并生成缩略图
+     * @param novelId 小说ID
+     * @param imageUrl 图片地址（绝对地址）
+     * @return 缩略图路径；下载或解码失败时返回null
+     */
+    String downloadCover(long novelId, String imageUrl);
+
+    /**
+     * 生成占位封面：按小说ID取底色，居中绘制书名
+     * @param novelId 小说ID
+     * @param title 书名
+     * @return 缩略图路径；写入失败时返回null
+     */
+    String createPlaceholderCover(long novelId, String title);
+
+    /**
+     * 删除小说的缩略图
+     * @param novelId 小说ID
+     */
+    void deleteCover(long novelId);
+}
@@ -4,6 +4,8 @@ import android.net.Uri;
 
 import com.example.read.domain.model.ParsedNovel;
 
+import java.io.IOException;
+
 import io.reactivex.rxjava3.core.Single;
 
 /**
@@ -25,4 +27,43 @@ public interface FileParserService {
      * @return 解析后的小说数据
      */
     Single<ParsedNovel> parseEpubFile(Uri uri);
+    
+    /**
+     * 计算文件内容指纹（SHA-256），在调用线程上阻塞执行
+     * @param uri 文件URI
+     * @param listener 读取进度和取消检查（onChapter不会被调用）
+     * @return 十六进制指纹；被取消时返回null
+     */
+    String computeContentHash(Uri uri, ParseListener listener) throws IOException;
+    
+    /**
+     * 流式解析文件，每解析出一个完整章节就回调一次，在调用线程上阻塞执行
+     * 返回的小说数据只包含标题、作者等信息，不保留章节列表，内存占用与文件大小无关
+     * @param uri 文件URI
+     * @param epub true按EPUB解析，false按TXT解析
+     * @param listener 章节和读取进度回调
+     * @return 小说元数据；被取消时提前返回
+     */
+    ParsedNovel parseFileStreaming(Uri uri, boolean epub, ParseListener listener) throws IOException;
+    
+    /**
+     * 流式解析回调接口
+     */
+    interface ParseListener {
+        /**
+         * 读取进度，约每64KB回调一次
+         * @param bytesRead 已读取的字节数
+         */
+        void onBytesRead(long bytesRead);
+        
+        /**
+         * 解析出一个完整章节，按章节顺序回调
+         */
+        void onChapter(ParsedNovel.ParsedChapter chapter) throws IOException;
+        
+        /**
+         * 是否已取消，解析过程中逐行检查
+         */
+        boolean isCancelled();
+    }
 }
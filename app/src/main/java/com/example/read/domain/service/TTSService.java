@@ -31,6 +31,15 @@ public interface TTSService {
      */
     void speak(String text, int startPosition);
 
+    /**
+     * 预先提供下一章的文本，当前章节读完后无缝接着朗读
+     * 朗读进入下一章时回调 {@link TTSCallback#onChapterChanged}
+     * 
+     * @param chapterId 下一章ID
+     * @param text 下一章文本
+     */
+    void enqueueNext(long chapterId, String text);
+
     /**
      * 暂停朗读
      * 验证需求：10.6 - 暂停朗读时保存当前朗读位置
@@ -49,6 +58,14 @@ public interface TTSService {
      */
     void stop();
 
+    /**
+     * 开启或关闭音频缓存模式
+     * 开启后句子先合成到磁盘缓存再播放，重复收听无需重新合成
+     * 
+     * @param enabled 是否开启
+     */
+    void setAudioCacheEnabled(boolean enabled);
+
     /**
      * 设置语速
      * 验证需求：10.3 - 立即应用新的语速设置
@@ -127,11 +144,18 @@ public interface TTSService {
         void onProgress(int position);
 
         /**
-         * 当前文本朗读完成
+         * 当前文本朗读完成，且没有预先提供下一章
          * 验证需求：10.5 - 自动开始朗读下一章节
          */
         void onComplete();
 
+        /**
+         * 朗读已接续进入预先提供的下一章
+         * 
+         * @param chapterId 正在朗读的章节ID
+         */
+        void onChapterChanged(long chapterId);
+
         /**
          * 发生错误
          * 
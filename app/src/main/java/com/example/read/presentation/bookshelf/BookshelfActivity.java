@@ -27,13 +27,22 @@ import androidx.core.graphics.Insets;
 import androidx.core.view.ViewCompat;
 import androidx.core.view.WindowInsetsCompat;
 import androidx.lifecycle.ViewModelProvider;
+import androidx.paging.LoadState;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 import androidx.swiperefreshlayout.widget.SwipeRefreshLayout;
 
 import com.bumptech.glide.Glide;
+import com.bumptech.glide.RequestManager;
+import com.bumptech.glide.integration.recyclerview.RecyclerViewPreloader;
+import com.bumptech.glide.util.FixedPreloadSizeProvider;
 import com.example.read.R;
+import com.example.read.domain.model.BatchImportProgress;
+import com.example.read.domain.model.ExportFormat;
+import com.example.read.domain.model.ImportProgress;
 import com.example.read.domain.model.Novel;
+import com.example.read.domain.service.CoverService;
+import com.example.read.presentation.debug.MetricsDialog;
 import com.example.read.utils.NavigationHelper;
 import com.google.android.material.bottomsheet.BottomSheetDialog;
 import com.google.android.material.floatingactionbutton.FloatingActionButton;
@@ -43,6 +52,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import dagger.hilt.android.AndroidEntryPoint;
+import kotlin.Unit;
 
 /**
  * 书架Activity - 显示和管理用户的小说集合
@@ -52,6 +62,9 @@ import dagger.hilt.android.AndroidEntryPoint;
 @AndroidEntryPoint
 public class BookshelfActivity extends AppCompatActivity {
 
+    // 滚动方向上提前加载封面的条目数（约一屏半）
+    private static final int COVER_PRELOAD_COUNT = 12;
+
     private BookshelfViewModel viewModel;
     private NovelAdapter novelAdapter;
 
@@ -62,6 +75,7 @@ public class BookshelfActivity extends AppCompatActivity {
     private TextView emptyText;
     private ProgressBar loadingProgress;
     private FloatingActionButton fabImport;
+    private boolean fullyDrawnReported = false; // 首次显示书架列表后上报完全绘制
 
     // 顶部栏组件
     private LinearLayout topBar;
@@ -80,6 +94,15 @@ public class BookshelfActivity extends AppCompatActivity {
     // 文件选择器
     private ActivityResultLauncher<Intent> filePickerLauncher;
     
+    // 文件夹选择器（批量导入）
+    private ActivityResultLauncher<Intent> folderPickerLauncher;
+    
+    // 导出文件创建器
+    private ActivityResultLauncher<Intent> exportLauncher;
+    private Novel exportingNovel; // 当前正在导出的小说
+    private ExportFormat exportFormat; // 选择的导出格式
+    private String exportCharset; // 选择的TXT编码
+    
     // 图片选择器（用于编辑封面）
     private ActivityResultLauncher<Intent> imagePickerLauncher;
     private Novel editingNovel; // 当前正在编辑的小说
@@ -110,6 +133,8 @@ public class BookshelfActivity extends AppCompatActivity {
         initViews();
         initViewModel();
         initFilePickerLauncher();
+        initFolderPickerLauncher();
+        initExportLauncher();
         initImagePickerLauncher();
         setupListeners();
         observeData();
@@ -136,9 +161,14 @@ public class BookshelfActivity extends AppCompatActivity {
         btnMore = findViewById(R.id.btn_more);
 
         // 设置RecyclerView
-        novelAdapter = new NovelAdapter();
+        RequestManager glide = Glide.with(this);
+        novelAdapter = new NovelAdapter(glide);
         recyclerView.setLayoutManager(new LinearLayoutManager(this));
         recyclerView.setAdapter(novelAdapter);
+        // 在滚动方向上预先解码即将出现的封面缩略图
+        recyclerView.addOnScrollListener(new RecyclerViewPreloader<>(glide, novelAdapter,
+                new FixedPreloadSizeProvider<>(CoverService.THUMBNAIL_WIDTH, CoverService.THUMBNAIL_HEIGHT),
+                COVER_PRELOAD_COUNT));
 
         // 批量操作栏
         batchOperationBar = findViewById(R.id.batch_operation_bar);
@@ -164,7 +194,19 @@ public class BookshelfActivity extends AppCompatActivity {
                 new ActivityResultContracts.StartActivityForResult(),
                 result -> {
                     if (result.getResultCode() == Activity.RESULT_OK && result.getData() != null) {
-                        Uri uri = result.getData().getData();
+                        // 多选时文件通过ClipData返回
+                        android.content.ClipData clipData = result.getData().getClipData();
+                        if (clipData != null && clipData.getItemCount() > 1) {
+                            List<Uri> uris = new ArrayList<>();
+                            for (int i = 0; i < clipData.getItemCount(); i++) {
+                                uris.add(clipData.getItemAt(i).getUri());
+                            }
+                            handleBatchImport(() -> viewModel.importFiles(uris));
+                            return;
+                        }
+                        Uri uri = clipData != null && clipData.getItemCount() == 1
+                                ? clipData.getItemAt(0).getUri()
+                                : result.getData().getData();
                         if (uri != null) {
                             handleFileImport(uri);
                         }
@@ -173,6 +215,41 @@ public class BookshelfActivity extends AppCompatActivity {
         );
     }
 
+    /**
+     * 初始化文件夹选择器
+     */
+    private void initFolderPickerLauncher() {
+        folderPickerLauncher = registerForActivityResult(
+                new ActivityResultContracts.StartActivityForResult(),
+                result -> {
+                    if (result.getResultCode() == Activity.RESULT_OK && result.getData() != null) {
+                        Uri treeUri = result.getData().getData();
+                        if (treeUri != null) {
+                            handleBatchImport(() -> viewModel.importFolder(treeUri));
+                        }
+                    }
+                }
+        );
+    }
+
+    /**
+     * 初始化导出文件创建器
+     */
+    private void initExportLauncher() {
+        exportLauncher = registerForActivityResult(
+                new ActivityResultContracts.StartActivityForResult(),
+                result -> {
+                    if (result.getResultCode() == Activity.RESULT_OK && result.getData() != null
+                            && exportingNovel != null) {
+                        Uri targetUri = result.getData().getData();
+                        if (targetUri != null) {
+                            handleExport(exportingNovel, targetUri);
+                        }
+                    }
+                }
+        );
+    }
+
     /**
      * 初始化图片选择器（用于编辑封面）
      */
@@ -271,7 +348,7 @@ public class BookshelfActivity extends AppCompatActivity {
         btnMore.setOnClickListener(v -> showMoreMenu());
 
         // 下拉刷新
-        swipeRefreshLayout.setOnRefreshListener(() -> viewModel.refresh());
+        swipeRefreshLayout.setOnRefreshListener(() -> novelAdapter.refresh());
 
         // 导入按钮点击
         fabImport.setOnClickListener(v -> showImportOptionsDialog());
@@ -305,11 +382,6 @@ public class BookshelfActivity extends AppCompatActivity {
     private void observeData() {
         // 观察UI状态
         viewModel.getUiState().observe(this, state -> {
-            // 更新加载状态
-            swipeRefreshLayout.setRefreshing(state.isLoading());
-            loadingProgress.setVisibility(state.isLoading() && state.getNovels().isEmpty() 
-                    ? View.VISIBLE : View.GONE);
-
             // 更新错误信息
             if (state.getError() != null && !state.getError().isEmpty()) {
                 Toast.makeText(this, state.getError(), Toast.LENGTH_SHORT).show();
@@ -320,10 +392,34 @@ public class BookshelfActivity extends AppCompatActivity {
             updateBatchModeUI(state);
         });
 
-        // 观察小说列表
-        viewModel.getNovelsLiveData().observe(this, novels -> {
-            novelAdapter.submitList(novels);
-            updateEmptyView(novels);
+        // 观察小说列表（分页加载，差异在后台线程计算）
+        viewModel.getPagedNovels().observe(this, pagingData ->
+                novelAdapter.submitData(getLifecycle(), pagingData));
+
+        novelAdapter.addOnPagesUpdatedListener(() -> {
+            updateEmptyView(novelAdapter.getItemCount() == 0);
+            // 第一批数据显示后上报，启动基准测试以此作为完全显示时间
+            if (!fullyDrawnReported) {
+                fullyDrawnReported = true;
+                reportFullyDrawn();
+            }
+            return Unit.INSTANCE;
+        });
+
+        // 更新加载状态：数据库变化引起的重新加载不显示下拉刷新动画，只在列表为空时显示进度条
+        novelAdapter.addLoadStateListener(loadStates -> {
+            LoadState refresh = loadStates.getRefresh();
+            boolean loading = refresh instanceof LoadState.Loading;
+            if (!loading) {
+                swipeRefreshLayout.setRefreshing(false);
+            }
+            loadingProgress.setVisibility(loading && novelAdapter.getItemCount() == 0
+                    ? View.VISIBLE : View.GONE);
+            if (refresh instanceof LoadState.Error) {
+                Throwable error = ((LoadState.Error) refresh).getError();
+                Toast.makeText(this, "加载书架失败: " + error.getMessage(), Toast.LENGTH_SHORT).show();
+            }
+            return Unit.INSTANCE;
         });
 
         // 观察分类列表
@@ -450,10 +546,15 @@ public class BookshelfActivity extends AppCompatActivity {
      * 显示更多菜单
      */
     private void showMoreMenu() {
-        String[] menuItems = {
-                getString(R.string.menu_manage_categories),
-                getString(R.string.menu_batch_manage)
-        };
+        // 性能指标只在调试版本中提供
+        String[] menuItems = MetricsDialog.isAvailable(this)
+                ? new String[]{
+                        getString(R.string.menu_manage_categories),
+                        getString(R.string.menu_batch_manage),
+                        getString(R.string.menu_metrics)}
+                : new String[]{
+                        getString(R.string.menu_manage_categories),
+                        getString(R.string.menu_batch_manage)};
 
         new AlertDialog.Builder(this)
                 .setItems(menuItems, (dialog, which) -> {
@@ -461,6 +562,8 @@ public class BookshelfActivity extends AppCompatActivity {
                         showManageCategoriesDialog();
                     } else if (which == 1) {
                         viewModel.enterBatchMode();
+                    } else if (which == 2) {
+                        new MetricsDialog(this).show();
                     }
                 })
                 .show();
@@ -601,9 +704,8 @@ public class BookshelfActivity extends AppCompatActivity {
     /**
      * 更新空状态视图
      */
-    private void updateEmptyView(List<Novel> novels) {
+    private void updateEmptyView(boolean isEmpty) {
         BookshelfUiState state = viewModel.getUiState().getValue();
-        boolean isEmpty = novels == null || novels.isEmpty();
         boolean isSearching = state != null && state.getSearchQuery() != null 
                 && !state.getSearchQuery().isEmpty();
 
@@ -629,6 +731,12 @@ public class BookshelfActivity extends AppCompatActivity {
             openFilePicker();
         });
 
+        // 从本地文件夹批量导入
+        view.findViewById(R.id.option_local_folder).setOnClickListener(v -> {
+            dialog.dismiss();
+            openFolderPicker();
+        });
+
         // 从网站URL导入
         view.findViewById(R.id.option_from_url).setOnClickListener(v -> {
             dialog.dismiss();
@@ -648,9 +756,18 @@ public class BookshelfActivity extends AppCompatActivity {
         intent.setType("*/*");
         String[] mimeTypes = {"text/plain", "application/epub+zip"};
         intent.putExtra(Intent.EXTRA_MIME_TYPES, mimeTypes);
+        intent.putExtra(Intent.EXTRA_ALLOW_MULTIPLE, true);
         filePickerLauncher.launch(intent);
     }
 
+    /**
+     * 打开文件夹选择器
+     */
+    private void openFolderPicker() {
+        Intent intent = new Intent(Intent.ACTION_OPEN_DOCUMENT_TREE);
+        folderPickerLauncher.launch(intent);
+    }
+
     /**
      * 处理文件导入
      */
@@ -658,11 +775,13 @@ public class BookshelfActivity extends AppCompatActivity {
         // 获取文件名
         String fileName = getFileNameFromUri(uri);
         
-        // 显示导入进度对话框
+        // 显示导入进度对话框：暂停时已保存的章节保留，再次导入同一文件时继续；取消时删除已导入的部分
         AlertDialog progressDialog = new AlertDialog.Builder(this)
                 .setTitle(R.string.import_progress_title)
                 .setMessage(getString(R.string.import_progress_hint))
                 .setCancelable(false)
+                .setNeutralButton(R.string.import_pause, (dialog, which) -> viewModel.cancelImport(true))
+                .setNegativeButton(R.string.cancel, (dialog, which) -> viewModel.cancelImport(false))
                 .create();
         progressDialog.show();
         
@@ -676,6 +795,12 @@ public class BookshelfActivity extends AppCompatActivity {
         viewModel.getUiState().observe(this, state -> {
             if (handled[0]) return;
             
+            // 更新进度
+            ImportProgress progress = state.getImportProgress();
+            if (progress != null) {
+                progressDialog.setMessage(formatImportProgress(progress));
+            }
+            
             // 导入成功
             if (state.getImportSuccessMessage() != null && !state.getImportSuccessMessage().isEmpty()) {
                 handled[0] = true;
@@ -694,6 +819,64 @@ public class BookshelfActivity extends AppCompatActivity {
         });
     }
     
+    /**
+     * 格式化单个文件的导入进度
+     */
+    private String formatImportProgress(ImportProgress progress) {
+        int percentage = Math.max(progress.getPercentage(), 0);
+        if (progress.getStage() == ImportProgress.Stage.HASHING) {
+            return getString(R.string.import_file_hashing, percentage);
+        }
+        String message = getString(R.string.import_file_progress, percentage,
+                progress.getChaptersFound(), progress.getChaptersWritten());
+        if (progress.isResumed()) {
+            message = getString(R.string.import_file_resumed) + "\n" + message;
+        }
+        return message;
+    }
+    
+    /**
+     * 处理批量导入，显示汇总进度
+     */
+    private void handleBatchImport(Runnable startImport) {
+        AlertDialog progressDialog = new AlertDialog.Builder(this)
+                .setTitle(R.string.import_progress_title)
+                .setMessage(getString(R.string.import_progress_hint))
+                .setCancelable(false)
+                .create();
+        progressDialog.show();
+
+        startImport.run();
+
+        final boolean[] handled = {false};
+
+        viewModel.getUiState().observe(this, state -> {
+            if (handled[0]) return;
+
+            // 更新进度
+            BatchImportProgress progress = state.getBatchImportProgress();
+            if (progress != null && progress.getTotal() > 0) {
+                progressDialog.setMessage(getString(R.string.import_batch_progress,
+                        progress.getCompleted(), progress.getTotal(),
+                        progress.getImported(), progress.getDuplicates(), progress.getFailed()));
+            }
+
+            if (state.getImportSuccessMessage() != null && !state.getImportSuccessMessage().isEmpty()) {
+                handled[0] = true;
+                progressDialog.dismiss();
+                Toast.makeText(this, state.getImportSuccessMessage(), Toast.LENGTH_LONG).show();
+                viewModel.clearImportSuccessMessage();
+            }
+
+            if (state.getImportErrorMessage() != null && !state.getImportErrorMessage().isEmpty()) {
+                handled[0] = true;
+                progressDialog.dismiss();
+                Toast.makeText(this, state.getImportErrorMessage(), Toast.LENGTH_LONG).show();
+                viewModel.clearImportErrorMessage();
+            }
+        });
+    }
+    
     /**
      * 从URI获取文件名
      */
@@ -731,6 +914,7 @@ public class BookshelfActivity extends AppCompatActivity {
         menuItemsList.add(novel.isPinned() ? getString(R.string.menu_unpin) : getString(R.string.menu_pin));
         menuItemsList.add(getString(R.string.menu_set_category));
         menuItemsList.add(getString(R.string.menu_edit));
+        menuItemsList.add(getString(R.string.menu_export));
         menuItemsList.add(getString(R.string.menu_delete));
 
         String[] menuItems = menuItemsList.toArray(new String[0]);
@@ -748,7 +932,10 @@ public class BookshelfActivity extends AppCompatActivity {
                         case 2: // 编辑
                             showEditNovelDialog(novel);
                             break;
-                        case 3: // 删除
+                        case 3: // 导出
+                            showExportFormatDialog(novel);
+                            break;
+                        case 4: // 删除
                             showDeleteConfirmDialog(novel);
                             break;
                     }
@@ -756,6 +943,66 @@ public class BookshelfActivity extends AppCompatActivity {
                 .show();
     }
 
+    /**
+     * 显示导出格式选择对话框，选择后打开系统文件创建界面
+     */
+    private void showExportFormatDialog(Novel novel) {
+        String[] items = {
+                getString(R.string.export_format_txt_utf8),
+                getString(R.string.export_format_txt_gbk),
+                getString(R.string.export_format_epub)
+        };
+        new AlertDialog.Builder(this)
+                .setTitle(R.string.export_title)
+                .setItems(items, (dialog, which) -> {
+                    exportingNovel = novel;
+                    exportFormat = which == 2 ? ExportFormat.EPUB : ExportFormat.TXT;
+                    exportCharset = which == 1 ? "GBK" : "UTF-8";
+                    
+                    Intent intent = new Intent(Intent.ACTION_CREATE_DOCUMENT);
+                    intent.addCategory(Intent.CATEGORY_OPENABLE);
+                    intent.setType(exportFormat.getMimeType());
+                    intent.putExtra(Intent.EXTRA_TITLE, novel.getTitle() + "." + exportFormat.getExtension());
+                    exportLauncher.launch(intent);
+                })
+                .setNegativeButton(R.string.dialog_cancel, null)
+                .show();
+    }
+
+    /**
+     * 执行导出并显示进度
+     */
+    private void handleExport(Novel novel, Uri targetUri) {
+        AlertDialog progressDialog = new AlertDialog.Builder(this)
+                .setTitle(R.string.export_progress_title)
+                .setMessage(getString(R.string.import_progress_hint))
+                .setCancelable(false)
+                .setNegativeButton(R.string.cancel, (dialog, which) -> viewModel.cancelExport())
+                .create();
+        progressDialog.show();
+        
+        viewModel.exportNovel(novel.getId(), exportFormat, exportCharset, targetUri);
+        
+        final boolean[] handled = {false};
+        
+        viewModel.getUiState().observe(this, state -> {
+            if (handled[0]) return;
+            
+            if (state.getExportTotal() > 0) {
+                progressDialog.setMessage(getString(R.string.export_progress,
+                        state.getExportCurrent(), state.getExportTotal()));
+            }
+            
+            if (state.getExportMessage() != null && !state.isExporting()) {
+                handled[0] = true;
+                progressDialog.dismiss();
+                Toast.makeText(this, state.getExportMessage(), Toast.LENGTH_LONG).show();
+                viewModel.clearExportMessage();
+                exportingNovel = null;
+            }
+        });
+    }
+
     /**
      * 显示设置分类对话框
      */
@@ -895,13 +1142,6 @@ public class BookshelfActivity extends AppCompatActivity {
         imagePickerLauncher.launch(intent);
     }
 
-    @Override
-    protected void onResume() {
-        super.onResume();
-        // 从阅读器返回时刷新数据，更新阅读进度显示
-        viewModel.refresh();
-    }
-
     // ==================== 批量管理功能 ====================
 
     /**
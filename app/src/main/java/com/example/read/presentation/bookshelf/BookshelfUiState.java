@@ -1,6 +1,7 @@
 package com.example.read.presentation.bookshelf;
 
-import com.example.read.domain.model.Novel;
+import com.example.read.domain.model.BatchImportProgress;
+import com.example.read.domain.model.ImportProgress;
 
 import java.util.ArrayList;
 import java.util.HashSet;
@@ -11,7 +12,7 @@ import java.util.Set;
  * 书架界面UI状态
  */
 public class BookshelfUiState {
-    private List<Novel> novels;
+    private int novelCount;         // 符合当前筛选条件的小说总数（列表分页加载，批量模式下用于判断全选）
     private boolean isLoading;
     private String error;
     private String searchQuery;
@@ -23,13 +24,21 @@ public class BookshelfUiState {
     private String importFileName;
     private String importSuccessMessage;
     private String importErrorMessage;
+    private BatchImportProgress batchImportProgress; // 批量导入进度，非批量导入时为null
+    private ImportProgress importProgress; // 单个文件导入进度，未开始时为null
+    
+    // 导出状态
+    private boolean isExporting;
+    private int exportCurrent;       // 已导出章节数
+    private int exportTotal;         // 总章节数
+    private String exportMessage;    // 导出结果提示（成功或失败）
     
     // 批量模式状态
     private boolean isBatchMode;
     private Set<Long> selectedNovelIds;
 
     public BookshelfUiState() {
-        this.novels = new ArrayList<>();
+        this.novelCount = 0;
         this.isLoading = false;
         this.error = null;
         this.searchQuery = "";
@@ -39,13 +48,19 @@ public class BookshelfUiState {
         this.importFileName = null;
         this.importSuccessMessage = null;
         this.importErrorMessage = null;
+        this.batchImportProgress = null;
+        this.importProgress = null;
+        this.isExporting = false;
+        this.exportCurrent = 0;
+        this.exportTotal = 0;
+        this.exportMessage = null;
         this.isBatchMode = false;
         this.selectedNovelIds = new HashSet<>();
     }
 
     // 复制构造函数，用于创建不可变状态的副本
     public BookshelfUiState(BookshelfUiState other) {
-        this.novels = new ArrayList<>(other.novels);
+        this.novelCount = other.novelCount;
         this.isLoading = other.isLoading;
         this.error = other.error;
         this.searchQuery = other.searchQuery;
@@ -55,12 +70,18 @@ public class BookshelfUiState {
         this.importFileName = other.importFileName;
         this.importSuccessMessage = other.importSuccessMessage;
         this.importErrorMessage = other.importErrorMessage;
+        this.batchImportProgress = other.batchImportProgress;
+        this.importProgress = other.importProgress;
+        this.isExporting = other.isExporting;
+        this.exportCurrent = other.exportCurrent;
+        this.exportTotal = other.exportTotal;
+        this.exportMessage = other.exportMessage;
         this.isBatchMode = other.isBatchMode;
         this.selectedNovelIds = new HashSet<>(other.selectedNovelIds);
     }
 
     // Getters
-    public List<Novel> getNovels() { return novels; }
+    public int getNovelCount() { return novelCount; }
     public boolean isLoading() { return isLoading; }
     public String getError() { return error; }
     public String getSearchQuery() { return searchQuery; }
@@ -70,6 +91,12 @@ public class BookshelfUiState {
     public String getImportFileName() { return importFileName; }
     public String getImportSuccessMessage() { return importSuccessMessage; }
     public String getImportErrorMessage() { return importErrorMessage; }
+    public BatchImportProgress getBatchImportProgress() { return batchImportProgress; }
+    public ImportProgress getImportProgress() { return importProgress; }
+    public boolean isExporting() { return isExporting; }
+    public int getExportCurrent() { return exportCurrent; }
+    public int getExportTotal() { return exportTotal; }
+    public String getExportMessage() { return exportMessage; }
     public boolean isBatchMode() { return isBatchMode; }
     public Set<Long> getSelectedNovelIds() { return selectedNovelIds; }
     
@@ -84,14 +111,14 @@ public class BookshelfUiState {
      * 检查是否全选
      */
     public boolean isAllSelected() {
-        if (novels == null || novels.isEmpty() || selectedNovelIds == null) {
+        if (novelCount == 0 || selectedNovelIds == null) {
             return false;
         }
-        return selectedNovelIds.size() == novels.size();
+        return selectedNovelIds.size() == novelCount;
     }
 
     // Setters
-    public void setNovels(List<Novel> novels) { this.novels = novels != null ? novels : new ArrayList<>(); }
+    public void setNovelCount(int novelCount) { this.novelCount = novelCount; }
     public void setLoading(boolean loading) { isLoading = loading; }
     public void setError(String error) { this.error = error; }
     public void setSearchQuery(String searchQuery) { this.searchQuery = searchQuery != null ? searchQuery : ""; }
@@ -101,6 +128,12 @@ public class BookshelfUiState {
     public void setImportFileName(String importFileName) { this.importFileName = importFileName; }
     public void setImportSuccessMessage(String importSuccessMessage) { this.importSuccessMessage = importSuccessMessage; }
     public void setImportErrorMessage(String importErrorMessage) { this.importErrorMessage = importErrorMessage; }
+    public void setBatchImportProgress(BatchImportProgress batchImportProgress) { this.batchImportProgress = batchImportProgress; }
+    public void setImportProgress(ImportProgress importProgress) { this.importProgress = importProgress; }
+    public void setExporting(boolean exporting) { isExporting = exporting; }
+    public void setExportCurrent(int exportCurrent) { this.exportCurrent = exportCurrent; }
+    public void setExportTotal(int exportTotal) { this.exportTotal = exportTotal; }
+    public void setExportMessage(String exportMessage) { this.exportMessage = exportMessage; }
     public void setBatchMode(boolean batchMode) { isBatchMode = batchMode; }
     public void setSelectedNovelIds(Set<Long> selectedNovelIds) { this.selectedNovelIds = selectedNovelIds != null ? selectedNovelIds : new HashSet<>(); }
 
@@ -121,13 +154,4 @@ public class BookshelfUiState {
         state.setError(errorMessage);
         return state;
     }
-
-    /**
-     * 创建一个带有小说列表的新状态
-     */
-    public static BookshelfUiState success(List<Novel> novels) {
-        BookshelfUiState state = new BookshelfUiState();
-        state.setNovels(novels);
-        return state;
-    }
 }
@@ -4,11 +4,20 @@ import android.net.Uri;
 import android.util.Log;
 
 import androidx.lifecycle.LiveData;
-import androidx.lifecycle.MediatorLiveData;
 import androidx.lifecycle.MutableLiveData;
+import androidx.lifecycle.Transformations;
 import androidx.lifecycle.ViewModel;
-
+import androidx.lifecycle.ViewModelKt;
+import androidx.paging.PagingData;
+import androidx.paging.PagingLiveData;
+
+import com.example.read.domain.model.BatchImportProgress;
+import com.example.read.domain.model.ExportFormat;
+import com.example.read.domain.model.ExportHandle;
+import com.example.read.domain.model.ImportHandle;
+import com.example.read.domain.model.ImportProgress;
 import com.example.read.domain.model.Novel;
+import com.example.read.domain.repository.ExportRepository;
 import com.example.read.domain.repository.FileImportRepository;
 import com.example.read.domain.repository.NovelRepository;
 
@@ -36,23 +45,38 @@ public class BookshelfViewModel extends ViewModel {
 
     private final NovelRepository novelRepository;
     private final FileImportRepository fileImportRepository;
+    private final ExportRepository exportRepository;
     private final CompositeDisposable disposables = new CompositeDisposable();
 
     // UI状态
     private final MutableLiveData<BookshelfUiState> _uiState = new MutableLiveData<>(new BookshelfUiState());
     public LiveData<BookshelfUiState> getUiState() { return _uiState; }
 
-    // 当前数据源LiveData
-    private LiveData<List<Novel>> currentNovelsSource;
-    private final MediatorLiveData<List<Novel>> novelsMediator = new MediatorLiveData<>();
+    // 书架筛选条件，变化时切换到新的分页数据源
+    private final MutableLiveData<NovelFilter> novelFilter = new MutableLiveData<>(new NovelFilter("", "全部"));
+    // 书架分页数据，缓存在ViewModel作用域内，界面重建后继续使用已加载的页
+    private final LiveData<PagingData<Novel>> pagedNovels;
 
     // 分类列表
     private LiveData<List<String>> categoriesSource;
 
+    // 正在进行的单个文件导入，用于取消
+    private ImportHandle currentImport;
+
+    // 正在进行的导出，用于取消
+    private ExportHandle currentExport;
+
     @Inject
-    public BookshelfViewModel(NovelRepository novelRepository, FileImportRepository fileImportRepository) {
+    public BookshelfViewModel(NovelRepository novelRepository, FileImportRepository fileImportRepository,
+                              ExportRepository exportRepository) {
         this.novelRepository = novelRepository;
         this.fileImportRepository = fileImportRepository;
+        this.exportRepository = exportRepository;
+
+        // 筛选和搜索都在SQL中完成，只加载可见范围附近的若干页
+        LiveData<PagingData<Novel>> source = Transformations.switchMap(novelFilter,
+                filter -> novelRepository.getBookshelfNovels(filter.keyword, filter.category));
+        this.pagedNovels = PagingLiveData.cachedIn(source, ViewModelKt.getViewModelScope(this));
         
         // 初始化加载
         loadNovels();
@@ -60,50 +84,31 @@ public class BookshelfViewModel extends ViewModel {
     }
 
     /**
-     * 加载小说列表
-     * 验证需求：4.1 - 打开书架界面显示所有已导入小说的列表
+     * 书架筛选条件：有搜索关键词时按关键词搜索，否则按分类筛选
      */
-    public void loadNovels() {
-        Log.d(TAG, "loadNovels 开始");
-        updateState(state -> {
-            state.setLoading(true);
-            state.setError(null);
-        });
+    private static final class NovelFilter {
+        final String keyword;
+        final String category;
 
-        // 移除旧的数据源
-        if (currentNovelsSource != null) {
-            novelsMediator.removeSource(currentNovelsSource);
+        NovelFilter(String keyword, String category) {
+            this.keyword = keyword != null ? keyword.trim() : "";
+            this.category = category;
         }
+    }
 
-        // 根据当前状态决定数据源
+    /**
+     * 加载小说列表
+     * 验证需求：4.1 - 打开书架界面显示所有已导入小说的列表
+     *
+     * 按当前的搜索关键词和分类重新创建分页数据源；数据变化时数据源会自动失效重新加载，
+     * 这里只在筛选条件变化或用户主动刷新时调用
+     */
+    public void loadNovels() {
         BookshelfUiState currentState = _uiState.getValue();
         String searchQuery = currentState != null ? currentState.getSearchQuery() : "";
         String category = currentState != null ? currentState.getSelectedCategory() : "全部";
-
-        if (searchQuery != null && !searchQuery.trim().isEmpty()) {
-            // 搜索模式
-            Log.d(TAG, "搜索模式: " + searchQuery);
-            currentNovelsSource = novelRepository.searchNovels(searchQuery.trim());
-        } else if (category != null && !category.isEmpty() && !"全部".equals(category)) {
-            // 分类筛选模式
-            Log.d(TAG, "分类筛选模式: " + category);
-            currentNovelsSource = novelRepository.getNovelsByCategory(category);
-        } else {
-            // 默认加载所有小说
-            Log.d(TAG, "加载所有小说");
-            currentNovelsSource = novelRepository.getAllNovels();
-        }
-
-        // 添加新的数据源
-        novelsMediator.addSource(currentNovelsSource, novels -> {
-            Log.d(TAG, "收到小说列表更新，数量: " + (novels != null ? novels.size() : 0));
-            // 直接更新MediatorLiveData的值，让观察者收到通知
-            novelsMediator.setValue(novels);
-            updateState(state -> {
-                state.setNovels(novels != null ? novels : new ArrayList<>());
-                state.setLoading(false);
-            });
-        });
+        Log.d(TAG, "loadNovels 关键词: " + searchQuery + ", 分类: " + category);
+        novelFilter.setValue(new NovelFilter(searchQuery, category));
     }
 
 
@@ -142,54 +147,7 @@ public class BookshelfViewModel extends ViewModel {
         _uiState.setValue(newState);
         
         // 然后加载小说
-        loadNovelsWithSearch(keyword);
-    }
-    
-    /**
-     * 根据搜索关键词加载小说（内部方法）
-     */
-    private void loadNovelsWithSearch(String keyword) {
-        Log.d(TAG, "loadNovelsWithSearch 开始，关键词: " + keyword);
-        
-        // 设置加载状态
-        BookshelfUiState currentState = _uiState.getValue();
-        if (currentState == null) {
-            currentState = new BookshelfUiState();
-        }
-        BookshelfUiState newState = new BookshelfUiState(currentState);
-        newState.setLoading(true);
-        newState.setError(null);
-        _uiState.setValue(newState);
-
-        // 移除旧的数据源
-        if (currentNovelsSource != null) {
-            novelsMediator.removeSource(currentNovelsSource);
-        }
-
-        if (keyword != null && !keyword.trim().isEmpty()) {
-            // 搜索模式
-            Log.d(TAG, "使用搜索: " + keyword);
-            currentNovelsSource = novelRepository.searchNovels(keyword.trim());
-        } else {
-            // 默认加载所有小说
-            Log.d(TAG, "加载所有小说");
-            currentNovelsSource = novelRepository.getAllNovels();
-        }
-
-        // 添加新的数据源
-        novelsMediator.addSource(currentNovelsSource, novels -> {
-            Log.d(TAG, "收到小说列表更新，数量: " + (novels != null ? novels.size() : 0));
-            novelsMediator.setValue(novels);
-            
-            BookshelfUiState state = _uiState.getValue();
-            if (state == null) {
-                state = new BookshelfUiState();
-            }
-            BookshelfUiState updatedState = new BookshelfUiState(state);
-            updatedState.setNovels(novels != null ? novels : new ArrayList<>());
-            updatedState.setLoading(false);
-            _uiState.setValue(updatedState);
-        });
+        loadNovels();
     }
 
     /**
@@ -230,54 +188,7 @@ public class BookshelfViewModel extends ViewModel {
         _uiState.setValue(newState);
         
         // 然后加载小说
-        loadNovelsWithCategory(category);
-    }
-    
-    /**
-     * 根据指定分类加载小说（内部方法）
-     */
-    private void loadNovelsWithCategory(String category) {
-        Log.d(TAG, "loadNovelsWithCategory 开始，分类: " + category);
-        
-        // 设置加载状态
-        BookshelfUiState currentState = _uiState.getValue();
-        if (currentState == null) {
-            currentState = new BookshelfUiState();
-        }
-        BookshelfUiState newState = new BookshelfUiState(currentState);
-        newState.setLoading(true);
-        newState.setError(null);
-        _uiState.setValue(newState);
-
-        // 移除旧的数据源
-        if (currentNovelsSource != null) {
-            novelsMediator.removeSource(currentNovelsSource);
-        }
-
-        if (category != null && !category.isEmpty() && !"全部".equals(category)) {
-            // 分类筛选模式
-            Log.d(TAG, "使用分类筛选: " + category);
-            currentNovelsSource = novelRepository.getNovelsByCategory(category);
-        } else {
-            // 默认加载所有小说
-            Log.d(TAG, "加载所有小说");
-            currentNovelsSource = novelRepository.getAllNovels();
-        }
-
-        // 添加新的数据源
-        novelsMediator.addSource(currentNovelsSource, novels -> {
-            Log.d(TAG, "收到小说列表更新，数量: " + (novels != null ? novels.size() : 0));
-            novelsMediator.setValue(novels);
-            
-            BookshelfUiState state = _uiState.getValue();
-            if (state == null) {
-                state = new BookshelfUiState();
-            }
-            BookshelfUiState updatedState = new BookshelfUiState(state);
-            updatedState.setNovels(novels != null ? novels : new ArrayList<>());
-            updatedState.setLoading(false);
-            _uiState.setValue(updatedState);
-        });
+        loadNovels();
     }
 
     /**
@@ -413,8 +324,10 @@ public class BookshelfViewModel extends ViewModel {
                 if (novel != null) {
                     novel.setTitle(title);
                     novel.setAuthor(author);
-                    if (coverPath != null) {
-                        novel.setCoverPath(coverPath);
+                    if (coverPath != null && !coverPath.equals(novel.getCoverPath())) {
+                        // 新选的图片转为缩略图，无法解码时保留原图路径
+                        String thumbnail = novelRepository.replaceCover(novelId, coverPath);
+                        novel.setCoverPath(thumbnail != null ? thumbnail : coverPath);
                     }
                     novelRepository.updateNovel(novel);
                 }
@@ -448,19 +361,12 @@ public class BookshelfViewModel extends ViewModel {
         // 设置导入中状态（在主线程）
         setImportingState(true, fileName);
 
-        // 根据文件扩展名选择导入方式
-        String lowerFileName = fileName != null ? fileName.toLowerCase() : "";
-        
-        io.reactivex.rxjava3.core.Single<Novel> importSingle;
-        if (lowerFileName.endsWith(".epub")) {
-            Log.d(TAG, "使用EPUB导入方式");
-            // 验证需求：1.3 - 解析EPUB结构并提取章节信息
-            importSingle = fileImportRepository.importEpubFile(uri);
-        } else {
-            Log.d(TAG, "使用TXT导入方式");
-            // 验证需求：1.2 - 解析TXT文件内容并创建小说条目
-            importSingle = fileImportRepository.importTxtFile(uri);
-        }
+        // 分段导入：按扩展名解析TXT/EPUB，支持进度、取消和断点续传
+        // 验证需求：1.2, 1.3 - 解析文件内容并创建小说条目
+        ImportHandle handle = new ImportHandle();
+        currentImport = handle;
+        io.reactivex.rxjava3.core.Single<Novel> importSingle =
+                fileImportRepository.importFile(uri, handle, this::onImportProgress);
 
         disposables.add(
             importSingle
@@ -473,8 +379,7 @@ public class BookshelfViewModel extends ViewModel {
                         Log.d(TAG, "更新UI - 导入成功，准备关闭对话框");
                         // 验证需求：1.5 - 导入成功完成，将小说添加到书架并显示成功提示
                         setImportSuccessState("《" + novel.getTitle() + "》导入成功");
-                        // 刷新小说列表
-                        loadNovels();
+                        // 分页数据源随 novels 表变化自动失效，新书会出现在书架上
                     },
                     error -> {
                         Log.e(TAG, "更新UI - 导入失败", error);
@@ -484,10 +389,169 @@ public class BookshelfViewModel extends ViewModel {
                             msg = "导入失败，请检查文件格式";
                         }
                         setImportErrorState(msg);
+                        // 取消或失败后保留的章节可在再次导入同一文件时续传，书架会自动显示
+                    }
+                )
+        );
+    }
+    
+    /**
+     * 取消正在进行的单个文件导入
+     * @param keepPartial true 保留已提交的章节，再次导入同一文件时从断点继续；false 删除已导入的部分
+     */
+    public void cancelImport(boolean keepPartial) {
+        Log.d(TAG, "取消导入, keepPartial=" + keepPartial);
+        ImportHandle handle = currentImport;
+        if (handle != null) {
+            handle.cancel(keepPartial);
+        }
+    }
+    
+    /**
+     * 单个文件导入进度回调（后台线程）
+     */
+    private void onImportProgress(ImportProgress progress) {
+        updateStateOnMainThread(state -> state.setImportProgress(progress));
+    }
+    
+    /**
+     * 导出小说到指定文件
+     * 
+     * @param novelId 小说ID
+     * @param format 导出格式
+     * @param charsetName TXT编码，EPUB忽略
+     * @param targetUri ACTION_CREATE_DOCUMENT返回的文件URI
+     */
+    public void exportNovel(long novelId, ExportFormat format, String charsetName, Uri targetUri) {
+        Log.d(TAG, "开始导出: novelId=" + novelId + ", format=" + format);
+        updateState(state -> {
+            state.setExporting(true);
+            state.setExportCurrent(0);
+            state.setExportTotal(0);
+            state.setExportMessage(null);
+        });
+        
+        ExportHandle handle = new ExportHandle();
+        currentExport = handle;
+        disposables.add(
+            exportRepository.exportNovel(novelId, format, charsetName, targetUri, handle,
+                    (current, total) -> {
+                        // 每前进1%更新一次，避免逐章复制状态
+                        if (total > 0 && current < total && current * 100 / total == (current - 1) * 100 / total) {
+                            return;
+                        }
+                        updateState(state -> {
+                            state.setExportCurrent(current);
+                            state.setExportTotal(total);
+                        });
+                    })
+                .observeOn(AndroidSchedulers.mainThread())
+                .subscribe(
+                    count -> updateState(state -> {
+                        state.setExporting(false);
+                        state.setExportMessage("导出完成，共 " + count + " 章");
+                    }),
+                    error -> {
+                        Log.e(TAG, "导出失败", error);
+                        String msg = error.getMessage();
+                        if (msg == null || msg.isEmpty()) {
+                            msg = "导出失败";
+                        }
+                        final String message = msg;
+                        updateState(state -> {
+                            state.setExporting(false);
+                            state.setExportMessage(message);
+                        });
+                    }
+                )
+        );
+    }
+    
+    /**
+     * 取消正在进行的导出
+     */
+    public void cancelExport() {
+        ExportHandle handle = currentExport;
+        if (handle != null) {
+            handle.cancel();
+        }
+    }
+    
+    /**
+     * 清除导出结果提示
+     */
+    public void clearExportMessage() {
+        updateState(state -> state.setExportMessage(null));
+    }
+    
+    /**
+     * 批量导入多个文件
+     * 
+     * @param uris 文件URI列表
+     */
+    public void importFiles(List<Uri> uris) {
+        if (uris == null || uris.isEmpty()) {
+            return;
+        }
+        Log.d(TAG, "开始批量导入文件，数量: " + uris.size());
+        startBatchImport(fileImportRepository.importFiles(uris, this::onBatchImportProgress),
+                new BatchImportProgress(uris.size(), 0, 0, 0, null));
+    }
+
+    /**
+     * 批量导入文件夹中的所有TXT/EPUB文件
+     * 
+     * @param treeUri 文档树URI
+     */
+    public void importFolder(Uri treeUri) {
+        Log.d(TAG, "开始导入文件夹: " + treeUri);
+        startBatchImport(fileImportRepository.importDocumentTree(treeUri, this::onBatchImportProgress), null);
+    }
+
+    /**
+     * 执行批量导入并更新UI状态
+     */
+    private void startBatchImport(io.reactivex.rxjava3.core.Single<BatchImportProgress> importSingle,
+                                  BatchImportProgress initialProgress) {
+        setImportingState(true, null);
+        BookshelfUiState currentState = _uiState.getValue();
+        BookshelfUiState newState = new BookshelfUiState(currentState != null ? currentState : new BookshelfUiState());
+        newState.setBatchImportProgress(initialProgress);
+        _uiState.setValue(newState);
+
+        disposables.add(
+            importSingle
+                .observeOn(AndroidSchedulers.mainThread())
+                .subscribe(
+                    result -> {
+                        Log.d(TAG, "批量导入完成: " + result.getImported() + "/" + result.getTotal());
+                        if (result.getTotal() == 0) {
+                            setImportErrorState("未找到可导入的TXT或EPUB文件");
+                        } else {
+                            setImportSuccessState("导入完成：成功 " + result.getImported()
+                                    + " 本，重复跳过 " + result.getDuplicates()
+                                    + " 本，失败 " + result.getFailed() + " 本");
+                        }
+                    },
+                    error -> {
+                        Log.e(TAG, "批量导入失败", error);
+                        String msg = error.getMessage();
+                        if (msg == null || msg.isEmpty()) {
+                            msg = "批量导入失败";
+                        }
+                        setImportErrorState(msg);
                     }
                 )
         );
     }
+
+    /**
+     * 批量导入进度回调（后台线程）
+     * 切到主线程后再基于最新状态修改，避免与主线程上的状态更新交错时丢失
+     */
+    private void onBatchImportProgress(BatchImportProgress progress) {
+        updateStateOnMainThread(state -> state.setBatchImportProgress(progress));
+    }
     
     /**
      * 设置导入中状态
@@ -519,6 +583,8 @@ public class BookshelfViewModel extends ViewModel {
         newState.setImportFileName(null);
         newState.setImportSuccessMessage(message);
         newState.setImportErrorMessage(null);
+        newState.setBatchImportProgress(null);
+        newState.setImportProgress(null);
         _uiState.setValue(newState);
         Log.d(TAG, "设置导入成功状态: " + message);
     }
@@ -536,6 +602,8 @@ public class BookshelfViewModel extends ViewModel {
         newState.setImportFileName(null);
         newState.setImportSuccessMessage(null);
         newState.setImportErrorMessage(errorMessage);
+        newState.setBatchImportProgress(null);
+        newState.setImportProgress(null);
         _uiState.setValue(newState);
         Log.d(TAG, "设置导入错误状态: " + errorMessage);
     }
@@ -587,6 +655,22 @@ public class BookshelfViewModel extends ViewModel {
         _uiState.postValue(newState);
     }
 
+    /**
+     * 在主线程上更新UI状态，供后台线程的回调使用
+     * setValue立即生效，连续的更新都能读到前一次的结果，并且按调用顺序排在导入结果之前
+     */
+    private void updateStateOnMainThread(StateUpdater updater) {
+        AndroidSchedulers.mainThread().scheduleDirect(() -> {
+            BookshelfUiState currentState = _uiState.getValue();
+            if (currentState == null) {
+                currentState = new BookshelfUiState();
+            }
+            BookshelfUiState newState = new BookshelfUiState(currentState);
+            updater.update(newState);
+            _uiState.setValue(newState);
+        });
+    }
+
     /**
      * 状态更新接口
      */
@@ -595,10 +679,10 @@ public class BookshelfViewModel extends ViewModel {
     }
 
     /**
-     * 获取小说列表的MediatorLiveData，用于观察
+     * 获取书架分页数据，用于观察
      */
-    public LiveData<List<Novel>> getNovelsLiveData() {
-        return novelsMediator;
+    public LiveData<PagingData<Novel>> getPagedNovels() {
+        return pagedNovels;
     }
 
     // ==================== 批量管理功能 ====================
@@ -616,6 +700,19 @@ public class BookshelfViewModel extends ViewModel {
         newState.setBatchMode(true);
         newState.setSelectedNovelIds(new HashSet<>());
         _uiState.setValue(newState);
+
+        // 列表按页加载，符合当前筛选条件的总数从数据库查询，用于判断是否已全选
+        NovelFilter filter = novelFilter.getValue();
+        disposables.add(
+            io.reactivex.rxjava3.core.Single.fromCallable(() ->
+                    novelRepository.getBookshelfNovelIds(filter.keyword, filter.category).size())
+                .subscribeOn(Schedulers.io())
+                .observeOn(AndroidSchedulers.mainThread())
+                .subscribe(
+                    count -> updateState(state -> state.setNovelCount(count)),
+                    error -> Log.e(TAG, "查询小说数量失败", error)
+                )
+        );
     }
 
     /**
@@ -659,6 +756,7 @@ public class BookshelfViewModel extends ViewModel {
 
     /**
      * 全选/取消全选
+     * 全选的是符合当前筛选条件的所有小说，包括还没有加载到列表中的
      */
     public void toggleSelectAll() {
         Log.d(TAG, "toggleSelectAll 被调用");
@@ -667,24 +765,32 @@ public class BookshelfViewModel extends ViewModel {
             return;
         }
         
-        BookshelfUiState newState = new BookshelfUiState(currentState);
-        List<Novel> novels = newState.getNovels();
-        
-        if (newState.isAllSelected()) {
+        if (currentState.isAllSelected()) {
             // 已全选，取消全选
-            newState.setSelectedNovelIds(new HashSet<>());
-        } else {
-            // 未全选，全选所有
-            Set<Long> allIds = new HashSet<>();
-            if (novels != null) {
-                for (Novel novel : novels) {
-                    allIds.add(novel.getId());
-                }
-            }
-            newState.setSelectedNovelIds(allIds);
+            updateState(state -> state.setSelectedNovelIds(new HashSet<>()));
+            return;
         }
-        
-        _uiState.setValue(newState);
+
+        // 未全选，从数据库取出全部ID后全选
+        NovelFilter filter = novelFilter.getValue();
+        disposables.add(
+            io.reactivex.rxjava3.core.Single.fromCallable(() ->
+                    novelRepository.getBookshelfNovelIds(filter.keyword, filter.category))
+                .subscribeOn(Schedulers.io())
+                .observeOn(AndroidSchedulers.mainThread())
+                .subscribe(
+                    ids -> updateState(state -> {
+                        if (state.isBatchMode()) {
+                            state.setSelectedNovelIds(new HashSet<>(ids));
+                            state.setNovelCount(ids.size());
+                        }
+                    }),
+                    error -> {
+                        Log.e(TAG, "全选失败", error);
+                        updateState(state -> state.setError("全选失败: " + error.getMessage()));
+                    }
+                )
+        );
     }
 
     /**
@@ -705,10 +811,8 @@ public class BookshelfViewModel extends ViewModel {
                 .subscribe(
                     () -> {
                         Log.d(TAG, "批量删除成功");
-                        // 退出批量模式
+                        // 退出批量模式，列表随数据源失效自动更新
                         exitBatchMode();
-                        // 刷新列表
-                        loadNovels();
                     },
                     error -> {
                         Log.e(TAG, "批量删除失败", error);
@@ -739,10 +843,8 @@ public class BookshelfViewModel extends ViewModel {
                 .subscribe(
                     () -> {
                         Log.d(TAG, "批量修改分类成功");
-                        // 退出批量模式
+                        // 退出批量模式，列表随数据源失效自动更新
                         exitBatchMode();
-                        // 刷新列表
-                        loadNovels();
                     },
                     error -> {
                         Log.e(TAG, "批量修改分类失败", error);
@@ -1,5 +1,6 @@
 package com.example.read.presentation.bookshelf;
 
+import android.graphics.drawable.Drawable;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
@@ -8,26 +9,39 @@ import android.widget.ImageView;
 import android.widget.TextView;
 
 import androidx.annotation.NonNull;
+import androidx.paging.PagingDataAdapter;
 import androidx.recyclerview.widget.DiffUtil;
-import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 
-import com.bumptech.glide.Glide;
+import com.bumptech.glide.ListPreloader;
+import com.bumptech.glide.RequestBuilder;
+import com.bumptech.glide.RequestManager;
+import com.bumptech.glide.load.DecodeFormat;
 import com.bumptech.glide.load.engine.DiskCacheStrategy;
 import com.bumptech.glide.request.RequestOptions;
 import com.example.read.R;
 import com.example.read.domain.model.Novel;
+import com.example.read.domain.service.CoverService;
 
 import java.io.File;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 /**
  * 小说列表适配器
  * 
  * 验证需求：4.2 - 展示封面、标题、作者、阅读进度信息
+ *
+ * 书架按页加载并启用占位：尚未加载的位置 getItem 返回 null，显示为空白条目，
+ * 滚动到附近时由分页库加载对应的页。新旧列表的差异在后台线程计算。
+ *
+ * 封面按固定的缩略图尺寸加载；作为 {@link ListPreloader.PreloadModelProvider}
+ * 供 RecyclerViewPreloader 提前解码即将滚入屏幕的封面，预加载与绑定使用同一请求，命中同一内存缓存。
  */
-public class NovelAdapter extends ListAdapter<Novel, NovelAdapter.NovelViewHolder> {
+public class NovelAdapter extends PagingDataAdapter<Novel, NovelAdapter.NovelViewHolder>
+        implements ListPreloader.PreloadModelProvider<Novel> {
 
     private OnNovelClickListener clickListener;
     private OnNovelLongClickListener longClickListener;
@@ -38,14 +52,20 @@ public class NovelAdapter extends ListAdapter<Novel, NovelAdapter.NovelViewHolde
     private Set<Long> selectedIds = new HashSet<>();
     
     // Glide 请求选项（复用，避免重复创建）
+    // 固定解码为缩略图尺寸：缩略图生成前导入的大图封面也按该尺寸采样，每个条目的内存占用相同
     private static final RequestOptions COVER_OPTIONS = new RequestOptions()
             .placeholder(R.drawable.ic_book_placeholder)
             .error(R.drawable.ic_book_placeholder)
-            .diskCacheStrategy(DiskCacheStrategy.ALL)
+            .override(CoverService.THUMBNAIL_WIDTH, CoverService.THUMBNAIL_HEIGHT)
+            .format(DecodeFormat.PREFER_RGB_565)
+            .diskCacheStrategy(DiskCacheStrategy.RESOURCE)
             .centerCrop();
 
-    public NovelAdapter() {
+    private final RequestManager glide;
+
+    public NovelAdapter(RequestManager glide) {
         super(DIFF_CALLBACK);
+        this.glide = glide;
     }
 
     private static final DiffUtil.ItemCallback<Novel> DIFF_CALLBACK = new DiffUtil.ItemCallback<Novel>() {
@@ -84,7 +104,45 @@ public class NovelAdapter extends ListAdapter<Novel, NovelAdapter.NovelViewHolde
     @Override
     public void onBindViewHolder(@NonNull NovelViewHolder holder, int position) {
         Novel novel = getItem(position);
-        holder.bind(novel);
+        if (novel != null) {
+            holder.bind(novel);
+        } else {
+            holder.bindPlaceholder();
+        }
+    }
+
+    /**
+     * 预加载的封面：只查看已加载的页，不会因预加载触发分页加载
+     */
+    @NonNull
+    @Override
+    public List<Novel> getPreloadItems(int position) {
+        Novel novel = position < getItemCount() ? peek(position) : null;
+        return novel != null && coverFile(novel) != null
+                ? Collections.singletonList(novel)
+                : Collections.emptyList();
+    }
+
+    @Override
+    public RequestBuilder<?> getPreloadRequestBuilder(@NonNull Novel novel) {
+        File coverFile = coverFile(novel);
+        return coverFile != null ? coverRequest(coverFile) : null;
+    }
+
+    private RequestBuilder<Drawable> coverRequest(File coverFile) {
+        return glide.load(coverFile).apply(COVER_OPTIONS);
+    }
+
+    /**
+     * 小说封面文件，没有封面时返回null
+     */
+    private static File coverFile(Novel novel) {
+        String coverPath = novel.getCoverPath();
+        if (coverPath == null || coverPath.isEmpty()) {
+            return null;
+        }
+        File coverFile = new File(coverPath);
+        return coverFile.exists() ? coverFile : null;
     }
 
     public void setOnNovelClickListener(OnNovelClickListener listener) {
@@ -176,6 +234,24 @@ public class NovelAdapter extends ListAdapter<Novel, NovelAdapter.NovelViewHolde
             checkBox = itemView.findViewById(R.id.checkbox_select);
         }
 
+        /**
+         * 占位条目：该位置所在的页尚未加载
+         */
+        public void bindPlaceholder() {
+            tvTitle.setText(null);
+            tvAuthor.setText(null);
+            tvCurrentChapter.setText(null);
+            tvLatestChapter.setVisibility(View.GONE);
+            tvUnreadCount.setVisibility(View.GONE);
+            glide.clear(imgCover);
+            imgCover.setImageResource(R.drawable.ic_book_placeholder);
+            if (checkBox != null) {
+                checkBox.setVisibility(View.GONE);
+            }
+            itemView.setOnClickListener(null);
+            itemView.setOnLongClickListener(null);
+        }
+
         public void bind(Novel novel) {
             // 设置标题
             tvTitle.setText(novel.getTitle());
@@ -227,19 +303,12 @@ public class NovelAdapter extends ListAdapter<Novel, NovelAdapter.NovelViewHolde
             }
 
             // 设置封面图片（使用 Glide 异步加载，带缓存）
-            String coverPath = novel.getCoverPath();
-            if (coverPath != null && !coverPath.isEmpty()) {
-                File coverFile = new File(coverPath);
-                if (coverFile.exists()) {
-                    Glide.with(itemView.getContext())
-                            .load(coverFile)
-                            .apply(COVER_OPTIONS)
-                            .into(imgCover);
-                } else {
-                    imgCover.setImageResource(R.drawable.ic_book_placeholder);
-                }
+            File coverFile = coverFile(novel);
+            if (coverFile != null) {
+                coverRequest(coverFile).into(imgCover);
             } else {
                 // 默认封面
+                glide.clear(imgCover);
                 imgCover.setImageResource(R.drawable.ic_book_placeholder);
             }
             
@@ -0,0 +1,93 @@
+package com.example.read.presentation.debug;
+
+import android.app.AlertDialog;
+import android.content.Context;
+import android.content.pm.ApplicationInfo;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.widget.TextView;
+import android.widget.Toast;
+
+import com.example.read.R;
+import com.example.read.utils.Metrics;
+
+import java.io.File;
+
+import io.reactivex.rxjava3.android.schedulers.AndroidSchedulers;
+import io.reactivex.rxjava3.core.Single;
+import io.reactivex.rxjava3.disposables.Disposable;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+
+/**
+ * 性能指标对话框（仅调试版本）
+ * 显示各操作耗时的 p50/p95/p99 以及计数，可清空或导出到应用外部存储目录下的 metrics 文件夹
+ */
+public class MetricsDialog {
+
+    private static final String DUMP_DIRECTORY = "metrics";
+
+    private final Context context;
+    private AlertDialog dialog;
+    private TextView metricsText;
+    private Disposable dumpDisposable;
+
+    public MetricsDialog(Context context) {
+        this.context = context;
+        initDialog();
+    }
+
+    /**
+     * 当前是否为可调试版本，只有调试版本才提供入口
+     */
+    public static boolean isAvailable(Context context) {
+        return (context.getApplicationInfo().flags & ApplicationInfo.FLAG_DEBUGGABLE) != 0;
+    }
+
+    private void initDialog() {
+        View view = LayoutInflater.from(context).inflate(R.layout.dialog_metrics, null);
+        metricsText = view.findViewById(R.id.tv_metrics);
+
+        view.findViewById(R.id.btn_refresh).setOnClickListener(v -> refresh());
+        view.findViewById(R.id.btn_reset).setOnClickListener(v -> {
+            Metrics.reset();
+            refresh();
+        });
+        view.findViewById(R.id.btn_dump).setOnClickListener(v -> dumpToFile());
+
+        dialog = new AlertDialog.Builder(context)
+                .setView(view)
+                .create();
+        dialog.setOnDismissListener(d -> {
+            if (dumpDisposable != null) {
+                dumpDisposable.dispose();
+            }
+        });
+    }
+
+    public void show() {
+        refresh();
+        dialog.show();
+    }
+
+    private void refresh() {
+        metricsText.setText(Metrics.dump());
+    }
+
+    private void dumpToFile() {
+        File baseDir = context.getExternalFilesDir(null);
+        File directory = new File(baseDir != null ? baseDir : context.getFilesDir(), DUMP_DIRECTORY);
+        if (dumpDisposable != null) {
+            dumpDisposable.dispose();
+        }
+        dumpDisposable = Single.fromCallable(() -> Metrics.dumpToFile(directory))
+                .subscribeOn(Schedulers.io())
+                .observeOn(AndroidSchedulers.mainThread())
+                .subscribe(
+                        file -> Toast.makeText(context,
+                                context.getString(R.string.metrics_dumped, file.getAbsolutePath()),
+                                Toast.LENGTH_LONG).show(),
+                        error -> Toast.makeText(context,
+                                context.getString(R.string.metrics_dump_failed, error.getMessage()),
+                                Toast.LENGTH_SHORT).show());
+    }
+}
@@ -13,6 +13,7 @@ import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.read.R;
 import com.example.read.domain.model.Chapter;
+import com.example.read.utils.ChapterTitleIndex;
 import com.example.read.utils.PinyinHelper;
 
 import java.util.ArrayList;
@@ -30,6 +31,8 @@ public class ChapterAdapter extends ListAdapter<Chapter, ChapterAdapter.ChapterV
     
     // 原始章节列表（用于过滤）
     private List<Chapter> originalList = new ArrayList<>();
+    // 原始章节列表的标题检索索引，为null时逐个计算拼音匹配
+    private ChapterTitleIndex titleIndex;
     // 当前搜索关键词
     private String currentFilter = "";
 
@@ -79,7 +82,17 @@ public class ChapterAdapter extends ListAdapter<Chapter, ChapterAdapter.ChapterV
      * 在设置章节列表时调用，保存原始数据用于过滤
      */
     public void setOriginalList(List<Chapter> chapters) {
+        setOriginalList(chapters, null);
+    }
+    
+    /**
+     * 设置原始章节列表及其标题检索索引
+     * 
+     * @param titleIndex 与 chapters 下标一致的索引，尚未构建好时传null
+     */
+    public void setOriginalList(List<Chapter> chapters, ChapterTitleIndex titleIndex) {
         this.originalList = new ArrayList<>(chapters);
+        this.titleIndex = titleIndex != null && titleIndex.size() == chapters.size() ? titleIndex : null;
         this.currentFilter = "";
         submitList(chapters);
     }
@@ -101,10 +114,17 @@ public class ChapterAdapter extends ListAdapter<Chapter, ChapterAdapter.ChapterV
         }
         
         List<Chapter> filteredList = new ArrayList<>();
-        for (Chapter chapter : originalList) {
-            // 使用PinyinHelper进行匹配（支持中文、拼音全拼、拼音首字母）
-            if (PinyinHelper.matches(chapter.getTitle(), currentFilter)) {
-                filteredList.add(chapter);
+        if (titleIndex != null) {
+            // 使用预先计算的检索键匹配，不再转换拼音
+            for (int position : titleIndex.search(currentFilter)) {
+                filteredList.add(originalList.get(position));
+            }
+        } else {
+            for (Chapter chapter : originalList) {
+                // 使用PinyinHelper进行匹配（支持中文、拼音全拼、拼音首字母）
+                if (PinyinHelper.matches(chapter.getTitle(), currentFilter)) {
+                    filteredList.add(chapter);
+                }
             }
         }
         
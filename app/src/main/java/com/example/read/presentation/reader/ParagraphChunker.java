@@ -0,0 +1,143 @@
+package com.example.read.presentation.reader;
+
+import java.util.Arrays;
+
+/**
+ * 段落切分工具 - 将章节正文按段落切成若干块，供上下滚动模式逐块排版
+ *
+ * 相邻的短段落合并为一块，块长度接近 {@link #TARGET_CHUNK_LENGTH}；
+ * 超长段落在句末标点处切开，找不到标点时按 {@link #MAX_CHUNK_LENGTH} 硬切。
+ * 每块记录其在正文中的起止位置，阅读位置用"章节内字符偏移"表示，
+ * 与字体大小、行间距和屏幕尺寸无关。
+ */
+public final class ParagraphChunker {
+
+    /** 合并短段落时的目标块长度 */
+    static final int TARGET_CHUNK_LENGTH = 600;
+    /** 单块最大长度，超长段落在此范围内切分 */
+    static final int MAX_CHUNK_LENGTH = 1200;
+
+    private ParagraphChunker() {}
+
+    /**
+     * 切分结果：第i块为 content[starts[i], ends[i])，不含块末尾的换行符
+     */
+    public static final class Chunks {
+        private int[] starts;
+        private int[] ends;
+        private int count;
+
+        Chunks(int capacity) {
+            this.starts = new int[capacity];
+            this.ends = new int[capacity];
+        }
+
+        /**
+         * 追加一块，容量不足时加倍
+         */
+        void add(int start, int end) {
+            if (count == starts.length) {
+                starts = Arrays.copyOf(starts, count * 2);
+                ends = Arrays.copyOf(ends, count * 2);
+            }
+            starts[count] = start;
+            ends[count] = end;
+            count++;
+        }
+
+        public int size() { return count; }
+        public int getStart(int index) { return starts[index]; }
+        public int getEnd(int index) { return ends[index]; }
+
+        /**
+         * 查找包含指定字符偏移的块（二分查找）
+         * 偏移落在块之间的换行符上时归入前一块，超出范围时取首块或末块
+         */
+        public int indexOfOffset(int offset) {
+            if (count == 0) return -1;
+            int low = 0;
+            int high = count - 1;
+            while (low < high) {
+                int mid = (low + high + 1) >>> 1;
+                if (starts[mid] <= offset) {
+                    low = mid;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            return low;
+        }
+    }
+
+    /**
+     * 切分章节正文
+     * @param content 章节正文（已应用屏蔽词）
+     */
+    public static Chunks split(String content) {
+        int length = content != null ? content.length() : 0;
+        int capacity = Math.max(4, length / TARGET_CHUNK_LENGTH + 4);
+        Chunks chunks = new Chunks(capacity);
+
+        int chunkStart = -1;  // 当前块起点，-1表示尚未开始
+        int lastLineEnd = 0;  // 最近一个段落的结束位置
+        int lineStart = 0;
+        while (lineStart < length) {
+            int lineEnd = content.indexOf('\n', lineStart);
+            if (lineEnd < 0) lineEnd = length;
+            lastLineEnd = lineEnd;
+
+            if (chunkStart < 0) {
+                chunkStart = lineStart;
+            }
+
+            // 超长段落：先结束已合并的部分，再把段落切成多块
+            if (lineEnd - lineStart > MAX_CHUNK_LENGTH) {
+                if (chunkStart < lineStart) {
+                    chunks.add(chunkStart, lineStart - 1);
+                }
+                int pieceStart = lineStart;
+                while (lineEnd - pieceStart > MAX_CHUNK_LENGTH) {
+                    int pieceEnd = findSentenceBreak(content, pieceStart, lineEnd);
+                    chunks.add(pieceStart, pieceEnd);
+                    pieceStart = pieceEnd;
+                }
+                chunkStart = pieceStart;
+            }
+
+            // 合并后的块已足够长，在段落末尾结束
+            if (lineEnd - chunkStart >= TARGET_CHUNK_LENGTH || lineEnd == length) {
+                chunks.add(chunkStart, lineEnd);
+                chunkStart = -1;
+            }
+            lineStart = lineEnd + 1;
+        }
+
+        // 正文以换行结尾时最后一块在循环中未结束
+        if (chunkStart >= 0 && chunkStart < length) {
+            chunks.add(chunkStart, lastLineEnd);
+        }
+        return chunks;
+    }
+
+    /**
+     * 在 [start + TARGET, start + MAX] 范围内从后往前找句末标点，找不到则硬切
+     * 返回值为切分位置（标点之后）
+     */
+    private static int findSentenceBreak(String content, int start, int end) {
+        int limit = Math.min(end, start + MAX_CHUNK_LENGTH);
+        int min = start + TARGET_CHUNK_LENGTH;
+        for (int i = limit - 1; i >= min; i--) {
+            switch (content.charAt(i)) {
+                case '。': case '！': case '？': case '…': case '”': case '.': case '!': case '?':
+                    return i + 1;
+                default:
+                    break;
+            }
+        }
+        // 避免把代理对切开
+        if (Character.isHighSurrogate(content.charAt(limit - 1))) {
+            return limit - 1;
+        }
+        return limit;
+    }
+}
@@ -14,6 +14,7 @@ import android.os.Bundle;
 import android.os.Handler;
 import android.os.Looper;
 import android.text.Editable;
+import android.text.Layout;
 import android.text.TextPaint;
 import android.text.TextWatcher;
 import android.view.GestureDetector;
@@ -29,7 +30,6 @@ import android.widget.ProgressBar;
 import android.widget.SeekBar;
 import android.widget.TextView;
 import android.widget.Toast;
-import android.widget.ScrollView;
 
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.core.view.GestureDetectorCompat;
@@ -60,7 +60,7 @@ import dagger.hilt.android.AndroidEntryPoint;
  * 阅读器Activity - 显示小说章节内容
  * 
  * 支持两种阅读模式：
- * 1. 上下滚动模式（ScrollView）
+ * 1. 上下滚动模式（RecyclerView按段落分块，相邻章节连续滚动）
  * 2. 左右翻页模式（ViewPager2）
  * 
  * 验证需求：5.1, 5.2, 5.3, 5.6
@@ -76,11 +76,13 @@ public class ReaderActivity extends AppCompatActivity {
 
     // UI组件
     private View coordinatorLayout;
-    private ScrollView contentScrollView;
-    private TextView chapterTitleText;
-    private TextView chapterContentText;
     private ProgressBar loadingProgress;
     
+    // 上下滚动模式组件
+    private RecyclerView contentRecyclerView;
+    private LinearLayoutManager scrollLayoutManager;
+    private ScrollReaderAdapter scrollAdapter;
+    
     // 状态栏信息
     private TextView statusChapterName;
     private TextView statusTimeBattery;
@@ -102,6 +104,7 @@ public class ReaderActivity extends AppCompatActivity {
     private MaterialToolbar toolbar;
     private ImageButton btnSearch;
     private ImageButton btnBookmark;
+    private ImageButton btnSummary;
     private ImageButton btnTts;
     
     // 底部工具栏
@@ -124,12 +127,25 @@ public class ReaderActivity extends AppCompatActivity {
     // 搜索对话框
     private SearchDialog searchDialog;
     
+    // 章节摘要对话框
+    private android.app.AlertDialog summaryDialog;
+    private TextView tvSummary;
+    private View summaryProgress;
+    
     // 分页相关
     private boolean isPaginationReady = false;
     private long lastPaginatedChapterId = -1;  // 上次分页的章节ID
     private String lastPaginatedContent = "";   // 上次分页的内容
     private boolean needRestorePosition = true; // 是否需要恢复阅读位置
-    private int pendingPageIndex = -1;          // 待恢复的页码
+    private int pendingCharOffset = -1;         // 翻页模式待恢复的章节内字符偏移（Integer.MAX_VALUE 表示最后一页）
+    private boolean fullyDrawnReported = false; // 是否已上报首页显示完成
+    
+    // 上下滚动模式相关
+    private long scrollSyncedChapterId = -1;    // 滚动列表上次同步的当前章节ID
+    private long scrollDrivenChapterId = -1;    // 因滚动进入而切换的章节ID（切换后不重新定位）
+    private int pendingScrollOffset = -1;       // 待恢复的章节内字符偏移
+    private ReaderFont scrollFont;              // 滚动模式当前字体（避免每次刷新都重新加载字体文件）
+    private Typeface scrollTypeface = Typeface.DEFAULT;
     
     // 时间更新
     private Handler timeHandler;
@@ -160,11 +176,16 @@ public class ReaderActivity extends AppCompatActivity {
      */
     private void initViews() {
         coordinatorLayout = findViewById(R.id.coordinator_layout);
-        contentScrollView = findViewById(R.id.content_scroll_view);
-        chapterTitleText = findViewById(R.id.chapter_title_text);
-        chapterContentText = findViewById(R.id.chapter_content_text);
         loadingProgress = findViewById(R.id.loading_progress);
         
+        // 上下滚动模式
+        contentRecyclerView = findViewById(R.id.content_recycler_view);
+        scrollLayoutManager = new LinearLayoutManager(this);
+        scrollAdapter = new ScrollReaderAdapter();
+        contentRecyclerView.setLayoutManager(scrollLayoutManager);
+        contentRecyclerView.setAdapter(scrollAdapter);
+        contentRecyclerView.setItemAnimator(null);
+        
         // 状态栏信息
         statusChapterName = findViewById(R.id.status_chapter_name);
         statusTimeBattery = findViewById(R.id.status_time_battery);
@@ -179,6 +200,7 @@ public class ReaderActivity extends AppCompatActivity {
         toolbar = findViewById(R.id.toolbar);
         btnSearch = findViewById(R.id.btn_search);
         btnBookmark = findViewById(R.id.btn_bookmark);
+        btnSummary = findViewById(R.id.btn_summary);
         btnTts = findViewById(R.id.btn_tts);
         
         // 底部工具栏
@@ -219,7 +241,7 @@ public class ReaderActivity extends AppCompatActivity {
                     if (state != null && state.canGoPreviousChapter()) {
                         viewModel.goToPreviousChapter();
                         needRestorePosition = false;
-                        pendingPageIndex = Integer.MAX_VALUE; // 上一章跳转到最后一页
+                        pendingCharOffset = Integer.MAX_VALUE; // 上一章跳转到最后一页
                     } else {
                         Toast.makeText(ReaderActivity.this, R.string.reader_first_chapter, Toast.LENGTH_SHORT).show();
                     }
@@ -241,7 +263,7 @@ public class ReaderActivity extends AppCompatActivity {
                     if (state != null && state.canGoNextChapter()) {
                         viewModel.goToNextChapter();
                         needRestorePosition = false;
-                        pendingPageIndex = 0; // 下一章从第一页开始
+                        pendingCharOffset = 0; // 下一章从第一页开始
                     } else {
                         Toast.makeText(ReaderActivity.this, R.string.reader_last_chapter, Toast.LENGTH_SHORT).show();
                     }
@@ -270,84 +292,32 @@ public class ReaderActivity extends AppCompatActivity {
             }
         });
         
-        // 上下滚动模式的章节切换状态
-        final boolean[] isAtBottom = {false};
-        final boolean[] isAtTop = {false};
-        final long[] touchDownTime = {0}; // 记录按下时间
-        final float[] touchDownY = {0};   // 记录按下位置
-        
-        // 设置ScrollView的触摸监听器
-        contentScrollView.setOnTouchListener((v, event) -> {
-            gestureDetector.onTouchEvent(event);
-            
-            if (currentPageMode != PageMode.SCROLL) return false;
-            
-            View child = contentScrollView.getChildAt(0);
-            if (child == null) return false;
-            
-            int scrollY = contentScrollView.getScrollY();
-            int scrollViewHeight = contentScrollView.getHeight();
-            int childHeight = child.getHeight();
-            
-            // 检测当前位置
-            boolean atBottom = scrollY + scrollViewHeight >= childHeight - 10;
-            boolean atTop = scrollY <= 10;
-            
-            if (event.getAction() == MotionEvent.ACTION_DOWN) {
-                // 记录开始触摸时的位置状态和时间
-                isAtBottom[0] = atBottom;
-                isAtTop[0] = atTop;
-                touchDownTime[0] = System.currentTimeMillis();
-                touchDownY[0] = event.getY();
-            } else if (event.getAction() == MotionEvent.ACTION_UP) {
-                // 计算触摸时长和移动距离
-                long touchDuration = System.currentTimeMillis() - touchDownTime[0];
-                float moveDistance = Math.abs(event.getY() - touchDownY[0]);
-                
-                // 只有当触摸时间较短且有明显移动时，才认为是滑动操作
-                // 单击操作通常时间短且移动距离小，不应触发章节切换
-                boolean isSwipeGesture = moveDistance > 50 || touchDuration > 300;
-                
-                if (!isSwipeGesture) {
-                    // 这是单击操作，不触发章节切换
-                    return false;
-                }
-                
-                // 如果开始时在底部，结束时仍在底部，说明用户尝试继续下滑 -> 下一章
-                if (isAtBottom[0] && atBottom) {
-                    ReaderUiState state = viewModel.getUiState().getValue();
-                    if (state != null && state.canGoNextChapter()) {
-                        viewModel.goToNextChapter();
-                        needRestorePosition = false;
-                        contentScrollView.scrollTo(0, 0);
-                    }
-                }
-                
-                // 如果开始时在顶部，结束时仍在顶部，说明用户尝试继续上滑 -> 上一章
-                if (isAtTop[0] && atTop) {
-                    ReaderUiState state = viewModel.getUiState().getValue();
-                    if (state != null && state.canGoPreviousChapter()) {
-                        viewModel.goToPreviousChapter();
-                        needRestorePosition = false;
-                        // 跳转到上一章末尾
-                        contentScrollView.post(() -> {
-                            View c = contentScrollView.getChildAt(0);
-                            if (c != null) {
-                                contentScrollView.scrollTo(0, c.getHeight() - contentScrollView.getHeight());
-                            }
-                        });
-                    }
-                }
+        // 点击滚动列表显示/隐藏工具栏（不拦截滚动事件）
+        contentRecyclerView.addOnItemTouchListener(new RecyclerView.SimpleOnItemTouchListener() {
+            @Override
+            public boolean onInterceptTouchEvent(RecyclerView rv, MotionEvent e) {
+                gestureDetector.onTouchEvent(e);
+                return false;
             }
-            
-            return false;
         });
         
-        // 设置ScrollView的滚动监听器 - 检测是否滚动到底部
-        contentScrollView.getViewTreeObserver().addOnScrollChangedListener(() -> {
-            if (currentPageMode != PageMode.SCROLL) return;
-            
-            // 滚动监听器不再用于章节切换，只用于其他目的
+        // 滚动进入相邻章节时切换当前章节，由 syncScrollReader 追加新的相邻章节
+        contentRecyclerView.addOnScrollListener(new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrolled(RecyclerView recyclerView, int dx, int dy) {
+                if (currentPageMode != PageMode.SCROLL) return;
+                onScrollReaderScrolled();
+            }
+
+            @Override
+            public void onScrollStateChanged(RecyclerView recyclerView, int newState) {
+                if (currentPageMode != PageMode.SCROLL || newState != RecyclerView.SCROLL_STATE_IDLE) return;
+                // 滚动停止时上报位置，由仓库合并后定时写入
+                long chapterId = getScrollChapterId();
+                if (chapterId > 0) {
+                    viewModel.updateReadingPosition(chapterId, getScrollCharOffset());
+                }
+            }
         });
         
         // 返回按钮
@@ -359,8 +329,18 @@ public class ReaderActivity extends AppCompatActivity {
         // 书签按钮 - 显示书签列表对话框
         btnBookmark.setOnClickListener(v -> showBookmarkListDialog());
         
+        // 摘要按钮 - 生成并显示当前章节摘要
+        btnSummary.setOnClickListener(v -> showSummaryDialog());
+        
         // 朗读按钮
-        btnTts.setOnClickListener(v -> viewModel.toggleTTS());
+        btnTts.setOnClickListener(v -> viewModel.toggleTTS(getCurrentCharOffset()));
+        // 长按切换音频缓存模式
+        btnTts.setOnLongClickListener(v -> {
+            boolean enabled = viewModel.toggleTTSAudioCache();
+            Toast.makeText(this, enabled ? R.string.reader_tts_audio_cache_on
+                    : R.string.reader_tts_audio_cache_off, Toast.LENGTH_SHORT).show();
+            return true;
+        });
         
         // 上一章按钮
         btnPreviousChapter.setOnClickListener(v -> {
@@ -437,7 +417,7 @@ public class ReaderActivity extends AppCompatActivity {
                         if (uiState != null && uiState.canGoPreviousChapter()) {
                             viewModel.goToPreviousChapter();
                             needRestorePosition = false;
-                            pendingPageIndex = Integer.MAX_VALUE; // 上一章跳转到最后一页
+                            pendingCharOffset = Integer.MAX_VALUE; // 上一章跳转到最后一页
                         }
                         // 延迟重置标志，等待新章节加载完成
                         pageViewPager.postDelayed(() -> isChapterChanging = false, 300);
@@ -450,11 +430,14 @@ public class ReaderActivity extends AppCompatActivity {
                         if (uiState != null && uiState.canGoNextChapter()) {
                             viewModel.goToNextChapter();
                             needRestorePosition = false;
-                            pendingPageIndex = 0; // 下一章从第一页开始
+                            pendingCharOffset = 0; // 下一章从第一页开始
                         }
                         // 延迟重置标志，等待新章节加载完成
                         pageViewPager.postDelayed(() -> isChapterChanging = false, 300);
                     }, 300); // 等待翻页动画完成
+                } else if (isPaginationReady && pendingCharOffset < 0) {
+                    // 章节内翻页，位置由仓库合并后定时写入
+                    viewModel.updateReadingPosition(getPageCharOffset());
                 }
             }
             
@@ -484,6 +467,9 @@ public class ReaderActivity extends AppCompatActivity {
         // 更新加载状态
         loadingProgress.setVisibility(state.isLoading() ? View.VISIBLE : View.GONE);
         
+        // 摘要以流式输出逐步显示
+        updateSummaryDialog(state);
+        
         // 处理书签添加成功
         if (state.isBookmarkAdded()) {
             Toast.makeText(this, R.string.bookmark_added, Toast.LENGTH_SHORT).show();
@@ -503,25 +489,29 @@ public class ReaderActivity extends AppCompatActivity {
             viewModel.clearJumpToPosition();
             
             if (currentPageMode == PageMode.SCROLL) {
-                contentScrollView.post(() -> contentScrollView.scrollTo(0, jumpPosition));
+                // 滚动模式的位置为章节内字符偏移，在同步章节内容后定位
+                pendingScrollOffset = jumpPosition;
             } else {
                 // 翻页模式
-                if (isPaginationReady && pageAdapter.getTotalPages() > 0) {
-                    // 分页已完成，直接跳转
+                if (isPaginationReady && pageAdapter.getTotalPages() > 0 && currentPages != null
+                        && !isPaginationStale(state)) {
+                    // 分页已完成，二分查找偏移所在页直接跳转
                     int startIndex = pageAdapter.getCurrentChapterStartIndex();
-                    int targetPage = startIndex + Math.min(jumpPosition, pageAdapter.getCurrentChapterPageCount() - 1);
+                    int targetPage = startIndex + TextPaginator.findPageIndex(currentPages, jumpPosition);
                     pageViewPager.setCurrentItem(targetPage, false);
                 } else {
-                    // 分页未完成，设置待跳转的页码，在分页完成后处理
-                    pendingPageIndex = jumpPosition;
+                    // 分页未完成，记录待跳转的偏移，在分页完成后处理
+                    pendingCharOffset = jumpPosition;
                 }
             }
         }
         
         // 更新翻页模式
         if (state.getPageMode() != currentPageMode) {
+            // 切换前记下当前位置，切换后在新模式中定位到同一处
+            int keepOffset = needRestorePosition ? -1 : getCurrentCharOffset();
             currentPageMode = state.getPageMode();
-            switchPageMode(currentPageMode);
+            switchPageMode(currentPageMode, keepOffset);
         }
         
         // 更新翻页动画
@@ -532,10 +522,10 @@ public class ReaderActivity extends AppCompatActivity {
         
         // 根据模式显示/隐藏对应视图
         if (currentPageMode == PageMode.SCROLL) {
-            contentScrollView.setVisibility(state.isLoading() ? View.INVISIBLE : View.VISIBLE);
+            contentRecyclerView.setVisibility(state.isLoading() ? View.INVISIBLE : View.VISIBLE);
             pageViewPager.setVisibility(View.GONE);
         } else {
-            contentScrollView.setVisibility(View.GONE);
+            contentRecyclerView.setVisibility(View.GONE);
             pageViewPager.setVisibility(state.isLoading() ? View.INVISIBLE : View.VISIBLE);
         }
         
@@ -555,17 +545,11 @@ public class ReaderActivity extends AppCompatActivity {
             statusChapterName.setText(title);
             pageAdapter.setStatusChapterName(title);
             
-            // 上下滚动模式
-            chapterTitleText.setText(title);
-            chapterContentText.setText(content);
             chapterAdapter.setCurrentChapterId(currentChapter.getId());
             
-            // 恢复上下滚动模式的位置
-            if (currentPageMode == PageMode.SCROLL && needRestorePosition && state.getSavedScrollPosition() > 0) {
-                contentScrollView.post(() -> {
-                    contentScrollView.scrollTo(0, state.getSavedScrollPosition());
-                });
-                needRestorePosition = false;
+            // 上下滚动模式
+            if (currentPageMode == PageMode.SCROLL && !state.isLoading()) {
+                syncScrollReader(state, content);
             }
             
             // 左右翻页模式 - 只有在章节或内容改变时才重新分页
@@ -587,15 +571,8 @@ public class ReaderActivity extends AppCompatActivity {
         // 更新主题
         applyTheme(state.getTheme());
         
-        // 更新字体大小和行间距
-        chapterContentText.setTextSize(state.getFontSize());
-        chapterContentText.setLineSpacing(0, state.getLineSpacing());
-        chapterTitleText.setTextSize(state.getFontSize() + 2);
-        
-        // 更新上下滚动模式的字体
-        Typeface scrollTypeface = getTypefaceForFont(state.getFont());
-        chapterContentText.setTypeface(scrollTypeface);
-        chapterTitleText.setTypeface(scrollTypeface, Typeface.BOLD);
+        // 更新上下滚动模式的字体大小、行间距和字体
+        applyScrollTextStyle(state);
         
         // 更新翻页适配器的显示设置
         pageAdapter.setFontSize(state.getFontSize());
@@ -723,17 +700,15 @@ public class ReaderActivity extends AppCompatActivity {
             int currentChapterStartIndex = pageAdapter.getCurrentChapterStartIndex();
             int targetPage = currentChapterStartIndex; // 默认跳转到当前章节第一页
             
-            if (pendingPageIndex == Integer.MAX_VALUE) {
-                // 特殊值：跳转到当前章节最后一页（从下一章跳转过来）
-                targetPage = pageAdapter.getCurrentChapterEndIndex();
-                pendingPageIndex = -1;
-            } else if (pendingPageIndex >= 0) {
-                // 有待恢复的页码（章节切换时设置）
-                targetPage = currentChapterStartIndex + Math.min(pendingPageIndex, currentPages.size() - 1);
-                pendingPageIndex = -1;
+            if (pendingCharOffset >= 0) {
+                // 有待恢复的位置（章节切换、跳转或重新分页时设置），
+                // Integer.MAX_VALUE 会落在最后一页（从下一章翻回来）
+                targetPage = currentChapterStartIndex + TextPaginator.findPageIndex(currentPages, pendingCharOffset);
+                pendingCharOffset = -1;
             } else if (needRestorePosition) {
                 // 首次加载，恢复保存的位置
-                targetPage = currentChapterStartIndex + Math.min(state.getSavedPageIndex(), currentPages.size() - 1);
+                targetPage = currentChapterStartIndex
+                        + TextPaginator.findPageIndex(currentPages, state.getSavedCharOffset());
                 needRestorePosition = false;
             } else {
                 // 不需要恢复位置，保持当前页面
@@ -744,23 +719,37 @@ public class ReaderActivity extends AppCompatActivity {
             pageViewPager.setCurrentItem(targetPage, false);
             
             isPaginationReady = true;
+            reportFirstPageDrawn();
         });
     }
 
     /**
      * 切换翻页模式
+     * 
+     * @param mode 新的翻页模式
+     * @param keepOffset 切换前的章节内字符偏移，-1表示不需要保持
      */
-    private void switchPageMode(PageMode mode) {
+    private void switchPageMode(PageMode mode, int keepOffset) {
         if (mode == PageMode.SCROLL) {
             // 切换到上下滚动模式
-            contentScrollView.setVisibility(View.VISIBLE);
+            contentRecyclerView.setVisibility(View.VISIBLE);
             pageViewPager.setVisibility(View.GONE);
             // 显示滚动模式的状态信息
             statusChapterName.setVisibility(View.VISIBLE);
             statusTimeBattery.setVisibility(View.VISIBLE);
+            
+            // 强制重建滚动列表
+            scrollSyncedChapterId = -1;
+            if (keepOffset >= 0) {
+                pendingScrollOffset = keepOffset;
+            }
+            ReaderUiState state = viewModel.getUiState().getValue();
+            if (state != null && state.getCurrentChapter() != null && !state.isLoading()) {
+                syncScrollReader(state, state.getDisplayContent());
+            }
         } else {
             // 切换到左右翻页模式
-            contentScrollView.setVisibility(View.GONE);
+            contentRecyclerView.setVisibility(View.GONE);
             pageViewPager.setVisibility(View.VISIBLE);
             // 隐藏滚动模式的状态信息（翻页模式在PageContentView中绘制）
             statusChapterName.setVisibility(View.GONE);
@@ -771,9 +760,9 @@ public class ReaderActivity extends AppCompatActivity {
             lastPaginatedContent = "";
             
             // 如果是首次加载（needRestorePosition 为 true），保留恢复位置的标志
-            // 否则从第一页开始
+            // 否则定位到切换前的位置
             if (!needRestorePosition) {
-                pendingPageIndex = 0;
+                pendingCharOffset = Math.max(0, keepOffset);
             }
             // 注意：不要在这里设置 needRestorePosition = false，让 paginateContent 来处理
             
@@ -787,6 +776,227 @@ public class ReaderActivity extends AppCompatActivity {
         }
     }
 
+    // ==================== 上下滚动模式 ====================
+
+    /**
+     * 同步滚动列表与当前章节
+     * 因滚动进入而切换的章节只补充相邻章节；跳转、首次加载或正文变化时重建列表并定位，
+     * 列表中始终只保留当前章节及其上下各一章
+     */
+    private void syncScrollReader(ReaderUiState state, String content) {
+        Chapter current = state.getCurrentChapter();
+        long chapterId = current.getId();
+
+        if (chapterId != scrollSyncedChapterId || !scrollAdapter.hasSameContent(chapterId, content)) {
+            boolean followScroll = chapterId == scrollDrivenChapterId
+                    && scrollAdapter.hasSameContent(chapterId, content);
+            if (!followScroll) {
+                if (needRestorePosition) {
+                    pendingScrollOffset = state.getSavedCharOffset();
+                    needRestorePosition = false;
+                }
+                if (!scrollAdapter.hasSameContent(chapterId, content)) {
+                    scrollAdapter.setChapter(chapterId, current.getTitle(), content);
+                }
+                if (pendingScrollOffset < 0) {
+                    pendingScrollOffset = 0;
+                }
+            }
+            scrollSyncedChapterId = chapterId;
+            scrollDrivenChapterId = -1;
+        }
+
+        // 移除不再相邻的章节
+        Chapter previous = state.getPreviousChapter();
+        Chapter next = state.getNextChapter();
+        long previousId = previous != null ? previous.getId() : -1;
+        long nextId = next != null ? next.getId() : -1;
+        for (long id : scrollAdapter.getChapterIds()) {
+            if (id != chapterId && id != previousId && id != nextId) {
+                scrollAdapter.removeChapter(id);
+            }
+        }
+
+        // 补充相邻章节
+        if (next != null && scrollAdapter.getLastChapterId() == chapterId) {
+            String nextContent = state.getNextChapterContent();
+            if (nextContent != null && !nextContent.isEmpty()) {
+                scrollAdapter.appendChapter(nextId, next.getTitle(), nextContent);
+            }
+        }
+        if (previous != null && scrollAdapter.getFirstChapterId() == chapterId) {
+            String previousContent = state.getPreviousChapterContent();
+            if (previousContent != null && !previousContent.isEmpty()) {
+                scrollAdapter.prependChapter(previousId, previous.getTitle(), previousContent);
+            }
+        }
+
+        if (pendingScrollOffset >= 0) {
+            scrollToCharOffset(chapterId, pendingScrollOffset);
+            pendingScrollOffset = -1;
+        }
+        reportFirstPageDrawn();
+    }
+
+    /**
+     * 首次显示章节内容后上报完全绘制，宏基准测试以此计算打开书籍到首页的耗时
+     */
+    private void reportFirstPageDrawn() {
+        if (!fullyDrawnReported) {
+            fullyDrawnReported = true;
+            reportFullyDrawn();
+        }
+    }
+
+    /**
+     * 滚动回调：屏幕顶部进入相邻章节时切换当前章节
+     */
+    private void onScrollReaderScrolled() {
+        long visibleChapterId = getScrollChapterId();
+        if (visibleChapterId <= 0 || visibleChapterId == scrollSyncedChapterId
+                || visibleChapterId == scrollDrivenChapterId) {
+            return;
+        }
+        scrollDrivenChapterId = visibleChapterId;
+        viewModel.loadChapter(visibleChapterId);
+    }
+
+    /**
+     * 获取位于阅读区顶部（列表上内边距处）的列表项
+     */
+    private View findScrollReadingChild() {
+        int readingTop = contentRecyclerView.getPaddingTop();
+        for (int i = 0; i < contentRecyclerView.getChildCount(); i++) {
+            View child = contentRecyclerView.getChildAt(i);
+            if (child.getBottom() > readingTop) {
+                return child;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 获取滚动模式当前阅读的章节ID，列表为空时返回-1
+     */
+    private long getScrollChapterId() {
+        View child = findScrollReadingChild();
+        if (child == null) return -1;
+        int position = contentRecyclerView.getChildAdapterPosition(child);
+        return position != RecyclerView.NO_POSITION ? scrollAdapter.getChapterIdAt(position) : -1;
+    }
+
+    /**
+     * 获取滚动模式当前阅读位置：阅读区顶部第一行在章节正文中的字符偏移
+     * 与字体大小、行间距和屏幕尺寸无关
+     */
+    private int getScrollCharOffset() {
+        View child = findScrollReadingChild();
+        if (child == null) return 0;
+        int position = contentRecyclerView.getChildAdapterPosition(child);
+        if (position == RecyclerView.NO_POSITION) return 0;
+
+        int offset = scrollAdapter.getChunkStartAt(position);
+        if (scrollAdapter.isTextItem(position) && child instanceof TextView) {
+            Layout layout = ((TextView) child).getLayout();
+            int y = contentRecyclerView.getPaddingTop() - child.getTop() - child.getPaddingTop();
+            if (layout != null && y > 0) {
+                offset += layout.getLineStart(layout.getLineForVertical(y));
+            }
+        }
+        return offset;
+    }
+
+    /**
+     * 滚动到章节内指定字符偏移所在的行
+     */
+    private void scrollToCharOffset(long chapterId, int offset) {
+        int position = scrollAdapter.getPositionForOffset(chapterId, offset);
+        if (position == RecyclerView.NO_POSITION) return;
+        scrollLayoutManager.scrollToPositionWithOffset(position, 0);
+
+        int offsetInChunk = offset - scrollAdapter.getChunkStartAt(position);
+        if (offsetInChunk <= 0 || !scrollAdapter.isTextItem(position)) return;
+
+        // 段落块布局完成后再精确到行
+        contentRecyclerView.post(() -> {
+            int current = scrollAdapter.getPositionForOffset(chapterId, offset);
+            View child = scrollLayoutManager.findViewByPosition(current);
+            if (current != position || !(child instanceof TextView)) return;
+            Layout layout = ((TextView) child).getLayout();
+            if (layout == null) return;
+            int line = layout.getLineForOffset(Math.min(offsetInChunk, layout.getText().length()));
+            scrollLayoutManager.scrollToPositionWithOffset(position,
+                    -(layout.getLineTop(line) + child.getPaddingTop()));
+        });
+    }
+
+    /**
+     * 应用滚动模式的字体大小、行间距和字体
+     * 样式变化时只有屏幕附近的段落重新排版，并保持当前阅读位置
+     */
+    private void applyScrollTextStyle(ReaderUiState state) {
+        if (state.getFont() != scrollFont) {
+            scrollFont = state.getFont();
+            scrollTypeface = getTypefaceForFont(scrollFont);
+        }
+        if (scrollAdapter.isSameTextStyle(state.getFontSize(), state.getLineSpacing(), scrollTypeface)) {
+            return;
+        }
+
+        long chapterId = currentPageMode == PageMode.SCROLL ? getScrollChapterId() : -1;
+        int offset = chapterId > 0 ? getScrollCharOffset() : 0;
+        scrollAdapter.setTextStyle(state.getFontSize(), state.getLineSpacing(), scrollTypeface);
+        if (chapterId > 0) {
+            scrollToCharOffset(chapterId, offset);
+        }
+    }
+
+    // ==================== 阅读位置 ====================
+
+    /**
+     * 获取当前阅读位置（章节内字符偏移），两种阅读模式通用
+     */
+    private int getCurrentCharOffset() {
+        return currentPageMode == PageMode.SCROLL ? getScrollCharOffset() : getPageCharOffset();
+    }
+
+    /**
+     * 获取翻页模式当前页在章节原文中的起始偏移
+     * 停在相邻章节的预加载页上时取当前章节的首页或末页
+     */
+    private int getPageCharOffset() {
+        if (currentPages == null || currentPages.isEmpty()) {
+            return 0;
+        }
+        int pageIndex = pageViewPager.getCurrentItem() - pageAdapter.getCurrentChapterStartIndex();
+        pageIndex = Math.max(0, Math.min(pageIndex, currentPages.size() - 1));
+        return currentPages.get(pageIndex).getSourceStart();
+    }
+
+    /**
+     * 判断已有分页是否不属于当前章节（章节切换后尚未重新分页）
+     */
+    private boolean isPaginationStale(ReaderUiState state) {
+        return state.getCurrentChapter() == null
+                || lastPaginatedChapterId != state.getCurrentChapter().getId();
+    }
+
+    /**
+     * 排版设置变化后重新分页，并停留在原来的字符位置
+     */
+    private void repaginateKeepingPosition() {
+        ReaderUiState s = viewModel.getUiState().getValue();
+        if (s == null || s.getCurrentChapter() == null) {
+            return;
+        }
+        if (isPaginationReady && pendingCharOffset < 0) {
+            pendingCharOffset = getPageCharOffset();
+        }
+        lastPaginatedChapterId = s.getCurrentChapter().getId();
+        lastPaginatedContent = s.getDisplayContent();
+        paginateContent(s.getDisplayContent(), s.getCurrentChapter().getTitle(), s);
+    }
+
     /**
      * 更新翻页动画
      */
@@ -913,8 +1123,7 @@ public class ReaderActivity extends AppCompatActivity {
         if (theme == null) return;
         
         coordinatorLayout.setBackgroundColor(theme.getBackgroundColor());
-        chapterTitleText.setTextColor(theme.getTextColor());
-        chapterContentText.setTextColor(theme.getTextColor());
+        scrollAdapter.setTextColor(theme.getTextColor());
         
         // 更新翻页适配器主题
         pageAdapter.setTextColor(theme.getTextColor());
@@ -937,26 +1146,24 @@ public class ReaderActivity extends AppCompatActivity {
      */
     private void animateChapterChange(boolean isPrevious) {
         if (currentPageMode == PageMode.SCROLL) {
-            // 上下滚动模式的动画
-            contentScrollView.smoothScrollTo(0, 0);
-            
+            // 上下滚动模式的动画（新章节由 syncScrollReader 定位到开头）
             float startX = isPrevious ? -100f : 100f;
             
-            ObjectAnimator fadeOut = ObjectAnimator.ofFloat(chapterContentText, "alpha", 1f, 0f);
+            ObjectAnimator fadeOut = ObjectAnimator.ofFloat(contentRecyclerView, "alpha", 1f, 0f);
             fadeOut.setDuration(150);
             
-            ObjectAnimator translateOut = ObjectAnimator.ofFloat(chapterContentText, "translationX", 0f, -startX);
+            ObjectAnimator translateOut = ObjectAnimator.ofFloat(contentRecyclerView, "translationX", 0f, -startX);
             translateOut.setDuration(150);
             
             fadeOut.addListener(new AnimatorListenerAdapter() {
                 @Override
                 public void onAnimationEnd(Animator animation) {
-                    chapterContentText.setTranslationX(startX);
+                    contentRecyclerView.setTranslationX(startX);
                     
-                    ObjectAnimator fadeIn = ObjectAnimator.ofFloat(chapterContentText, "alpha", 0f, 1f);
+                    ObjectAnimator fadeIn = ObjectAnimator.ofFloat(contentRecyclerView, "alpha", 0f, 1f);
                     fadeIn.setDuration(150);
                     
-                    ObjectAnimator translateIn = ObjectAnimator.ofFloat(chapterContentText, "translationX", startX, 0f);
+                    ObjectAnimator translateIn = ObjectAnimator.ofFloat(contentRecyclerView, "translationX", startX, 0f);
                     translateIn.setDuration(150);
                     
                     fadeIn.start();
@@ -970,9 +1177,9 @@ public class ReaderActivity extends AppCompatActivity {
             // 左右翻页模式 - 通过预加载的相邻章节页面实现翻页动画
             // 设置待跳转的页码，让 paginateContent 处理
             if (isPrevious) {
-                pendingPageIndex = Integer.MAX_VALUE; // 上一章跳转到最后一页
+                pendingCharOffset = Integer.MAX_VALUE; // 上一章跳转到最后一页
             } else {
-                pendingPageIndex = 0; // 下一章从第一页开始
+                pendingCharOffset = 0; // 下一章从第一页开始
             }
             needRestorePosition = false;
         }
@@ -1013,7 +1220,7 @@ public class ReaderActivity extends AppCompatActivity {
             if (state != null && state.getChapters() != null) {
                 chapterCountText.setText(getString(R.string.reader_chapter_count, state.getChapters().size()));
                 // 设置原始章节列表用于过滤
-                chapterAdapter.setOriginalList(state.getChapters());
+                chapterAdapter.setOriginalList(state.getChapters(), viewModel.getChapterTitleIndex());
             }
             
             // 搜索按钮点击 - 显示搜索栏
@@ -1098,7 +1305,7 @@ public class ReaderActivity extends AppCompatActivity {
             
             // 更新章节列表数据
             if (state.getChapters() != null) {
-                chapterAdapter.setOriginalList(state.getChapters());
+                chapterAdapter.setOriginalList(state.getChapters(), viewModel.getChapterTitleIndex());
                 TextView chapterCountText = chapterListDialog.findViewById(R.id.chapter_count_text);
                 if (chapterCountText != null) {
                     chapterCountText.setText(getString(R.string.reader_chapter_count, state.getChapters().size()));
@@ -1154,16 +1361,16 @@ public class ReaderActivity extends AppCompatActivity {
      * 保存进度并退出
      */
     private void saveAndFinish() {
-        int position = 0;
         if (currentPageMode == PageMode.SCROLL) {
-            position = contentScrollView.getScrollY();
+            long chapterId = getScrollChapterId();
+            if (chapterId > 0) {
+                viewModel.saveAndExit(chapterId, getScrollCharOffset());
+            } else {
+                viewModel.saveAndExit(0);
+            }
         } else {
-            // 计算当前章节内的页码（减去上一章页面的偏移）
-            int currentItem = pageViewPager.getCurrentItem();
-            int startIndex = pageAdapter.getCurrentChapterStartIndex();
-            position = Math.max(0, currentItem - startIndex);
+            viewModel.saveAndExit(getPageCharOffset());
         }
-        viewModel.saveAndExit(position);
         
         // 返回结果给调用者
         ReaderUiState state = viewModel.getUiState().getValue();
@@ -1204,15 +1411,7 @@ public class ReaderActivity extends AppCompatActivity {
                 viewModel.setFontSize(fontSize);
                 // 如果是翻页模式，需要重新分页
                 if (currentPageMode == PageMode.PAGE) {
-                    // 强制重新分页
-                    lastPaginatedChapterId = -1;
-                    lastPaginatedContent = "";
-                    ReaderUiState s = viewModel.getUiState().getValue();
-                    if (s != null && s.getCurrentChapter() != null) {
-                        lastPaginatedChapterId = s.getCurrentChapter().getId();
-                        lastPaginatedContent = s.getDisplayContent();
-                        paginateContent(s.getDisplayContent(), s.getCurrentChapter().getTitle(), s);
-                    }
+                    repaginateKeepingPosition();
                 }
             }
 
@@ -1221,15 +1420,7 @@ public class ReaderActivity extends AppCompatActivity {
                 viewModel.setLineSpacing(lineSpacing);
                 // 如果是翻页模式，需要重新分页
                 if (currentPageMode == PageMode.PAGE) {
-                    // 强制重新分页
-                    lastPaginatedChapterId = -1;
-                    lastPaginatedContent = "";
-                    ReaderUiState s = viewModel.getUiState().getValue();
-                    if (s != null && s.getCurrentChapter() != null) {
-                        lastPaginatedChapterId = s.getCurrentChapter().getId();
-                        lastPaginatedContent = s.getDisplayContent();
-                        paginateContent(s.getDisplayContent(), s.getCurrentChapter().getTitle(), s);
-                    }
+                    repaginateKeepingPosition();
                 }
             }
 
@@ -1259,14 +1450,7 @@ public class ReaderActivity extends AppCompatActivity {
                 viewModel.setFont(font);
                 // 如果是翻页模式，需要重新分页
                 if (currentPageMode == PageMode.PAGE) {
-                    lastPaginatedChapterId = -1;
-                    lastPaginatedContent = "";
-                    ReaderUiState s = viewModel.getUiState().getValue();
-                    if (s != null && s.getCurrentChapter() != null) {
-                        lastPaginatedChapterId = s.getCurrentChapter().getId();
-                        lastPaginatedContent = s.getDisplayContent();
-                        paginateContent(s.getDisplayContent(), s.getCurrentChapter().getTitle(), s);
-                    }
+                    repaginateKeepingPosition();
                 }
             }
         });
@@ -1283,7 +1467,7 @@ public class ReaderActivity extends AppCompatActivity {
         searchDialog.setOnSearchListener(new SearchDialog.OnSearchListener() {
             @Override
             public void onSearch(String keyword) {
-                viewModel.searchInNovel(keyword);
+                viewModel.searchInNovel(keyword, getCurrentCharOffset());
             }
 
             @Override
@@ -1349,6 +1533,53 @@ public class ReaderActivity extends AppCompatActivity {
         bookmarkDialog.show();
     }
 
+    /**
+     * 显示章节摘要对话框
+     * 摘要边生成边显示，关闭对话框时取消尚未完成的生成
+     */
+    private void showSummaryDialog() {
+        ReaderUiState state = viewModel.getUiState().getValue();
+        if (state == null || state.getCurrentChapter() == null) {
+            return;
+        }
+
+        android.app.AlertDialog.Builder builder = new android.app.AlertDialog.Builder(this);
+        View dialogView = getLayoutInflater().inflate(R.layout.dialog_chapter_summary, null);
+        builder.setView(dialogView);
+
+        TextView tvChapterInfo = dialogView.findViewById(R.id.tv_chapter_info);
+        tvChapterInfo.setText(state.getCurrentChapter().getTitle());
+        tvSummary = dialogView.findViewById(R.id.tv_summary);
+        summaryProgress = dialogView.findViewById(R.id.layout_summary_progress);
+
+        summaryDialog = builder.create();
+        dialogView.findViewById(R.id.btn_close).setOnClickListener(v -> summaryDialog.dismiss());
+        summaryDialog.setOnDismissListener(d -> {
+            viewModel.cancelChapterSummary();
+            summaryDialog = null;
+        });
+        summaryDialog.show();
+
+        viewModel.generateChapterSummary();
+        updateSummaryDialog(state);
+    }
+
+    /**
+     * 刷新摘要对话框内容
+     */
+    private void updateSummaryDialog(ReaderUiState state) {
+        if (summaryDialog == null || !summaryDialog.isShowing() || state.getCurrentChapter() == null
+                || state.getSummaryChapterId() != state.getCurrentChapter().getId()) {
+            return;
+        }
+        if (state.getSummaryError() != null) {
+            tvSummary.setText(state.getSummaryError());
+        } else {
+            tvSummary.setText(state.getSummaryText());
+        }
+        summaryProgress.setVisibility(state.isSummaryLoading() ? View.VISIBLE : View.GONE);
+    }
+
     /**
      * 显示添加书签对话框
      * 验证需求：7.1, 7.2 - 添加书签并支持备注
@@ -1379,15 +1610,7 @@ public class ReaderActivity extends AppCompatActivity {
 
         btnSave.setOnClickListener(v -> {
             String note = etNote.getText() != null ? etNote.getText().toString().trim() : "";
-            int position = 0;
-            if (currentPageMode == PageMode.SCROLL) {
-                position = contentScrollView.getScrollY();
-            } else {
-                int currentItem = pageViewPager.getCurrentItem();
-                int startIndex = pageAdapter.getCurrentChapterStartIndex();
-                position = Math.max(0, currentItem - startIndex);
-            }
-            viewModel.addBookmark(note, position);
+            viewModel.addBookmark(note, getCurrentCharOffset());
             dialog.dismiss();
         });
 
@@ -1401,17 +1624,18 @@ public class ReaderActivity extends AppCompatActivity {
         if (timeHandler != null && timeUpdateRunnable != null) {
             timeHandler.removeCallbacks(timeUpdateRunnable);
         }
+        // 暂停阅读计时
+        viewModel.pauseReadingSession();
         
-        int position = 0;
         if (currentPageMode == PageMode.SCROLL) {
-            position = contentScrollView.getScrollY();
+            long chapterId = getScrollChapterId();
+            if (chapterId > 0) {
+                viewModel.updateReadingPosition(chapterId, getScrollCharOffset());
+            }
         } else {
-            // 计算当前章节内的页码（减去上一章页面的偏移）
-            int currentItem = pageViewPager.getCurrentItem();
-            int startIndex = pageAdapter.getCurrentChapterStartIndex();
-            position = Math.max(0, currentItem - startIndex);
+            viewModel.updateReadingPosition(getPageCharOffset());
         }
-        viewModel.updateReadingPosition(position);
+        viewModel.flushReadingProgress();
     }
     
     @Override
@@ -1419,11 +1643,18 @@ public class ReaderActivity extends AppCompatActivity {
         super.onResume();
         // 恢复时间更新
         startTimeUpdate();
+        // 恢复阅读计时
+        viewModel.resumeReadingSession();
     }
     
     @Override
     protected void onDestroy() {
         super.onDestroy();
+        if (summaryDialog != null) {
+            summaryDialog.dismiss();
+        }
+        // 停止滚动模式的后台排版
+        scrollAdapter.release();
         // 注销电量广播接收器
         if (batteryReceiver != null) {
             try {
@@ -57,8 +57,7 @@ public class ReaderUiState {
     private int readCharCount; // 当前会话阅读字数
     
     // 阅读位置（用于恢复）
-    private int savedScrollPosition; // 上下滚动模式的滚动位置
-    private int savedPageIndex; // 左右翻页模式的页码
+    private int savedCharOffset; // 上次阅读位置（章节内字符偏移，两种阅读模式通用）
     
     // 预加载章节内容（用于翻页动画）
     private Chapter previousChapter; // 上一章
@@ -69,7 +68,13 @@ public class ReaderUiState {
     // 书签相关状态
     private boolean bookmarkAdded; // 书签添加成功标志
     private boolean bookmarkDeleted; // 书签删除成功标志
-    private int jumpToPosition; // 跳转到指定位置（书签跳转用）
+    private int jumpToPosition; // 跳转到章节内指定字符偏移（书签、搜索跳转用）
+    
+    // 章节摘要相关状态
+    private long summaryChapterId; // 摘要所属章节，-1 表示没有摘要
+    private String summaryText; // 已生成的摘要文本（流式输出时逐步增长）
+    private boolean summaryLoading; // 摘要是否仍在生成
+    private String summaryError; // 摘要生成失败信息
 
     public ReaderUiState() {
         this.chapters = new ArrayList<>();
@@ -90,8 +95,7 @@ public class ReaderUiState {
         this.availableVoices = new ArrayList<>();
         this.readingStartTime = 0;
         this.readCharCount = 0;
-        this.savedScrollPosition = 0;
-        this.savedPageIndex = 0;
+        this.savedCharOffset = 0;
         this.previousChapter = null;
         this.nextChapter = null;
         this.previousChapterContent = "";
@@ -99,6 +103,10 @@ public class ReaderUiState {
         this.bookmarkAdded = false;
         this.bookmarkDeleted = false;
         this.jumpToPosition = -1;
+        this.summaryChapterId = -1;
+        this.summaryText = "";
+        this.summaryLoading = false;
+        this.summaryError = null;
     }
 
     /**
@@ -126,8 +134,7 @@ public class ReaderUiState {
         this.availableVoices = new ArrayList<>(other.availableVoices);
         this.readingStartTime = other.readingStartTime;
         this.readCharCount = other.readCharCount;
-        this.savedScrollPosition = other.savedScrollPosition;
-        this.savedPageIndex = other.savedPageIndex;
+        this.savedCharOffset = other.savedCharOffset;
         this.previousChapter = other.previousChapter;
         this.nextChapter = other.nextChapter;
         this.previousChapterContent = other.previousChapterContent;
@@ -135,6 +142,10 @@ public class ReaderUiState {
         this.bookmarkAdded = other.bookmarkAdded;
         this.bookmarkDeleted = other.bookmarkDeleted;
         this.jumpToPosition = other.jumpToPosition;
+        this.summaryChapterId = other.summaryChapterId;
+        this.summaryText = other.summaryText;
+        this.summaryLoading = other.summaryLoading;
+        this.summaryError = other.summaryError;
     }
 
 
@@ -161,8 +172,7 @@ public class ReaderUiState {
     public List<VoiceInfo> getAvailableVoices() { return availableVoices; }
     public long getReadingStartTime() { return readingStartTime; }
     public int getReadCharCount() { return readCharCount; }
-    public int getSavedScrollPosition() { return savedScrollPosition; }
-    public int getSavedPageIndex() { return savedPageIndex; }
+    public int getSavedCharOffset() { return savedCharOffset; }
     public Chapter getPreviousChapter() { return previousChapter; }
     public Chapter getNextChapter() { return nextChapter; }
     public String getPreviousChapterContent() { return previousChapterContent; }
@@ -170,6 +180,10 @@ public class ReaderUiState {
     public boolean isBookmarkAdded() { return bookmarkAdded; }
     public boolean isBookmarkDeleted() { return bookmarkDeleted; }
     public int getJumpToPosition() { return jumpToPosition; }
+    public long getSummaryChapterId() { return summaryChapterId; }
+    public String getSummaryText() { return summaryText; }
+    public boolean isSummaryLoading() { return summaryLoading; }
+    public String getSummaryError() { return summaryError; }
 
     // ==================== Setters ====================
     
@@ -206,8 +220,7 @@ public class ReaderUiState {
     }
     public void setReadingStartTime(long readingStartTime) { this.readingStartTime = readingStartTime; }
     public void setReadCharCount(int readCharCount) { this.readCharCount = readCharCount; }
-    public void setSavedScrollPosition(int savedScrollPosition) { this.savedScrollPosition = savedScrollPosition; }
-    public void setSavedPageIndex(int savedPageIndex) { this.savedPageIndex = savedPageIndex; }
+    public void setSavedCharOffset(int savedCharOffset) { this.savedCharOffset = savedCharOffset; }
     public void setPreviousChapter(Chapter previousChapter) { this.previousChapter = previousChapter; }
     public void setNextChapter(Chapter nextChapter) { this.nextChapter = nextChapter; }
     public void setPreviousChapterContent(String previousChapterContent) { 
@@ -219,6 +232,10 @@ public class ReaderUiState {
     public void setBookmarkAdded(boolean bookmarkAdded) { this.bookmarkAdded = bookmarkAdded; }
     public void setBookmarkDeleted(boolean bookmarkDeleted) { this.bookmarkDeleted = bookmarkDeleted; }
     public void setJumpToPosition(int jumpToPosition) { this.jumpToPosition = jumpToPosition; }
+    public void setSummaryChapterId(long summaryChapterId) { this.summaryChapterId = summaryChapterId; }
+    public void setSummaryText(String summaryText) { this.summaryText = summaryText; }
+    public void setSummaryLoading(boolean summaryLoading) { this.summaryLoading = summaryLoading; }
+    public void setSummaryError(String summaryError) { this.summaryError = summaryError; }
 
     // ==================== 便捷方法 ====================
 
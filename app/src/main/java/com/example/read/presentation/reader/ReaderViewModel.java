@@ -16,6 +16,7 @@ import com.example.read.domain.model.ReadingPosition;
 import com.example.read.domain.model.SearchResult;
 import com.example.read.domain.model.TTSState;
 import com.example.read.domain.model.VoiceInfo;
+import com.example.read.domain.repository.AIServiceRepository;
 import com.example.read.domain.repository.BlockedWordRepository;
 import com.example.read.domain.repository.BookmarkRepository;
 import com.example.read.domain.repository.NovelRepository;
@@ -23,6 +24,8 @@ import com.example.read.domain.repository.SettingsRepository;
 import com.example.read.domain.repository.StatisticsRepository;
 import com.example.read.domain.repository.ThemeRepository;
 import com.example.read.domain.repository.TTSRepository;
+import com.example.read.utils.ChapterTitleIndex;
+import com.example.read.utils.Metrics;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -32,6 +35,8 @@ import java.util.concurrent.Executors;
 import javax.inject.Inject;
 
 import dagger.hilt.android.lifecycle.HiltViewModel;
+import io.reactivex.rxjava3.android.schedulers.AndroidSchedulers;
+import io.reactivex.rxjava3.disposables.Disposable;
 
 /**
  * 阅读器ViewModel - 管理阅读界面的业务逻辑和UI状态
@@ -48,6 +53,7 @@ public class ReaderViewModel extends ViewModel {
     private final StatisticsRepository statisticsRepository;
     private final TTSRepository ttsRepository;
     private final BookmarkRepository bookmarkRepository;
+    private final AIServiceRepository aiServiceRepository;
     private final ExecutorService executorService;
 
     // UI状态
@@ -60,9 +66,15 @@ public class ReaderViewModel extends ViewModel {
     // 屏蔽词列表缓存
     private List<String> blockedWords = new ArrayList<>();
     
+    // 章节标题检索索引（在加载线程上构建，界面线程读取）
+    private volatile ChapterTitleIndex chapterTitleIndex;
+    
     // TTS状态观察者
     private Observer<TTSState> ttsStateObserver;
     private Observer<Integer> ttsPositionObserver;
+    
+    // 正在进行的摘要生成
+    private Disposable summaryDisposable;
 
     @Inject
     public ReaderViewModel(
@@ -72,7 +84,8 @@ public class ReaderViewModel extends ViewModel {
             BlockedWordRepository blockedWordRepository,
             StatisticsRepository statisticsRepository,
             TTSRepository ttsRepository,
-            BookmarkRepository bookmarkRepository) {
+            BookmarkRepository bookmarkRepository,
+            AIServiceRepository aiServiceRepository) {
         this.novelRepository = novelRepository;
         this.settingsRepository = settingsRepository;
         this.themeRepository = themeRepository;
@@ -80,6 +93,7 @@ public class ReaderViewModel extends ViewModel {
         this.statisticsRepository = statisticsRepository;
         this.ttsRepository = ttsRepository;
         this.bookmarkRepository = bookmarkRepository;
+        this.aiServiceRepository = aiServiceRepository;
         this.executorService = Executors.newSingleThreadExecutor();
         
         // 初始化设置
@@ -90,32 +104,35 @@ public class ReaderViewModel extends ViewModel {
 
     /**
      * 初始化设置
+     * 设置和主题各自加载完成后再读取，构造时不在主线程上等待读盘，加载完成前使用默认值
      */
     private void initializeSettings() {
-        // 从 SharedPreferences 读取保存的设置
+        updateStateNow(state -> state.setAvailableVoices(ttsRepository.getAvailableVoices()));
+        settingsRepository.whenLoaded(this::applySavedSettings);
+        themeRepository.whenLoaded(() -> updateStateNow(state -> state.setTheme(themeRepository.getCurrentTheme())));
+        
+        // 加载屏蔽词
+        loadBlockedWords();
+    }
+
+    /**
+     * 应用保存的阅读设置（设置加载完成后在主线程调用）
+     */
+    private void applySavedSettings() {
         String savedPageMode = settingsRepository.getPageMode();
         float savedFontSize = settingsRepository.getFontSize();
         float savedLineSpacing = settingsRepository.getLineSpacing();
         String savedFontFamily = settingsRepository.getFontFamily();
         String savedPageAnimation = settingsRepository.getPageAnimation();
         
-        // 使用 setValue 同步更新初始状态，确保在 Activity 观察之前状态已经正确
-        ReaderUiState currentState = _uiState.getValue();
-        if (currentState == null) {
-            currentState = new ReaderUiState();
-        }
-        ReaderUiState newState = new ReaderUiState(currentState);
-        newState.setFontSize(savedFontSize);
-        newState.setLineSpacing(savedLineSpacing);
-        newState.setTheme(themeRepository.getCurrentTheme());
-        newState.setPageMode(PageMode.fromId(savedPageMode));
-        newState.setPageAnimation(PageAnimation.fromId(savedPageAnimation));
-        newState.setFont(ReaderFont.fromId(savedFontFamily));
-        newState.setAvailableVoices(ttsRepository.getAvailableVoices());
-        _uiState.setValue(newState);
-        
-        // 加载屏蔽词
-        loadBlockedWords();
+        updateStateNow(state -> {
+            state.setFontSize(savedFontSize);
+            state.setLineSpacing(savedLineSpacing);
+            state.setPageMode(PageMode.fromId(savedPageMode));
+            state.setPageAnimation(PageAnimation.fromId(savedPageAnimation));
+            state.setFont(ReaderFont.fromId(savedFontFamily));
+        });
+        ttsRepository.setAudioCacheEnabled(settingsRepository.isTTSAudioCacheEnabled());
     }
 
     /**
@@ -128,20 +145,47 @@ public class ReaderViewModel extends ViewModel {
         };
         ttsRepository.getTTSState().observeForever(ttsStateObserver);
         
-        // 设置章节完成监听器
+        // 设置章节完成监听器（下一章未能提前排队时的兜底）
         ttsRepository.setOnChapterCompleteListener(chapterId -> {
             // 验证需求：10.5 - 自动开始朗读下一章节
+            ReaderUiState currentState = _uiState.getValue();
+            if (currentState == null || currentState.getNextChapter() == null) {
+                return;
+            }
+            Chapter nextChapter = currentState.getNextChapter();
+            String content = currentState.getNextChapterContent();
             goToNextChapter();
+            if (content != null && !content.isEmpty()) {
+                ttsRepository.setCurrentChapterId(nextChapter.getId());
+                ttsRepository.startReading(content, 0);
+            }
+        });
+
+        // 朗读无缝进入下一章时，阅读界面跟随切换
+        ttsRepository.setOnChapterChangedListener(chapterId -> {
             ReaderUiState currentState = _uiState.getValue();
-            if (currentState != null && currentState.getCurrentChapter() != null) {
-                String content = currentState.getDisplayContent();
-                if (content != null && !content.isEmpty()) {
-                    ttsRepository.startReading(content, 0);
-                }
+            if (currentState == null || currentState.getCurrentChapter() == null
+                    || currentState.getCurrentChapter().getId() != chapterId) {
+                loadChapter(chapterId);
             }
         });
     }
 
+    /**
+     * 朗读进行中时把已预加载的下一章交给TTS排队，实现跨章节连续朗读
+     * 只有朗读的正是该章节时才排队，用户手动翻到别的章节不影响朗读
+     */
+    private void queueNextChapterForTTS(Chapter chapter, Chapter nextChapter, String nextContent) {
+        ReaderUiState currentState = _uiState.getValue();
+        TTSState ttsState = currentState != null ? currentState.getTtsState() : null;
+        if (ttsState == null || ttsState.isIdle() || ttsState.hasError()
+                || chapter == null || ttsState.getCurrentChapterId() != chapter.getId()
+                || nextChapter == null || nextContent == null || nextContent.isEmpty()) {
+            return;
+        }
+        ttsRepository.queueNextChapter(nextChapter.getId(), nextContent);
+    }
+
     /**
      * 加载屏蔽词列表
      */
@@ -182,6 +226,7 @@ public class ReaderViewModel extends ViewModel {
 
                 // 加载章节列表
                 List<Chapter> chapters = novelRepository.getChaptersByNovelIdSync(novelId);
+                chapterTitleIndex = null;
                 
                 // 检查章节列表是否为空
                 if (chapters == null || chapters.isEmpty()) {
@@ -259,7 +304,7 @@ public class ReaderViewModel extends ViewModel {
                 final String finalPrevContent = prevContent;
                 final String finalNextContent = nextContent;
                 
-                // 获取保存的阅读位置
+                // 获取保存的阅读位置（章节内字符偏移）
                 final int savedPosition = novel.getCurrentPosition();
 
                 updateState(state -> {
@@ -272,21 +317,15 @@ public class ReaderViewModel extends ViewModel {
                     state.setPreviousChapterContent(finalPrevContent);
                     state.setNextChapterContent(finalNextContent);
                     state.setLoading(false);
-                    // 恢复阅读位置
-                    // 注意：savedPosition 可能是滚动位置（大值）或页码（小值）
-                    // 根据值的大小来判断：如果 > 100，认为是滚动位置；否则认为是页码
-                    if (savedPosition > 100) {
-                        // 可能是滚动位置
-                        state.setSavedScrollPosition(savedPosition);
-                        state.setSavedPageIndex(0); // 页码从0开始
-                    } else {
-                        // 可能是页码
-                        state.setSavedScrollPosition(0);
-                        state.setSavedPageIndex(savedPosition);
-                    }
+                    // 恢复阅读位置，由界面换算为滚动位置或页码
+                    state.setSavedCharOffset(Math.max(0, savedPosition));
                     // 开始记录阅读时间
                     state.setReadingStartTime(System.currentTimeMillis());
                 });
+                statisticsRepository.startReadingSession(novelId);
+
+                // 首页显示之后再构建章节标题检索索引，供目录搜索使用
+                executorService.execute(() -> buildChapterTitleIndex(chapters));
 
             } catch (Exception e) {
                 updateState(state -> {
@@ -297,6 +336,25 @@ public class ReaderViewModel extends ViewModel {
         });
     }
 
+    /**
+     * 为章节列表构建标题检索索引（拼音全拼、首字母只在这里计算一次）
+     */
+    private void buildChapterTitleIndex(List<Chapter> chapters) {
+        List<String> titles = new ArrayList<>(chapters.size());
+        for (Chapter chapter : chapters) {
+            titles.add(chapter.getTitle());
+        }
+        chapterTitleIndex = ChapterTitleIndex.build(titles);
+    }
+
+    /**
+     * 获取章节标题检索索引，下标与章节列表一致
+     * @return 后台构建完成前返回null
+     */
+    public ChapterTitleIndex getChapterTitleIndex() {
+        return chapterTitleIndex;
+    }
+
     /**
      * 切换到指定章节
      * 验证需求：5.6 - 加载新章节内容并更新阅读进度
@@ -313,21 +371,27 @@ public class ReaderViewModel extends ViewModel {
      * 验证需求：7.4 - 跳转到书签对应的位置
      * 
      * @param chapterId 章节ID
-     * @param jumpPosition 跳转位置（-1表示不跳转）
+     * @param jumpPosition 跳转到的章节内字符偏移（-1表示不跳转）
      */
     public void loadChapter(long chapterId, int jumpPosition) {
         executorService.execute(() -> {
+            long startTime = Metrics.begin(Metrics.READER_LOAD_CHAPTER);
             try {
-                Chapter chapter = novelRepository.getChapterById(chapterId);
+                // 上下滚动跨章时目标章节通常已作为相邻章节加载过，优先复用
+                ReaderUiState currentState = _uiState.getValue();
+                Chapter chapter = findLoadedChapter(currentState, chapterId);
+                if (chapter == null) {
+                    chapter = novelRepository.getChapterById(chapterId);
+                }
                 if (chapter == null) {
                     updateState(state -> state.setError("章节不存在"));
                     return;
                 }
 
+                final Chapter loadedChapter = chapter;
                 final String displayContent = getFilteredContent(chapter);
                 
                 // 预加载相邻章节
-                ReaderUiState currentState = _uiState.getValue();
                 List<Chapter> chapters = currentState != null ? currentState.getChapters() : null;
                 
                 Chapter prevChapter = null;
@@ -349,14 +413,20 @@ public class ReaderViewModel extends ViewModel {
                         // 加载上一章（需要从数据库获取完整内容）
                         if (currentIndex > 0) {
                             long prevChapterId = chapters.get(currentIndex - 1).getId();
-                            prevChapter = novelRepository.getChapterById(prevChapterId);
+                            prevChapter = findLoadedChapter(currentState, prevChapterId);
+                            if (prevChapter == null) {
+                                prevChapter = novelRepository.getChapterById(prevChapterId);
+                            }
                             prevContent = getFilteredContent(prevChapter);
                         }
                         
                         // 加载下一章（需要从数据库获取完整内容）
                         if (currentIndex < chapters.size() - 1) {
                             long nextChapterId = chapters.get(currentIndex + 1).getId();
-                            nextChapter = novelRepository.getChapterById(nextChapterId);
+                            nextChapter = findLoadedChapter(currentState, nextChapterId);
+                            if (nextChapter == null) {
+                                nextChapter = novelRepository.getChapterById(nextChapterId);
+                            }
                             nextContent = getFilteredContent(nextChapter);
                         }
                     }
@@ -369,7 +439,7 @@ public class ReaderViewModel extends ViewModel {
                 final int finalJumpPosition = jumpPosition;
 
                 updateState(state -> {
-                    state.setCurrentChapter(chapter);
+                    state.setCurrentChapter(loadedChapter);
                     state.setDisplayContent(displayContent);
                     state.setPreviousChapter(finalPrevChapter);
                     state.setNextChapter(finalNextChapter);
@@ -383,14 +453,17 @@ public class ReaderViewModel extends ViewModel {
 
                 // 更新阅读进度
                 if (currentNovelId > 0) {
-                    novelRepository.updateReadingProgress(currentNovelId, chapterId, 0);
+                    novelRepository.updateReadingProgress(currentNovelId, chapterId, loadedChapter.getTitle(), 0);
                 }
 
-                // 更新TTS当前章节
+                // 更新TTS当前章节，朗读中则接着排下一章
                 ttsRepository.setCurrentChapterId(chapterId);
+                queueNextChapterForTTS(loadedChapter, finalNextChapter, finalNextContent);
 
             } catch (Exception e) {
                 updateState(state -> state.setError("加载章节失败: " + e.getMessage()));
+            } finally {
+                Metrics.end(Metrics.READER_LOAD_CHAPTER, startTime);
             }
         });
     }
@@ -429,6 +502,22 @@ public class ReaderViewModel extends ViewModel {
         }
     }
 
+    /**
+     * 在已加载的当前章节和相邻章节中查找指定章节，未加载时返回null
+     */
+    private Chapter findLoadedChapter(ReaderUiState state, long chapterId) {
+        if (state == null) {
+            return null;
+        }
+        Chapter[] loaded = {state.getCurrentChapter(), state.getPreviousChapter(), state.getNextChapter()};
+        for (Chapter chapter : loaded) {
+            if (chapter != null && chapter.getId() == chapterId && chapter.getContent() != null) {
+                return chapter;
+            }
+        }
+        return null;
+    }
+
     /**
      * 获取过滤后的章节内容（应用屏蔽词）
      * 验证需求：11.4 - 将所有屏蔽词替换为星号
@@ -452,7 +541,7 @@ public class ReaderViewModel extends ViewModel {
      * 更新阅读位置
      * 验证需求：5.7 - 自动保存当前阅读位置
      * 
-     * @param position 当前位置
+     * @param position 章节内字符偏移
      */
     public void updateReadingPosition(int position) {
         ReaderUiState currentState = _uiState.getValue();
@@ -460,22 +549,60 @@ public class ReaderViewModel extends ViewModel {
             return;
         }
 
-        long chapterId = currentState.getCurrentChapter().getId();
-        
-        executorService.execute(() -> {
-            try {
-                novelRepository.updateReadingProgress(currentNovelId, chapterId, position);
-            } catch (Exception e) {
-                // 静默处理保存失败
+        updateReadingPosition(currentState.getCurrentChapter().getId(), position);
+    }
+
+    /**
+     * 更新阅读位置到指定章节
+     * 上下滚动模式下屏幕顶部的章节可能尚未同步为当前章节，由界面直接给出章节ID
+     * 
+     * @param chapterId 章节ID
+     * @param position 章节内字符偏移
+     */
+    public void updateReadingPosition(long chapterId, int position) {
+        if (currentNovelId <= 0) {
+            return;
+        }
+
+        // 只更新内存中的最新位置，由仓库合并后定时写入
+        novelRepository.updateReadingProgress(currentNovelId, chapterId, findChapterTitle(chapterId), position);
+    }
+
+    /**
+     * 立即写入尚未写入的阅读进度
+     */
+    public void flushReadingProgress() {
+        novelRepository.flushReadingProgress();
+    }
+
+    /**
+     * 从已加载的目录中查找章节标题，找不到时返回null
+     */
+    private String findChapterTitle(long chapterId) {
+        ReaderUiState currentState = _uiState.getValue();
+        if (currentState == null) {
+            return null;
+        }
+        Chapter current = currentState.getCurrentChapter();
+        if (current != null && current.getId() == chapterId) {
+            return current.getTitle();
+        }
+        List<Chapter> chapters = currentState.getChapters();
+        if (chapters != null) {
+            for (Chapter chapter : chapters) {
+                if (chapter.getId() == chapterId) {
+                    return chapter.getTitle();
+                }
             }
-        });
+        }
+        return null;
     }
 
     /**
      * 保存阅读进度并退出
      * 验证需求：5.7 - 用户退出阅读时自动保存当前阅读位置
      * 
-     * @param position 当前位置
+     * @param position 章节内字符偏移
      */
     public void saveAndExit(int position) {
         // 停止TTS
@@ -486,31 +613,42 @@ public class ReaderViewModel extends ViewModel {
         
         // 保存阅读位置
         updateReadingPosition(position);
+        flushReadingProgress();
     }
 
     /**
-     * 记录阅读统计
+     * 保存指定章节的阅读位置并退出
+     * 
+     * @param chapterId 章节ID
+     * @param position 章节内字符偏移
+     */
+    public void saveAndExit(long chapterId, int position) {
+        stopTTS();
+        recordReadingStatistics();
+        updateReadingPosition(chapterId, position);
+        flushReadingProgress();
+    }
+
+    /**
+     * 记录阅读统计：结束当前阅读会话，剩余时长立即写入
      * 验证需求：12.1 - 记录阅读时长到本地存储
      */
     private void recordReadingStatistics() {
-        ReaderUiState currentState = _uiState.getValue();
-        if (currentState == null || currentState.getReadingStartTime() <= 0) {
-            return;
-        }
+        statisticsRepository.endReadingSession();
+    }
 
-        long duration = System.currentTimeMillis() - currentState.getReadingStartTime();
-        int charCount = currentState.getReadCharCount();
-        
-        // 只记录有效的阅读时长（至少1秒）
-        if (duration >= 1000 && currentNovelId > 0) {
-            executorService.execute(() -> {
-                try {
-                    statisticsRepository.recordReadingSession(currentNovelId, duration, charCount);
-                } catch (Exception e) {
-                    // 静默处理
-                }
-            });
-        }
+    /**
+     * 暂停阅读计时（界面进入后台），已读时长立即写入
+     */
+    public void pauseReadingSession() {
+        statisticsRepository.pauseReadingSession();
+    }
+
+    /**
+     * 恢复阅读计时
+     */
+    public void resumeReadingSession() {
+        statisticsRepository.resumeReadingSession();
     }
 
     /**
@@ -520,6 +658,7 @@ public class ReaderViewModel extends ViewModel {
      */
     public void updateReadCharCount(int charCount) {
         updateState(state -> state.setReadCharCount(charCount));
+        statisticsRepository.updateReadingSessionCharCount(charCount);
     }
 
     // ==================== 字体和行间距设置 ====================
@@ -695,6 +834,16 @@ public class ReaderViewModel extends ViewModel {
      * @param keyword 搜索关键词
      */
     public void searchInNovel(String keyword) {
+        searchInNovel(keyword, 0);
+    }
+
+    /**
+     * 在小说中搜索关键词，并记住搜索前的阅读位置
+     * 
+     * @param keyword 搜索关键词
+     * @param currentPosition 当前章节内字符偏移，用于返回原位置
+     */
+    public void searchInNovel(String keyword, int currentPosition) {
         if (keyword == null || keyword.trim().isEmpty()) {
             clearSearchResults();
             return;
@@ -705,7 +854,7 @@ public class ReaderViewModel extends ViewModel {
         if (currentState != null && currentState.getCurrentChapter() != null) {
             ReadingPosition savedPosition = new ReadingPosition(
                     currentState.getCurrentChapter().getId(),
-                    0 // 可以从UI获取实际位置
+                    currentPosition
             );
             updateState(state -> {
                 state.setSavedPosition(savedPosition);
@@ -753,8 +902,8 @@ public class ReaderViewModel extends ViewModel {
         SearchResult result = results.get(index);
         updateState(state -> state.setCurrentSearchIndex(index));
 
-        // 跳转到对应章节
-        loadChapter(result.getChapterId());
+        // 跳转到关键词所在位置（屏蔽词替换不改变长度，偏移在过滤后的正文中同样有效）
+        jumpToPosition(result.getChapterId(), result.getPosition());
     }
 
     /**
@@ -791,7 +940,7 @@ public class ReaderViewModel extends ViewModel {
         }
 
         ReadingPosition savedPosition = currentState.getSavedPosition();
-        loadChapter(savedPosition.getChapterId());
+        jumpToPosition(savedPosition.getChapterId(), savedPosition.getPosition());
         clearSearchResults();
     }
 
@@ -834,24 +983,13 @@ public class ReaderViewModel extends ViewModel {
      * 验证需求：10.1 - 使用TTS引擎朗读当前章节内容
      */
     public void startTTS() {
-        ReaderUiState currentState = _uiState.getValue();
-        if (currentState == null || currentState.getCurrentChapter() == null) {
-            return;
-        }
-
-        String content = currentState.getDisplayContent();
-        if (content == null || content.isEmpty()) {
-            return;
-        }
-
-        ttsRepository.setCurrentChapterId(currentState.getCurrentChapter().getId());
-        ttsRepository.startReading(content, 0);
+        startTTSFromPosition(0);
     }
 
     /**
      * 从指定位置开始朗读
      * 
-     * @param position 开始位置
+     * @param position 开始位置（章节内字符偏移）
      */
     public void startTTSFromPosition(int position) {
         ReaderUiState currentState = _uiState.getValue();
@@ -865,7 +1003,12 @@ public class ReaderViewModel extends ViewModel {
         }
 
         ttsRepository.setCurrentChapterId(currentState.getCurrentChapter().getId());
-        ttsRepository.startReading(content, position);
+        ttsRepository.startReading(content, Math.max(0, Math.min(position, content.length() - 1)));
+        Chapter nextChapter = currentState.getNextChapter();
+        String nextContent = currentState.getNextChapterContent();
+        if (nextChapter != null && nextContent != null && !nextContent.isEmpty()) {
+            ttsRepository.queueNextChapter(nextChapter.getId(), nextContent);
+        }
     }
 
     /**
@@ -896,12 +1039,21 @@ public class ReaderViewModel extends ViewModel {
      * 切换TTS播放状态
      */
     public void toggleTTS() {
+        toggleTTS(0);
+    }
+
+    /**
+     * 切换TTS播放状态，空闲时从当前阅读位置开始朗读
+     * 
+     * @param currentPosition 当前章节内字符偏移
+     */
+    public void toggleTTS(int currentPosition) {
         ReaderUiState currentState = _uiState.getValue();
         if (currentState == null) return;
 
         TTSState ttsState = currentState.getTtsState();
         if (ttsState == null || ttsState.isIdle()) {
-            startTTS();
+            startTTSFromPosition(currentPosition);
         } else if (ttsState.isPlaying()) {
             pauseTTS();
         } else if (ttsState.isPaused()) {
@@ -930,6 +1082,18 @@ public class ReaderViewModel extends ViewModel {
         ttsRepository.setVoice(voiceId);
     }
 
+    /**
+     * 切换朗读音频缓存模式并保存
+     * 
+     * @return 切换后是否开启
+     */
+    public boolean toggleTTSAudioCache() {
+        boolean enabled = !settingsRepository.isTTSAudioCacheEnabled();
+        settingsRepository.setTTSAudioCacheEnabled(enabled);
+        ttsRepository.setAudioCacheEnabled(enabled);
+        return enabled;
+    }
+
     /**
      * 获取可用语音列表
      */
@@ -974,16 +1138,25 @@ public class ReaderViewModel extends ViewModel {
     // ==================== 辅助方法 ====================
 
     /**
-     * 更新UI状态的辅助方法
+     * 更新UI状态的辅助方法，可在任意线程调用
+     * 修改在主线程上按调用顺序作用于当时的最新状态，后台线程的更新不会用旧状态覆盖
+     * 其间已生效的修改（如设置加载完成后应用的字号和主题）
      */
     private void updateState(StateUpdater updater) {
+        AndroidSchedulers.mainThread().scheduleDirect(() -> updateStateNow(updater));
+    }
+
+    /**
+     * 在主线程上同步更新UI状态，之后的 getValue 立即可见
+     */
+    private void updateStateNow(StateUpdater updater) {
         ReaderUiState currentState = _uiState.getValue();
         if (currentState == null) {
             currentState = new ReaderUiState();
         }
         ReaderUiState newState = new ReaderUiState(currentState);
         updater.update(newState);
-        _uiState.postValue(newState);
+        _uiState.setValue(newState);
     }
 
     /**
@@ -1029,7 +1202,7 @@ public class ReaderViewModel extends ViewModel {
      * 验证需求：7.2 - 允许用户为书签添加备注文字
      * 
      * @param note 书签备注（可选）
-     * @param position 当前阅读位置
+     * @param position 当前章节内字符偏移
      * @return 是否添加成功
      */
     public void addBookmark(String note, int position) {
@@ -1086,17 +1259,28 @@ public class ReaderViewModel extends ViewModel {
      */
     public void jumpToBookmark(Bookmark bookmark) {
         if (bookmark == null) return;
-        
+        jumpToPosition(bookmark.getChapterId(), bookmark.getPosition());
+    }
+
+    /**
+     * 跳转到指定章节的指定字符偏移
+     * 书签、搜索结果和返回搜索前位置共用
+     * 
+     * @param chapterId 章节ID
+     * @param position 章节内字符偏移
+     */
+    public void jumpToPosition(long chapterId, int position) {
         ReaderUiState currentState = _uiState.getValue();
+        int target = Math.max(0, position);
         
         // 检查是否在同一章节
         if (currentState != null && currentState.getCurrentChapter() != null 
-                && currentState.getCurrentChapter().getId() == bookmark.getChapterId()) {
+                && currentState.getCurrentChapter().getId() == chapterId) {
             // 同一章节，直接设置跳转位置，不需要重新加载章节
-            updateState(state -> state.setJumpToPosition(bookmark.getPosition()));
+            updateState(state -> state.setJumpToPosition(target));
         } else {
-            // 不同章节，加载书签对应的章节，并传递跳转位置
-            loadChapter(bookmark.getChapterId(), bookmark.getPosition());
+            // 不同章节，加载对应的章节，并传递跳转位置
+            loadChapter(chapterId, target);
         }
     }
 
@@ -1121,6 +1305,78 @@ public class ReaderViewModel extends ViewModel {
         updateState(state -> state.setJumpToPosition(-1));
     }
 
+    // ==================== 章节摘要 ====================
+
+    /**
+     * 生成当前章节的摘要
+     * 
+     * 以流式输出接收摘要，每收到一段文本就更新 summaryText，界面随之逐步显示；
+     * 同一章节的摘要已生成或正在生成时不会重复请求
+     */
+    public void generateChapterSummary() {
+        ReaderUiState currentState = _uiState.getValue();
+        if (currentState == null || currentState.getCurrentChapter() == null) {
+            return;
+        }
+        Chapter chapter = currentState.getCurrentChapter();
+        if (currentState.getSummaryChapterId() == chapter.getId() && currentState.getSummaryError() == null
+                && (currentState.isSummaryLoading() || !currentState.getSummaryText().isEmpty())) {
+            return;
+        }
+
+        cancelSummaryRequest();
+        updateState(state -> {
+            state.setSummaryChapterId(chapter.getId());
+            state.setSummaryText("");
+            state.setSummaryLoading(true);
+            state.setSummaryError(null);
+        });
+
+        // 每次更新都写入完整文本，丢失的中间状态会被后续更新覆盖
+        StringBuilder summary = new StringBuilder();
+        summaryDisposable = aiServiceRepository.streamSummary(chapter)
+                .observeOn(AndroidSchedulers.mainThread())
+                .subscribe(
+                        chunk -> {
+                            summary.append(chunk);
+                            String text = summary.toString();
+                            updateState(state -> state.setSummaryText(text));
+                        },
+                        error -> updateState(state -> {
+                            state.setSummaryLoading(false);
+                            state.setSummaryError(error.getMessage() != null ? error.getMessage() : "摘要生成失败");
+                        }),
+                        () -> {
+                            String text = summary.toString();
+                            updateState(state -> {
+                                state.setSummaryText(text);
+                                state.setSummaryLoading(false);
+                            });
+                        });
+    }
+
+    /**
+     * 取消正在进行的摘要生成（关闭摘要窗口时调用），已收到的部分不保存
+     */
+    public void cancelChapterSummary() {
+        if (summaryDisposable == null || summaryDisposable.isDisposed()) {
+            return;
+        }
+        cancelSummaryRequest();
+        updateState(state -> {
+            state.setSummaryChapterId(-1);
+            state.setSummaryText("");
+            state.setSummaryLoading(false);
+        });
+    }
+
+    private void cancelSummaryRequest() {
+        if (summaryDisposable != null) {
+            summaryDisposable.dispose();
+            summaryDisposable = null;
+        }
+    }
+
     @Override
     protected void onCleared() {
         super.onCleared();
@@ -1136,6 +1392,9 @@ public class ReaderViewModel extends ViewModel {
             ttsRepository.getTTSState().removeObserver(ttsStateObserver);
         }
         
+        // 断开摘要请求
+        cancelSummaryRequest();
+        
         // 关闭线程池
         executorService.shutdown();
     }
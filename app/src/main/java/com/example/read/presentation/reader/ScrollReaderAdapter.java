@@ -0,0 +1,358 @@
+package com.example.read.presentation.reader;
+
+import android.graphics.Typeface;
+import android.util.LruCache;
+import android.util.TypedValue;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+
+import androidx.annotation.NonNull;
+import androidx.appcompat.widget.AppCompatTextView;
+import androidx.core.text.PrecomputedTextCompat;
+import androidx.core.widget.TextViewCompat;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.example.read.R;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * 上下滚动模式适配器 - 将若干相邻章节按"标题 + 段落块"展开为列表项
+ *
+ * 每个章节由 {@link ParagraphChunker} 切成若干段落块，只有屏幕附近的块会被排版；
+ * 正文块使用 PrecomputedText 在后台线程完成文字测量，主线程只做最终布局。
+ * 阅读器在滚动时向两端追加/移除相邻章节，实现跨章节连续滚动。
+ */
+public class ScrollReaderAdapter extends RecyclerView.Adapter<ScrollReaderAdapter.ItemViewHolder> {
+
+    static final int TYPE_TITLE = 0;
+    static final int TYPE_TEXT = 1;
+
+    // 已测量的段落块缓存数量（约为前后各几屏）
+    private static final int PRECOMPUTED_CACHE_SIZE = 48;
+
+    /**
+     * 列表中的一个章节
+     */
+    private static final class ChapterBlock {
+        final long chapterId;
+        final String title;
+        final String content;
+        final ParagraphChunker.Chunks chunks;
+        final long cacheKey;  // 段落块缓存键的高位，每次加入列表时分配
+
+        ChapterBlock(long chapterId, String title, String content, long cacheKey) {
+            this.chapterId = chapterId;
+            this.title = title != null ? title : "";
+            this.content = content != null ? content : "";
+            this.chunks = ParagraphChunker.split(this.content);
+            this.cacheKey = cacheKey;
+        }
+
+        int itemCount() {
+            return 1 + chunks.size();
+        }
+    }
+
+    private final List<ChapterBlock> blocks = new ArrayList<>();
+    private long nextCacheKey = 1;
+
+    // 后台测量线程
+    private final ExecutorService layoutExecutor = Executors.newSingleThreadExecutor();
+    private final LruCache<Long, Future<PrecomputedTextCompat>> precomputedCache =
+            new LruCache<>(PRECOMPUTED_CACHE_SIZE);
+
+    // 显示设置
+    private float fontSize = 18f;
+    private float lineSpacing = 1.5f;
+    private Typeface typeface = Typeface.DEFAULT;
+    private int textColor = 0xFF333333;
+    private int chapterGap = 0;  // 非首个章节标题上方的间距（px）
+
+    @Override
+    public int getItemViewType(int position) {
+        return chunkIndexAt(position) < 0 ? TYPE_TITLE : TYPE_TEXT;
+    }
+
+    @NonNull
+    @Override
+    public ItemViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        int layout = viewType == TYPE_TITLE ? R.layout.item_scroll_title : R.layout.item_scroll_text;
+        View view = LayoutInflater.from(parent.getContext()).inflate(layout, parent, false);
+        if (chapterGap == 0) {
+            chapterGap = (int) TypedValue.applyDimension(TypedValue.COMPLEX_UNIT_DIP, 48,
+                    parent.getResources().getDisplayMetrics());
+        }
+        return new ItemViewHolder(view);
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull ItemViewHolder holder, int position, @NonNull List<Object> payloads) {
+        if (!payloads.isEmpty() && payloads.contains(PAYLOAD_TEXT_COLOR)) {
+            // 只改颜色，不需要重新测量
+            holder.textView.setTextColor(textColor);
+            return;
+        }
+        onBindViewHolder(holder, position);
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull ItemViewHolder holder, int position) {
+        ChapterBlock block = blockAt(position);
+        int chunkIndex = chunkIndexAt(position);
+        AppCompatTextView textView = holder.textView;
+        textView.setTextColor(textColor);
+
+        if (chunkIndex < 0) {
+            textView.setTextSize(TypedValue.COMPLEX_UNIT_SP, fontSize + 2);
+            textView.setTypeface(typeface, Typeface.BOLD);
+            textView.setPadding(0, position == 0 ? 0 : chapterGap, 0, 0);
+            textView.setText(block.title);
+            return;
+        }
+
+        textView.setTextSize(TypedValue.COMPLEX_UNIT_SP, fontSize);
+        textView.setLineSpacing(0, lineSpacing);
+        textView.setTypeface(typeface);
+
+        long key = (block.cacheKey << 32) | chunkIndex;
+        Future<PrecomputedTextCompat> future = precomputedCache.get(key);
+        if (future == null) {
+            String text = block.content.substring(block.chunks.getStart(chunkIndex), block.chunks.getEnd(chunkIndex));
+            future = PrecomputedTextCompat.getTextFuture(text,
+                    TextViewCompat.getTextMetricsParams(textView), layoutExecutor);
+            precomputedCache.put(key, future);
+        }
+        // 测量在后台进行，布局时若尚未完成才会等待
+        textView.setTextFuture(future);
+    }
+
+    @Override
+    public int getItemCount() {
+        int count = 0;
+        for (ChapterBlock block : blocks) {
+            count += block.itemCount();
+        }
+        return count;
+    }
+
+    // ==================== 章节管理 ====================
+
+    /**
+     * 只显示指定章节（跳转章节时使用）
+     */
+    public void setChapter(long chapterId, String title, String content) {
+        blocks.clear();
+        precomputedCache.evictAll();
+        blocks.add(new ChapterBlock(chapterId, title, content, nextCacheKey++));
+        notifyDataSetChanged();
+    }
+
+    /**
+     * 在末尾追加章节（下一章）
+     */
+    public void appendChapter(long chapterId, String title, String content) {
+        int start = getItemCount();
+        ChapterBlock block = new ChapterBlock(chapterId, title, content, nextCacheKey++);
+        blocks.add(block);
+        notifyItemRangeInserted(start, block.itemCount());
+    }
+
+    /**
+     * 在开头插入章节（上一章），当前可见内容位置保持不变
+     */
+    public void prependChapter(long chapterId, String title, String content) {
+        ChapterBlock block = new ChapterBlock(chapterId, title, content, nextCacheKey++);
+        blocks.add(0, block);
+        notifyItemRangeInserted(0, block.itemCount());
+        // 原首章标题上方需要加上章节间距
+        notifyItemChanged(block.itemCount());
+    }
+
+    /**
+     * 移除指定章节
+     */
+    public void removeChapter(long chapterId) {
+        int start = 0;
+        for (int i = 0; i < blocks.size(); i++) {
+            ChapterBlock block = blocks.get(i);
+            if (block.chapterId == chapterId) {
+                blocks.remove(i);
+                notifyItemRangeRemoved(start, block.itemCount());
+                if (i == 0 && !blocks.isEmpty()) {
+                    notifyItemChanged(0);
+                }
+                return;
+            }
+            start += block.itemCount();
+        }
+    }
+
+    /**
+     * 判断列表中的章节正文是否与给定正文相同（屏蔽词刷新后需要重建）
+     */
+    public boolean hasSameContent(long chapterId, String content) {
+        int index = indexOfChapter(chapterId);
+        return index >= 0 && blocks.get(index).content.equals(content != null ? content : "");
+    }
+
+    /**
+     * 获取列表中的所有章节ID（从上到下）
+     */
+    public List<Long> getChapterIds() {
+        List<Long> ids = new ArrayList<>(blocks.size());
+        for (ChapterBlock block : blocks) {
+            ids.add(block.chapterId);
+        }
+        return ids;
+    }
+
+    public long getFirstChapterId() {
+        return blocks.isEmpty() ? -1 : blocks.get(0).chapterId;
+    }
+
+    public long getLastChapterId() {
+        return blocks.isEmpty() ? -1 : blocks.get(blocks.size() - 1).chapterId;
+    }
+
+    // ==================== 位置换算 ====================
+
+    /**
+     * 获取列表项所属章节ID
+     */
+    public long getChapterIdAt(int position) {
+        ChapterBlock block = blockAt(position);
+        return block != null ? block.chapterId : -1;
+    }
+
+    /**
+     * 获取列表项在章节正文中的起始字符偏移，标题项返回0
+     */
+    public int getChunkStartAt(int position) {
+        ChapterBlock block = blockAt(position);
+        int chunkIndex = chunkIndexAt(position);
+        if (block == null || chunkIndex < 0) {
+            return 0;
+        }
+        return block.chunks.getStart(chunkIndex);
+    }
+
+    public boolean isTextItem(int position) {
+        return blockAt(position) != null && chunkIndexAt(position) >= 0;
+    }
+
+    /**
+     * 将（章节ID，字符偏移）换算为列表位置，偏移为0时定位到章节标题
+     * @return 列表位置，章节不在列表中时返回 RecyclerView.NO_POSITION
+     */
+    public int getPositionForOffset(long chapterId, int offset) {
+        int start = 0;
+        for (ChapterBlock block : blocks) {
+            if (block.chapterId == chapterId) {
+                if (offset <= 0 || block.chunks.size() == 0) {
+                    return start;
+                }
+                return start + 1 + block.chunks.indexOfOffset(offset);
+            }
+            start += block.itemCount();
+        }
+        return RecyclerView.NO_POSITION;
+    }
+
+    private int indexOfChapter(long chapterId) {
+        for (int i = 0; i < blocks.size(); i++) {
+            if (blocks.get(i).chapterId == chapterId) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private ChapterBlock blockAt(int position) {
+        int start = 0;
+        for (ChapterBlock block : blocks) {
+            int count = block.itemCount();
+            if (position < start + count) {
+                return position >= start ? block : null;
+            }
+            start += count;
+        }
+        return null;
+    }
+
+    /**
+     * 列表项在章节内的段落块序号，标题项返回-1
+     */
+    private int chunkIndexAt(int position) {
+        int start = 0;
+        for (ChapterBlock block : blocks) {
+            int count = block.itemCount();
+            if (position < start + count) {
+                return position - start - 1;
+            }
+            start += count;
+        }
+        return -1;
+    }
+
+    // ==================== 显示设置 ====================
+
+    private static final Object PAYLOAD_TEXT_COLOR = new Object();
+
+    /**
+     * 判断文字样式是否与当前一致
+     */
+    public boolean isSameTextStyle(float fontSize, float lineSpacing, Typeface typeface) {
+        Typeface newTypeface = typeface != null ? typeface : Typeface.DEFAULT;
+        return this.fontSize == fontSize && this.lineSpacing == lineSpacing && this.typeface.equals(newTypeface);
+    }
+
+    /**
+     * 设置影响排版的文字样式，已测量的段落全部失效并重新排版
+     */
+    public void setTextStyle(float fontSize, float lineSpacing, Typeface typeface) {
+        if (isSameTextStyle(fontSize, lineSpacing, typeface)) {
+            return;
+        }
+        this.fontSize = fontSize;
+        this.lineSpacing = lineSpacing;
+        this.typeface = typeface != null ? typeface : Typeface.DEFAULT;
+        precomputedCache.evictAll();
+        notifyItemRangeChanged(0, getItemCount());
+    }
+
+    /**
+     * 设置文本颜色
+     */
+    public void setTextColor(int color) {
+        if (this.textColor != color) {
+            this.textColor = color;
+            notifyItemRangeChanged(0, getItemCount(), PAYLOAD_TEXT_COLOR);
+        }
+    }
+
+    /**
+     * 释放后台测量线程，在Activity销毁时调用
+     */
+    public void release() {
+        layoutExecutor.shutdownNow();
+        precomputedCache.evictAll();
+    }
+
+    /**
+     * ViewHolder
+     */
+    static class ItemViewHolder extends RecyclerView.ViewHolder {
+        final AppCompatTextView textView;
+
+        ItemViewHolder(@NonNull View itemView) {
+            super(itemView);
+            textView = (AppCompatTextView) itemView;
+        }
+    }
+}
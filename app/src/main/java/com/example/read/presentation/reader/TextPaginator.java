@@ -4,13 +4,18 @@ import android.text.Layout;
 import android.text.StaticLayout;
 import android.text.TextPaint;
 
+import com.example.read.utils.Metrics;
+
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
  * 文本分页器 - 将长文本分割成多个页面
  * 
- * 根据可用空间、字体大小、行间距计算每页可显示的文本
+ * 根据可用空间、字体大小、行间距计算每页可显示的文本。
+ * 每页记录其在原文（未加缩进）中的起止偏移，阅读位置统一用章节内字符偏移表示，
+ * 通过 {@link #findPageIndex(List, int)} 二分查找对应页码。
  */
 public class TextPaginator {
 
@@ -19,15 +24,24 @@ public class TextPaginator {
      */
     public static class PageInfo {
         private final String content;      // 页面内容
-        private final int startIndex;      // 在原文中的起始位置
-        private final int endIndex;        // 在原文中的结束位置
+        private final int startIndex;      // 在缩进后文本中的起始位置
+        private final int endIndex;        // 在缩进后文本中的结束位置
+        private final int sourceStart;     // 在章节原文中的起始字符偏移
+        private final int sourceEnd;       // 在章节原文中的结束字符偏移
         private final int pageNumber;      // 页码（从1开始）
         private final boolean isFirstPage; // 是否是章节第一页
 
         public PageInfo(String content, int startIndex, int endIndex, int pageNumber, boolean isFirstPage) {
+            this(content, startIndex, endIndex, startIndex, endIndex, pageNumber, isFirstPage);
+        }
+
+        public PageInfo(String content, int startIndex, int endIndex, int sourceStart, int sourceEnd,
+                        int pageNumber, boolean isFirstPage) {
             this.content = content;
             this.startIndex = startIndex;
             this.endIndex = endIndex;
+            this.sourceStart = sourceStart;
+            this.sourceEnd = sourceEnd;
             this.pageNumber = pageNumber;
             this.isFirstPage = isFirstPage;
         }
@@ -35,6 +49,8 @@ public class TextPaginator {
         public String getContent() { return content; }
         public int getStartIndex() { return startIndex; }
         public int getEndIndex() { return endIndex; }
+        public int getSourceStart() { return sourceStart; }
+        public int getSourceEnd() { return sourceEnd; }
         public int getPageNumber() { return pageNumber; }
         public boolean isFirstPage() { return isFirstPage; }
     }
@@ -59,8 +75,21 @@ public class TextPaginator {
             return pages;
         }
         
-        // 先为文本添加首行缩进
-        String indentedText = addFirstLineIndent(text);
+        long startTime = Metrics.begin(Metrics.READER_PAGINATE);
+        try {
+            paginateInto(pages, text, textPaint, width, height, lineSpacing, titleHeight);
+        } finally {
+            Metrics.end(Metrics.READER_PAGINATE, startTime);
+        }
+        Metrics.setGauge(Metrics.GAUGE_LAST_PAGE_COUNT, pages.size());
+        return pages;
+    }
+
+    private static void paginateInto(List<PageInfo> pages, String text, TextPaint textPaint,
+            int width, int height, float lineSpacing, int titleHeight) {
+        // 先为文本添加首行缩进，并记录缩进位置用于换算原文偏移
+        IndentedText indented = addFirstLineIndent(text);
+        String indentedText = indented.text;
 
         int textLength = indentedText.length();
         int startIndex = 0;
@@ -78,45 +107,117 @@ public class TextPaginator {
             String pageContent = indentedText.substring(startIndex, endIndex);
             
             // 创建页面信息
-            pages.add(new PageInfo(pageContent, startIndex, endIndex, pageNumber, isFirstPage));
+            pages.add(new PageInfo(pageContent, startIndex, endIndex,
+                    indented.toSourceIndex(startIndex), indented.toSourceIndex(endIndex),
+                    pageNumber, isFirstPage));
             
             // 移动到下一页
             startIndex = endIndex;
             pageNumber++;
             isFirstPage = false;
         }
-
-        return pages;
     }
     
+    /**
+     * 查找包含指定字符偏移的页（二分查找）
+     * 
+     * @param pages 分页结果
+     * @param charOffset 章节原文中的字符偏移，超出末尾时返回最后一页
+     * @return 页码索引（从0开始），没有页面时返回0
+     */
+    public static int findPageIndex(List<PageInfo> pages, int charOffset) {
+        if (pages == null || pages.isEmpty()) {
+            return 0;
+        }
+        int low = 0;
+        int high = pages.size() - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (pages.get(mid).getSourceStart() <= charOffset) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * 添加缩进后的文本及缩进位置
+     */
+    static final class IndentedText {
+        static final int INDENT_LENGTH = 2;
+
+        final String text;
+        final int[] indentStarts;  // 每处缩进在缩进后文本中的起始位置（递增）
+        final int indentCount;
+
+        IndentedText(String text, int[] indentStarts, int indentCount) {
+            this.text = text;
+            this.indentStarts = indentStarts;
+            this.indentCount = indentCount;
+        }
+
+        /**
+         * 将缩进后文本中的位置换算为原文偏移
+         */
+        int toSourceIndex(int index) {
+            // 二分查找起始位置小于 index 的缩进数量
+            int low = 0;
+            int high = indentCount;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (indentStarts[mid] < index) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            if (low == 0) {
+                return index;
+            }
+            // 最后一处缩进可能只越过了一部分
+            int inserted = (low - 1) * INDENT_LENGTH
+                    + Math.min(INDENT_LENGTH, index - indentStarts[low - 1]);
+            return index - inserted;
+        }
+    }
+
     /**
      * 为文本添加首行缩进
      * 每个段落的首行缩进两个中文字符宽度
      */
-    private static String addFirstLineIndent(String text) {
-        if (text == null || text.isEmpty()) {
-            return text;
-        }
-        
+    static IndentedText addFirstLineIndent(String text) {
         // 使用全角空格（\u3000）来实现精确的两字符缩进
         String indent = "\u3000\u3000"; // 两个全角空格
         
-        StringBuilder result = new StringBuilder();
-        String[] lines = text.split("\n", -1);
+        StringBuilder result = new StringBuilder(text.length() + text.length() / 16);
+        int[] indentStarts = new int[16];
+        int indentCount = 0;
         
-        for (int i = 0; i < lines.length; i++) {
-            String line = lines[i];
+        int lineStart = 0;
+        int length = text.length();
+        while (lineStart <= length) {
+            int lineEnd = text.indexOf('\n', lineStart);
+            if (lineEnd < 0) {
+                lineEnd = length;
+            }
             // 如果行不为空且不是以空格开头，添加缩进
-            if (!line.isEmpty() && !line.startsWith(" ") && !line.startsWith("\u3000")) {
+            if (lineEnd > lineStart && text.charAt(lineStart) != ' ' && text.charAt(lineStart) != '\u3000') {
+                if (indentCount == indentStarts.length) {
+                    indentStarts = Arrays.copyOf(indentStarts, indentCount * 2);
+                }
+                indentStarts[indentCount++] = result.length();
                 result.append(indent);
             }
-            result.append(line);
-            if (i < lines.length - 1) {
-                result.append("\n");
+            result.append(text, lineStart, lineEnd);
+            if (lineEnd < length) {
+                result.append('\n');
             }
+            lineStart = lineEnd + 1;
         }
         
-        return result.toString();
+        return new IndentedText(result.toString(), indentStarts, indentCount);
     }
 
     /**
@@ -13,7 +13,6 @@ import com.example.read.domain.repository.StatisticsRepository;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Date;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -85,8 +84,8 @@ public class StatisticsViewModel extends ViewModel {
                     // 获取小说排行
                     List<NovelReadingStats> ranking = statisticsRepository.getMostReadNovels(period, RANKING_LIMIT);
 
-                    // 计算时段分布
-                    Map<Integer, Long> hourDistribution = calculateHourDistribution(statistics);
+                    // 时段分布
+                    Map<Integer, Long> hourDistribution = statisticsRepository.getHourDistribution(period);
 
                     // 准备图表数据
                     List<StatisticsUiState.ChartEntry> durationChartData = prepareDurationChartData(statistics, period);
@@ -159,37 +158,6 @@ public class StatisticsViewModel extends ViewModel {
         loadStatistics(period);
     }
 
-    /**
-     * 计算时段分布
-     * 验证需求：12.4 - 展示最常阅读的时间段分布
-     */
-    private Map<Integer, Long> calculateHourDistribution(List<ReadingStatistics> statistics) {
-        Map<Integer, Long> distribution = new HashMap<>();
-        
-        // 初始化所有时段为0
-        for (int i = 0; i < 24; i++) {
-            distribution.put(i, 0L);
-        }
-        
-        if (statistics == null || statistics.isEmpty()) {
-            return distribution;
-        }
-        
-        // 累加每个时段的阅读时长
-        for (ReadingStatistics stat : statistics) {
-            Map<Integer, Long> hourDist = stat.getHourDistribution();
-            if (hourDist != null) {
-                for (Map.Entry<Integer, Long> entry : hourDist.entrySet()) {
-                    int hour = entry.getKey();
-                    long duration = entry.getValue();
-                    distribution.merge(hour, duration, Long::sum);
-                }
-            }
-        }
-        
-        return distribution;
-    }
-
     /**
      * 准备每日阅读时长图表数据
      * 验证需求：12.3 - 展示每日阅读时长的图表
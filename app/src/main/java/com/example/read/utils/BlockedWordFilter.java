@@ -0,0 +1,45 @@
+package com.example.read.utils;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 屏蔽词过滤工具类 - 将文本中的屏蔽词替换为等长的星号
+ * 屏蔽词按给定顺序依次替换
+ */
+public class BlockedWordFilter {
+
+    private static final char MASK = '*';
+
+    /**
+     * 应用屏蔽词
+     * @return 替换后的文本，没有需要替换的内容时返回原文本
+     */
+    public static String apply(String text, List<String> blockedWords) {
+        if (text == null || text.isEmpty()) {
+            return text;
+        }
+        
+        if (blockedWords == null || blockedWords.isEmpty()) {
+            return text;
+        }
+        
+        String result = text;
+        for (String word : blockedWords) {
+            if (word != null && !word.isEmpty()) {
+                result = result.replace(word, mask(word.length()));
+            }
+        }
+        
+        return result;
+    }
+
+    /**
+     * 生成指定长度的星号字符串
+     */
+    private static String mask(int length) {
+        char[] chars = new char[length];
+        Arrays.fill(chars, MASK);
+        return new String(chars);
+    }
+}
@@ -0,0 +1,381 @@
+package com.example.read.utils;
+
+/**
+ * 章节标题识别器
+ * 逐字符匹配"第X章/卷"、"Chapter X"、"X、"等标题格式，并把中文数字转换为整数。
+ * 匹配过程不创建任何对象，可安全地在多线程中共享同一实例；
+ * 识别结果写入调用方提供的 {@link Match} 中，调用方可在循环中复用。
+ *
+ * TXT导入时用于切分章节，网站解析时用于规范化目录顺序。
+ */
+public final class ChapterHeadingRecognizer {
+
+    /** 卷级标题（卷、集、部、篇） */
+    public static final int LEVEL_VOLUME = 0;
+    /** 章级标题（章、节、回、Chapter、数字编号） */
+    public static final int LEVEL_CHAPTER = 1;
+
+    /** 超过 int 范围的编号统一截断为该值 */
+    private static final int MAX_NUMBER = Integer.MAX_VALUE;
+
+    private static final ChapterHeadingRecognizer DEFAULT = builder().build();
+
+    private final String volumeUnits;
+    private final String chapterUnits;
+    private final char[][] englishKeywords;
+    private final boolean numericPrefix;
+    private final int maxNumericDigits;
+    private final int maxTitleLength;
+
+    private ChapterHeadingRecognizer(Builder builder) {
+        this.volumeUnits = builder.volumeUnits;
+        this.chapterUnits = builder.chapterUnits;
+        this.englishKeywords = new char[builder.englishKeywords.length][];
+        for (int i = 0; i < builder.englishKeywords.length; i++) {
+            this.englishKeywords[i] = builder.englishKeywords[i].toLowerCase().toCharArray();
+        }
+        this.numericPrefix = builder.numericPrefix;
+        this.maxNumericDigits = builder.maxNumericDigits;
+        this.maxTitleLength = builder.maxTitleLength;
+    }
+
+    /**
+     * 获取默认配置的识别器
+     * 支持 第X章/节/回/卷/集/部/篇、Chapter X、X、/X. 三种格式，标题最长50字
+     */
+    public static ChapterHeadingRecognizer getDefault() {
+        return DEFAULT;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * 判断一行文本是否为章节标题
+     * @param line 待识别的行（可带首尾空白，包括TXT中常见的全角空格缩进）
+     * @param match 识别结果，仅在返回true时有效
+     * @return 是否为章节标题
+     */
+    public boolean recognize(CharSequence line, Match match) {
+        if (line == null) {
+            return false;
+        }
+
+        // 计算去除首尾空白后的范围
+        int start = 0;
+        int end = line.length();
+        while (start < end && isBlank(line.charAt(start))) start++;
+        while (end > start && isBlank(line.charAt(end - 1))) end--;
+
+        if (start == end || end - start > maxTitleLength) {
+            return false;
+        }
+
+        if (matchChinese(line, start, end, match)
+                || matchEnglish(line, start, end, match)
+                || matchNumeric(line, start, end, match)) {
+            match.start = start;
+            match.end = end;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * 提取章节编号，不是章节标题时返回-1
+     */
+    public int extractNumber(CharSequence line, Match match) {
+        return recognize(line, match) ? match.number : -1;
+    }
+
+    /**
+     * 匹配"第X章"格式，卷级标题后紧跟章级标题时（如"第一卷 第三章"）以章为准
+     */
+    private boolean matchChinese(CharSequence s, int pos, int end, Match match) {
+        int next = matchChineseAt(s, pos, end, match);
+        if (next < 0) {
+            return false;
+        }
+        if (match.level == LEVEL_VOLUME) {
+            int volumeNumber = match.number;
+            while (next < end && isBlank(s.charAt(next))) next++;
+            if (matchChineseAt(s, next, end, match) < 0 || match.level != LEVEL_CHAPTER) {
+                match.number = volumeNumber;
+                match.level = LEVEL_VOLUME;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 从指定位置匹配"第X单位"，成功返回单位之后的位置，失败返回-1
+     */
+    private int matchChineseAt(CharSequence s, int pos, int end, Match match) {
+        if (pos >= end || s.charAt(pos) != '第') {
+            return -1;
+        }
+        int numberStart = pos + 1;
+        int i = numberStart;
+        while (i < end && numeralValue(s.charAt(i)) != NOT_NUMERAL) i++;
+        if (i == numberStart || i >= end) {
+            return -1;
+        }
+
+        char unit = s.charAt(i);
+        int level;
+        if (chapterUnits.indexOf(unit) >= 0) {
+            level = LEVEL_CHAPTER;
+        } else if (volumeUnits.indexOf(unit) >= 0) {
+            level = LEVEL_VOLUME;
+        } else {
+            return -1;
+        }
+
+        match.number = parseNumeral(s, numberStart, i);
+        match.level = level;
+        return i + 1;
+    }
+
+    /**
+     * 匹配"Chapter X"格式（不区分大小写，关键字与数字间可有空白）
+     */
+    private boolean matchEnglish(CharSequence s, int pos, int end, Match match) {
+        for (char[] keyword : englishKeywords) {
+            int i = pos;
+            int k = 0;
+            while (k < keyword.length && i < end
+                    && Character.toLowerCase(s.charAt(i)) == keyword[k]) {
+                i++;
+                k++;
+            }
+            if (k < keyword.length) {
+                continue;
+            }
+            while (i < end && isWhitespace(s.charAt(i))) i++;
+            int digitStart = i;
+            while (i < end && isAsciiDigit(s.charAt(i))) i++;
+            if (i > digitStart) {
+                match.number = parseNumeral(s, digitStart, i);
+                match.level = LEVEL_CHAPTER;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 匹配"12、"、"12."、"12．"格式
+     */
+    private boolean matchNumeric(CharSequence s, int pos, int end, Match match) {
+        if (!numericPrefix) {
+            return false;
+        }
+        int i = pos;
+        while (i < end && isAsciiDigit(s.charAt(i))) i++;
+        int digits = i - pos;
+        if (digits == 0 || digits > maxNumericDigits || i >= end) {
+            return false;
+        }
+        char separator = s.charAt(i);
+        if (separator != '、' && separator != '.' && separator != '．') {
+            return false;
+        }
+        match.number = parseNumeral(s, pos, i);
+        match.level = LEVEL_CHAPTER;
+        return true;
+    }
+
+    private static final int NOT_NUMERAL = -1;
+    private static final int UNIT_TEN = -10;
+    private static final int UNIT_HUNDRED = -100;
+    private static final int UNIT_THOUSAND = -1000;
+    private static final int UNIT_TEN_THOUSAND = -10000;
+    private static final int UNIT_HUNDRED_MILLION = -100000000;
+
+    /**
+     * 数字字符查表：0-9 返回数值，单位字符返回负的单位值，其余返回 NOT_NUMERAL
+     */
+    static int numeralValue(char c) {
+        if (c >= '0' && c <= '9') return c - '0';
+        if (c >= '０' && c <= '９') return c - '０';
+        switch (c) {
+            case '零': case '〇': return 0;
+            case '一': case '壹': return 1;
+            case '二': case '两': case '贰': return 2;
+            case '三': case '叁': return 3;
+            case '四': case '肆': return 4;
+            case '五': case '伍': return 5;
+            case '六': case '陆': return 6;
+            case '七': case '柒': return 7;
+            case '八': case '捌': return 8;
+            case '九': case '玖': return 9;
+            case '十': case '拾': return UNIT_TEN;
+            case '百': case '佰': return UNIT_HUNDRED;
+            case '千': case '仟': return UNIT_THOUSAND;
+            case '万': return UNIT_TEN_THOUSAND;
+            case '亿': return UNIT_HUNDRED_MILLION;
+            default: return NOT_NUMERAL;
+        }
+    }
+
+    /**
+     * 将数字串转换为整数，支持阿拉伯数字、中文数字及其混写
+     * 例如："八百五十五" -> 855，"十二" -> 12，"一〇二四" -> 1024，"1百" -> 100，
+     * 单位后省略的末位按低一级单位计："一千二" -> 1200，"一万五" -> 15000，"一千零二" -> 1002
+     */
+    public static int parseNumeral(CharSequence s, int start, int end) {
+        long total = 0;    // 万、亿以上的部分
+        long section = 0;  // 万以内已确定的部分
+        long digit = 0;    // 尚未遇到单位的数字
+        boolean lastWasDigit = false;
+        long lastUnit = 0;      // 最近一个单位的值
+        long digitUnit = 0;     // 当前数字串紧跟的单位，数字串不在单位之后时为0
+        int digitCount = 0;     // 当前数字串的位数
+
+        for (int i = start; i < end; i++) {
+            int value = numeralValue(s.charAt(i));
+            if (value >= 0) {
+                // 连续数字按十进制拼接（如"一二三"、"2024"）
+                if (lastWasDigit) {
+                    digit = digit * 10 + value;
+                    digitCount++;
+                } else {
+                    digit = value;
+                    digitCount = 1;
+                    digitUnit = lastUnit;
+                }
+                lastWasDigit = true;
+            } else if (value == UNIT_TEN_THOUSAND) {
+                total += (section + digit) * -value;
+                section = 0;
+                digit = 0;
+                lastWasDigit = false;
+                lastUnit = -value;
+            } else if (value == UNIT_HUNDRED_MILLION) {
+                total = (total + section + digit) * -value;
+                section = 0;
+                digit = 0;
+                lastWasDigit = false;
+                lastUnit = -value;
+            } else if (value != NOT_NUMERAL) {
+                // "十二"中的"十"前面没有数字，按一十处理
+                if (digit == 0 && !lastWasDigit) {
+                    digit = 1;
+                }
+                section += digit * -value;
+                digit = 0;
+                lastWasDigit = false;
+                lastUnit = -value;
+            } else {
+                break;
+            }
+            if (total > MAX_NUMBER || section > MAX_NUMBER || digit > MAX_NUMBER) {
+                return MAX_NUMBER;
+            }
+        }
+
+        // 以单个数字结尾且紧跟在单位之后（中间没有"零"）时，该数字属于低一级单位
+        if (lastWasDigit && digitCount == 1 && digitUnit >= 10) {
+            digit *= digitUnit / 10;
+        }
+
+        long result = total + section + digit;
+        return result > MAX_NUMBER ? MAX_NUMBER : (int) result;
+    }
+
+    private static boolean isAsciiDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    /**
+     * 标题首尾可去除的空白：String.trim() 去除的控制字符和空格，以及全角空格、不换行空格
+     */
+    private static boolean isBlank(char c) {
+        return c <= ' ' || c == '\u3000' || c == '\u00A0';
+    }
+
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+
+    /**
+     * 识别结果，调用方可复用同一个实例
+     */
+    public static final class Match {
+        int number;
+        int level;
+        int start;
+        int end;
+
+        /** 章节编号 */
+        public int getNumber() { return number; }
+        /** 标题级别：LEVEL_VOLUME 或 LEVEL_CHAPTER */
+        public int getLevel() { return level; }
+        /** 去除首尾空白后标题的起始位置 */
+        public int getStart() { return start; }
+        /** 去除首尾空白后标题的结束位置（不含） */
+        public int getEnd() { return end; }
+
+        /**
+         * 判断与另一结果是否为同一标题编号（级别和编号都相同）
+         */
+        public boolean isSameHeading(int otherNumber, int otherLevel) {
+            return number == otherNumber && level == otherLevel;
+        }
+    }
+
+    /**
+     * 识别器配置
+     */
+    public static final class Builder {
+        private String volumeUnits = "卷集部篇";
+        private String chapterUnits = "章节回";
+        private String[] englishKeywords = {"chapter"};
+        private boolean numericPrefix = true;
+        private int maxNumericDigits = 5;
+        private int maxTitleLength = 50;
+
+        private Builder() {}
+
+        /** 卷级单位字符，如"卷集部篇" */
+        public Builder volumeUnits(String units) {
+            this.volumeUnits = units != null ? units : "";
+            return this;
+        }
+
+        /** 章级单位字符，如"章节回" */
+        public Builder chapterUnits(String units) {
+            this.chapterUnits = units != null ? units : "";
+            return this;
+        }
+
+        /** 英文标题关键字，不区分大小写，为空则不识别英文标题 */
+        public Builder englishKeywords(String... keywords) {
+            this.englishKeywords = keywords != null ? keywords : new String[0];
+            return this;
+        }
+
+        /** 是否识别"12、"这类纯数字编号 */
+        public Builder numericPrefix(boolean enabled) {
+            this.numericPrefix = enabled;
+            return this;
+        }
+
+        /** 纯数字编号的最大位数 */
+        public Builder maxNumericDigits(int digits) {
+            this.maxNumericDigits = digits;
+            return this;
+        }
+
+        /** 标题最大长度，超过则视为正文 */
+        public Builder maxTitleLength(int length) {
+            this.maxTitleLength = length;
+            return this;
+        }
+
+        public ChapterHeadingRecognizer build() {
+            return new ChapterHeadingRecognizer(this);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.read.utils;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 章节标题检索索引 - 预先计算每个标题的小写原文、拼音全拼和拼音首字母
+ *
+ * 构建时对每个标题转换一次拼音，之后每次按关键词过滤只做字符串包含匹配。
+ * 几千章的目录逐字输入搜索时不再反复转换拼音。
+ * 构建开销与标题数量成正比，应在后台线程完成；构建后只读，可在任意线程查询。
+ */
+public final class ChapterTitleIndex {
+
+    private static final int[] NO_MATCHES = new int[0];
+
+    private final String[] lowerTitles;
+    private final String[] fullPinyin;
+    private final String[] initials;
+
+    private ChapterTitleIndex(String[] lowerTitles, String[] fullPinyin, String[] initials) {
+        this.lowerTitles = lowerTitles;
+        this.fullPinyin = fullPinyin;
+        this.initials = initials;
+    }
+
+    /**
+     * 为标题列表构建索引，位置与列表下标一一对应
+     */
+    public static ChapterTitleIndex build(List<String> titles) {
+        int size = titles.size();
+        String[] lowerTitles = new String[size];
+        String[] fullPinyin = new String[size];
+        String[] initials = new String[size];
+        for (int i = 0; i < size; i++) {
+            String title = titles.get(i) != null ? titles.get(i) : "";
+            lowerTitles[i] = title.toLowerCase();
+            fullPinyin[i] = PinyinHelper.getFullPinyin(title);
+            initials[i] = PinyinHelper.getPinyinInitials(title);
+        }
+        return new ChapterTitleIndex(lowerTitles, fullPinyin, initials);
+    }
+
+    public int size() {
+        return lowerTitles.length;
+    }
+
+    /**
+     * 查找匹配关键词的标题（中文、拼音全拼、拼音首字母的子串匹配）
+     * @return 匹配标题的下标，升序；关键词为空时返回全部下标
+     */
+    public int[] search(String keyword) {
+        String lowerKeyword = PinyinHelper.normalizeKeyword(keyword);
+        int size = lowerTitles.length;
+        if (lowerKeyword.isEmpty()) {
+            int[] all = new int[size];
+            for (int i = 0; i < size; i++) {
+                all[i] = i;
+            }
+            return all;
+        }
+        int[] matches = null;
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            if (PinyinHelper.matchesKeys(lowerTitles[i], fullPinyin[i], initials[i], lowerKeyword)) {
+                if (matches == null) {
+                    matches = new int[Math.min(size, 16)];
+                } else if (count == matches.length) {
+                    matches = Arrays.copyOf(matches, Math.min(size, count * 2));
+                }
+                matches[count++] = i;
+            }
+        }
+        if (matches == null) {
+            return NO_MATCHES;
+        }
+        return count == matches.length ? matches : Arrays.copyOf(matches, count);
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.read.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * 内容指纹工具类 - 用于计算文件和文本的SHA-256摘要
+ * 导入去重依赖该指纹判断是否为同一本书
+ */
+public class ContentHasher {
+
+    private static final String ALGORITHM = "SHA-256";
+
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    /**
+     * 创建新的摘要对象，可配合DigestInputStream在读取文件时同步计算
+     */
+    public static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance(ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            // SHA-256是所有Android平台都必须支持的算法
+            throw new IllegalStateException(ALGORITHM + " 不可用", e);
+        }
+    }
+
+    /**
+     * 计算文本（UTF-8编码）的指纹
+     */
+    public static String hashText(String text) {
+        return toHex(newDigest().digest(text.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * 将摘要结果转换为小写十六进制字符串
+     */
+    public static String toHex(byte[] digest) {
+        char[] chars = new char[digest.length * 2];
+        for (int i = 0; i < digest.length; i++) {
+            int v = digest[i] & 0xFF;
+            chars[i * 2] = HEX_DIGITS[v >>> 4];
+            chars[i * 2 + 1] = HEX_DIGITS[v & 0x0F];
+        }
+        return new String(chars);
+    }
+}
@@ -0,0 +1,187 @@
+package com.example.read.utils;
+
+import java.io.UnsupportedEncodingException;
+import java.net.URLDecoder;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * EPUB封面定位 - 从OPF包文件中找出封面图片在ZIP中的条目路径
+ *
+ * 依次尝试：EPUB3 清单中 properties 含 cover-image 的条目；
+ * EPUB2 &lt;meta name="cover" content="清单ID"/&gt; 指向的条目；
+ * 最后是ID或路径中含 cover 的图片条目。
+ * OPF中的 href 相对于OPF文件所在目录，解析时处理 ./、../ 和百分号编码。
+ */
+public final class EpubCoverLocator {
+
+    private static final Pattern ITEM_TAG = Pattern.compile("<(?:\\w+:)?item\\b[^>]*>", Pattern.CASE_INSENSITIVE);
+    private static final Pattern META_TAG = Pattern.compile("<(?:\\w+:)?meta\\b[^>]*>", Pattern.CASE_INSENSITIVE);
+
+    private static final String[] IMAGE_SUFFIXES = {".jpg", ".jpeg", ".png", ".webp", ".gif"};
+
+    private EpubCoverLocator() {}
+
+    /**
+     * 从OPF内容中查找封面图片的 href（相对于OPF文件）
+     * @return 封面 href，未声明封面时返回null
+     */
+    public static String findCoverHref(String opfContent) {
+        if (opfContent == null || opfContent.isEmpty()) {
+            return null;
+        }
+
+        // EPUB3: <item properties="cover-image" href="..."/>
+        Matcher items = ITEM_TAG.matcher(opfContent);
+        while (items.find()) {
+            String properties = attribute(items.group(), "properties");
+            if (properties != null && containsToken(properties, "cover-image")) {
+                String href = attribute(items.group(), "href");
+                if (href != null && !href.isEmpty()) {
+                    return href;
+                }
+            }
+        }
+
+        // EPUB2: <meta name="cover" content="清单ID"/>
+        String coverId = null;
+        Matcher metas = META_TAG.matcher(opfContent);
+        while (metas.find()) {
+            if ("cover".equalsIgnoreCase(attribute(metas.group(), "name"))) {
+                coverId = attribute(metas.group(), "content");
+                break;
+            }
+        }
+        if (coverId != null && !coverId.isEmpty()) {
+            items.reset();
+            while (items.find()) {
+                if (coverId.equals(attribute(items.group(), "id"))) {
+                    String href = attribute(items.group(), "href");
+                    if (href != null && !href.isEmpty()) {
+                        return href;
+                    }
+                }
+            }
+        }
+
+        // 未声明时按命名猜测：ID或路径中含 cover 的图片
+        items.reset();
+        while (items.find()) {
+            String tag = items.group();
+            String mediaType = attribute(tag, "media-type");
+            String href = attribute(tag, "href");
+            if (href == null || href.isEmpty()
+                    || mediaType == null || !mediaType.toLowerCase(Locale.ROOT).startsWith("image/")) {
+                continue;
+            }
+            String id = attribute(tag, "id");
+            if ((id != null && id.toLowerCase(Locale.ROOT).contains("cover"))
+                    || href.toLowerCase(Locale.ROOT).contains("cover")) {
+                return href;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 将OPF中的 href 解析为ZIP条目路径
+     * @param opfEntryName OPF文件的ZIP条目路径，如 OEBPS/content.opf
+     * @param href OPF中的相对路径，如 ../Images/cover.jpg
+     * @return ZIP条目路径，如 Images/cover.jpg
+     */
+    public static String resolve(String opfEntryName, String href) {
+        String decoded = decode(href);
+        int fragment = decoded.indexOf('#');
+        if (fragment >= 0) {
+            decoded = decoded.substring(0, fragment);
+        }
+
+        Deque<String> segments = new ArrayDeque<>();
+        if (!decoded.startsWith("/") && opfEntryName != null) {
+            int slash = opfEntryName.lastIndexOf('/');
+            if (slash > 0) {
+                push(segments, opfEntryName.substring(0, slash));
+            }
+        }
+        push(segments, decoded);
+
+        StringBuilder path = new StringBuilder();
+        for (String segment : segments) {
+            if (path.length() > 0) {
+                path.append('/');
+            }
+            path.append(segment);
+        }
+        return path.toString();
+    }
+
+    /**
+     * 条目是否为图片文件
+     */
+    public static boolean isImage(String entryName) {
+        String lower = entryName.toLowerCase(Locale.ROOT);
+        for (String suffix : IMAGE_SUFFIXES) {
+            if (lower.endsWith(suffix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 条目是否可能是封面（文件名含 cover 的图片），用于OPF未声明封面或图片先于OPF出现时
+     */
+    public static boolean looksLikeCover(String entryName) {
+        if (!isImage(entryName)) {
+            return false;
+        }
+        String fileName = entryName.substring(entryName.lastIndexOf('/') + 1);
+        return fileName.toLowerCase(Locale.ROOT).contains("cover");
+    }
+
+    private static void push(Deque<String> segments, String path) {
+        for (String segment : path.split("/")) {
+            if (segment.isEmpty() || segment.equals(".")) {
+                continue;
+            }
+            if (segment.equals("..")) {
+                segments.pollLast();
+            } else {
+                segments.addLast(segment);
+            }
+        }
+    }
+
+    private static String decode(String href) {
+        if (href.indexOf('%') < 0) {
+            return href;
+        }
+        try {
+            // URLDecoder 会把 + 当作空格，路径中的 + 需保留
+            return URLDecoder.decode(href.replace("+", "%2B"), "UTF-8");
+        } catch (UnsupportedEncodingException | IllegalArgumentException e) {
+            return href;
+        }
+    }
+
+    private static boolean containsToken(String value, String token) {
+        for (String part : value.trim().split("\\s+")) {
+            if (part.equalsIgnoreCase(token)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String attribute(String tag, String name) {
+        Matcher matcher = Pattern.compile("\\s" + Pattern.quote(name) + "\\s*=\\s*(\"([^\"]*)\"|'([^']*)')",
+                Pattern.CASE_INSENSITIVE).matcher(tag);
+        if (!matcher.find()) {
+            return null;
+        }
+        return matcher.group(2) != null ? matcher.group(2) : matcher.group(3);
+    }
+}
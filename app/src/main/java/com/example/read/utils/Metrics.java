@@ -0,0 +1,233 @@
+package com.example.read.utils;
+
+import android.os.Trace;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 性能指标工具类 - 记录热点路径的计数、瞬时值和耗时分布
+ *
+ * 耗时通过 {@link #begin}/{@link #end} 成对记录，同时写入 android.os.Trace 区段，
+ * 可在 Perfetto/systrace 中与系统事件对照查看；begin 和 end 必须在同一线程上调用。
+ * 指标按名称注册后复用，记录过程只做原子操作，不分配对象。
+ * 调试界面和 {@link #dumpToFile} 输出各操作的 p50/p95/p99。
+ */
+public final class Metrics {
+
+    // ==================== 指标名称 ====================
+
+    /** 章节分页 */
+    public static final String READER_PAGINATE = "reader.paginate";
+    /** 阅读器加载章节（读库 + 分页） */
+    public static final String READER_LOAD_CHAPTER = "reader.loadChapter";
+    /** 下载网页 */
+    public static final String PARSER_FETCH_HTML = "parser.fetchHtml";
+    /** 解析章节正文 */
+    public static final String PARSER_EXTRACT_CONTENT = "parser.extractChapterContent";
+    /** 读取章节 */
+    public static final String DB_CHAPTER_READ = "db.chapter.read";
+    /** 写入章节 */
+    public static final String DB_CHAPTER_WRITE = "db.chapter.write";
+    /** 批量删除小说（分批删除章节 + 删除小说） */
+    public static final String DB_BATCH_DELETE = "db.batchDelete";
+    /** 导入：计算文件指纹 */
+    public static final String IMPORT_HASH = "import.hash";
+    /** 导入：流式解析（含分段提交） */
+    public static final String IMPORT_PARSE = "import.parse";
+    /** 导入：分段提交章节 */
+    public static final String IMPORT_COMMIT = "import.commit";
+    /** 导入：收尾更新小说信息 */
+    public static final String IMPORT_FINISH = "import.finish";
+    /** 从开始朗读到第一句开始播放 */
+    public static final String TTS_START_LATENCY = "tts.startLatency";
+
+    /** 下载的网页字符数 */
+    public static final String COUNTER_FETCHED_CHARS = "parser.fetchedChars";
+    /** 写入的章节数 */
+    public static final String COUNTER_CHAPTERS_WRITTEN = "db.chapter.written";
+    /** 导入解析出的章节数 */
+    public static final String COUNTER_IMPORT_CHAPTERS = "import.chapters";
+    /** 阅读界面上报的阅读位置次数 */
+    public static final String COUNTER_PROGRESS_UPDATES = "reader.progress.updates";
+    /** 实际写入数据库的阅读进度次数 */
+    public static final String COUNTER_PROGRESS_WRITES = "db.progress.written";
+    /** 最近一次分页的页数 */
+    public static final String GAUGE_LAST_PAGE_COUNT = "reader.lastPageCount";
+
+    // Trace 区段名长度上限
+    private static final int MAX_SECTION_NAME_LENGTH = 127;
+
+    private static final Map<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+    private static final Map<String, AtomicLong> counters = new ConcurrentHashMap<>();
+    private static final Map<String, AtomicLong> gauges = new ConcurrentHashMap<>();
+
+    // 本地单元测试和JVM基准测试中 android.os.Trace 只是桩实现或没有本地实现，调用会抛出异常
+    private static final boolean TRACE_AVAILABLE = detectTrace();
+
+    private Metrics() {}
+
+    // ==================== 耗时 ====================
+
+    /**
+     * 开始一个计时区段
+     * @return 开始时间，传给 {@link #end}
+     */
+    public static long begin(String name) {
+        if (TRACE_AVAILABLE) {
+            Trace.beginSection(name.length() > MAX_SECTION_NAME_LENGTH
+                    ? name.substring(0, MAX_SECTION_NAME_LENGTH) : name);
+        }
+        return System.nanoTime();
+    }
+
+    /**
+     * 结束计时区段并记录耗时
+     */
+    public static void end(String name, long startNanos) {
+        record(name, System.nanoTime() - startNanos);
+        if (TRACE_AVAILABLE) {
+            Trace.endSection();
+        }
+    }
+
+    /**
+     * 直接记录一次耗时，用于跨线程或异步的操作（不写入 Trace）
+     */
+    public static void record(String name, long nanos) {
+        histogram(name).recordNanos(nanos);
+    }
+
+    /**
+     * 获取（必要时注册）耗时直方图
+     */
+    public static LatencyHistogram histogram(String name) {
+        LatencyHistogram histogram = histograms.get(name);
+        if (histogram == null) {
+            histogram = histograms.computeIfAbsent(name, key -> new LatencyHistogram());
+        }
+        return histogram;
+    }
+
+    // ==================== 计数和瞬时值 ====================
+
+    public static void increment(String name) {
+        add(name, 1);
+    }
+
+    public static void add(String name, long delta) {
+        slot(counters, name).addAndGet(delta);
+    }
+
+    public static long getCounter(String name) {
+        AtomicLong counter = counters.get(name);
+        return counter != null ? counter.get() : 0;
+    }
+
+    public static void setGauge(String name, long value) {
+        slot(gauges, name).set(value);
+    }
+
+    public static long getGauge(String name) {
+        AtomicLong gauge = gauges.get(name);
+        return gauge != null ? gauge.get() : 0;
+    }
+
+    private static AtomicLong slot(Map<String, AtomicLong> registry, String name) {
+        AtomicLong value = registry.get(name);
+        if (value == null) {
+            value = registry.computeIfAbsent(name, key -> new AtomicLong());
+        }
+        return value;
+    }
+
+    // ==================== 输出 ====================
+
+    /**
+     * 清空所有指标
+     */
+    public static void reset() {
+        for (LatencyHistogram histogram : histograms.values()) {
+            histogram.reset();
+        }
+        for (AtomicLong counter : counters.values()) {
+            counter.set(0);
+        }
+        for (AtomicLong gauge : gauges.values()) {
+            gauge.set(0);
+        }
+    }
+
+    /**
+     * 生成文本报告，耗时单位为毫秒
+     */
+    public static String dump() {
+        StringBuilder builder = new StringBuilder();
+        builder.append("== 耗时 (ms) ==\n");
+        builder.append(String.format(Locale.ROOT, "%-30s %7s %8s %8s %8s %8s %8s%n",
+                "name", "count", "mean", "p50", "p95", "p99", "max"));
+        for (Map.Entry<String, LatencyHistogram> entry : new TreeMap<>(histograms).entrySet()) {
+            LatencyHistogram.Snapshot snapshot = entry.getValue().snapshot();
+            if (snapshot.getCount() == 0) {
+                continue;
+            }
+            builder.append(String.format(Locale.ROOT, "%-30s %7d %8.2f %8.2f %8.2f %8.2f %8.2f%n",
+                    entry.getKey(), snapshot.getCount(),
+                    toMillis(snapshot.getMean()),
+                    toMillis(snapshot.percentile(50)),
+                    toMillis(snapshot.percentile(95)),
+                    toMillis(snapshot.percentile(99)),
+                    toMillis(snapshot.getMax())));
+        }
+        builder.append("\n== 计数 ==\n");
+        for (Map.Entry<String, AtomicLong> entry : new TreeMap<>(counters).entrySet()) {
+            builder.append(entry.getKey()).append(" = ").append(entry.getValue().get()).append('\n');
+        }
+        builder.append("\n== 瞬时值 ==\n");
+        for (Map.Entry<String, AtomicLong> entry : new TreeMap<>(gauges).entrySet()) {
+            builder.append(entry.getKey()).append(" = ").append(entry.getValue().get()).append('\n');
+        }
+        return builder.toString();
+    }
+
+    /**
+     * 将报告写入目录下带时间戳的文件
+     * @return 写入的文件
+     */
+    public static File dumpToFile(File directory) throws IOException {
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("无法创建目录: " + directory);
+        }
+        String timestamp = new SimpleDateFormat("yyyyMMdd_HHmmss", Locale.ROOT).format(new Date());
+        File file = new File(directory, "metrics_" + timestamp + ".txt");
+        try (Writer writer = new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8)) {
+            writer.write(dump());
+        }
+        return file;
+    }
+
+    private static double toMillis(long micros) {
+        return micros / 1000.0;
+    }
+
+    private static boolean detectTrace() {
+        try {
+            Trace.beginSection("Metrics");
+            Trace.endSection();
+            return true;
+        } catch (RuntimeException | LinkageError e) {
+            return false;
+        }
+    }
+}
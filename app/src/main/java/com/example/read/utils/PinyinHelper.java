@@ -1,23 +1,11 @@
 package com.example.read.utils;
 
-import net.sourceforge.pinyin4j.format.HanyuPinyinCaseType;
-import net.sourceforge.pinyin4j.format.HanyuPinyinOutputFormat;
-import net.sourceforge.pinyin4j.format.HanyuPinyinToneType;
-import net.sourceforge.pinyin4j.format.exception.BadHanyuPinyinOutputFormatCombination;
-
 /**
  * 拼音工具类 - 用于中文转拼音
+ * 拼音取自预先生成的 {@link PinyinTable}，不在运行时调用 pinyin4j
  */
 public class PinyinHelper {
     
-    private static final HanyuPinyinOutputFormat format;
-    
-    static {
-        format = new HanyuPinyinOutputFormat();
-        format.setCaseType(HanyuPinyinCaseType.LOWERCASE);
-        format.setToneType(HanyuPinyinToneType.WITHOUT_TONE);
-    }
-    
     /**
      * 获取字符串的完整拼音
      * 例如：斗破苍穹 -> doupocanqiong
@@ -27,24 +15,9 @@ public class PinyinHelper {
             return "";
         }
         
-        StringBuilder result = new StringBuilder();
-        for (char c : str.toCharArray()) {
-            if (Character.toString(c).matches("[\\u4e00-\\u9fa5]")) {
-                // 中文字符
-                try {
-                    String[] pinyinArray = net.sourceforge.pinyin4j.PinyinHelper.toHanyuPinyinStringArray(c, format);
-                    if (pinyinArray != null && pinyinArray.length > 0) {
-                        result.append(pinyinArray[0]);
-                    }
-                } catch (BadHanyuPinyinOutputFormatCombination e) {
-                    result.append(c);
-                }
-            } else {
-                // 非中文字符保持原样
-                result.append(Character.toLowerCase(c));
-            }
-        }
-        return result.toString();
+        PinyinTable table = PinyinTable.getInstance();
+        char[] buffer = new char[str.length() * table.getMaxSyllableLength()];
+        return new String(buffer, 0, table.toFullPinyin(str, buffer));
     }
     
     /**
@@ -56,59 +29,51 @@ public class PinyinHelper {
             return "";
         }
         
-        StringBuilder result = new StringBuilder();
-        for (char c : str.toCharArray()) {
-            if (Character.toString(c).matches("[\\u4e00-\\u9fa5]")) {
-                // 中文字符
-                try {
-                    String[] pinyinArray = net.sourceforge.pinyin4j.PinyinHelper.toHanyuPinyinStringArray(c, format);
-                    if (pinyinArray != null && pinyinArray.length > 0) {
-                        result.append(pinyinArray[0].charAt(0));
-                    }
-                } catch (BadHanyuPinyinOutputFormatCombination e) {
-                    // 忽略
-                }
-            } else if (Character.isLetter(c)) {
-                // 英文字母
-                result.append(Character.toLowerCase(c));
-            }
-        }
-        return result.toString();
+        char[] buffer = new char[str.length()];
+        return new String(buffer, 0, PinyinTable.getInstance().toInitials(str, buffer));
     }
     
     /**
      * 检查搜索关键词是否匹配目标字符串
      * 支持：中文匹配、拼音全拼匹配、拼音首字母匹配
+     * 每次调用都会重新计算拼音，需要反复匹配同一批文本时应预先计算检索键，
+     * 再使用 {@link #matchesKeys}
      */
     public static boolean matches(String target, String keyword) {
         if (target == null || keyword == null) {
             return false;
         }
         
-        String lowerTarget = target.toLowerCase();
-        String lowerKeyword = keyword.toLowerCase().trim();
-        
+        String lowerKeyword = normalizeKeyword(keyword);
         if (lowerKeyword.isEmpty()) {
             return true;
         }
         
-        // 1. 直接匹配（中文或英文）
-        if (lowerTarget.contains(lowerKeyword)) {
-            return true;
-        }
-        
-        // 2. 拼音全拼匹配
-        String targetPinyin = getFullPinyin(target);
-        if (targetPinyin.contains(lowerKeyword)) {
-            return true;
-        }
-        
-        // 3. 拼音首字母匹配
-        String targetInitials = getPinyinInitials(target);
-        if (targetInitials.contains(lowerKeyword)) {
-            return true;
-        }
-        
-        return false;
+        // 依次尝试直接匹配、拼音全拼、拼音首字母，前面命中时不再计算拼音
+        return target.toLowerCase().contains(lowerKeyword)
+                || getFullPinyin(target).contains(lowerKeyword)
+                || getPinyinInitials(target).contains(lowerKeyword);
+    }
+    
+    /**
+     * 使用预先计算的检索键匹配关键词，不再转换拼音
+     * 
+     * @param lowerText 小写的原文
+     * @param fullPinyin {@link #getFullPinyin} 的结果
+     * @param initials {@link #getPinyinInitials} 的结果
+     * @param lowerKeyword 经 {@link #normalizeKeyword} 处理的关键词
+     */
+    public static boolean matchesKeys(String lowerText, String fullPinyin, String initials, String lowerKeyword) {
+        return (lowerText != null && lowerText.contains(lowerKeyword))
+                || (fullPinyin != null && fullPinyin.contains(lowerKeyword))
+                || (initials != null && initials.contains(lowerKeyword));
+    }
+    
+    /**
+     * 规范化搜索关键词（去除首尾空白并转为小写）
+     */
+    public static String normalizeKeyword(String keyword) {
+        return keyword == null ? "" : keyword.trim().toLowerCase();
     }
+    
 }
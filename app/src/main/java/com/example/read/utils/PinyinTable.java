@@ -0,0 +1,204 @@
+package com.example.read.utils;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * 汉字拼音表 - 预先生成的 CJK 统一汉字基本区（U+4E00 ~ U+9FFF）到拼音的映射
+ *
+ * 表由 :benchmark 模块的 PinyinTableGenerator 从 pinyin4j 生成，每个字取第一个读音，
+ * 小写、不带声调（ü 写作 u:），与原先逐字调用 pinyin4j 的结果逐字一致。
+ * 数据为一个按码位排列的音节编号数组和一个音节字符池，约43KB，首次使用时从类路径资源加载一次。
+ * 转换方法写入调用方提供的缓冲区，不分配对象。
+ *
+ * 资源文件格式（大端）：
+ * <pre>
+ * int   魔数 "PYT1"
+ * char  起始码位
+ * int   码位数 N
+ * short 音节数 S
+ * S 个音节：byte 长度 + ASCII 字节
+ * N 个 char：音节编号 + 1，0 表示该字没有读音
+ * </pre>
+ */
+public final class PinyinTable {
+
+    static final String RESOURCE = "pinyin_table.bin";
+    private static final int MAGIC = 0x50595431; // "PYT1"
+
+    // 原先 PinyinHelper 判定为汉字的范围，其中没有读音的字不输出任何内容
+    private static final char CHINESE_FIRST = '\u4e00';
+    private static final char CHINESE_LAST = '\u9fa5';
+
+    private final char first;
+    private final char[] entries;
+    private final char[] syllablePool;
+    private final int[] syllableOffsets;
+    private final int maxSyllableLength;
+
+    private PinyinTable(char first, char[] entries, char[] syllablePool, int[] syllableOffsets,
+                        int maxSyllableLength) {
+        this.first = first;
+        this.entries = entries;
+        this.syllablePool = syllablePool;
+        this.syllableOffsets = syllableOffsets;
+        this.maxSyllableLength = maxSyllableLength;
+    }
+
+    /**
+     * 获取共享的拼音表，首次调用时加载
+     * @throws IllegalStateException 资源缺失或损坏
+     */
+    public static PinyinTable getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    private static final class Holder {
+        static final PinyinTable INSTANCE = load();
+
+        private static PinyinTable load() {
+            try (InputStream in = PinyinTable.class.getResourceAsStream(RESOURCE)) {
+                if (in == null) {
+                    throw new IllegalStateException("缺少拼音表资源: " + RESOURCE);
+                }
+                return read(in);
+            } catch (IOException e) {
+                throw new IllegalStateException("读取拼音表失败", e);
+            }
+        }
+    }
+
+    /**
+     * 从输入流读取拼音表
+     */
+    static PinyinTable read(InputStream input) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(input, 16 * 1024));
+        if (in.readInt() != MAGIC) {
+            throw new IOException("拼音表格式错误");
+        }
+        char first = in.readChar();
+        int length = in.readInt();
+        int syllableCount = in.readUnsignedShort();
+
+        byte[][] syllables = new byte[syllableCount][];
+        int poolSize = 0;
+        int maxLength = 0;
+        for (int i = 0; i < syllableCount; i++) {
+            byte[] bytes = new byte[in.readUnsignedByte()];
+            in.readFully(bytes);
+            syllables[i] = bytes;
+            poolSize += bytes.length;
+            maxLength = Math.max(maxLength, bytes.length);
+        }
+        char[] pool = new char[poolSize];
+        int[] offsets = new int[syllableCount + 1];
+        int position = 0;
+        for (int i = 0; i < syllableCount; i++) {
+            offsets[i] = position;
+            for (byte b : syllables[i]) {
+                pool[position++] = (char) b;
+            }
+        }
+        offsets[syllableCount] = position;
+
+        char[] entries = new char[length];
+        for (int i = 0; i < length; i++) {
+            char entry = in.readChar();
+            if (entry > syllableCount) {
+                throw new IOException("拼音表音节编号越界: " + (int) entry);
+            }
+            entries[i] = entry;
+        }
+        return new PinyinTable(first, entries, pool, offsets, maxLength);
+    }
+
+    /**
+     * 最长音节的字符数，转换全拼时缓冲区至少需要 文本长度 × 该值
+     */
+    public int getMaxSyllableLength() {
+        return maxSyllableLength;
+    }
+
+    /**
+     * 该字是否有读音
+     */
+    public boolean hasPinyin(char c) {
+        return entry(c) != 0;
+    }
+
+    /**
+     * 将单个字的拼音写入缓冲区
+     * @return 写入的字符数，没有读音时为0
+     */
+    public int pinyin(char c, char[] buffer, int offset) {
+        int entry = entry(c);
+        if (entry == 0) {
+            return 0;
+        }
+        int start = syllableOffsets[entry - 1];
+        int length = syllableOffsets[entry] - start;
+        System.arraycopy(syllablePool, start, buffer, offset, length);
+        return length;
+    }
+
+    /**
+     * 单个字的拼音首字母
+     * @return 没有读音时返回0
+     */
+    public char initial(char c) {
+        int entry = entry(c);
+        return entry == 0 ? 0 : syllablePool[syllableOffsets[entry - 1]];
+    }
+
+    /**
+     * 将文本转换为全拼写入缓冲区：汉字转为拼音，没有读音的汉字忽略，其他字符转为小写
+     * @param buffer 长度至少为 text.length() × {@link #getMaxSyllableLength()}
+     * @return 写入的字符数
+     */
+    public int toFullPinyin(CharSequence text, char[] buffer) {
+        int position = 0;
+        for (int i = 0, n = text.length(); i < n; i++) {
+            char c = text.charAt(i);
+            int written = pinyin(c, buffer, position);
+            if (written > 0) {
+                position += written;
+            } else if (!isChinese(c)) {
+                buffer[position++] = Character.toLowerCase(c);
+            }
+        }
+        return position;
+    }
+
+    /**
+     * 将文本转换为拼音首字母写入缓冲区：汉字取拼音首字母，其他字母转为小写，其余字符忽略
+     * @param buffer 长度至少为 text.length()
+     * @return 写入的字符数
+     */
+    public int toInitials(CharSequence text, char[] buffer) {
+        int position = 0;
+        for (int i = 0, n = text.length(); i < n; i++) {
+            char c = text.charAt(i);
+            char initial = initial(c);
+            if (initial != 0) {
+                buffer[position++] = initial;
+            } else if (!isChinese(c) && Character.isLetter(c)) {
+                buffer[position++] = Character.toLowerCase(c);
+            }
+        }
+        return position;
+    }
+
+    /**
+     * 是否在基本区汉字范围内（与 pinyin4j 的覆盖范围一致）
+     */
+    static boolean isChinese(char c) {
+        return c >= CHINESE_FIRST && c <= CHINESE_LAST;
+    }
+
+    private int entry(char c) {
+        int index = c - first;
+        return index >= 0 && index < entries.length ? entries[index] : 0;
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.read.utils;
+
+/**
+ * 句子切分工具 - 按句末标点把正文切成适合一次朗读的短句
+ *
+ * 采用游标方式逐句返回边界，不创建中间对象：
+ * 调用方从 {@link #skipSpace} 得到句首，再用 {@link #findSentenceEnd} 得到句尾，
+ * 句尾即下一次查找的起点。句子结束于句末标点（连同其后的引号、括号）或换行，
+ * 英文句点只在其后为空白、右引号或文本结尾时才算句末（不切开"3.14"）；
+ * 超过最大长度的句子优先在逗号、分号处切开，找不到时硬切。
+ */
+public final class SentenceSplitter {
+
+    private SentenceSplitter() {}
+
+    /**
+     * 跳过空白字符
+     * @return 第一个非空白字符的位置，没有时返回文本长度
+     */
+    public static int skipSpace(CharSequence text, int start) {
+        int length = text.length();
+        int i = start;
+        while (i < length && Character.isWhitespace(text.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * 查找从 start 开始的句子的结束位置（不含）
+     * @param maxLength 单句最大长度
+     */
+    public static int findSentenceEnd(CharSequence text, int start, int maxLength) {
+        int length = text.length();
+        int limit = Math.min(length, start + maxLength);
+        int softBreak = -1;
+        for (int i = start; i < limit; i++) {
+            char c = text.charAt(i);
+            if (c == '\n' || c == '\r') {
+                return i;
+            }
+            if (isSentenceEnd(c) || (c == '.' && isPeriodEnd(text, i + 1))) {
+                int end = i + 1;
+                // 句末标点之后紧跟的标点和右引号归入本句
+                while (end < length && (isSentenceEnd(text.charAt(end)) || isClosing(text.charAt(end))
+                        || text.charAt(end) == '.')) {
+                    end++;
+                }
+                return end;
+            }
+            if (isSoftBreak(c) && i - start >= maxLength / 2) {
+                softBreak = i + 1;
+            }
+        }
+        if (limit == length) {
+            return length;
+        }
+        if (softBreak > 0) {
+            return softBreak;
+        }
+        // 避免把代理对切开
+        return Character.isHighSurrogate(text.charAt(limit - 1)) ? limit - 1 : limit;
+    }
+
+    private static boolean isSentenceEnd(char c) {
+        switch (c) {
+            case '。': case '！': case '？': case '…': case '；':
+            case '!': case '?':
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * 英文句点（含省略号"..."的最后一个点）之后是否为句子边界
+     */
+    private static boolean isPeriodEnd(CharSequence text, int next) {
+        if (next >= text.length()) {
+            return true;
+        }
+        char c = text.charAt(next);
+        return Character.isWhitespace(c) || isClosing(c);
+    }
+
+    private static boolean isClosing(char c) {
+        switch (c) {
+            case '”': case '’': case '」': case '』': case '）': case '》': case '"': case ')':
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private static boolean isSoftBreak(char c) {
+        switch (c) {
+            case '，': case '、': case '：': case ',': case ';': case ':':
+                return true;
+            default:
+                return false;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.read.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 文本分块工具 - 把长文本切成不超过token预算的若干块，供分段摘要使用
+ *
+ * 优先在段落（换行）处切分，单个段落超出预算时在句末切分，单句仍超出时硬切；
+ * 相邻的短段落合并到同一块中，使块数尽量少。块内容保持原文，仅去掉首尾空白。
+ */
+public final class TextChunker {
+
+    private TextChunker() {}
+
+    /**
+     * 切分文本
+     * @param maxTokens 每块的token预算（按 {@link TokenEstimator} 估算）
+     * @return 按原文顺序排列的文本块，空白文本返回空列表
+     */
+    public static List<String> split(String text, int maxTokens) {
+        List<String> chunks = new ArrayList<>();
+        int length = text.length();
+        int chunkStart = -1;
+        int chunkTokens = 0;
+        int pieceStart = 0;
+        while (pieceStart < length) {
+            int pieceEnd = nextPieceEnd(text, pieceStart, maxTokens);
+            int pieceTokens = TokenEstimator.estimate(text, pieceStart, pieceEnd);
+            if (chunkStart >= 0 && chunkTokens + pieceTokens > maxTokens) {
+                addChunk(chunks, text, chunkStart, pieceStart);
+                chunkStart = -1;
+                chunkTokens = 0;
+            }
+            if (chunkStart < 0) {
+                chunkStart = pieceStart;
+            }
+            chunkTokens += pieceTokens;
+            pieceStart = pieceEnd;
+        }
+        if (chunkStart >= 0) {
+            addChunk(chunks, text, chunkStart, length);
+        }
+        return chunks;
+    }
+
+    /**
+     * 下一个不可再分的片段：整段、整句或硬切的一段，保证不超过预算
+     */
+    private static int nextPieceEnd(String text, int start, int maxTokens) {
+        int paragraphEnd = text.indexOf('\n', start);
+        paragraphEnd = paragraphEnd < 0 ? text.length() : paragraphEnd + 1;
+        if (TokenEstimator.estimate(text, start, paragraphEnd) <= maxTokens) {
+            return paragraphEnd;
+        }
+        int sentenceEnd = SentenceSplitter.findSentenceEnd(text, start, paragraphEnd - start);
+        if (sentenceEnd > start && TokenEstimator.estimate(text, start, sentenceEnd) <= maxTokens) {
+            return sentenceEnd;
+        }
+        return TokenEstimator.fitEnd(text, start, maxTokens);
+    }
+
+    private static void addChunk(List<String> chunks, String text, int start, int end) {
+        String chunk = text.substring(start, end).trim();
+        if (!chunk.isEmpty()) {
+            chunks.add(chunk);
+        }
+    }
+}
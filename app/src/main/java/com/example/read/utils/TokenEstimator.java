@@ -0,0 +1,63 @@
+package com.example.read.utils;
+
+/**
+ * 文本token数估算 - 调用AI前按token预算截取或切分文本
+ *
+ * 不依赖具体模型的分词器：汉字、全角标点等非ASCII字符按每字1个token计，
+ * ASCII字母、数字、空白按每4个字符1个token计，中文文本下结果略偏保守。
+ */
+public final class TokenEstimator {
+
+    // 以1/4个token为计数单位，避免浮点运算
+    private static final int UNITS_PER_TOKEN = 4;
+
+    private TokenEstimator() {}
+
+    /**
+     * 估算整段文本的token数
+     */
+    public static int estimate(CharSequence text) {
+        return estimate(text, 0, text.length());
+    }
+
+    /**
+     * 估算 [start, end) 范围内文本的token数
+     */
+    public static int estimate(CharSequence text, int start, int end) {
+        long units = 0;
+        for (int i = start; i < end; i++) {
+            units += units(text.charAt(i));
+        }
+        return (int) ((units + UNITS_PER_TOKEN - 1) / UNITS_PER_TOKEN);
+    }
+
+    /**
+     * 从 start 开始、不超过 maxTokens 时最远能到达的位置（不含）
+     * 至少前进一个字符，不会把代理对切开
+     */
+    public static int fitEnd(CharSequence text, int start, int maxTokens) {
+        int length = text.length();
+        long budget = (long) maxTokens * UNITS_PER_TOKEN;
+        long units = 0;
+        int i = start;
+        while (i < length) {
+            long next = units + units(text.charAt(i));
+            if (next > budget) {
+                break;
+            }
+            units = next;
+            i++;
+        }
+        if (i == start && start < length) {
+            i = start + 1;
+        }
+        if (i < length && i > start + 1 && Character.isHighSurrogate(text.charAt(i - 1))) {
+            i--;
+        }
+        return i;
+    }
+
+    private static int units(char c) {
+        return c < 0x80 ? 1 : UNITS_PER_TOKEN;
+    }
+}
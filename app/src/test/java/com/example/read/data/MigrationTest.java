@@ -0,0 +1,256 @@
+package com.example.read.data;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import androidx.room.migration.Migration;
+
+import com.example.read.di.DatabaseModule;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * 迁移测试 - 从版本1开始逐个执行 {@link DatabaseModule#MIGRATIONS}，
+ * 每一步迁移后的表结构必须与下一版本的导出文件一致
+ *
+ * 比较内容与 Room 打开数据库时的校验相同：每张表的列（名称、类型亲和性、非空、主键位置）、外键和索引。
+ * 不一致时已安装的应用升级后启动即崩溃。迁移前每张表先插入一行，迁移中的数据转换语句也会执行。
+ */
+public class MigrationTest {
+
+    private static final int FIRST_VERSION = 1;
+
+    @Test
+    public void everyMigrationProducesExportedSchema() throws Exception {
+        File appDir = TestDatabases.findAppDir();
+        int latest = latestExportedVersion(appDir);
+        assertEquals(latest, DatabaseModule.MIGRATIONS[DatabaseModule.MIGRATIONS.length - 1].endVersion,
+                "最新版本缺少导出文件或迁移");
+
+        for (int version = FIRST_VERSION; version < latest; version++) {
+            String step = version + " -> " + (version + 1);
+            Migration migration = findMigration(version);
+            assertNotNull(migration, "缺少迁移 " + step);
+            try (Connection migrated = DriverManager.getConnection("jdbc:sqlite::memory:");
+                 Connection expected = DriverManager.getConnection("jdbc:sqlite::memory:")) {
+                TestDatabases.createFromExport(migrated, appDir, version);
+                insertSampleRows(migrated);
+                migration.migrate(TestDatabases.wrap(migrated));
+
+                TestDatabases.createFromExport(expected, appDir, version + 1);
+                assertEquals(describe(expected), describe(migrated), "迁移 " + step + " 后的表结构");
+            }
+        }
+    }
+
+    @Test
+    public void legacyPositionsBecomeCharOffsets() throws Exception {
+        File appDir = TestDatabases.findAppDir();
+        try (Connection connection = DriverManager.getConnection("jdbc:sqlite::memory:")) {
+            TestDatabases.createFromExport(connection, appDir, 6);
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("INSERT INTO chapters (id, novelId, title, content, chapterIndex, wordCount, createTime) "
+                        + "VALUES (1, 1, '第一章', '', 0, 20000, 0), (2, 1, '第二章', '', 1, 1200, 0)");
+                // 翻页模式的页码、滚动模式的字符偏移、超出章节长度的页码
+                statement.execute("INSERT INTO novels (id, title, author, source, totalChapters, currentChapterId, "
+                        + "currentPosition, lastReadTime, createTime, category, isPinned) "
+                        + "VALUES (1, '小说', '作者', 'LOCAL', 2, 1, 3, 0, 0, '默认', 0)");
+                statement.execute("INSERT INTO bookmarks (novelId, chapterId, chapterTitle, position, createTime) "
+                        + "VALUES (1, 1, '第一章', 4321, 0), (1, 2, '第二章', 9, 0), (1, 99, '已删除', 2, 0)");
+            }
+
+            AppDatabase.MIGRATION_6_7.migrate(TestDatabases.wrap(connection));
+
+            try (Statement statement = connection.createStatement()) {
+                try (ResultSet novel = statement.executeQuery("SELECT currentPosition FROM novels")) {
+                    novel.next();
+                    assertEquals(3 * AppDatabase.LEGACY_CHARS_PER_PAGE, novel.getInt(1));
+                }
+                List<Integer> positions = new ArrayList<>();
+                try (ResultSet bookmarks = statement.executeQuery("SELECT position FROM bookmarks ORDER BY id")) {
+                    while (bookmarks.next()) {
+                        positions.add(bookmarks.getInt(1));
+                    }
+                }
+                assertEquals(List.of(4321, 1199, 2 * AppDatabase.LEGACY_CHARS_PER_PAGE), positions);
+            }
+        }
+    }
+
+    private static Migration findMigration(int startVersion) {
+        for (Migration migration : DatabaseModule.MIGRATIONS) {
+            if (migration.startVersion == startVersion) {
+                assertEquals(startVersion + 1, migration.endVersion, "迁移应逐个版本进行");
+                return migration;
+            }
+        }
+        return null;
+    }
+
+    private static int latestExportedVersion(File appDir) {
+        File[] exports = new File(appDir, TestDatabases.SCHEMA_DIR).listFiles((dir, name) -> name.endsWith(".json"));
+        assertNotNull(exports, "找不到表结构导出文件");
+        int latest = 0;
+        for (File export : exports) {
+            latest = Math.max(latest, Integer.parseInt(export.getName().replace(".json", "")));
+        }
+        return latest;
+    }
+
+    // ==================== 表结构 ====================
+
+    /**
+     * 以文本描述数据库中的表结构，每张表一段，段内各行排序，便于比较时直接看出差异
+     */
+    private static String describe(Connection connection) throws SQLException {
+        Map<String, TreeSet<String>> tables = new TreeMap<>();
+        for (String table : tables(connection)) {
+            TreeSet<String> lines = new TreeSet<>();
+            try (Statement statement = connection.createStatement()) {
+                try (ResultSet columns = statement.executeQuery("PRAGMA table_info(`" + table + "`)")) {
+                    while (columns.next()) {
+                        lines.add("column " + columns.getString("name")
+                                + " " + affinity(columns.getString("type"))
+                                + (columns.getInt("notnull") != 0 ? " NOT NULL" : "")
+                                + (columns.getInt("pk") > 0 ? " PK" + columns.getInt("pk") : ""));
+                    }
+                }
+                // 多列外键在 foreign_key_list 中每列一行，按 id 合并
+                Map<Integer, List<String>> foreignKeys = new TreeMap<>();
+                Map<Integer, String> references = new TreeMap<>();
+                try (ResultSet keys = statement.executeQuery("PRAGMA foreign_key_list(`" + table + "`)")) {
+                    while (keys.next()) {
+                        int id = keys.getInt("id");
+                        foreignKeys.computeIfAbsent(id, key -> new ArrayList<>())
+                                .add(keys.getString("from") + " -> " + keys.getString("table") + "." + keys.getString("to"));
+                        references.put(id, " ON UPDATE " + keys.getString("on_update")
+                                + " ON DELETE " + keys.getString("on_delete"));
+                    }
+                }
+                for (Map.Entry<Integer, List<String>> key : foreignKeys.entrySet()) {
+                    lines.add("foreign key " + String.join(", ", key.getValue()) + references.get(key.getKey()));
+                }
+                for (String index : indices(connection, table)) {
+                    lines.add(index);
+                }
+            }
+            tables.put(table, lines);
+        }
+        StringBuilder description = new StringBuilder();
+        for (Map.Entry<String, TreeSet<String>> table : tables.entrySet()) {
+            description.append(table.getKey()).append('\n');
+            for (String line : table.getValue()) {
+                description.append("  ").append(line).append('\n');
+            }
+        }
+        return description.toString();
+    }
+
+    private static List<String> tables(Connection connection) throws SQLException {
+        List<String> tables = new ArrayList<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet result = statement.executeQuery("SELECT name FROM sqlite_master WHERE type = 'table' "
+                     + "AND name NOT LIKE 'sqlite_%' AND name NOT IN ('room_master_table', 'android_metadata')")) {
+            while (result.next()) {
+                tables.add(result.getString(1));
+            }
+        }
+        return tables;
+    }
+
+    /**
+     * 用 CREATE INDEX 创建的索引（不含主键和 UNIQUE 约束自动生成的索引）
+     */
+    private static List<String> indices(Connection connection, String table) throws SQLException {
+        List<String> indices = new ArrayList<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet list = statement.executeQuery("PRAGMA index_list(`" + table + "`)")) {
+            List<String[]> created = new ArrayList<>();
+            while (list.next()) {
+                if ("c".equals(list.getString("origin"))) {
+                    created.add(new String[]{list.getString("name"), list.getInt("unique") != 0 ? "UNIQUE " : ""});
+                }
+            }
+            for (String[] index : created) {
+                List<String> columns = new ArrayList<>();
+                try (Statement infoStatement = connection.createStatement();
+                     ResultSet info = infoStatement.executeQuery("PRAGMA index_info(`" + index[0] + "`)")) {
+                    while (info.next()) {
+                        columns.add(info.getString("name"));
+                    }
+                }
+                indices.add(index[1] + "index " + index[0] + " (" + String.join(", ", columns) + ")");
+            }
+        }
+        return indices;
+    }
+
+    /**
+     * SQLite 的类型亲和性规则，Room 校验时也只比较亲和性
+     */
+    private static String affinity(String type) {
+        String upper = type == null ? "" : type.toUpperCase(Locale.ROOT);
+        if (upper.contains("INT")) {
+            return "INTEGER";
+        }
+        if (upper.contains("CHAR") || upper.contains("CLOB") || upper.contains("TEXT")) {
+            return "TEXT";
+        }
+        if (upper.isEmpty() || upper.contains("BLOB")) {
+            return "BLOB";
+        }
+        if (upper.contains("REAL") || upper.contains("FLOA") || upper.contains("DOUB")) {
+            return "REAL";
+        }
+        return "NUMERIC";
+    }
+
+    // ==================== 数据 ====================
+
+    /**
+     * 每张表插入一行，所有列都有值
+     */
+    private static void insertSampleRows(Connection connection) throws SQLException {
+        for (String table : tables(connection)) {
+            List<String> columns = new ArrayList<>();
+            List<String> values = new ArrayList<>();
+            try (Statement statement = connection.createStatement();
+                 ResultSet info = statement.executeQuery("PRAGMA table_info(`" + table + "`)")) {
+                while (info.next()) {
+                    columns.add("`" + info.getString("name") + "`");
+                    switch (affinity(info.getString("type"))) {
+                        case "TEXT":
+                            values.add("'" + table + "'");
+                            break;
+                        case "REAL":
+                            values.add("1.5");
+                            break;
+                        case "BLOB":
+                            values.add("x'00'");
+                            break;
+                        default:
+                            values.add("1");
+                            break;
+                    }
+                }
+            }
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("INSERT INTO `" + table + "` (" + String.join(", ", columns)
+                        + ") VALUES (" + String.join(", ", values) + ")");
+            }
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package com.example.read.data;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import androidx.room.migration.Migration;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+
+import com.example.read.di.DatabaseModule;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 查询计划测试 - 在按迁移建出的最新表结构上对 DAO 中的每条 @Query 执行 EXPLAIN QUERY PLAN，
+ * 章节表和正文表不允许出现全表扫描，涉及这两张表的查询也不允许用临时B树排序
+ *
+ * 表结构从版本1的导出文件开始逐个执行 {@link DatabaseModule#MIGRATIONS} 得到，
+ * 与已安装应用升级后的数据库一致；新增按小说或章节查询却忘了加索引时测试失败。
+ */
+public class QueryPlanTest {
+
+    private static final String DAO_DIR = "src/main/java/com/example/read/data/dao";
+
+    // 数据量随章节数增长的表
+    private static final Set<String> LARGE_TABLES = new HashSet<>(Arrays.asList("chapters", "chapter_contents"));
+
+    // 有意遍历整表的维护语句：查询名 -> 允许扫描的表
+    private static final Map<String, String> ALLOWED_SCANS = new HashMap<>();
+
+    static {
+        // 清理孤立正文，只在删除后调用，遍历正文表并用 contentHash 索引检查引用
+        ALLOWED_SCANS.put("ChapterDao.deleteOrphanContents", "chapter_contents");
+    }
+
+    private static final Pattern QUERY = Pattern.compile("@Query\\(");
+    private static final Pattern METHOD_NAME = Pattern.compile("\\s(\\w+)\\s*\\(");
+    private static final Pattern CONSTANT = Pattern.compile("String\\s+(\\w+)\\s*=");
+    private static final Pattern SCAN = Pattern.compile("^SCAN (\\w+)");
+    private static final Pattern PARAMETER = Pattern.compile(":\\w+");
+    // 表名及其后可能的别名（后面的词不消耗，连续的表名都能匹配到）
+    private static final Pattern TABLE_REFERENCE =
+            Pattern.compile("\\b(\\w+)\\b(?=\\s+(?:AS\\s+)?(\\w+))?", Pattern.CASE_INSENSITIVE);
+    private static final String TEMP_B_TREE = "USE TEMP B-TREE";
+
+    @Test
+    public void largeTablesAreNeverFullyScanned() throws Exception {
+        File appDir = TestDatabases.findAppDir();
+        try (Connection connection = DriverManager.getConnection("jdbc:sqlite::memory:")) {
+            createSchema(connection, appDir);
+
+            List<String> violations = new ArrayList<>();
+            int checked = 0;
+            File[] daoFiles = new File(appDir, DAO_DIR).listFiles((dir, name) -> name.endsWith(".java"));
+            assertTrue(daoFiles != null && daoFiles.length > 0, "找不到 DAO 源码");
+            for (File daoFile : daoFiles) {
+                String dao = daoFile.getName().replace(".java", "");
+                for (Map.Entry<String, String> query : parseQueries(daoFile).entrySet()) {
+                    String name = dao + "." + query.getKey();
+                    Map<String, String> aliases = aliases(query.getValue());
+                    for (String detail : explain(connection, query.getValue())) {
+                        Matcher scan = SCAN.matcher(detail);
+                        String table = scan.find() ? aliases.getOrDefault(scan.group(1), scan.group(1)) : null;
+                        if (table != null && LARGE_TABLES.contains(table) && !table.equals(ALLOWED_SCANS.get(name))) {
+                            violations.add(name + " 扫描了 " + table);
+                        } else if (detail.startsWith(TEMP_B_TREE) && !aliases.isEmpty()) {
+                            // 按小说读取章节时应直接按 (novelId, chapterIndex) 索引顺序返回
+                            violations.add(name + ": " + detail);
+                        }
+                    }
+                    checked++;
+                }
+            }
+            assertTrue(checked > 50, "解析到的查询过少: " + checked);
+            assertTrue(violations.isEmpty(), String.join("\n", violations));
+        }
+    }
+
+    /**
+     * 返回查询计划的各步描述
+     */
+    private static List<String> explain(Connection connection, String sql) throws SQLException {
+        // 列表参数展开为单个占位符，EXPLAIN 不需要绑定参数值
+        String explain = "EXPLAIN QUERY PLAN " + PARAMETER.matcher(sql).replaceAll("?");
+        List<String> details = new ArrayList<>();
+        try (PreparedStatement statement = connection.prepareStatement(explain);
+             ResultSet plan = statement.executeQuery()) {
+            while (plan.next()) {
+                details.add(plan.getString("detail"));
+            }
+        } catch (SQLException e) {
+            throw new SQLException(sql, e);
+        }
+        return details;
+    }
+
+    /**
+     * 查询中引用的大表及其别名 -> 表名，不涉及大表时为空
+     */
+    private static Map<String, String> aliases(String sql) {
+        Map<String, String> aliases = new HashMap<>();
+        Matcher matcher = TABLE_REFERENCE.matcher(sql);
+        while (matcher.find()) {
+            if (LARGE_TABLES.contains(matcher.group(1))) {
+                aliases.put(matcher.group(1), matcher.group(1));
+                if (matcher.group(2) != null) {
+                    aliases.put(matcher.group(2), matcher.group(1));
+                }
+            }
+        }
+        return aliases;
+    }
+
+    // ==================== 表结构 ====================
+
+    /**
+     * 用版本1的导出文件建表，再依次执行全部迁移
+     */
+    private static void createSchema(Connection connection, File appDir) throws Exception {
+        TestDatabases.createFromExport(connection, appDir, 1);
+        SupportSQLiteDatabase db = TestDatabases.wrap(connection);
+        for (Migration migration : DatabaseModule.MIGRATIONS) {
+            migration.migrate(db);
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ANALYZE");
+        }
+    }
+
+    // ==================== DAO 源码解析 ====================
+
+    /**
+     * 解析 DAO 源码中的 @Query，返回方法名 -> SQL，支持字符串拼接和同文件中的字符串常量
+     */
+    private static Map<String, String> parseQueries(File daoFile) throws IOException {
+        String source = TestDatabases.read(daoFile);
+        Map<String, String> constants = new HashMap<>();
+        Matcher constant = CONSTANT.matcher(source);
+        while (constant.find()) {
+            int end = source.indexOf(';', constant.end());
+            try {
+                constants.put(constant.group(1), concatenate(source.substring(constant.end(), end), constants));
+            } catch (IllegalStateException e) {
+                // 不是字符串常量（如默认方法中的局部变量）
+            }
+        }
+
+        Map<String, String> queries = new HashMap<>();
+        Matcher query = QUERY.matcher(source);
+        while (query.find()) {
+            int end = closingParenthesis(source, query.end());
+            String sql = concatenate(source.substring(query.end(), end), constants);
+            Matcher method = METHOD_NAME.matcher(source);
+            if (method.find(end + 1)) {
+                queries.put(method.group(1), sql);
+            }
+        }
+        return queries;
+    }
+
+    private static int closingParenthesis(String source, int from) {
+        boolean inString = false;
+        for (int i = from; i < source.length(); i++) {
+            char c = source.charAt(i);
+            if (inString) {
+                if (c == '\\') {
+                    i++;
+                } else if (c == '"') {
+                    inString = false;
+                }
+            } else if (c == '"') {
+                inString = true;
+            } else if (c == ')') {
+                return i;
+            }
+        }
+        throw new IllegalStateException("@Query 未闭合");
+    }
+
+    /**
+     * 求值由字符串字面量、常量名和 + 组成的表达式
+     */
+    private static String concatenate(String expression, Map<String, String> constants) {
+        StringBuilder sql = new StringBuilder();
+        int i = 0;
+        while (i < expression.length()) {
+            char c = expression.charAt(i);
+            if (c == '"') {
+                i++;
+                while (expression.charAt(i) != '"') {
+                    char ch = expression.charAt(i++);
+                    if (ch == '\\') {
+                        ch = expression.charAt(i++);
+                        if (ch == 'n') {
+                            ch = '\n';
+                        }
+                    }
+                    sql.append(ch);
+                }
+                i++;
+            } else if (Character.isJavaIdentifierStart(c)) {
+                int start = i;
+                while (i < expression.length() && Character.isJavaIdentifierPart(expression.charAt(i))) {
+                    i++;
+                }
+                String name = expression.substring(start, i);
+                if (name.equals("value")) {
+                    continue;
+                }
+                if (!constants.containsKey(name)) {
+                    throw new IllegalStateException("未知常量: " + name);
+                }
+                sql.append(constants.get(name));
+            } else {
+                i++;
+            }
+        }
+        return sql.toString();
+    }
+}
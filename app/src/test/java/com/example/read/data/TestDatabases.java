@@ -0,0 +1,160 @@
+package com.example.read.data;
+
+import android.database.Cursor;
+
+import androidx.sqlite.db.SupportSQLiteDatabase;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 数据库测试工具 - 按 Room 导出的表结构建库，把迁移对 SupportSQLiteDatabase 的调用转发到 JDBC 连接
+ */
+final class TestDatabases {
+
+    static final String SCHEMA_DIR = "schemas/com.example.read.data.AppDatabase";
+
+    private TestDatabases() {}
+
+    /**
+     * 按指定版本的导出文件建表和索引
+     */
+    static void createFromExport(Connection connection, File appDir, int version) throws Exception {
+        String json = read(new File(appDir, SCHEMA_DIR + "/" + version + ".json"));
+        JSONObject database = new JSONObject(json).getJSONObject("database");
+        JSONArray entities = database.getJSONArray("entities");
+        try (Statement statement = connection.createStatement()) {
+            for (int i = 0; i < entities.length(); i++) {
+                JSONObject entity = entities.getJSONObject(i);
+                String table = entity.getString("tableName");
+                statement.execute(entity.getString("createSql").replace("${TABLE_NAME}", table));
+                JSONArray indices = entity.optJSONArray("indices");
+                for (int j = 0; indices != null && j < indices.length(); j++) {
+                    statement.execute(indices.getJSONObject(j).getString("createSql")
+                            .replace("${TABLE_NAME}", table));
+                }
+            }
+        }
+    }
+
+    /**
+     * 把迁移的 execSQL 和 query 转发到 JDBC 连接，查询结果一次读入内存
+     */
+    static SupportSQLiteDatabase wrap(Connection connection) {
+        return (SupportSQLiteDatabase) Proxy.newProxyInstance(SupportSQLiteDatabase.class.getClassLoader(),
+                new Class<?>[]{SupportSQLiteDatabase.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "execSQL":
+                            try (PreparedStatement statement = connection.prepareStatement((String) args[0])) {
+                                Object[] bindArgs = args.length > 1 ? (Object[]) args[1] : new Object[0];
+                                for (int i = 0; i < bindArgs.length; i++) {
+                                    statement.setObject(i + 1, bindArgs[i]);
+                                }
+                                statement.execute();
+                            }
+                            return null;
+                        case "query":
+                            if (!(args[0] instanceof String)) {
+                                throw new UnsupportedOperationException("query(" + args[0].getClass() + ")");
+                            }
+                            Object[] bindArgs = args.length > 1 ? (Object[]) args[1] : new Object[0];
+                            return cursor(connection, (String) args[0], bindArgs);
+                        default:
+                            Class<?> type = method.getReturnType();
+                            if (type == boolean.class) {
+                                return false;
+                            }
+                            return type.isPrimitive() && type != void.class ? 0 : null;
+                    }
+                });
+    }
+
+    /**
+     * 执行查询，返回只支持逐行读取的游标
+     */
+    private static Cursor cursor(Connection connection, String sql, Object[] bindArgs) throws SQLException {
+        List<Object[]> rows = new ArrayList<>();
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (int i = 0; i < bindArgs.length; i++) {
+                statement.setObject(i + 1, bindArgs[i]);
+            }
+            try (ResultSet resultSet = statement.executeQuery()) {
+                ResultSetMetaData metaData = resultSet.getMetaData();
+                while (resultSet.next()) {
+                    Object[] row = new Object[metaData.getColumnCount()];
+                    for (int i = 0; i < row.length; i++) {
+                        row[i] = resultSet.getObject(i + 1);
+                    }
+                    rows.add(row);
+                }
+            }
+        }
+        int[] position = {-1};
+        return (Cursor) Proxy.newProxyInstance(Cursor.class.getClassLoader(),
+                new Class<?>[]{Cursor.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "moveToNext":
+                            position[0] = Math.min(position[0] + 1, rows.size());
+                            return position[0] < rows.size();
+                        case "moveToFirst":
+                            position[0] = 0;
+                            return !rows.isEmpty();
+                        case "getCount":
+                            return rows.size();
+                        case "isNull":
+                            return rows.get(position[0])[(int) args[0]] == null;
+                        case "getString": {
+                            Object value = rows.get(position[0])[(int) args[0]];
+                            return value != null ? value.toString() : null;
+                        }
+                        case "getLong": {
+                            Object value = rows.get(position[0])[(int) args[0]];
+                            return value instanceof Number ? ((Number) value).longValue() : 0L;
+                        }
+                        case "getInt": {
+                            Object value = rows.get(position[0])[(int) args[0]];
+                            return value instanceof Number ? ((Number) value).intValue() : 0;
+                        }
+                        case "close":
+                            return null;
+                        default:
+                            throw new UnsupportedOperationException("Cursor." + method.getName());
+                    }
+                });
+    }
+
+    /**
+     * 定位 app 模块目录（Gradle 以模块目录为工作目录，其他方式运行时向上查找）
+     */
+    static File findAppDir() {
+        for (File dir = new File(System.getProperty("user.dir")).getAbsoluteFile(); dir != null;
+             dir = dir.getParentFile()) {
+            if (new File(dir, SCHEMA_DIR).isDirectory()) {
+                return dir;
+            }
+            File app = new File(dir, "app");
+            if (new File(app, SCHEMA_DIR).isDirectory()) {
+                return app;
+            }
+        }
+        throw new IllegalStateException("找不到 app 模块目录");
+    }
+
+    static String read(File file) throws IOException {
+        return new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,171 @@
+package com.example.read.data.api;
+
+import com.example.read.data.api.model.DashScopeRequest;
+import com.example.read.data.api.model.DashScopeResponse;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.reactivex.rxjava3.core.Single;
+import okhttp3.MediaType;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import okio.Okio;
+import okio.Source;
+import okio.Timeout;
+
+/**
+ * 用于测试的通义千问API实现
+ * 不访问网络，延迟一段时间后返回"摘要:"加用户内容前缀和内容散列，
+ * 并记录调用次数、同时进行的最大请求数和每次请求的发起时间。
+ * 流式接口按通义千问的SSE格式逐字输出同样的摘要，每个事件之间间隔一次延迟，
+ * 并记录已读出的事件数和已关闭的响应体数
+ */
+public class TestDashScopeApi implements DashScopeApi, DashScopeStreamApi {
+
+    /** 用户内容包含该标记时返回错误响应 */
+    public static final String FAIL_MARKER = "[FAIL]";
+
+    private final long latencyMs;
+    private final AtomicInteger callCount = new AtomicInteger();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    private final List<Long> requestTimes = Collections.synchronizedList(new ArrayList<>());
+    private final AtomicInteger eventsRead = new AtomicInteger();
+    private final AtomicInteger closedStreams = new AtomicInteger();
+
+    public TestDashScopeApi(long latencyMs) {
+        this.latencyMs = latencyMs;
+    }
+
+    @Override
+    public Single<DashScopeResponse> generateText(String authorization, String contentType,
+                                                  DashScopeRequest request) {
+        return Single.defer(() -> {
+            callCount.incrementAndGet();
+            requestTimes.add(System.currentTimeMillis());
+            int current = inFlight.incrementAndGet();
+            maxInFlight.accumulateAndGet(current, Math::max);
+            String content = request.getInput().getMessages().get(1).getContent();
+            return Single.timer(latencyMs, TimeUnit.MILLISECONDS)
+                    .map(tick -> content.contains(FAIL_MARKER) ? errorResponse() : successResponse(content))
+                    .doFinally(inFlight::decrementAndGet);
+        });
+    }
+
+    @Override
+    public Single<ResponseBody> generateTextStream(String authorization, String contentType,
+                                                   DashScopeRequest request) {
+        return Single.fromCallable(() -> {
+            callCount.incrementAndGet();
+            requestTimes.add(System.currentTimeMillis());
+            String content = request.getInput().getMessages().get(1).getContent();
+            List<String> events = new ArrayList<>();
+            if (content.contains(FAIL_MARKER)) {
+                events.add("event:error\n:HTTP_STATUS/500\n"
+                        + "data:{\"code\":\"InternalError\",\"message\":\"stub failure\"}\n\n");
+            } else {
+                String summary = expectedSummary(content);
+                for (int i = 0; i < summary.length(); i++) {
+                    events.add("id:" + (i + 1) + "\nevent:result\n:HTTP_STATUS/200\n"
+                            + "data:{\"output\":{\"choices\":[{\"message\":{\"content\":\""
+                            + summary.charAt(i) + "\",\"role\":\"assistant\"},\"finish_reason\":\""
+                            + (i == summary.length() - 1 ? "stop" : "null") + "\"}]}}\n\n");
+                }
+            }
+            return ResponseBody.create(Okio.buffer(new EventSource(events, latencyMs, eventsRead, closedStreams)),
+                    MediaType.get("text/event-stream"), -1);
+        });
+    }
+
+    /**
+     * 每次读取前等待一次延迟，然后返回一个事件
+     */
+    private static final class EventSource implements Source {
+        private final List<String> events;
+        private final long delayMs;
+        private final AtomicInteger eventsRead;
+        private final AtomicInteger closedStreams;
+        private final Buffer pending = new Buffer();
+        private int next;
+        private boolean closed;
+
+        EventSource(List<String> events, long delayMs, AtomicInteger eventsRead, AtomicInteger closedStreams) {
+            this.events = events;
+            this.delayMs = delayMs;
+            this.eventsRead = eventsRead;
+            this.closedStreams = closedStreams;
+        }
+
+        @Override
+        public long read(Buffer sink, long byteCount) throws IOException {
+            if (pending.size() == 0) {
+                if (next >= events.size()) {
+                    return -1;
+                }
+                try {
+                    Thread.sleep(delayMs);
+                } catch (InterruptedException e) {
+                    throw new InterruptedIOException();
+                }
+                pending.writeUtf8(events.get(next++));
+                eventsRead.incrementAndGet();
+            }
+            return pending.read(sink, byteCount);
+        }
+
+        @Override
+        public Timeout timeout() {
+            return Timeout.NONE;
+        }
+
+        @Override
+        public synchronized void close() {
+            if (!closed) {
+                closed = true;
+                closedStreams.incrementAndGet();
+            }
+            next = events.size();
+            pending.clear();
+        }
+    }
+
+    /**
+     * 测试中期望的摘要内容
+     */
+    public static String expectedSummary(String content) {
+        return "摘要:" + content.substring(0, Math.min(8, content.length()))
+                + "#" + Integer.toHexString(content.hashCode());
+    }
+
+    private static DashScopeResponse successResponse(String content) {
+        DashScopeResponse.Message message = new DashScopeResponse.Message();
+        message.setRole("assistant");
+        message.setContent(expectedSummary(content));
+        DashScopeResponse.Choice choice = new DashScopeResponse.Choice();
+        choice.setMessage(message);
+        DashScopeResponse.Output output = new DashScopeResponse.Output();
+        output.setChoices(Collections.singletonList(choice));
+        DashScopeResponse response = new DashScopeResponse();
+        response.setOutput(output);
+        return response;
+    }
+
+    private static DashScopeResponse errorResponse() {
+        DashScopeResponse response = new DashScopeResponse();
+        response.setCode("InternalError");
+        response.setMessage("stub failure");
+        return response;
+    }
+
+    public int getCallCount() { return callCount.get(); }
+    public int getMaxInFlight() { return maxInFlight.get(); }
+    public List<Long> getRequestTimes() { return new ArrayList<>(requestTimes); }
+    public int getEventsRead() { return eventsRead.get(); }
+    public int getClosedStreams() { return closedStreams.get(); }
+}
@@ -0,0 +1,245 @@
+package com.example.read.data.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.example.read.data.dao.ChapterDao;
+import com.example.read.data.dao.ImportCheckpointDao;
+import com.example.read.data.dao.NovelDao;
+import com.example.read.data.entity.ChapterEntity;
+import com.example.read.data.entity.ImportCheckpointEntity;
+import com.example.read.data.entity.NovelEntity;
+import com.example.read.domain.error.AppError;
+import com.example.read.domain.model.ImportHandle;
+import com.example.read.domain.model.ParsedNovel;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 分段导入断点测试 - 删除小说后再次导入同一文件时不能续传到已删除的小说，
+ * 导入中断时只保留已提交过章节的小说，批量导入去重时不把未完成的小说算作重复
+ */
+public class FileImportRepositoryImplTest {
+
+    private static final String HASH = "content-hash";
+
+    private final Map<Long, NovelEntity> novels = new HashMap<>();
+    private final Map<String, ImportCheckpointEntity> checkpoints = new HashMap<>();
+    private final List<ChapterEntity> chapters = new ArrayList<>();
+    private long nextNovelId = 1;
+
+    private final ImportCheckpointDao checkpointDao = new ImportCheckpointDao() {
+        @Override
+        public ImportCheckpointEntity getCheckpoint(String contentHash) {
+            return checkpoints.get(contentHash);
+        }
+
+        @Override
+        public void saveCheckpoint(ImportCheckpointEntity checkpoint) {
+            checkpoints.put(checkpoint.getContentHash(), checkpoint);
+        }
+
+        @Override
+        public void deleteCheckpoint(String contentHash) {
+            checkpoints.remove(contentHash);
+        }
+
+        @Override
+        public void deleteCheckpointsForNovels(List<Long> novelIds) {
+            checkpoints.values().removeIf(checkpoint -> novelIds.contains(checkpoint.getNovelId()));
+        }
+    };
+
+    // 只实现断点恢复、分段提交和删除用到的查询
+    private final NovelDao novelDao = (NovelDao) Proxy.newProxyInstance(NovelDao.class.getClassLoader(),
+            new Class<?>[]{NovelDao.class}, (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "insertNovel": {
+                        NovelEntity novel = (NovelEntity) args[0];
+                        novel.setId(nextNovelId++);
+                        novels.put(novel.getId(), novel);
+                        return novel.getId();
+                    }
+                    case "updateChapterInfo":
+                        novels.get((Long) args[0]).setTotalChapters((Integer) args[1]);
+                        return null;
+                    case "deleteNovelById":
+                        novels.remove((Long) args[0]);
+                        chapters.removeIf(chapter -> chapter.getNovelId() == (Long) args[0]);
+                        return null;
+                    case "getNovelById":
+                        return novels.get((Long) args[0]);
+                    case "getNovelByContentHash":
+                        for (NovelEntity novel : novels.values()) {
+                            if (args[0].equals(novel.getContentHash())) {
+                                return novel;
+                            }
+                        }
+                        return null;
+                    case "deleteNovelsByIds":
+                        @SuppressWarnings("unchecked")
+                        List<Long> ids = (List<Long>) args[0];
+                        int before = novels.size();
+                        novels.keySet().removeAll(ids);
+                        return before - novels.size();
+                    default:
+                        throw new UnsupportedOperationException(method.getName());
+                }
+            });
+
+    private final ChapterDao chapterDao = (ChapterDao) Proxy.newProxyInstance(ChapterDao.class.getClassLoader(),
+            new Class<?>[]{ChapterDao.class}, (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "insertChapters":
+                        @SuppressWarnings("unchecked")
+                        List<ChapterEntity> inserted = (List<ChapterEntity>) args[0];
+                        chapters.addAll(inserted);
+                        return null;
+                    case "deleteOrphanContents":
+                        return 0;
+                    default:
+                        throw new UnsupportedOperationException(method.getName());
+                }
+            });
+
+    private final FileImportRepositoryImpl repository =
+            new FileImportRepositoryImpl(null, null, null, novelDao, chapterDao, checkpointDao, Runnable::run);
+
+    @Test
+    public void resumesCheckpointOfUnfinishedNovel() throws Exception {
+        addNovel(1, HASH);
+        checkpointDao.saveCheckpoint(new ImportCheckpointEntity(HASH, 1, 200));
+
+        ImportCheckpointEntity checkpoint = repository.findResumableCheckpoint(HASH);
+
+        assertNotNull(checkpoint);
+        assertEquals(1, checkpoint.getNovelId());
+        assertEquals(200, checkpoint.getChaptersCommitted());
+    }
+
+    @Test
+    public void reimportAfterDeleteStartsOver() throws Exception {
+        addNovel(1, HASH);
+        checkpointDao.saveCheckpoint(new ImportCheckpointEntity(HASH, 1, 200));
+
+        deleteNovel(1);
+
+        assertNull(repository.findResumableCheckpoint(HASH));
+        assertNull(checkpointDao.getCheckpoint(HASH));
+    }
+
+    @Test
+    public void leftoverCheckpointOfDeletedNovelIsDropped() throws Exception {
+        // 升级前删除小说时留下的断点
+        checkpointDao.saveCheckpoint(new ImportCheckpointEntity(HASH, 1, 200));
+
+        assertNull(repository.findResumableCheckpoint(HASH));
+        assertNull(checkpointDao.getCheckpoint(HASH));
+    }
+
+    @Test
+    public void checkpointIsNotResumedIntoAnotherNovel() {
+        // 断点指向的小说已删除，书架上另有一本相同内容且已导入完成的小说
+        checkpointDao.saveCheckpoint(new ImportCheckpointEntity(HASH, 1, 200));
+        addNovel(2, HASH);
+
+        AppError.DuplicateError error = assertThrows(AppError.DuplicateError.class,
+                () -> repository.findResumableCheckpoint(HASH));
+
+        assertEquals(2, error.getExistingNovelId());
+        assertNull(checkpointDao.getCheckpoint(HASH));
+    }
+
+    @Test
+    public void failureBeforeAnyChapterDeletesEmptyNovel() {
+        // 如文件中没有可识别的章节：finish 抛出异常后按默认的保留断点处理
+        FileImportRepositoryImpl.CheckpointedImport job = newImport();
+        job.start(HASH, "小说", "file:///novel.txt");
+        assertEquals(1, novels.size());
+
+        assertThrows(AppError.FileError.class, () -> job.finish(new ParsedNovel()));
+        job.abort(true);
+
+        assertTrue(novels.isEmpty(), "没有章节的空小说不应留在书架上");
+        assertNull(checkpointDao.getCheckpoint(HASH));
+    }
+
+    @Test
+    public void failureAfterCommittedChaptersKeepsCheckpoint() {
+        FileImportRepositoryImpl.CheckpointedImport job = newImport();
+        job.start(HASH, "小说", "file:///novel.txt");
+        job.onChapter(new ParsedNovel.ParsedChapter("第一章", "正文", 0));
+        job.onChapter(new ParsedNovel.ParsedChapter("第二章", "正文", 1));
+
+        // 如读取文件时发生 IO 异常
+        job.abort(true);
+
+        assertEquals(1, novels.size());
+        assertEquals(2, chapters.size());
+        assertEquals(2, checkpointDao.getCheckpoint(HASH).getChaptersCommitted());
+    }
+
+    @Test
+    public void cancelWithoutKeepingDeletesCommittedChapters() {
+        FileImportRepositoryImpl.CheckpointedImport job = newImport();
+        job.start(HASH, "小说", "file:///novel.txt");
+        job.onChapter(new ParsedNovel.ParsedChapter("第一章", "正文", 0));
+
+        job.abort(false);
+
+        assertTrue(novels.isEmpty());
+        assertTrue(chapters.isEmpty());
+        assertNull(checkpointDao.getCheckpoint(HASH));
+    }
+
+    @Test
+    public void finishedNovelIsDuplicate() {
+        addNovel(1, HASH);
+
+        NovelEntity existing = repository.findImportedNovel(HASH);
+
+        assertNotNull(existing);
+        assertEquals(1, existing.getId());
+    }
+
+    @Test
+    public void unfinishedNovelIsReplacedByBatchImport() {
+        // 上次分段导入中断，书架上只有前200章
+        addNovel(1, HASH);
+        checkpointDao.saveCheckpoint(new ImportCheckpointEntity(HASH, 1, 200));
+
+        assertNull(repository.findImportedNovel(HASH), "未完成的导入不应计为重复");
+        assertTrue(novels.isEmpty());
+        assertNull(checkpointDao.getCheckpoint(HASH));
+    }
+
+    private FileImportRepositoryImpl.CheckpointedImport newImport() {
+        return repository.new CheckpointedImport("file:///novel.txt", -1, new ImportHandle(), null);
+    }
+
+    private void addNovel(long id, String contentHash) {
+        NovelEntity novel = new NovelEntity("小说" + id, "作者");
+        novel.setId(id);
+        novel.setContentHash(contentHash);
+        novels.put(id, novel);
+    }
+
+    /**
+     * 与 NovelRepositoryImpl.batchDeleteNovels 的删除事务相同：断点与小说一起删除
+     */
+    private void deleteNovel(long id) {
+        List<Long> ids = Collections.singletonList(id);
+        checkpointDao.deleteCheckpointsForNovels(ids);
+        novelDao.deleteNovelsByIds(ids);
+    }
+}
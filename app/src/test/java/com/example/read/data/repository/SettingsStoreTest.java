@@ -0,0 +1,137 @@
+package com.example.read.data.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import android.content.SharedPreferences;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 设置存储测试，读写临时目录中的设置文件
+ */
+public class SettingsStoreTest {
+
+    @TempDir
+    File tempDir;
+
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void appliesImmediatelyAndPersistsAfterDelay() throws Exception {
+        File file = new File(tempDir, "reader_settings.json");
+        SettingsStore store = new SettingsStore(file, executor, null, null);
+        List<String> changes = new ArrayList<>();
+        store.addListener(changes::add);
+
+        // 拖动滑块：多次修改合并为一次写盘
+        for (int i = 12; i <= 24; i++) {
+            store.edit().putFloat("font_size", i).apply();
+        }
+        store.edit().putFloat("font_size", 24f).putString("page_mode", "page").apply();
+
+        assertEquals(24f, store.getFloat("font_size", 18f));
+        assertEquals("page", store.getString("page_mode", "scroll"));
+        assertFalse(file.exists());
+        // 值未变化的修改不通知
+        assertEquals(14, changes.size());
+
+        waitForWrites();
+        assertTrue(file.isFile());
+
+        SettingsStore reopened = new SettingsStore(file, executor, null, null);
+        assertEquals(24f, reopened.getFloat("font_size", 18f));
+        assertEquals("page", reopened.getString("page_mode", "scroll"));
+        assertFalse(reopened.contains("line_spacing"));
+        assertEquals(1.5f, reopened.getFloat("line_spacing", 1.5f));
+    }
+
+    @Test
+    public void importsLegacyPreferencesOnFirstOpen() throws Exception {
+        Map<String, Object> legacy = new HashMap<>();
+        legacy.put("line_spacing", 2.0f);
+        legacy.put("night_mode_start", 21);
+        legacy.put("keep_screen_on", true);
+        AtomicBoolean deleted = new AtomicBoolean();
+
+        File file = new File(tempDir, "settings/theme_prefs.json");
+        SettingsStore store = new SettingsStore(file, executor, () -> preferences(legacy), () -> deleted.set(true));
+
+        assertEquals(2.0f, store.getFloat("line_spacing", 1.5f));
+        assertEquals(21, store.getInt("night_mode_start", 22));
+        assertTrue(store.getBoolean("keep_screen_on", false));
+        waitForWrites();
+        assertTrue(file.isFile());
+        assertTrue(deleted.get());
+
+        // 已有设置文件时不再导入
+        legacy.put("night_mode_start", 23);
+        SettingsStore reopened = new SettingsStore(file, executor, () -> preferences(legacy), () -> {});
+        assertEquals(21, reopened.getInt("night_mode_start", 22));
+    }
+
+    @Test
+    public void whenLoadedRunsAfterLoadWithoutBlockingCaller() throws Exception {
+        Map<String, Object> legacy = new HashMap<>();
+        legacy.put("font_size", 22f);
+        CountDownLatch reading = new CountDownLatch(1);
+        File file = new File(tempDir, "settings/slow_settings.json");
+        // 读盘被挡住时注册回调，调用线程不等待
+        SettingsStore store = new SettingsStore(file, executor, () -> {
+            await(reading);
+            return preferences(legacy);
+        }, () -> {});
+        CompletableFuture<Float> loaded = new CompletableFuture<>();
+        store.whenLoaded(() -> loaded.complete(store.getFloat("font_size", 18f)));
+        assertFalse(loaded.isDone());
+
+        reading.countDown();
+        assertEquals(22f, loaded.get(1, TimeUnit.SECONDS));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 等待已安排的写盘完成
+     */
+    private void waitForWrites() throws Exception {
+        executor.schedule(() -> {}, SettingsStore.WRITE_DELAY_MS * 2, TimeUnit.MILLISECONDS).get();
+    }
+
+    private static SharedPreferences preferences(Map<String, ?> values) {
+        return (SharedPreferences) Proxy.newProxyInstance(SharedPreferences.class.getClassLoader(),
+                new Class<?>[]{SharedPreferences.class}, (proxy, method, args) -> {
+                    if (!method.getName().equals("getAll")) {
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                    return new HashMap<>(values);
+                });
+    }
+}
@@ -129,6 +129,12 @@ public class TestSettingsRepository implements SettingsRepository {
         return storage.containsKey(key);
     }
 
+    @Override
+    public void whenLoaded(Runnable action) {
+        // 内存实现无需加载
+        action.run();
+    }
+
     public void clearAll() { storage.clear(); }
     public int getStoredSettingsCount() { return storage.size(); }
     public Object getRawValue(String key) { return storage.get(key); }
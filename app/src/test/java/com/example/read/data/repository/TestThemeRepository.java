@@ -181,6 +181,12 @@ public class TestThemeRepository implements ThemeRepository {
         }
     }
 
+    @Override
+    public void whenLoaded(Runnable action) {
+        // 内存实现无需加载
+        action.run();
+    }
+
     // 测试辅助方法
     public void setMockCurrentHour(int hour) {
         this.mockCurrentHour = hour;
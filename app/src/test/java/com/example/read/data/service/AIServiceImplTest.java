@@ -0,0 +1,95 @@
+package com.example.read.data.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.example.read.data.api.TestDashScopeApi;
+import com.example.read.domain.error.AppError;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import io.reactivex.rxjava3.subscribers.TestSubscriber;
+
+/**
+ * AI服务流式输出测试，使用按SSE格式逐字输出的 {@link TestDashScopeApi}
+ */
+public class AIServiceImplTest {
+
+    private static final String CONTENT = "第一章的正文内容，主角出场";
+
+    @Test
+    public void streamSummaryEmitsChunksProgressively() throws InterruptedException {
+        TestDashScopeApi api = new TestDashScopeApi(20);
+        AIServiceImpl service = new AIServiceImpl(api, api);
+
+        long[] firstChunkAt = {-1};
+        TestSubscriber<String> subscriber = service.streamSummary(CONTENT)
+                .doOnNext(chunk -> {
+                    if (firstChunkAt[0] < 0) {
+                        firstChunkAt[0] = System.nanoTime();
+                    }
+                })
+                .test();
+        assertTrue(subscriber.await(5, TimeUnit.SECONDS));
+        long completedAt = System.nanoTime();
+
+        subscriber.assertComplete();
+        List<String> chunks = subscriber.values();
+        String expected = TestDashScopeApi.expectedSummary(CONTENT);
+        assertEquals(expected.length(), chunks.size());
+        assertEquals(expected, String.join("", chunks));
+        // 首个片段到达时后续事件尚未发出，而不是整个响应读完后一次发出
+        long remainingMs = TimeUnit.NANOSECONDS.toMillis(completedAt - firstChunkAt[0]);
+        assertTrue(remainingMs >= (chunks.size() - 1) * 20L * 8 / 10, "remaining " + remainingMs + "ms");
+    }
+
+    @Test
+    public void errorEventFailsTheStream() throws InterruptedException {
+        TestDashScopeApi api = new TestDashScopeApi(1);
+        AIServiceImpl service = new AIServiceImpl(api, api);
+
+        TestSubscriber<String> subscriber = service.streamSummary("内容" + TestDashScopeApi.FAIL_MARKER).test();
+        assertTrue(subscriber.await(5, TimeUnit.SECONDS));
+
+        subscriber.assertNoValues();
+        subscriber.assertError(error -> error instanceof AppError.AIServiceError
+                && !((AppError.AIServiceError) error).isTimeout());
+    }
+
+    @Test
+    public void cancellingStopsReadingTheStream() throws InterruptedException {
+        TestDashScopeApi api = new TestDashScopeApi(20);
+        AIServiceImpl service = new AIServiceImpl(api, api);
+
+        TestSubscriber<String> subscriber = service.streamSummary(CONTENT).take(2).test();
+        assertTrue(subscriber.await(5, TimeUnit.SECONDS));
+
+        subscriber.assertValueCount(2);
+        subscriber.assertComplete();
+
+        // 取消后关闭响应体，不再读取后续事件
+        long deadline = System.currentTimeMillis() + 1000;
+        while (api.getClosedStreams() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(1, api.getClosedStreams(), "取消后应关闭响应体");
+        int eventsRead = api.getEventsRead();
+        Thread.sleep(20 * 5);
+        assertEquals(eventsRead, api.getEventsRead(), "关闭后不应继续读取");
+        assertTrue(eventsRead < TestDashScopeApi.expectedSummary(CONTENT).length());
+    }
+
+    @Test
+    public void emptyContentIsRejectedWithoutRequest() {
+        TestDashScopeApi api = new TestDashScopeApi(1);
+        AIServiceImpl service = new AIServiceImpl(api, api);
+
+        service.streamSummary("  ").test()
+                .assertError(AppError.AIServiceError.class);
+
+        assertEquals(0, api.getCallCount());
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.read.data.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.example.read.config.AIConfig;
+import com.example.read.data.api.TestDashScopeApi;
+import com.example.read.domain.model.Chapter;
+import com.example.read.utils.ContentHasher;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 批量摘要生成器测试，AI服务使用不访问网络的 {@link TestDashScopeApi}
+ */
+public class BatchSummarizerTest {
+
+    /**
+     * 内存中的摘要存储，记录每次批量写入
+     */
+    private static class MemoryStore implements BatchSummarizer.SummaryStore {
+        final Map<String, String> cache = new HashMap<>();
+        final List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<>());
+
+        @Override
+        public Map<String, String> findSummaries(List<String> contentHashes) {
+            Map<String, String> found = new HashMap<>();
+            for (String hash : contentHashes) {
+                if (cache.containsKey(hash)) {
+                    found.put(hash, cache.get(hash));
+                }
+            }
+            return found;
+        }
+
+        @Override
+        public void saveSummaries(List<BatchSummarizer.Result> results) {
+            batchSizes.add(results.size());
+            for (BatchSummarizer.Result result : results) {
+                cache.put(result.getContentHash(), result.getSummary());
+            }
+        }
+    }
+
+    private static List<Chapter> chapters(int count) {
+        List<Chapter> chapters = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Chapter chapter = new Chapter(1, "第" + (i + 1) + "章", "第" + (i + 1) + "章的正文内容", i);
+            chapter.setId(i + 1);
+            chapters.add(chapter);
+        }
+        return chapters;
+    }
+
+    private static BatchSummarizer summarizer(TestDashScopeApi api, MemoryStore store, int concurrency, long intervalMs) {
+        HierarchicalSummarizer chapterSummarizer = new HierarchicalSummarizer(new AIServiceImpl(api, api),
+                new HierarchicalSummarizerTest.MemoryNodeCache(), concurrency, intervalMs,
+                AIConfig.SUMMARY_INPUT_TOKENS, AIConfig.SUMMARY_ARC_SIZE);
+        return new BatchSummarizer(chapterSummarizer, store, concurrency);
+    }
+
+    @Test
+    public void requestsRunConcurrentlyWithinLimit() {
+        TestDashScopeApi api = new TestDashScopeApi(50);
+        MemoryStore store = new MemoryStore();
+        List<Chapter> chapters = chapters(20);
+
+        Map<Long, String> results = summarizer(api, store, 4, 0).summarize(chapters, null).blockingGet();
+
+        assertEquals(20, api.getCallCount());
+        assertTrue(api.getMaxInFlight() <= 4, "in flight: " + api.getMaxInFlight());
+        assertTrue(api.getMaxInFlight() > 1, "requests should overlap");
+        // 结果顺序与输入一致
+        List<Long> ids = new ArrayList<>(results.keySet());
+        for (int i = 0; i < chapters.size(); i++) {
+            assertEquals(chapters.get(i).getId(), (long) ids.get(i));
+            assertEquals(TestDashScopeApi.expectedSummary(chapters.get(i).getContent()), results.get(ids.get(i)));
+        }
+    }
+
+    @Test
+    public void cachedAndDuplicateContentSkipTheApi() {
+        TestDashScopeApi api = new TestDashScopeApi(5);
+        MemoryStore store = new MemoryStore();
+        List<Chapter> chapters = chapters(5);
+        store.cache.put(ContentHasher.hashText(chapters.get(0).getContent()), "已缓存的摘要");
+        // 第5章与第2章内容相同
+        chapters.get(4).setContent(chapters.get(1).getContent());
+
+        Map<Long, String> results = summarizer(api, store, 4, 0).summarize(chapters, null).blockingGet();
+
+        assertEquals(3, api.getCallCount());
+        assertEquals("已缓存的摘要", results.get(1L));
+        assertEquals(results.get(2L), results.get(5L));
+    }
+
+    @Test
+    public void resultsAreWrittenInBatchesAndProgressReachesTotal() {
+        TestDashScopeApi api = new TestDashScopeApi(1);
+        MemoryStore store = new MemoryStore();
+        int total = BatchSummarizer.WRITE_BATCH_SIZE * 2 + 3;
+        List<Integer> progress = Collections.synchronizedList(new ArrayList<>());
+
+        summarizer(api, store, 4, 0)
+                .summarize(chapters(total), (result, completed, count) -> progress.add(completed))
+                .blockingGet();
+
+        assertEquals(total, progress.size());
+        for (int i = 0; i < total; i++) {
+            assertEquals(i + 1, (int) progress.get(i));
+        }
+        assertEquals(List.of(BatchSummarizer.WRITE_BATCH_SIZE, BatchSummarizer.WRITE_BATCH_SIZE, 3), store.batchSizes);
+    }
+
+    @Test
+    public void failedChapterDoesNotStopTheBatch() {
+        TestDashScopeApi api = new TestDashScopeApi(5);
+        MemoryStore store = new MemoryStore();
+        List<Chapter> chapters = chapters(4);
+        chapters.get(2).setContent("出错的章节" + TestDashScopeApi.FAIL_MARKER);
+
+        Map<Long, String> results = summarizer(api, store, 2, 0).summarize(chapters, null).blockingGet();
+
+        assertNull(results.get(3L));
+        assertEquals(3, store.cache.size());
+        assertEquals(TestDashScopeApi.expectedSummary(chapters.get(3).getContent()), results.get(4L));
+    }
+
+    @Test
+    public void requestStartsAreSpacedByMinInterval() {
+        TestDashScopeApi api = new TestDashScopeApi(1);
+        MemoryStore store = new MemoryStore();
+
+        summarizer(api, store, 4, 40).summarize(chapters(5), null).blockingGet();
+
+        List<Long> times = api.getRequestTimes();
+        Collections.sort(times);
+        for (int i = 1; i < times.size(); i++) {
+            // 计时器精度留出余量
+            assertTrue(times.get(i) - times.get(i - 1) >= 30, "gap: " + (times.get(i) - times.get(i - 1)));
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.read.data.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.example.read.domain.model.ParsedNovel;
+import com.example.read.domain.service.FileParserService;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * TXT章节切分测试 - 标题识别、序言、重复标题和长正文行
+ */
+public class FileParserServiceImplTest {
+
+    private final FileParserServiceImpl parser = new FileParserServiceImpl(null);
+
+    @Test
+    public void splitsChaptersAtHeadings() throws IOException {
+        List<ParsedNovel.ParsedChapter> chapters = parse(
+                "书名：星海归途",
+                "作者：林深",
+                "",
+                "　　第一章　启程",
+                "　　清晨的港口还笼着薄雾。",
+                "Chapter 2 Storm",
+                "风浪大得出奇。",
+                "3、归来",
+                "海岸线出现在视野里。");
+
+        // 开头的书名、作者较短，不单独成章
+        assertEquals(3, chapters.size());
+        // 标题去掉全角缩进，正文的段首缩进保留
+        assertChapter(chapters.get(0), 0, "第一章　启程", "　　清晨的港口还笼着薄雾。");
+        assertChapter(chapters.get(1), 1, "Chapter 2 Storm", "风浪大得出奇。");
+        assertChapter(chapters.get(2), 2, "3、归来", "海岸线出现在视野里。");
+    }
+
+    @Test
+    public void longOpeningBecomesPreface() throws IOException {
+        String preface = "序".repeat(120);
+        List<ParsedNovel.ParsedChapter> chapters = parse(preface, "第一章 开始", "正文");
+
+        assertEquals(2, chapters.size());
+        assertChapter(chapters.get(0), 0, "序言", preface);
+        assertChapter(chapters.get(1), 1, "第一章 开始", "正文");
+    }
+
+    @Test
+    public void volumeHeadingWithoutBodyIsDropped() throws IOException {
+        List<ParsedNovel.ParsedChapter> chapters = parse(
+                "第一卷 风起",
+                "第一章 初遇",
+                "正文一",
+                "第二卷 云涌",
+                "第二章 重逢",
+                "正文二");
+
+        assertEquals(2, chapters.size());
+        assertChapter(chapters.get(0), 0, "第一章 初遇", "正文一");
+        assertChapter(chapters.get(1), 1, "第二章 重逢", "正文二");
+    }
+
+    @Test
+    public void bodyLinesAreNotSplit() throws IOException {
+        String longLine = "第二章的内容" + "很长".repeat(30);
+        List<ParsedNovel.ParsedChapter> chapters = parse(
+                "第一章 开始",
+                "正文",
+                // 与上一个标题编号相同，视为正文中的引用
+                "第一章",
+                // 超过标题长度上限
+                longLine);
+
+        assertEquals(1, chapters.size());
+        assertChapter(chapters.get(0), 0, "第一章 开始", "正文\n第一章\n" + longLine);
+    }
+
+    @Test
+    public void textWithoutHeadingsIsOneChapter() throws IOException {
+        List<ParsedNovel.ParsedChapter> chapters = parse("只有一段正文。", "没有任何标题。");
+
+        assertEquals(1, chapters.size());
+        assertChapter(chapters.get(0), 0, "正文", "只有一段正文。\n没有任何标题。");
+    }
+
+    private List<ParsedNovel.ParsedChapter> parse(String... lines) throws IOException {
+        Collector collector = new Collector();
+        byte[] bytes = String.join("\n", lines).getBytes(StandardCharsets.UTF_8);
+        parser.parseTxtContent(new ByteArrayInputStream(bytes), "测试.txt", collector);
+        return collector.chapters;
+    }
+
+    private static void assertChapter(ParsedNovel.ParsedChapter chapter, int index, String title, String content) {
+        assertEquals(index, chapter.getIndex());
+        assertEquals(title, chapter.getTitle());
+        assertEquals(content, chapter.getContent());
+    }
+
+    private static class Collector implements FileParserService.ParseListener {
+        final List<ParsedNovel.ParsedChapter> chapters = new ArrayList<>();
+
+        @Override
+        public void onBytesRead(long bytesRead) {
+        }
+
+        @Override
+        public void onChapter(ParsedNovel.ParsedChapter chapter) {
+            chapters.add(chapter);
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return false;
+        }
+    }
+}
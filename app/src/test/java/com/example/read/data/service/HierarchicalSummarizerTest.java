@@ -0,0 +1,147 @@
+package com.example.read.data.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.example.read.data.api.TestDashScopeApi;
+import com.example.read.domain.model.BookSummary;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 分层摘要生成器测试，AI服务使用不访问网络的 {@link TestDashScopeApi}
+ */
+public class HierarchicalSummarizerTest {
+
+    // 测试用的小预算，使短文本也会被分段
+    private static final int INPUT_TOKENS = 60;
+    private static final int ARC_SIZE = 3;
+
+    /**
+     * 内存中的节点缓存
+     */
+    static class MemoryNodeCache implements HierarchicalSummarizer.NodeCache {
+        final Map<String, String> summaries = new ConcurrentHashMap<>();
+
+        @Override
+        public Map<String, String> findSummaries(List<String> keys) {
+            Map<String, String> found = new ConcurrentHashMap<>();
+            for (String key : keys) {
+                String summary = summaries.get(key);
+                if (summary != null) {
+                    found.put(key, summary);
+                }
+            }
+            return found;
+        }
+
+        @Override
+        public void saveSummary(String key, String summary) {
+            summaries.put(key, summary);
+        }
+    }
+
+    private static HierarchicalSummarizer summarizer(TestDashScopeApi api, MemoryNodeCache cache) {
+        return new HierarchicalSummarizer(new AIServiceImpl(api, api), cache, 4, 0, INPUT_TOKENS, ARC_SIZE);
+    }
+
+    private static String paragraph(int index) {
+        StringBuilder builder = new StringBuilder("第" + index + "段");
+        while (builder.length() < 40) {
+            builder.append("主角走进城中打听消息。");
+        }
+        return builder.toString();
+    }
+
+    private static List<String> chapterSummaries(int count) {
+        List<String> summaries = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            summaries.add("第" + (i + 1) + "章摘要");
+        }
+        return summaries;
+    }
+
+    @Test
+    public void longChapterIsSummarizedFromAllChunks() {
+        TestDashScopeApi api = new TestDashScopeApi(1);
+        MemoryNodeCache cache = new MemoryNodeCache();
+        String content = paragraph(1) + "\n" + paragraph(2) + "\n" + paragraph(3);
+
+        String summary = summarizer(api, cache).summarizeChapter(content).blockingGet();
+
+        assertNotNull(summary);
+        // 三个分段各请求一次，再合并一次
+        assertEquals(4, api.getCallCount());
+        assertEquals(4, cache.summaries.size());
+        // 分段和合并结果已缓存，再次生成不再请求
+        assertEquals(summary, summarizer(api, cache).summarizeChapter(content).blockingGet());
+        assertEquals(4, api.getCallCount());
+    }
+
+    @Test
+    public void shortChapterIsRequestedDirectly() {
+        TestDashScopeApi api = new TestDashScopeApi(1);
+        String content = "短章节内容";
+
+        String summary = summarizer(api, new MemoryNodeCache()).summarizeChapter(content).blockingGet();
+
+        assertEquals(TestDashScopeApi.expectedSummary(content), summary);
+        assertEquals(1, api.getCallCount());
+    }
+
+    @Test
+    public void appendingChaptersRecomputesOnlyTheLastArc() {
+        TestDashScopeApi api = new TestDashScopeApi(1);
+        MemoryNodeCache cache = new MemoryNodeCache();
+
+        // 7章分为 3+3+1 三段：前两段各合并一次，最后一段只有一章无需合并，再合并全书一次
+        BookSummary first = summarizer(api, cache).summarizeBook(chapterSummaries(7)).blockingGet();
+        assertEquals(3, api.getCallCount());
+        assertEquals(3, first.getArcs().size());
+        assertEquals(6, first.getArcs().get(2).getStartPosition());
+        assertEquals(7, first.getArcs().get(2).getEndPosition());
+
+        // 追加一章后只重新合并最后一段和全书
+        BookSummary second = summarizer(api, cache).summarizeBook(chapterSummaries(8)).blockingGet();
+        assertEquals(5, api.getCallCount());
+        assertEquals(first.getArcs().get(0).getSummary(), second.getArcs().get(0).getSummary());
+        assertFalse(first.getSummary().equals(second.getSummary()));
+    }
+
+    @Test
+    public void missingChapterSummariesKeepArcBoundaries() {
+        TestDashScopeApi api = new TestDashScopeApi(1);
+        List<String> summaries = chapterSummaries(6);
+        summaries.set(1, null);
+
+        BookSummary book = summarizer(api, new MemoryNodeCache()).summarizeBook(summaries).blockingGet();
+
+        assertEquals(2, book.getArcs().size());
+        assertEquals(3, book.getArcs().get(1).getStartPosition());
+    }
+
+    @Test
+    public void oversizedMergeIsReducedInGroups() {
+        TestDashScopeApi api = new TestDashScopeApi(1);
+        List<String> summaries = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            summaries.add(paragraph(i));
+        }
+        HierarchicalSummarizer summarizer = new HierarchicalSummarizer(new AIServiceImpl(api, api),
+                new MemoryNodeCache(), 4, 0, INPUT_TOKENS, summaries.size());
+
+        BookSummary book = summarizer.summarizeBook(summaries).blockingGet();
+
+        assertNotNull(book.getSummary());
+        assertEquals(1, book.getArcs().size());
+        // 每次合并的输入不超过预算，需要多次合并
+        assertTrue(api.getCallCount() > 1, "calls: " + api.getCallCount());
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.read.data.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.example.read.data.export.EpubNovelWriter;
+import com.example.read.data.export.NovelExportWriter;
+import com.example.read.data.export.TxtNovelWriter;
+import com.example.read.domain.model.ParsedNovel;
+import com.example.read.domain.service.FileParserService;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 导出往返测试 - 导出的TXT/EPUB再用导入解析器读回，书名、作者、章节标题和正文保持一致
+ */
+public class NovelExportRoundTripTest {
+
+    private static final String TITLE = "星海归途";
+    private static final String AUTHOR = "林深";
+    private static final String DESCRIPTION = "一段关于归乡的故事。";
+
+    private static final String[][] CHAPTERS = {
+            {"第一章 启程", "清晨的港口还笼着薄雾，船笛声从很远的地方传来。\n"
+                    + "他把行李放在甲板上，回头看了一眼这座住了十年的城市。\n\n"
+                    + "“走吧。”她说，“再不走就赶不上潮水了。”"},
+            {"第二章 风暴 & 航线", "第三天夜里，风浪大得出奇，整条船都在呻吟。\n"
+                    + "船长说这样的天气要持续<两天>以上，所有人都不许上甲板。\n"
+                    + "他靠着舱壁坐了一整夜，听着海水一遍遍拍打船身。"},
+            {"第三章 归来", "当海岸线终于出现在视野里的时候，甲板上响起一片欢呼。\n"
+                    + "他站在人群后面，看着那片熟悉又陌生的土地，很久没有说话。"},
+    };
+
+    private final FileParserServiceImpl parser = new FileParserServiceImpl(null);
+
+    @Test
+    public void txtExportParsesBackToSameChapters() throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        write(new TxtNovelWriter(output, StandardCharsets.UTF_8));
+
+        Collector collector = new Collector();
+        ParsedNovel parsed = parser.parseTxtContent(
+                new ByteArrayInputStream(output.toByteArray()), TITLE + ".txt", collector);
+
+        // TXT没有元数据，书名取自文件名，作者从开头的"作者："行识别
+        assertEquals(TITLE, parsed.getTitle());
+        assertEquals(AUTHOR, parsed.getAuthor());
+        assertChapters(collector.chapters, false);
+    }
+
+    @Test
+    public void epubExportParsesBackToSameChapters() throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        write(new EpubNovelWriter(output, "urn:uuid:round-trip"));
+
+        Collector collector = new Collector();
+        ParsedNovel parsed = parser.parseEpubContent(
+                new ByteArrayInputStream(output.toByteArray()), "export.epub", collector);
+
+        assertEquals(TITLE, parsed.getTitle());
+        assertEquals(AUTHOR, parsed.getAuthor());
+        assertEquals(DESCRIPTION, parsed.getDescription());
+        // EPUB按段落输出，段落间距不保留，按段落比较
+        assertChapters(collector.chapters, true);
+    }
+
+    private static void write(NovelExportWriter writer) throws IOException {
+        writer.begin(TITLE, AUTHOR, DESCRIPTION);
+        for (String[] chapter : CHAPTERS) {
+            writer.writeChapter(chapter[0], chapter[1]);
+        }
+        writer.finish();
+    }
+
+    private static void assertChapters(List<ParsedNovel.ParsedChapter> chapters, boolean byParagraph) {
+        assertEquals(CHAPTERS.length, chapters.size());
+        for (int i = 0; i < CHAPTERS.length; i++) {
+            ParsedNovel.ParsedChapter chapter = chapters.get(i);
+            assertEquals(i, chapter.getIndex());
+            assertEquals(CHAPTERS[i][0], chapter.getTitle());
+            if (byParagraph) {
+                assertEquals(paragraphs(CHAPTERS[i][1]), paragraphs(chapter.getContent()), "第" + (i + 1) + "章正文");
+            } else {
+                assertEquals(CHAPTERS[i][1], chapter.getContent(), "第" + (i + 1) + "章正文");
+            }
+        }
+    }
+
+    /**
+     * 去掉空行后的段落列表
+     */
+    private static List<String> paragraphs(String content) {
+        List<String> paragraphs = new ArrayList<>();
+        for (String line : content.split("\n")) {
+            if (!line.trim().isEmpty()) {
+                paragraphs.add(line.trim());
+            }
+        }
+        return paragraphs;
+    }
+
+    private static class Collector implements FileParserService.ParseListener {
+        final List<ParsedNovel.ParsedChapter> chapters = new ArrayList<>();
+
+        @Override
+        public void onBytesRead(long bytesRead) {
+        }
+
+        @Override
+        public void onChapter(ParsedNovel.ParsedChapter chapter) {
+            chapters.add(chapter);
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return false;
+        }
+    }
+}
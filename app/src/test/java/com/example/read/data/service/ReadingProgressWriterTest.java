@@ -0,0 +1,124 @@
+package com.example.read.data.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import com.example.read.data.dao.NovelDao;
+import com.example.read.data.dao.ReadingProgressDao;
+import com.example.read.data.entity.ReadingProgressEntity;
+import com.example.read.utils.Metrics;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+/**
+ * 阅读进度写入器测试，时钟固定，定时写入不会在测试期间触发，由测试直接调用写入
+ */
+public class ReadingProgressWriterTest {
+
+    private final List<ReadingProgressEntity> savedProgress = new ArrayList<>();
+    private final List<Object[]> shelfUpdates = new ArrayList<>();
+    private int failuresLeft;   // 接下来几次写入模拟数据库忙
+
+    private final ReadingProgressDao progressDao = new ReadingProgressDao() {
+        @Override
+        public ReadingProgressEntity getProgress(long novelId) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void saveProgress(ReadingProgressEntity progress) {
+            if (failuresLeft > 0) {
+                failuresLeft--;
+                throw new IllegalStateException("database is locked");
+            }
+            savedProgress.add(progress);
+        }
+    };
+
+    // 只记录 updateShelfProgress 的参数
+    private final NovelDao novelDao = (NovelDao) Proxy.newProxyInstance(NovelDao.class.getClassLoader(),
+            new Class<?>[]{NovelDao.class}, (proxy, method, args) -> {
+                if (!method.getName().equals("updateShelfProgress")) {
+                    throw new UnsupportedOperationException(method.getName());
+                }
+                shelfUpdates.add(args);
+                return 1;
+            });
+
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+    private final ReadingProgressWriter writer =
+            new ReadingProgressWriter(progressDao, novelDao, Runnable::run, executor, () -> 1_700_000_000_000L);
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void coalescesUpdatesIntoOneWrite() {
+        long updates = Metrics.getCounter(Metrics.COUNTER_PROGRESS_UPDATES);
+        long writes = Metrics.getCounter(Metrics.COUNTER_PROGRESS_WRITES);
+
+        for (int page = 0; page < 100; page++) {
+            writer.update(1, 10 + page / 40, "第" + (1 + page / 40) + "章", page * 500);
+        }
+        writer.flushNow();
+
+        assertEquals(1, savedProgress.size());
+        assertEquals(12, savedProgress.get(0).getChapterId());
+        assertEquals(99 * 500, savedProgress.get(0).getPosition());
+        assertEquals(1, shelfUpdates.size());
+        assertEquals("第3章", shelfUpdates.get(0)[2]);
+        assertEquals(100, Metrics.getCounter(Metrics.COUNTER_PROGRESS_UPDATES) - updates);
+        assertEquals(1, Metrics.getCounter(Metrics.COUNTER_PROGRESS_WRITES) - writes);
+
+        // 没有新的更新时不再写入
+        writer.flushNow();
+        assertEquals(1, savedProgress.size());
+    }
+
+    @Test
+    public void pendingProgressIsVisibleUntilWritten() {
+        writer.update(2, 20, null, 300);
+        writer.update(3, 30, "序章", 0);
+
+        assertEquals(300, writer.getPending(2).getPosition());
+        assertNull(writer.getPending(4));
+
+        writer.flushNow();
+
+        assertNull(writer.getPending(2));
+        assertNull(writer.getPending(3));
+        assertEquals(2, savedProgress.size());
+        assertNull(shelfUpdates.get(0)[2]);
+    }
+
+    @Test
+    public void failedWriteKeepsProgressUntilRetried() {
+        failuresLeft = 1;
+        writer.update(5, 50, "第五章", 800);
+        ReadingProgressEntity first = writer.getPending(5);
+
+        writer.flushNow();
+
+        assertSame(first, writer.getPending(5), "写入失败的进度应留在队列中");
+        assertEquals(0, savedProgress.size());
+        assertEquals(0, shelfUpdates.size());
+
+        // 重试前只会被更新的位置替换
+        writer.update(5, 50, "第五章", 1200);
+        writer.flushNow();
+
+        assertNull(writer.getPending(5));
+        assertEquals(1, savedProgress.size());
+        assertEquals(1200, savedProgress.get(0).getPosition());
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.read.data.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import androidx.lifecycle.LiveData;
+
+import com.example.read.data.dao.ReadingStatisticsDao;
+import com.example.read.data.entity.DailyReadingStatsEntity;
+import com.example.read.data.entity.HourlyReadingStatsEntity;
+import com.example.read.data.entity.ReadingStatisticsEntity;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.List;
+import java.util.TimeZone;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+/**
+ * 阅读会话记录器测试，时钟由测试控制，直接调用内部线程上的方法
+ */
+public class ReadingSessionRecorderTest {
+
+    private static final TimeZone UTC = TimeZone.getTimeZone("UTC");
+    private static final long SECOND = 1000;
+
+    /**
+     * 只记录心跳写入的DAO，插入时按顺序分配ID
+     */
+    private static class RecordingDao implements ReadingStatisticsDao {
+        final List<List<SessionSlice>> batches = new ArrayList<>();
+        long nextId = 1;
+
+        @Override
+        public void recordSessionSlices(List<SessionSlice> slices) {
+            for (SessionSlice slice : slices) {
+                if (slice.session.getId() == 0) {
+                    slice.session.setId(nextId++);
+                }
+            }
+            batches.add(new ArrayList<>(slices));
+        }
+
+        @Override public long insertStatistics(ReadingStatisticsEntity statistics) { throw new UnsupportedOperationException(); }
+        @Override public void insertDailyRollup(DailyReadingStatsEntity rollup) { throw new UnsupportedOperationException(); }
+        @Override public void addToDailyRollup(long date, long novelId, long duration, long charCount, int sessions) { throw new UnsupportedOperationException(); }
+        @Override public void insertHourlyRollup(HourlyReadingStatsEntity rollup) { throw new UnsupportedOperationException(); }
+        @Override public void addToHourlyRollup(long date, int hourOfDay, long duration, long charCount) { throw new UnsupportedOperationException(); }
+        @Override public LiveData<List<DailyReadingTotal>> getDailyTotals(long startDate, long endDate) { throw new UnsupportedOperationException(); }
+        @Override public List<DailyReadingTotal> getDailyTotalsSync(long startDate, long endDate) { throw new UnsupportedOperationException(); }
+        @Override public Long getTotalReadingDuration(long startDate, long endDate) { throw new UnsupportedOperationException(); }
+        @Override public Long getTotalReadingCharCount(long startDate, long endDate) { throw new UnsupportedOperationException(); }
+        @Override public List<NovelReadingDuration> getMostReadNovels(long startDate, long endDate, int limit) { throw new UnsupportedOperationException(); }
+        @Override public List<HourlyReadingDuration> getHourlyDistribution(long startDate, long endDate) { throw new UnsupportedOperationException(); }
+        @Override public void deleteOldStatistics(long beforeDate) { throw new UnsupportedOperationException(); }
+    }
+
+    private final RecordingDao dao = new RecordingDao();
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+    private long now;
+    private final ReadingSessionRecorder recorder = new ReadingSessionRecorder(dao, executor, () -> now, UTC);
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void splitsSessionAtHourAndDayBoundaries() {
+        now = time(2024, Calendar.JANUARY, 1, 23, 59, 0);
+        recorder.startNow(7);
+        now = time(2024, Calendar.JANUARY, 2, 0, 1, 30);
+        recorder.updateCharCountNow(1200);
+        recorder.stopNow();
+
+        assertEquals(1, dao.batches.size());
+        List<ReadingStatisticsDao.SessionSlice> slices = dao.batches.get(0);
+        assertEquals(2, slices.size());
+
+        ReadingStatisticsDao.SessionSlice lastHour = slices.get(0);
+        assertEquals(time(2024, Calendar.JANUARY, 1, 0, 0, 0), lastHour.session.getDate());
+        assertEquals(23, lastHour.session.getHourOfDay());
+        assertEquals(60 * SECOND, lastHour.duration);
+        assertEquals(0, lastHour.charCount);
+        assertTrue(lastHour.newSession);
+
+        ReadingStatisticsDao.SessionSlice firstHour = slices.get(1);
+        assertEquals(time(2024, Calendar.JANUARY, 2, 0, 0, 0), firstHour.session.getDate());
+        assertEquals(0, firstHour.session.getHourOfDay());
+        assertEquals(90 * SECOND, firstHour.duration);
+        assertEquals(1200, firstHour.charCount);
+        assertEquals(7, firstHour.session.getNovelId());
+        // 跨天的会话在两天各计一次
+        assertTrue(firstHour.newSession);
+    }
+
+    @Test
+    public void heartbeatsAccumulateIntoOneRowPerHour() {
+        now = time(2024, Calendar.MARCH, 5, 20, 10, 0);
+        recorder.startNow(3);
+        now += ReadingSessionRecorder.HEARTBEAT_INTERVAL_MS;
+        recorder.beat();
+        now += ReadingSessionRecorder.HEARTBEAT_INTERVAL_MS;
+        recorder.beat();
+
+        assertEquals(2, dao.batches.size());
+        ReadingStatisticsDao.SessionSlice first = dao.batches.get(0).get(0);
+        ReadingStatisticsDao.SessionSlice second = dao.batches.get(1).get(0);
+        assertTrue(first.newSession);
+        assertFalse(second.newSession);
+        // 第二次心跳覆盖同一条原始记录，累计值增长，汇总只加增量
+        assertEquals(first.session.getId(), second.session.getId());
+        assertEquals(ReadingSessionRecorder.HEARTBEAT_INTERVAL_MS, second.duration);
+        assertEquals(2 * ReadingSessionRecorder.HEARTBEAT_INTERVAL_MS, second.session.getReadingDuration());
+    }
+
+    @Test
+    public void pausedTimeIsNotCounted() {
+        now = time(2024, Calendar.MARCH, 5, 8, 0, 0);
+        recorder.pauseNow();
+        // 界面在后台时加载完成，恢复后才开始计时
+        recorder.startNow(5);
+        now += 60 * SECOND;
+        recorder.resumeNow();
+        now += 20 * SECOND;
+        recorder.pauseNow();
+        now += 10 * 60 * SECOND;
+        recorder.resumeNow();
+        now += 10 * SECOND;
+        recorder.stopNow();
+
+        assertEquals(2, dao.batches.size());
+        assertEquals(20 * SECOND, dao.batches.get(0).get(0).duration);
+        assertEquals(10 * SECOND, dao.batches.get(1).get(0).duration);
+        assertEquals(30 * SECOND, dao.batches.get(1).get(0).session.getReadingDuration());
+    }
+
+    private static long time(int year, int month, int day, int hour, int minute, int second) {
+        Calendar calendar = Calendar.getInstance(UTC);
+        calendar.clear();
+        calendar.set(year, month, day, hour, minute, second);
+        return calendar.getTimeInMillis();
+    }
+}
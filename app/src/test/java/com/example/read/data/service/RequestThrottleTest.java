@@ -0,0 +1,84 @@
+package com.example.read.data.service;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import io.reactivex.rxjava3.disposables.Disposable;
+import io.reactivex.rxjava3.observers.TestObserver;
+import io.reactivex.rxjava3.subjects.SingleSubject;
+
+/**
+ * 请求限流测试 - 名额的排队、归还和取消
+ */
+public class RequestThrottleTest {
+
+    @Test
+    public void queuedRequestStartsWhenPermitIsReturned() {
+        RequestThrottle throttle = new RequestThrottle(1, 0);
+        SingleSubject<String> first = SingleSubject.create();
+        SingleSubject<String> second = SingleSubject.create();
+
+        TestObserver<String> firstObserver = throttle.run(first).test();
+        TestObserver<String> secondObserver = throttle.run(second).test();
+        awaitSubscribed(first);
+        assertFalse(second.hasObservers(), "名额已满时不应发起请求");
+
+        first.onSuccess("一");
+        awaitSubscribed(second);
+        second.onSuccess("二");
+
+        firstObserver.awaitDone(1, TimeUnit.SECONDS).assertValue("一");
+        secondObserver.awaitDone(1, TimeUnit.SECONDS).assertValue("二");
+    }
+
+    @Test
+    public void disposingWaitingRequestLeavesQueue() {
+        RequestThrottle throttle = new RequestThrottle(1, 0);
+        SingleSubject<String> first = SingleSubject.create();
+        SingleSubject<String> cancelled = SingleSubject.create();
+        SingleSubject<String> third = SingleSubject.create();
+
+        Disposable running = throttle.run(first).subscribe(value -> { }, error -> { });
+        awaitSubscribed(first);
+        throttle.run(cancelled).test().dispose();
+        TestObserver<String> thirdObserver = throttle.run(third).test();
+
+        // 取消的请求不再占位，名额归还后直接交给下一个
+        running.dispose();
+        awaitSubscribed(third);
+        assertFalse(cancelled.hasObservers());
+        third.onSuccess("三");
+        thirdObserver.awaitDone(1, TimeUnit.SECONDS).assertValue("三");
+    }
+
+    @Test
+    public void failedRequestReturnsPermit() {
+        RequestThrottle throttle = new RequestThrottle(2, 0);
+        for (int i = 0; i < 5; i++) {
+            SingleSubject<String> failing = SingleSubject.create();
+            TestObserver<String> observer = throttle.run(failing).test();
+            awaitSubscribed(failing);
+            failing.onError(new IllegalStateException());
+            observer.awaitDone(1, TimeUnit.SECONDS).assertError(IllegalStateException.class);
+        }
+        SingleSubject<String> last = SingleSubject.create();
+        // 名额泄漏时最后一个请求永远排不上
+        throttle.run(last).test();
+        awaitSubscribed(last);
+    }
+
+    /**
+     * 请求在计时线程上发起，等待其被订阅
+     */
+    private static void awaitSubscribed(SingleSubject<?> request) {
+        long deadline = System.currentTimeMillis() + 1000;
+        while (!request.hasObservers() && System.currentTimeMillis() < deadline) {
+            Thread.yield();
+        }
+        assertTrue(request.hasObservers(), "请求未发起");
+    }
+}
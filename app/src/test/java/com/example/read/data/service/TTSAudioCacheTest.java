@@ -0,0 +1,101 @@
+package com.example.read.data.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+/**
+ * TTS音频缓存测试 - 提交与读取、超出上限时的淘汰顺序、重启后恢复使用顺序和清理临时文件
+ */
+public class TTSAudioCacheTest {
+
+    @TempDir
+    File directory;
+
+    @Test
+    public void committedAudioCanBeReadBack() throws IOException {
+        TTSAudioCache cache = new TTSAudioCache(directory, TTSAudioCache.DEFAULT_MAX_BYTES);
+        File temp = cache.newTempFile("a");
+        Files.write(temp.toPath(), new byte[]{1, 2, 3});
+
+        File committed = cache.commit("a", temp);
+
+        assertNotNull(committed);
+        assertFalse(temp.exists(), "临时文件应移入缓存");
+        File cached = cache.get("a");
+        assertEquals(committed, cached);
+        assertArrayEquals(new byte[]{1, 2, 3}, Files.readAllBytes(cached.toPath()));
+        assertNull(cache.get("b"));
+    }
+
+    @Test
+    public void evictsLeastRecentlyUsedAndKeepsJustCommitted() throws IOException {
+        TTSAudioCache cache = new TTSAudioCache(directory, 250);
+        commit(cache, "a", 100);
+        commit(cache, "b", 100);
+        cache.get("a");
+
+        // 超出上限，淘汰最久未用的 b
+        commit(cache, "c", 100);
+
+        assertNull(cache.get("b"));
+        assertNotNull(cache.get("a"));
+        assertNotNull(cache.get("c"));
+
+        // 单个音频超过上限时只淘汰其他音频
+        commit(cache, "d", 300);
+
+        assertNull(cache.get("a"));
+        assertNull(cache.get("c"));
+        assertNotNull(cache.get("d"));
+    }
+
+    @Test
+    public void reloadRestoresUsageOrderFromModificationTime() throws IOException {
+        TTSAudioCache first = new TTSAudioCache(directory, TTSAudioCache.DEFAULT_MAX_BYTES);
+        File a = commit(first, "a", 100);
+        File b = commit(first, "b", 100);
+        File c = commit(first, "c", 100);
+        long now = System.currentTimeMillis();
+        assertTrue(a.setLastModified(now - 1_000));
+        assertTrue(b.setLastModified(now - 3_000));
+        assertTrue(c.setLastModified(now - 2_000));
+
+        // 重启后上限变小，按修改时间从最久未用的 b 开始淘汰
+        TTSAudioCache reloaded = new TTSAudioCache(directory, 250);
+
+        assertNull(reloaded.get("b"));
+        assertFalse(b.exists());
+        assertNotNull(reloaded.get("a"));
+        assertNotNull(reloaded.get("c"));
+    }
+
+    @Test
+    public void loadDeletesLeftoverTempFiles() throws IOException {
+        File leftover = new File(directory, "a.123456.tmp");
+        Files.write(leftover.toPath(), new byte[10]);
+
+        TTSAudioCache cache = new TTSAudioCache(directory, TTSAudioCache.DEFAULT_MAX_BYTES);
+        assertNull(cache.get("a"));
+
+        assertFalse(leftover.exists(), "上次中断的合成留下的临时文件应被清理");
+    }
+
+    private static File commit(TTSAudioCache cache, String key, int size) throws IOException {
+        File temp = cache.newTempFile(key);
+        Files.write(temp.toPath(), new byte[size]);
+        File committed = cache.commit(key, temp);
+        assertNotNull(committed);
+        return committed;
+    }
+}
@@ -25,6 +25,10 @@ public class TestTTSService implements TTSService {
     private int pausedPosition;
     private List<VoiceInfo> availableVoices;
 
+    private String nextText;
+    private long nextChapterId = -1;
+    private boolean audioCacheEnabled;
+
     public TestTTSService() {
         this.currentState = new TTSState();
         this.availableVoices = new ArrayList<>();
@@ -91,6 +95,20 @@ public class TestTTSService implements TTSService {
         }
     }
 
+    @Override
+    public void enqueueNext(long chapterId, String text) {
+        if (!isInitialized || text == null || text.isEmpty()) {
+            return;
+        }
+        this.nextText = text;
+        this.nextChapterId = chapterId;
+    }
+
+    @Override
+    public void setAudioCacheEnabled(boolean enabled) {
+        this.audioCacheEnabled = enabled;
+    }
+
     @Override
     public void pause() {
         if (!isInitialized || !currentState.isPlaying()) {
@@ -130,6 +148,8 @@ public class TestTTSService implements TTSService {
         currentState.setStatus(TTSStatus.IDLE);
         currentPosition = 0;
         pausedPosition = 0;
+        nextText = null;
+        nextChapterId = -1;
         currentState.setCurrentPosition(0);
         notifyStateChanged();
     }
@@ -217,6 +237,22 @@ public class TestTTSService implements TTSService {
             return;
         }
 
+        if (nextText != null) {
+            // 已提供下一章时无缝接续
+            currentText = nextText;
+            currentPosition = 0;
+            currentState.setCurrentChapterId(nextChapterId);
+            currentState.setCurrentPosition(0);
+            nextText = null;
+            nextChapterId = -1;
+            notifyStateChanged();
+
+            if (callback != null) {
+                callback.onChapterChanged(currentState.getCurrentChapterId());
+            }
+            return;
+        }
+
         currentState.setStatus(TTSStatus.IDLE);
         currentPosition = currentText != null ? currentText.length() : 0;
         currentState.setCurrentPosition(currentPosition);
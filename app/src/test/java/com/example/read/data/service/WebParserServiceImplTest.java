@@ -0,0 +1,79 @@
+package com.example.read.data.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.example.read.domain.model.ChapterInfo;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 目录规范化测试 - 章节编号识别、"最新章节"区块和重复链接
+ */
+public class WebParserServiceImplTest {
+
+    private final WebParserServiceImpl parser = new WebParserServiceImpl();
+
+    @Test
+    public void dropsLatestChaptersBlockBeforeFirstChapter() {
+        List<ChapterInfo> catalog = catalog(
+                "第三章 归来", "第二章 风暴",
+                "第一章 启程", "第二章 风暴", "第三章 归来");
+        // 区块中的链接与正文目录不同
+        catalog.get(0).setUrl("/latest/3");
+        catalog.get(1).setUrl("/latest/2");
+
+        List<ChapterInfo> normalized = parser.normalizeCatalog(catalog);
+
+        assertTitles(normalized, "第一章 启程", "第二章 风暴", "第三章 归来");
+        assertEquals(1, normalized.get(0).getNumber());
+        assertEquals(3, normalized.get(2).getNumber());
+    }
+
+    @Test
+    public void keepsLeadingEntriesThatAreNotRepeated() {
+        // 开头的"序章"没有编号，不是最新章节区块
+        List<ChapterInfo> normalized = parser.normalizeCatalog(catalog(
+                "序章", "第一章 启程", "第二章 风暴"));
+
+        assertTitles(normalized, "序章", "第一章 启程", "第二章 风暴");
+        assertEquals(-1, normalized.get(0).getNumber());
+    }
+
+    @Test
+    public void removesDuplicateLinksAndReindexes() {
+        List<ChapterInfo> catalog = catalog(
+                "第一章 启程", "第二章 风暴", "第二章 风暴", "　第三章 归来 ");
+        catalog.get(2).setUrl(catalog.get(1).getUrl());
+
+        List<ChapterInfo> normalized = parser.normalizeCatalog(catalog);
+
+        assertTitles(normalized, "第一章 启程", "第二章 风暴", "　第三章 归来 ");
+        for (int i = 0; i < normalized.size(); i++) {
+            assertEquals(i, normalized.get(i).getIndex());
+        }
+        // 标题前后的全角和半角空白不影响编号识别
+        assertEquals(3, normalized.get(2).getNumber());
+    }
+
+    /**
+     * 按标题生成目录，链接互不相同
+     */
+    private static List<ChapterInfo> catalog(String... titles) {
+        List<ChapterInfo> chapters = new ArrayList<>();
+        for (int i = 0; i < titles.length; i++) {
+            chapters.add(new ChapterInfo(titles[i], "/chapter/" + i, i));
+        }
+        return chapters;
+    }
+
+    private static void assertTitles(List<ChapterInfo> chapters, String... titles) {
+        List<String> actual = new ArrayList<>();
+        for (ChapterInfo chapter : chapters) {
+            actual.add(chapter.getTitle());
+        }
+        assertEquals(List.of(titles), actual);
+    }
+}
@@ -0,0 +1,160 @@
+package com.example.read.presentation.reader;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * 段落切分测试
+ */
+public class ParagraphChunkerTest {
+
+    @Test
+    public void emptyContentHasNoChunks() {
+        for (String content : new String[]{null, ""}) {
+            ParagraphChunker.Chunks chunks = ParagraphChunker.split(content);
+            assertEquals(0, chunks.size());
+            assertEquals(-1, chunks.indexOfOffset(0));
+        }
+    }
+
+    @Test
+    public void mergesShortParagraphsUpToTargetLength() {
+        String content = paragraphs(40, 50);
+        ParagraphChunker.Chunks chunks = ParagraphChunker.split(content);
+
+        assertCovers(content, chunks);
+        assertTrue(chunks.size() > 1);
+        for (int i = 0; i < chunks.size(); i++) {
+            int length = chunks.getEnd(i) - chunks.getStart(i);
+            assertTrue(length <= ParagraphChunker.MAX_CHUNK_LENGTH, "块过长: " + length);
+            if (i < chunks.size() - 1) {
+                // 合并到目标长度才结束，且只多出最后一个段落
+                assertTrue(length >= ParagraphChunker.TARGET_CHUNK_LENGTH, "块过短: " + length);
+                assertTrue(length < ParagraphChunker.TARGET_CHUNK_LENGTH + 50, "块过长: " + length);
+            }
+        }
+    }
+
+    @Test
+    public void chunksEndOnParagraphBoundaries() {
+        String content = paragraphs(30, 70);
+        ParagraphChunker.Chunks chunks = ParagraphChunker.split(content);
+
+        assertCovers(content, chunks);
+        for (int i = 0; i < chunks.size(); i++) {
+            int end = chunks.getEnd(i);
+            assertTrue(end == content.length() || content.charAt(end) == '\n', "块在段落中间结束: " + end);
+            assertTrue(chunks.getStart(i) == 0 || content.charAt(chunks.getStart(i) - 1) == '\n');
+        }
+    }
+
+    @Test
+    public void splitsOversizeParagraphAtSentenceEnds() {
+        // 每句50字，单个段落共3000字
+        StringBuilder paragraph = new StringBuilder();
+        for (int i = 0; i < 60; i++) {
+            paragraph.append(repeat('字', 49)).append('。');
+        }
+        String content = "开头一段。\n" + paragraph + "\n结尾一段。";
+        ParagraphChunker.Chunks chunks = ParagraphChunker.split(content);
+
+        assertCovers(content, chunks);
+        int paragraphStart = content.indexOf('\n') + 1;
+        int paragraphEnd = content.lastIndexOf('\n');
+        // 开头的短段落单独成块，不与超长段落合并
+        assertEquals(0, chunks.getStart(0));
+        assertEquals(paragraphStart - 1, chunks.getEnd(0));
+        for (int i = 1; i < chunks.size(); i++) {
+            int start = chunks.getStart(i);
+            int end = chunks.getEnd(i);
+            assertTrue(end - start <= ParagraphChunker.MAX_CHUNK_LENGTH, "块过长: " + (end - start));
+            if (start >= paragraphStart && end < paragraphEnd) {
+                assertEquals('。', content.charAt(end - 1), "未在句末切开: " + end);
+            }
+        }
+    }
+
+    @Test
+    public void hardSplitsOversizeParagraphWithoutPunctuation() {
+        String content = repeat('字', 3000);
+        ParagraphChunker.Chunks chunks = ParagraphChunker.split(content);
+
+        assertCovers(content, chunks);
+        assertEquals(3, chunks.size());
+        assertEquals(ParagraphChunker.MAX_CHUNK_LENGTH, chunks.getEnd(0));
+        assertEquals(2 * ParagraphChunker.MAX_CHUNK_LENGTH, chunks.getEnd(1));
+        assertEquals(3000, chunks.getEnd(2));
+    }
+
+    @Test
+    public void hardSplitKeepsSurrogatePairsTogether() {
+        // 每个字符都是代理对，硬切位置 MAX_CHUNK_LENGTH 为奇数位置时需要前移
+        String content = "a" + "😀".repeat(1000);
+        ParagraphChunker.Chunks chunks = ParagraphChunker.split(content);
+
+        assertCovers(content, chunks);
+        for (int i = 0; i < chunks.size(); i++) {
+            assertTrue(!Character.isLowSurrogate(content.charAt(chunks.getStart(i))), "代理对被切开");
+        }
+    }
+
+    @Test
+    public void trailingNewlineEndsLastChunk() {
+        String content = "第一段。\n第二段。\n";
+        ParagraphChunker.Chunks chunks = ParagraphChunker.split(content);
+
+        assertEquals(1, chunks.size());
+        assertEquals(0, chunks.getStart(0));
+        assertEquals(content.length() - 1, chunks.getEnd(0));
+    }
+
+    @Test
+    public void findsChunkContainingOffset() {
+        String content = paragraphs(40, 50);
+        ParagraphChunker.Chunks chunks = ParagraphChunker.split(content);
+
+        for (int i = 0; i < chunks.size(); i++) {
+            assertEquals(i, chunks.indexOfOffset(chunks.getStart(i)));
+            assertEquals(i, chunks.indexOfOffset(chunks.getEnd(i) - 1));
+            // 块之间的换行符归入前一块
+            assertEquals(i, chunks.indexOfOffset(chunks.getEnd(i)));
+        }
+        assertEquals(0, chunks.indexOfOffset(-5));
+        assertEquals(chunks.size() - 1, chunks.indexOfOffset(content.length() + 5));
+    }
+
+    /**
+     * 块按顺序首尾相接覆盖全文：相邻块之间最多隔一个换行符
+     */
+    private static void assertCovers(String content, ParagraphChunker.Chunks chunks) {
+        int expectedStart = 0;
+        for (int i = 0; i < chunks.size(); i++) {
+            int start = chunks.getStart(i);
+            if (start != expectedStart) {
+                assertEquals(expectedStart + 1, start, "第" + i + "块起点");
+                assertEquals('\n', content.charAt(expectedStart));
+            }
+            assertTrue(chunks.getEnd(i) > start, "第" + i + "块为空");
+            expectedStart = chunks.getEnd(i);
+        }
+        assertTrue(expectedStart == content.length()
+                || (expectedStart == content.length() - 1 && content.endsWith("\n")), "未覆盖到结尾");
+    }
+
+    private static String paragraphs(int count, int length) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                builder.append('\n');
+            }
+            builder.append(repeat((char) ('甲' + i % 10), length - 1)).append('。');
+        }
+        return builder.toString();
+    }
+
+    private static String repeat(char c, int count) {
+        return String.valueOf(c).repeat(count);
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.read.presentation.reader;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 分页偏移换算测试 - 缩进后文本与章节原文之间的偏移换算，以及按原文偏移查找页码
+ * 分页本身依赖 StaticLayout 测量，这里按固定长度切页
+ */
+public class TextPaginatorTest {
+
+    private static final String TEXT = "第一段文字。\n\n　已有缩进的段落。\n 空格开头。\n第四段文字比较长一些。";
+
+    @Test
+    public void indentsNonEmptyParagraphsOnly() {
+        TextPaginator.IndentedText indented = TextPaginator.addFirstLineIndent(TEXT);
+
+        assertEquals("　　第一段文字。\n\n　已有缩进的段落。\n 空格开头。\n　　第四段文字比较长一些。", indented.text);
+        assertEquals(2, indented.indentCount);
+    }
+
+    @Test
+    public void mapsIndentedIndexBackToSourceOffset() {
+        TextPaginator.IndentedText indented = TextPaginator.addFirstLineIndent("ab\ncd");
+        // 缩进后为"　　ab\n　　cd"
+        int[] expected = {0, 0, 0, 1, 2, 3, 3, 3, 4, 5};
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i], indented.toSourceIndex(i), "缩进后位置: " + i);
+        }
+    }
+
+    @Test
+    public void indexInsideIndentMapsToParagraphStart() {
+        TextPaginator.IndentedText indented = TextPaginator.addFirstLineIndent(TEXT);
+        int lastParagraph = TEXT.lastIndexOf('\n') + 1;
+        int indentStart = indented.text.lastIndexOf('\n') + 1;
+
+        for (int i = 0; i <= TextPaginator.IndentedText.INDENT_LENGTH; i++) {
+            assertEquals(lastParagraph, indented.toSourceIndex(indentStart + i));
+        }
+        assertEquals(TEXT.length(), indented.toSourceIndex(indented.text.length()));
+    }
+
+    @Test
+    public void everySourceOffsetHasAnIndentedPosition() {
+        TextPaginator.IndentedText indented = TextPaginator.addFirstLineIndent(TEXT);
+
+        int previous = 0;
+        List<Integer> reached = new ArrayList<>();
+        for (int i = 0; i <= indented.text.length(); i++) {
+            int source = indented.toSourceIndex(i);
+            assertTrue(source >= previous, "换算结果应单调递增: " + i);
+            assertTrue(source - previous <= 1, "换算结果不应跳过原文字符: " + i);
+            if (reached.isEmpty() || reached.get(reached.size() - 1) != source) {
+                reached.add(source);
+            }
+            previous = source;
+        }
+        assertEquals(TEXT.length() + 1, reached.size());
+    }
+
+    @Test
+    public void findsPageContainingOffset() {
+        List<TextPaginator.PageInfo> pages = paginate(TEXT, 7);
+
+        for (int offset = 0; offset < TEXT.length(); offset++) {
+            int index = TextPaginator.findPageIndex(pages, offset);
+            TextPaginator.PageInfo page = pages.get(index);
+            assertTrue(page.getSourceStart() <= offset && offset < page.getSourceEnd(),
+                    "偏移 " + offset + " 不在第 " + index + " 页");
+        }
+    }
+
+    @Test
+    public void pageBoundaryOffsetBelongsToNextPage() {
+        List<TextPaginator.PageInfo> pages = paginate(TEXT, 7);
+
+        for (int i = 1; i < pages.size(); i++) {
+            int boundary = pages.get(i).getSourceStart();
+            assertEquals(pages.get(i - 1).getSourceEnd(), boundary, "相邻页在原文中首尾相接");
+            assertEquals(i, TextPaginator.findPageIndex(pages, boundary));
+            assertEquals(i - 1, TextPaginator.findPageIndex(pages, boundary - 1));
+        }
+    }
+
+    @Test
+    public void pageStartingInsideIndentStartsAtParagraph() {
+        TextPaginator.IndentedText indented = TextPaginator.addFirstLineIndent("ab\ncd");
+        // 在第二段缩进中间分页，第二页从"c"开始
+        List<TextPaginator.PageInfo> pages = new ArrayList<>();
+        pages.add(page(indented, 0, 6, 1));
+        pages.add(page(indented, 6, indented.text.length(), 2));
+
+        assertEquals(3, pages.get(1).getSourceStart());
+        assertEquals(0, TextPaginator.findPageIndex(pages, 2));
+        assertEquals(1, TextPaginator.findPageIndex(pages, 3));
+    }
+
+    @Test
+    public void outOfRangeOffsetsClampToFirstAndLastPage() {
+        List<TextPaginator.PageInfo> pages = paginate(TEXT, 7);
+
+        assertEquals(0, TextPaginator.findPageIndex(pages, -1));
+        assertEquals(pages.size() - 1, TextPaginator.findPageIndex(pages, TEXT.length()));
+        assertEquals(pages.size() - 1, TextPaginator.findPageIndex(pages, Integer.MAX_VALUE));
+        assertEquals(0, TextPaginator.findPageIndex(Collections.emptyList(), 10));
+        assertEquals(0, TextPaginator.findPageIndex(null, 10));
+    }
+
+    /**
+     * 按缩进后文本每页固定字符数切页，页边界与真实分页一样可能落在缩进中间
+     */
+    private static List<TextPaginator.PageInfo> paginate(String text, int pageLength) {
+        TextPaginator.IndentedText indented = TextPaginator.addFirstLineIndent(text);
+        List<TextPaginator.PageInfo> pages = new ArrayList<>();
+        for (int start = 0; start < indented.text.length(); start += pageLength) {
+            int end = Math.min(indented.text.length(), start + pageLength);
+            pages.add(page(indented, start, end, pages.size() + 1));
+        }
+        return pages;
+    }
+
+    private static TextPaginator.PageInfo page(TextPaginator.IndentedText indented, int start, int end, int number) {
+        return new TextPaginator.PageInfo(indented.text.substring(start, end), start, end,
+                indented.toSourceIndex(start), indented.toSourceIndex(end), number, number == 1);
+    }
+}
@@ -0,0 +1,193 @@
+package com.example.read.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * 章节标题识别测试 - 数字解析、标题格式、长度限制和首尾空白
+ */
+public class ChapterHeadingRecognizerTest {
+
+    private static final int VOLUME = ChapterHeadingRecognizer.LEVEL_VOLUME;
+    private static final int CHAPTER = ChapterHeadingRecognizer.LEVEL_CHAPTER;
+
+    private final ChapterHeadingRecognizer recognizer = ChapterHeadingRecognizer.getDefault();
+    private final ChapterHeadingRecognizer.Match match = new ChapterHeadingRecognizer.Match();
+
+    /**
+     * 标题 -> 期望级别、编号
+     */
+    private static final Object[][] HEADINGS = {
+            // 中文章节
+            {"第十二章 重逢", CHAPTER, 12},
+            {"第一千二百零五章", CHAPTER, 1205},
+            {"第12章", CHAPTER, 12},
+            {"第３节 雨夜", CHAPTER, 3},
+            {"第五十回 大闹天宫", CHAPTER, 50},
+            // 卷级标题，卷后紧跟章时以章为准
+            {"第二卷 风起", VOLUME, 2},
+            {"第三部", VOLUME, 3},
+            {"第一卷 第三章 初遇", CHAPTER, 3},
+            {"第一卷　第十章", CHAPTER, 10},
+            {"第一卷 第二集", VOLUME, 1},
+            // 英文标题
+            {"Chapter 7", CHAPTER, 7},
+            {"CHAPTER 12: The End", CHAPTER, 12},
+            {"chapter12", CHAPTER, 12},
+            // 数字编号
+            {"12、出发", CHAPTER, 12},
+            {"3. 开始", CHAPTER, 3},
+            {"99999．尾声", CHAPTER, 99999},
+    };
+
+    /**
+     * 不是标题的行
+     */
+    private static final String[] NOT_HEADINGS = {
+            "",
+            "   ",
+            "他说第一章写得不好",
+            "第一天",
+            "第章",
+            "第十二",
+            "Chapter",
+            "Chapter one",
+            "2024年春天",
+            "123456、数字过长",
+            "12",
+            "、12",
+    };
+
+    @Test
+    public void recognizesHeadings() {
+        for (Object[] row : HEADINGS) {
+            String line = (String) row[0];
+            assertTrue(recognizer.recognize(line, match), "应识别为标题: " + line);
+            assertEquals((int) row[1], match.getLevel(), "级别: " + line);
+            assertEquals((int) row[2], match.getNumber(), "编号: " + line);
+        }
+    }
+
+    @Test
+    public void rejectsBodyLines() {
+        for (String line : NOT_HEADINGS) {
+            assertFalse(recognizer.recognize(line, match), "不应识别为标题: " + line);
+        }
+        assertFalse(recognizer.recognize(null, match));
+        assertEquals(-1, recognizer.extractNumber("正文", match));
+    }
+
+    @Test
+    public void rejectsLinesLongerThanTitleLimit() {
+        String prefix = "第一章 ";
+        String fits = prefix + "甲".repeat(50 - prefix.length());
+        assertTrue(recognizer.recognize(fits, match));
+        // 以标题格式开头的长正文行
+        assertFalse(recognizer.recognize(fits + "乙", match));
+        // 长度按去除首尾空白后计算
+        assertTrue(recognizer.recognize("　　" + fits + "  ", match));
+
+        ChapterHeadingRecognizer shortTitles = ChapterHeadingRecognizer.builder().maxTitleLength(5).build();
+        assertTrue(shortTitles.recognize("第一章 雨", match));
+        assertFalse(shortTitles.recognize("第一章 雨夜", match));
+    }
+
+    @Test
+    public void trimsSurroundingWhitespace() {
+        String[] lines = {
+                "  第一章 启程  ",
+                "\t第一章 启程\r",
+                // TXT 中常见的全角空格缩进
+                "　　第一章 启程",
+                "\u00A0第一章 启程　",
+        };
+        for (String line : lines) {
+            assertTrue(recognizer.recognize(line, match), "应识别为标题: " + line);
+            assertEquals("第一章 启程", line.substring(match.getStart(), match.getEnd()));
+            assertEquals(1, match.getNumber());
+        }
+    }
+
+    @Test
+    public void builderDisablesFormats() {
+        ChapterHeadingRecognizer chineseOnly = ChapterHeadingRecognizer.builder()
+                .englishKeywords()
+                .numericPrefix(false)
+                .build();
+        assertTrue(chineseOnly.recognize("第一章", match));
+        assertFalse(chineseOnly.recognize("Chapter 1", match));
+        assertFalse(chineseOnly.recognize("1、开始", match));
+    }
+
+    /**
+     * 数字串 -> 期望数值
+     */
+    private static final Object[][] NUMERALS = {
+            // 零
+            {"零", 0},
+            {"〇", 0},
+            {"0", 0},
+            // 十的省略写法
+            {"十", 10},
+            {"十一", 11},
+            {"二十", 20},
+            {"三十五", 35},
+            {"一十二", 12},
+            // 两、大写数字
+            {"两百", 200},
+            {"两千零二", 2002},
+            {"壹佰贰拾叁", 123},
+            // 零占位
+            {"一百零五", 105},
+            {"一千零二", 1002},
+            {"一千零二十", 1020},
+            {"一万零五", 10005},
+            {"一万零五百", 10500},
+            // 单位后省略的末位
+            {"一百二", 120},
+            {"一千二", 1200},
+            {"三千五", 3500},
+            {"一万五", 15000},
+            {"二十一万五", 215000},
+            // 万、亿
+            {"一万", 10000},
+            {"一万二千三百四十五", 12345},
+            {"十万", 100000},
+            {"一百万", 1000000},
+            {"三亿", 300000000},
+            // 逐位读法和阿拉伯数字
+            {"一二三", 123},
+            {"一〇二四", 1024},
+            {"2024", 2024},
+            {"007", 7},
+            {"２０２４", 2024},
+            {"１２", 12},
+            // 阿拉伯数字与单位混写
+            {"1百", 100},
+            {"3万", 30000},
+    };
+
+    @Test
+    public void parsesNumerals() {
+        for (Object[] row : NUMERALS) {
+            String text = (String) row[0];
+            assertEquals((int) row[1], ChapterHeadingRecognizer.parseNumeral(text, 0, text.length()),
+                    "数字: " + text);
+        }
+    }
+
+    @Test
+    public void stopsAtFirstNonNumeral() {
+        String text = "第一千二章 重逢";
+        assertEquals(1200, ChapterHeadingRecognizer.parseNumeral(text, 1, text.length()));
+    }
+
+    @Test
+    public void clampsOverflowToMaxValue() {
+        String text = "九九九九九九九九九九九";
+        assertEquals(Integer.MAX_VALUE, ChapterHeadingRecognizer.parseNumeral(text, 0, text.length()));
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.read.utils;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 章节标题检索索引测试
+ */
+public class ChapterTitleIndexTest {
+
+    private static final List<String> TITLES = Arrays.asList(
+            "第一章 斗破苍穹", "第二章 铁砧", "第三章 Magic Box", "番外 苍穹之下");
+
+    @Test
+    public void matchesChinesePinyinAndInitials() {
+        ChapterTitleIndex index = ChapterTitleIndex.build(TITLES);
+
+        assertArrayEquals(new int[]{0, 3}, index.search("苍穹"));
+        assertArrayEquals(new int[]{0, 3}, index.search("cangqiong"));
+        assertArrayEquals(new int[]{0}, index.search("dpcq"));
+        assertArrayEquals(new int[]{1}, index.search(" TieZhen "));
+        assertArrayEquals(new int[]{2}, index.search("magic"));
+        assertArrayEquals(new int[0], index.search("不存在"));
+    }
+
+    @Test
+    public void agreesWithPinyinHelperMatches() {
+        ChapterTitleIndex index = ChapterTitleIndex.build(TITLES);
+        for (String keyword : new String[]{"d", "zhang", "dyz", "box", "第", "fw", "qiong"}) {
+            int[] expected = TITLES.stream()
+                    .filter(title -> PinyinHelper.matches(title, keyword))
+                    .mapToInt(TITLES::indexOf)
+                    .toArray();
+            assertArrayEquals(expected, index.search(keyword), "关键词: " + keyword);
+        }
+    }
+
+    @Test
+    public void emptyKeywordReturnsEveryTitle() {
+        ChapterTitleIndex index = ChapterTitleIndex.build(TITLES);
+
+        assertEquals(TITLES.size(), index.size());
+        assertArrayEquals(new int[]{0, 1, 2, 3}, index.search("  "));
+    }
+}
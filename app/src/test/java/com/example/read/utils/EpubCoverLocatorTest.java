@@ -0,0 +1,62 @@
+package com.example.read.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * EPUB封面定位测试
+ */
+public class EpubCoverLocatorTest {
+
+    @Test
+    public void findsEpub3CoverImageProperty() {
+        String opf = "<package version=\"3.0\"><manifest>"
+                + "<item id=\"css\" href=\"style.css\" media-type=\"text/css\"/>"
+                + "<item id=\"img1\" href=\"images/front.jpg\" media-type=\"image/jpeg\" properties=\"cover-image\"/>"
+                + "</manifest></package>";
+
+        assertEquals("images/front.jpg", EpubCoverLocator.findCoverHref(opf));
+    }
+
+    @Test
+    public void findsEpub2CoverMetaReference() {
+        String opf = "<package version=\"2.0\"><metadata>"
+                + "<meta content=\"cover-img\" name=\"cover\"/>"
+                + "</metadata><manifest>"
+                + "<item href=\"Images/a.png\" id=\"other\" media-type=\"image/png\"/>"
+                + "<item href='Images/b.png' id='cover-img' media-type='image/png'/>"
+                + "</manifest></package>";
+
+        assertEquals("Images/b.png", EpubCoverLocator.findCoverHref(opf));
+    }
+
+    @Test
+    public void fallsBackToImageNamedCover() {
+        String opf = "<manifest>"
+                + "<item id=\"c1\" href=\"Text/cover.xhtml\" media-type=\"application/xhtml+xml\"/>"
+                + "<item id=\"i1\" href=\"Images/Cover.jpg\" media-type=\"image/jpeg\"/>"
+                + "</manifest>";
+
+        assertEquals("Images/Cover.jpg", EpubCoverLocator.findCoverHref(opf));
+        assertNull(EpubCoverLocator.findCoverHref("<manifest><item id=\"a\" href=\"a.jpg\" media-type=\"image/jpeg\"/></manifest>"));
+    }
+
+    @Test
+    public void resolvesHrefRelativeToOpf() {
+        assertEquals("OEBPS/Images/cover.jpg", EpubCoverLocator.resolve("OEBPS/content.opf", "Images/cover.jpg"));
+        assertEquals("Images/cover.jpg", EpubCoverLocator.resolve("OEBPS/content.opf", "../Images/cover.jpg"));
+        assertEquals("cover.jpg", EpubCoverLocator.resolve("content.opf", "./cover.jpg"));
+        assertEquals("OEBPS/my cover+1.jpg", EpubCoverLocator.resolve("OEBPS/content.opf", "my%20cover+1.jpg"));
+    }
+
+    @Test
+    public void recognizesCoverImageEntries() {
+        assertTrue(EpubCoverLocator.looksLikeCover("OEBPS/Images/cover.JPG"));
+        assertFalse(EpubCoverLocator.looksLikeCover("OEBPS/cover/page1.jpg"));
+        assertFalse(EpubCoverLocator.looksLikeCover("OEBPS/Text/cover.xhtml"));
+    }
+}
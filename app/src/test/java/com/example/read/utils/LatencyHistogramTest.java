@@ -0,0 +1,61 @@
+package com.example.read.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * 延迟直方图测试
+ */
+public class LatencyHistogramTest {
+
+    @Test
+    public void bucketsCoverEveryValueWithBoundedError() {
+        long[] values = {0, 1, 63, 64, 65, 127, 128, 1000, 65_535, 1_000_000, 123_456_789L, Long.MAX_VALUE};
+        for (long value : values) {
+            int index = LatencyHistogram.bucketIndex(value);
+            long upper = LatencyHistogram.bucketUpperBound(index);
+            assertTrue(upper >= value, "上界小于记录值: " + value);
+            // 相对误差不超过 1/32
+            assertTrue(upper - value <= value / 32, "桶过宽: " + value + " -> " + upper);
+            if (index > 0) {
+                assertTrue(LatencyHistogram.bucketUpperBound(index - 1) < value, "值落入了错误的桶: " + value);
+            }
+        }
+    }
+
+    @Test
+    public void percentilesOfUniformDistribution() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 10_000; i++) {
+            histogram.record(i);
+        }
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+
+        assertEquals(10_000, snapshot.getCount());
+        assertEquals(10_000, snapshot.getMax());
+        assertEquals(5000, snapshot.getMean());
+        assertWithin(5000, snapshot.percentile(50));
+        assertWithin(9500, snapshot.percentile(95));
+        assertWithin(9900, snapshot.percentile(99));
+        assertEquals(10_000, snapshot.percentile(100));
+    }
+
+    @Test
+    public void resetClearsAllData() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.recordNanos(5_000_000);
+        histogram.reset();
+
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        assertEquals(0, snapshot.getCount());
+        assertEquals(0, snapshot.getMax());
+        assertEquals(0, snapshot.percentile(99));
+    }
+
+    private static void assertWithin(long expected, long actual) {
+        assertTrue(actual >= expected && actual - expected <= expected / 32,
+                "期望约为 " + expected + "，实际为 " + actual);
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.read.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import net.sourceforge.pinyin4j.format.HanyuPinyinCaseType;
+import net.sourceforge.pinyin4j.format.HanyuPinyinOutputFormat;
+import net.sourceforge.pinyin4j.format.HanyuPinyinToneType;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * 拼音表测试：与 pinyin4j 逐字核对
+ */
+public class PinyinTableTest {
+
+    @Test
+    public void everyCharacterMatchesPinyin4j() throws Exception {
+        HanyuPinyinOutputFormat format = new HanyuPinyinOutputFormat();
+        format.setCaseType(HanyuPinyinCaseType.LOWERCASE);
+        format.setToneType(HanyuPinyinToneType.WITHOUT_TONE);
+        PinyinTable table = PinyinTable.getInstance();
+        char[] buffer = new char[table.getMaxSyllableLength()];
+
+        for (char c = '一'; c <= '鿿'; c++) {
+            String[] readings = net.sourceforge.pinyin4j.PinyinHelper.toHanyuPinyinStringArray(c, format);
+            String expected = readings != null && readings.length > 0 ? readings[0] : "";
+            int length = table.pinyin(c, buffer, 0);
+            assertEquals(expected, new String(buffer, 0, length), "字符 U+" + Integer.toHexString(c));
+            assertEquals(expected.isEmpty() ? 0 : expected.charAt(0), table.initial(c));
+        }
+    }
+
+    @Test
+    public void convertsMixedText() {
+        assertEquals("doupocangqiong", PinyinHelper.getFullPinyin("斗破苍穹"));
+        assertEquals("dpcq", PinyinHelper.getPinyinInitials("斗破苍穹"));
+        // 非汉字转为小写保留；首字母只保留字母
+        assertEquals("di1zhang magic", PinyinHelper.getFullPinyin("第1章 Magic"));
+        assertEquals("dzmagic", PinyinHelper.getPinyinInitials("第1章 Magic"));
+        assertEquals("", PinyinHelper.getFullPinyin(""));
+        assertEquals("", PinyinHelper.getPinyinInitials(null));
+    }
+
+    @Test
+    public void writesIntoCallerBuffer() {
+        PinyinTable table = PinyinTable.getInstance();
+        String text = "铁砧记";
+        char[] buffer = new char[text.length() * table.getMaxSyllableLength()];
+
+        int length = table.toFullPinyin(text, buffer);
+        assertEquals("tiezhenji", new String(buffer, 0, length));
+        length = table.toInitials(text, buffer);
+        assertEquals("tzj", new String(buffer, 0, length));
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.read.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 句子切分测试
+ */
+public class SentenceSplitterTest {
+
+    private static final int MAX_LENGTH = 40;
+
+    @Test
+    public void splitsOnChineseTerminators() {
+        assertSentences("今天天气很好。我们去公园吧！你来吗？分号也算；最后一句。",
+                "今天天气很好。", "我们去公园吧！", "你来吗？", "分号也算；", "最后一句。");
+    }
+
+    @Test
+    public void splitsOnAsciiTerminators() {
+        assertSentences("He said hi! Are you ok? Yes. Fine.",
+                "He said hi!", "Are you ok?", "Yes.", "Fine.");
+    }
+
+    @Test
+    public void periodInsideNumberIsNotATerminator() {
+        assertSentences("圆周率约为3.14，版本号是v1.2.3。完。", "圆周率约为3.14，版本号是v1.2.3。", "完。");
+    }
+
+    @Test
+    public void closingQuotesAndBracketsStayWithSentence() {
+        assertSentences("他说：“走吧。”然后离开了。", "他说：“走吧。”", "然后离开了。");
+        assertSentences("『好！』她笑了。（全文完。）", "『好！』", "她笑了。", "（全文完。）");
+        assertSentences("\"Go home.\" She left.", "\"Go home.\"", "She left.");
+        assertSentences("真的吗？！」不会吧。", "真的吗？！」", "不会吧。");
+    }
+
+    @Test
+    public void ellipsesEndSentence() {
+        assertSentences("他沉默了……许久才开口。", "他沉默了……", "许久才开口。");
+        assertSentences("Wait... what?", "Wait...", "what?");
+        assertSentences("“可是……”她没说下去。", "“可是……”", "她没说下去。");
+    }
+
+    @Test
+    public void newlineEndsSentence() {
+        assertSentences("第一行没有标点\n\n  第二行\r\n第三行。", "第一行没有标点", "第二行", "第三行。");
+    }
+
+    @Test
+    public void textWithoutTerminatorIsOneSentence() {
+        assertSentences("没有任何标点的一段文字", "没有任何标点的一段文字");
+        assertSentences("   ");
+        assertSentences("");
+    }
+
+    @Test
+    public void longSentenceBreaksAtCommaAfterHalfLength() {
+        String first = "一二三四五六七八九十一二三四五六七八九十一二三四五，";
+        String text = "一二三，" + first.substring(4) + "六七八九十一二三四五六七八九十一二三四五";
+        List<String> sentences = split(text);
+
+        assertEquals(first.length(), sentences.get(0).length());
+        assertTrue(sentences.get(0).endsWith("，"));
+        assertEquals(text, String.join("", sentences));
+    }
+
+    @Test
+    public void longSentenceWithoutBreaksIsCutAtMaxLength() {
+        String text = "字".repeat(MAX_LENGTH * 2 + 5);
+        List<String> sentences = split(text);
+
+        assertEquals(Arrays.asList("字".repeat(MAX_LENGTH), "字".repeat(MAX_LENGTH), "字".repeat(5)), sentences);
+    }
+
+    @Test
+    public void hardCutKeepsSurrogatePairsTogether() {
+        String text = "a" + "😀".repeat(MAX_LENGTH);
+        for (String sentence : split(text)) {
+            assertTrue(!Character.isLowSurrogate(sentence.charAt(0)), "代理对被切开");
+            assertTrue(sentence.length() <= MAX_LENGTH);
+        }
+    }
+
+    private static void assertSentences(String text, String... expected) {
+        assertEquals(Arrays.asList(expected), split(text), text);
+    }
+
+    /**
+     * 按调用方的用法逐句切分全文
+     */
+    private static List<String> split(String text) {
+        List<String> sentences = new ArrayList<>();
+        int start = SentenceSplitter.skipSpace(text, 0);
+        while (start < text.length()) {
+            int end = SentenceSplitter.findSentenceEnd(text, start, MAX_LENGTH);
+            assertTrue(end > start, "切分没有前进: " + start);
+            sentences.add(text.substring(start, end));
+            start = SentenceSplitter.skipSpace(text, end);
+        }
+        return sentences;
+    }
+}
@@ -0,0 +1,109 @@
+import java.util.Properties
+
+// JVM 微基准测试（JMH）
+// 直接编译 app 中不依赖 Android 运行时的热点代码，报告吞吐量（ops/s）
+// 以及每次操作分配的字节数（gc 分析器的 gc.alloc.rate.norm）。
+//
+// 运行全部基准：./gradlew :benchmark:jmh
+// 只运行部分基准：./gradlew :benchmark:jmh -Pjmh.includes=WebParser
+// 结果写入 build/results/jmh/results.json，评审时与基线结果对比
+plugins {
+    `java-library`
+    alias(libs.plugins.jmh)
+}
+
+java {
+    sourceCompatibility = JavaVersion.VERSION_21
+    targetCompatibility = JavaVersion.VERSION_21
+}
+
+// 参与基准测试的 app 源文件，只能是不调用 Android API 的类
+// （android.util.Log 由本模块 src/main/java 中的替身实现）
+val appSources = listOf(
+    "com/example/read/data/export/NovelExportWriter.java",
+    "com/example/read/data/export/TxtNovelWriter.java",
+    "com/example/read/data/export/EpubNovelWriter.java",
+    "com/example/read/data/entity/ReadingStatisticsEntity.java",
+    "com/example/read/data/service/FileParserServiceImpl.java",
+    "com/example/read/data/service/WebParserServiceImpl.java",
+    "com/example/read/domain/mapper/ReadingStatisticsMapper.java",
+    "com/example/read/domain/model/ChapterInfo.java",
+    "com/example/read/domain/model/NovelMetadata.java",
+    "com/example/read/domain/model/ParsedNovel.java",
+    "com/example/read/domain/model/ParserRule.java",
+    "com/example/read/domain/model/ReadingStatistics.java",
+    "com/example/read/domain/model/SearchResult.java",
+    "com/example/read/domain/service/FileParserService.java",
+    "com/example/read/domain/service/WebParserService.java",
+    "com/example/read/utils/BlockedWordFilter.java",
+    "com/example/read/utils/ChapterHeadingRecognizer.java",
+    "com/example/read/utils/ContentHasher.java",
+    "com/example/read/utils/EpubCoverLocator.java",
+    "com/example/read/utils/LatencyHistogram.java",
+    "com/example/read/utils/Metrics.java",
+    "com/example/read/utils/PinyinHelper.java",
+    "com/example/read/utils/PinyinTable.java",
+)
+
+sourceSets {
+    main {
+        java {
+            srcDir("../app/src/main/java")
+            include(appSources)
+            include("android/**")
+            include("com/example/read/tools/**")
+        }
+        resources {
+            srcDir("../app/src/main/resources")
+        }
+    }
+}
+
+// Context、Uri 等类型只出现在方法签名中，基准测试不会调用；
+// 运行时也放入 android.jar，使 android.os.Trace 等桩类可以加载（Metrics 检测到桩实现后不再调用）
+val androidJar: File = run {
+    val properties = Properties()
+    val localProperties = rootProject.file("local.properties")
+    if (localProperties.isFile) {
+        localProperties.inputStream().use { properties.load(it) }
+    }
+    val sdkDir = properties.getProperty("sdk.dir")
+        ?: System.getenv("ANDROID_HOME")
+        ?: System.getenv("ANDROID_SDK_ROOT")
+    // 与 app 模块使用同一个编译 SDK（版本目录中的 compileSdk）
+    file("$sdkDir/platforms/android-${libs.versions.compileSdk.get()}/android.jar")
+}
+
+dependencies {
+    compileOnly(files(androidJar))
+    runtimeOnly(files(androidJar))
+
+    implementation(libs.jsoup)
+    implementation(libs.rxjava)
+    implementation(libs.room.common)
+    implementation(libs.javax.inject)
+    implementation(libs.pinyin4j)
+}
+
+// 重新生成 app 的拼音表资源（仅在升级 pinyin4j 或调整表格式时需要）
+tasks.register<JavaExec>("generatePinyinTable") {
+    group = "build setup"
+    description = "从 pinyin4j 生成 app/src/main/resources 中的拼音表"
+    classpath = sourceSets.main.get().runtimeClasspath
+    mainClass.set("com.example.read.tools.PinyinTableGenerator")
+    args(rootProject.file("app/src/main/resources/com/example/read/utils/pinyin_table.bin").absolutePath)
+}
+
+jmh {
+    jmhVersion.set(libs.versions.jmh)
+    benchmarkMode.set(listOf("thrpt"))
+    timeUnit.set("s")
+    fork.set(1)
+    warmupIterations.set(3)
+    warmup.set("2s")
+    iterations.set(5)
+    timeOnIteration.set("2s")
+    profilers.set(listOf("gc"))
+    resultFormat.set("JSON")
+    providers.gradleProperty("jmh.includes").orNull?.let { includes.set(listOf(it)) }
+}
@@ -0,0 +1,119 @@
+package com.example.read.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 基准测试的固定语料
+ *
+ * 语料放在 resources/fixtures 下：chapter.txt 为一章正文（每行一段），
+ * page_*.html 为常见小说站点的章节页面模板，blocked_words.txt 为屏蔽词列表。
+ * 大文件按需由章节正文拼接生成，不放入仓库。
+ */
+public final class Fixtures {
+
+    /** 整本小说的书名 */
+    public static final String NOVEL_TITLE = "铁砧记";
+
+    private static final String DIRECTORY = "/fixtures/";
+    private static final String CONTENT_START = "{{content:";
+    private static final String CONTENT_END = "}}";
+    private static final String TITLE = "{{title}}";
+
+    private Fixtures() {}
+
+    /**
+     * 读取语料文件
+     */
+    public static String read(String name) {
+        try (InputStream input = Fixtures.class.getResourceAsStream(DIRECTORY + name)) {
+            if (input == null) {
+                throw new IllegalArgumentException("语料不存在: " + name);
+            }
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = input.read(buffer)) != -1) {
+                output.write(buffer, 0, read);
+            }
+            return output.toString(StandardCharsets.UTF_8.name());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 一章正文的各段落
+     */
+    public static List<String> chapterParagraphs() {
+        List<String> paragraphs = new ArrayList<>();
+        for (String line : read("chapter.txt").split("\n")) {
+            if (!line.trim().isEmpty()) {
+                paragraphs.add(line.trim());
+            }
+        }
+        return paragraphs;
+    }
+
+    /**
+     * 一章正文，段落以换行分隔
+     */
+    public static String chapterText() {
+        return String.join("\n", chapterParagraphs());
+    }
+
+    /**
+     * 按模板生成章节页面HTML
+     * 模板中 {{title}} 替换为章节标题，{{content:分隔符}} 替换为以分隔符连接的各段落
+     */
+    public static String chapterPage(String template, String title) {
+        String page = read(template);
+        int start = page.indexOf(CONTENT_START);
+        int end = page.indexOf(CONTENT_END, start);
+        String separator = page.substring(start + CONTENT_START.length(), end);
+        String content = String.join(separator, chapterParagraphs());
+        return (page.substring(0, start) + content + page.substring(end + CONTENT_END.length()))
+                .replace(TITLE, title);
+    }
+
+    /**
+     * 屏蔽词列表，忽略空行和注释
+     */
+    public static List<String> blockedWords() {
+        List<String> words = new ArrayList<>();
+        for (String line : read("blocked_words.txt").split("\n")) {
+            String word = line.trim();
+            if (!word.isEmpty() && !word.startsWith("#")) {
+                words.add(word);
+            }
+        }
+        return Collections.unmodifiableList(words);
+    }
+
+    /**
+     * 生成整本小说的TXT文本：书名、作者行，之后每章一个标题加相同的正文
+     * 每十章插入一个分卷标题，并夹杂少量与标题相似的正文行
+     */
+    public static String novelText(int chapters) {
+        String chapter = chapterText();
+        StringBuilder builder = new StringBuilder((chapter.length() + 32) * chapters);
+        builder.append(NOVEL_TITLE).append('\n');
+        builder.append("作者：无名").append('\n');
+        builder.append("简介：一个铁匠学徒与一口老铁砧的故事。").append("\n\n");
+        for (int i = 1; i <= chapters; i++) {
+            if (i % 10 == 1) {
+                builder.append("第").append(i / 10 + 1).append("卷 山雨欲来").append('\n');
+            }
+            builder.append("第").append(i).append("章 铁与火之").append(i).append('\n');
+            builder.append(chapter).append('\n');
+            builder.append("第").append(i).append("章的故事到这里就告一段落了，下一章师徒二人将离开小镇。").append('\n');
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.read.data.export;
+
+import com.example.read.benchmark.Fixtures;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 导出写入器吞吐基准：把一本小说写入只计数的输出流，不包括读库和文件IO
+ */
+@State(Scope.Benchmark)
+public class ExportWriterBenchmark {
+
+    private static final int CHAPTERS = 200;
+
+    @Param({"txt-utf8", "txt-gbk", "epub"})
+    public String format;
+
+    private String content;
+
+    @Setup
+    public void setUp() {
+        content = Fixtures.chapterText();
+    }
+
+    /**
+     * @return 写出的字节数
+     */
+    @Benchmark
+    public long writeNovel() throws IOException {
+        CountingOutputStream output = new CountingOutputStream();
+        NovelExportWriter writer = createWriter(output);
+        writer.begin(Fixtures.NOVEL_TITLE, "无名", "一个铁匠学徒与一口老铁砧的故事。");
+        for (int i = 1; i <= CHAPTERS; i++) {
+            writer.writeChapter("第" + i + "章 铁与火", content);
+        }
+        writer.finish();
+        return output.count;
+    }
+
+    private NovelExportWriter createWriter(OutputStream output) {
+        switch (format) {
+            case "txt-gbk":
+                return new TxtNovelWriter(output, Charset.forName("GBK"));
+            case "epub":
+                return new EpubNovelWriter(output, "urn:uuid:benchmark");
+            default:
+                return new TxtNovelWriter(output, StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * 丢弃数据、只统计字节数的输出流
+     */
+    private static final class CountingOutputStream extends OutputStream {
+        long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
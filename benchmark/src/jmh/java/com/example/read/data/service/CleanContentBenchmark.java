@@ -0,0 +1,31 @@
+package com.example.read.data.service;
+
+import com.example.read.benchmark.Fixtures;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * 正文清理基准：去除广告行、行首行尾空白和多余空行
+ */
+@State(Scope.Benchmark)
+public class CleanContentBenchmark {
+
+    private WebParserServiceImpl service;
+    private String rawContent;
+
+    @Setup
+    public void setUp() {
+        service = new WebParserServiceImpl();
+        // 未清理的正文：段首缩进、多余空行和站点附加的整行广告
+        rawContent = "    " + String.join("\n\n\n    ", Fixtures.chapterParagraphs())
+                + "\n\n请记住本书首发域名：example.com\n手机版阅读网址：m.example.com\n";
+    }
+
+    @Benchmark
+    public String cleanContent() {
+        return service.cleanContent(rawContent);
+    }
+}
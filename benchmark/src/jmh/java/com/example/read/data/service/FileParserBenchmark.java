@@ -0,0 +1,56 @@
+package com.example.read.data.service;
+
+import com.example.read.benchmark.Fixtures;
+import com.example.read.domain.model.ParsedNovel;
+import com.example.read.domain.service.FileParserService;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * TXT解析基准：识别章节标题并逐章回调，不包括读取文件本身
+ */
+@State(Scope.Benchmark)
+public class FileParserBenchmark {
+
+    /** 章节数，2000章约为8MB的UTF-8文本 */
+    @Param({"100", "2000"})
+    public int chapters;
+
+    private FileParserServiceImpl service;
+    private byte[] txt;
+
+    @Setup
+    public void setUp() {
+        // 解析内存中的文本不需要Context
+        service = new FileParserServiceImpl(null);
+        txt = Fixtures.novelText(chapters).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public ParsedNovel parseTxt(Blackhole blackhole) throws IOException {
+        return service.parseTxtContent(new ByteArrayInputStream(txt), Fixtures.NOVEL_TITLE + ".txt",
+                new FileParserService.ParseListener() {
+                    @Override
+                    public void onBytesRead(long bytesRead) {}
+
+                    @Override
+                    public void onChapter(ParsedNovel.ParsedChapter chapter) {
+                        blackhole.consume(chapter);
+                    }
+
+                    @Override
+                    public boolean isCancelled() {
+                        return false;
+                    }
+                });
+    }
+}
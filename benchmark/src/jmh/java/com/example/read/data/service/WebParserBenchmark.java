@@ -0,0 +1,42 @@
+package com.example.read.data.service;
+
+import com.example.read.benchmark.Fixtures;
+import com.example.read.domain.model.ParserRule;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Arrays;
+
+/**
+ * 章节页面解析基准
+ * page_div_br 使用解析规则中的选择器，page_article_p 没有规则，走回退选择器
+ */
+@State(Scope.Benchmark)
+public class WebParserBenchmark {
+
+    @Param({"page_div_br.html", "page_article_p.html"})
+    public String page;
+
+    private WebParserServiceImpl service;
+    private String html;
+    private ParserRule rule;
+
+    @Setup
+    public void setUp() {
+        service = new WebParserServiceImpl();
+        html = Fixtures.chapterPage(page, "第十二章 断刀");
+        if (page.equals("page_div_br.html")) {
+            rule = new ParserRule("基准", "example.com", ".listmain", "a", "a", "#content");
+            rule.setRemoveSelectors(Arrays.asList(".ad_mid", "script"));
+        }
+    }
+
+    @Benchmark
+    public String extractChapterContent() {
+        return service.extractChapterContent(html, rule);
+    }
+}
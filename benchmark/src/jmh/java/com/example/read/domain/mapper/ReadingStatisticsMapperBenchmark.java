@@ -0,0 +1,49 @@
+package com.example.read.domain.mapper;
+
+import com.example.read.data.entity.ReadingStatisticsEntity;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * 阅读统计聚合基准：对会话记录求总时长和总字数
+ * 按日期分组已由 reading_stats_daily 汇总表在写入时完成，不再在内存中聚合
+ */
+@State(Scope.Benchmark)
+public class ReadingStatisticsMapperBenchmark {
+
+    private static final long DAY_MILLIS = 24L * 60 * 60 * 1000;
+
+    /** 记录数：约一个月和约一年的阅读记录 */
+    @Param({"300", "4000"})
+    public int records;
+
+    private List<ReadingStatisticsEntity> entities;
+
+    @Setup
+    public void setUp() {
+        // 固定种子，每次运行数据相同
+        Random random = new Random(42);
+        entities = new ArrayList<>(records);
+        long firstDay = 1_700_000_000_000L / DAY_MILLIS * DAY_MILLIS;
+        for (int i = 0; i < records; i++) {
+            // 平均每天约11条记录，分布在几本书和晚间的几个小时
+            long date = firstDay + (i / 11) * DAY_MILLIS;
+            entities.add(new ReadingStatisticsEntity(date, 1 + random.nextInt(5),
+                    60_000L + random.nextInt(1_800_000), 500 + random.nextInt(8000), 18 + random.nextInt(6)));
+        }
+    }
+
+    @Benchmark
+    public long totals() {
+        return ReadingStatisticsMapper.calculateTotalDuration(entities)
+                + ReadingStatisticsMapper.calculateTotalCharCount(entities);
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.read.domain.model;
+
+import com.example.read.benchmark.Fixtures;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 搜索结果预览基准：为一章中关键词的全部命中生成预览
+ */
+@State(Scope.Benchmark)
+public class SearchResultBenchmark {
+
+    private static final String KEYWORD = "师父";
+    private static final int CONTEXT_LENGTH = 30;
+
+    private String content;
+    private int[] positions;
+
+    @Setup
+    public void setUp() {
+        content = Fixtures.chapterText();
+        List<Integer> found = new ArrayList<>();
+        for (int index = content.indexOf(KEYWORD); index >= 0; index = content.indexOf(KEYWORD, index + 1)) {
+            found.add(index);
+        }
+        positions = new int[found.size()];
+        for (int i = 0; i < positions.length; i++) {
+            positions[i] = found.get(i);
+        }
+    }
+
+    @Benchmark
+    public void generatePreviews(Blackhole blackhole) {
+        for (int position : positions) {
+            blackhole.consume(SearchResult.generatePreview(content, position, KEYWORD, CONTEXT_LENGTH));
+        }
+    }
+}
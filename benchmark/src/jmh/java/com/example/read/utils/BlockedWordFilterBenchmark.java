@@ -0,0 +1,42 @@
+package com.example.read.utils;
+
+import com.example.read.benchmark.Fixtures;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+
+/**
+ * 屏蔽词过滤基准：对一个长章节应用不同数量的屏蔽词
+ */
+@State(Scope.Benchmark)
+public class BlockedWordFilterBenchmark {
+
+    @Param({"10", "50"})
+    public int wordCount;
+
+    private String content;
+    private List<String> words;
+
+    @Setup
+    public void setUp() {
+        // 约一万字的长章节
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 8; i++) {
+            builder.append(Fixtures.chapterText()).append('\n');
+        }
+        content = builder.toString();
+        List<String> all = Fixtures.blockedWords();
+        // 列表前面是站点广告词，后面是正文中实际出现的词
+        words = all.subList(all.size() - Math.min(wordCount, all.size()), all.size());
+    }
+
+    @Benchmark
+    public String apply() {
+        return BlockedWordFilter.apply(content, words);
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.read.utils;
+
+import com.example.read.benchmark.Fixtures;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * 章节标题识别基准：逐行识别一本小说的全部行，绝大多数为正文行
+ */
+@State(Scope.Benchmark)
+public class ChapterHeadingRecognizerBenchmark {
+
+    private final ChapterHeadingRecognizer recognizer = ChapterHeadingRecognizer.getDefault();
+    private final ChapterHeadingRecognizer.Match match = new ChapterHeadingRecognizer.Match();
+    private String[] lines;
+
+    @Setup
+    public void setUp() {
+        lines = Fixtures.novelText(100).split("\n");
+    }
+
+    /**
+     * @return 识别出的标题数
+     */
+    @Benchmark
+    public int recognizeLines() {
+        int headings = 0;
+        for (String line : lines) {
+            if (recognizer.recognize(line, match)) {
+                headings++;
+            }
+        }
+        return headings;
+    }
+}
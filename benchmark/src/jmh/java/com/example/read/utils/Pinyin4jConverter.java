@@ -0,0 +1,66 @@
+package com.example.read.utils;
+
+import net.sourceforge.pinyin4j.format.HanyuPinyinCaseType;
+import net.sourceforge.pinyin4j.format.HanyuPinyinOutputFormat;
+import net.sourceforge.pinyin4j.format.HanyuPinyinToneType;
+import net.sourceforge.pinyin4j.format.exception.BadHanyuPinyinOutputFormatCombination;
+
+/**
+ * 基准对照：改用拼音表之前 PinyinHelper 的实现，逐字调用 pinyin4j
+ */
+final class Pinyin4jConverter {
+
+    private static final HanyuPinyinOutputFormat FORMAT = new HanyuPinyinOutputFormat();
+
+    static {
+        FORMAT.setCaseType(HanyuPinyinCaseType.LOWERCASE);
+        FORMAT.setToneType(HanyuPinyinToneType.WITHOUT_TONE);
+    }
+
+    private Pinyin4jConverter() {}
+
+    static String getFullPinyin(String str) {
+        StringBuilder result = new StringBuilder(str.length() * 4);
+        for (int i = 0; i < str.length(); i++) {
+            char c = str.charAt(i);
+            if (isChinese(c)) {
+                String pinyin = firstPinyin(c);
+                if (pinyin != null) {
+                    result.append(pinyin);
+                }
+            } else {
+                result.append(Character.toLowerCase(c));
+            }
+        }
+        return result.toString();
+    }
+
+    static String getPinyinInitials(String str) {
+        StringBuilder result = new StringBuilder(str.length());
+        for (int i = 0; i < str.length(); i++) {
+            char c = str.charAt(i);
+            if (isChinese(c)) {
+                String pinyin = firstPinyin(c);
+                if (pinyin != null && !pinyin.isEmpty()) {
+                    result.append(pinyin.charAt(0));
+                }
+            } else if (Character.isLetter(c)) {
+                result.append(Character.toLowerCase(c));
+            }
+        }
+        return result.toString();
+    }
+
+    private static boolean isChinese(char c) {
+        return c >= '一' && c <= '龥';
+    }
+
+    private static String firstPinyin(char c) {
+        try {
+            String[] pinyinArray = net.sourceforge.pinyin4j.PinyinHelper.toHanyuPinyinStringArray(c, FORMAT);
+            return pinyinArray != null && pinyinArray.length > 0 ? pinyinArray[0] : null;
+        } catch (BadHanyuPinyinOutputFormatCombination e) {
+            return null;
+        }
+    }
+}
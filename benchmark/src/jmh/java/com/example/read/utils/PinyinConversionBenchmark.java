@@ -0,0 +1,78 @@
+package com.example.read.utils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * 拼音转换基准：逐字调用 pinyin4j 与预生成拼音表的对比
+ *
+ * 对一批章节标题计算全拼和首字母（与构建检索键时的调用方式相同）。
+ * table-buffer 写入复用的缓冲区，gc.alloc.rate.norm 应接近0。
+ * 拼音表的加载开销见 {@link PinyinTableLoadBenchmark}。
+ */
+@State(Scope.Benchmark)
+public class PinyinConversionBenchmark {
+
+    @Param({"pinyin4j", "table", "table-buffer"})
+    public String converter;
+
+    private String[] titles;
+    private PinyinTable table;
+    private char[] buffer;
+
+    @Setup
+    public void setUp() {
+        // 200个形如“第12章 铁砧旧事”的标题
+        String[] names = {"铁砧旧事", "北风吹雁", "长夜将明", "青灯夜话", "孤城行", "山河故人", "剑来", "星河录"};
+        titles = new String[200];
+        int maxLength = 0;
+        for (int i = 0; i < titles.length; i++) {
+            titles[i] = "第" + (i + 1) + "章 " + names[i % names.length];
+            maxLength = Math.max(maxLength, titles[i].length());
+        }
+        table = PinyinTable.getInstance();
+        buffer = new char[maxLength * table.getMaxSyllableLength()];
+        // 两边都在测量前完成数据加载
+        Pinyin4jConverter.getFullPinyin(titles[0]);
+    }
+
+    /**
+     * @return 输出的字符总数
+     */
+    @Benchmark
+    public int searchKeys(Blackhole blackhole) {
+        int total = 0;
+        switch (converter) {
+            case "pinyin4j":
+                for (String title : titles) {
+                    String full = Pinyin4jConverter.getFullPinyin(title);
+                    String initials = Pinyin4jConverter.getPinyinInitials(title);
+                    blackhole.consume(full);
+                    blackhole.consume(initials);
+                    total += full.length() + initials.length();
+                }
+                break;
+            case "table":
+                for (String title : titles) {
+                    String full = PinyinHelper.getFullPinyin(title);
+                    String initials = PinyinHelper.getPinyinInitials(title);
+                    blackhole.consume(full);
+                    blackhole.consume(initials);
+                    total += full.length() + initials.length();
+                }
+                break;
+            default:
+                for (String title : titles) {
+                    total += table.toFullPinyin(title, buffer);
+                    total += table.toInitials(title, buffer);
+                }
+                blackhole.consume(buffer);
+                break;
+        }
+        return total;
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.read.utils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * 拼音匹配基准：以一个关键词筛选整个书架的书名，与书架搜索的调用方式相同
+ */
+@State(Scope.Benchmark)
+public class PinyinHelperBenchmark {
+
+    private static final String[] PREFIXES = {"铁砧", "山河", "长夜", "北风", "青灯", "孤城", "剑来", "星河"};
+    private static final String[] SUFFIXES = {"记", "故人", "将明", "吹雁", "夜话", "旧事", "行", "录"};
+
+    /** 拼音首字母、全拼和汉字三种关键词 */
+    @Param({"tzj", "tiezhen", "铁砧"})
+    public String keyword;
+
+    private String[] titles;
+
+    @Setup
+    public void setUp() {
+        // 64本书的书架
+        titles = new String[PREFIXES.length * SUFFIXES.length];
+        int i = 0;
+        for (String prefix : PREFIXES) {
+            for (String suffix : SUFFIXES) {
+                titles[i++] = prefix + suffix;
+            }
+        }
+    }
+
+    /**
+     * @return 匹配的书数
+     */
+    @Benchmark
+    public int filterBookshelf() {
+        int matched = 0;
+        for (String title : titles) {
+            if (PinyinHelper.matches(title, keyword)) {
+                matched++;
+            }
+        }
+        return matched;
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.read.utils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * 拼音表加载基准：解析类路径上的拼音表资源（不经过共享实例的缓存），即首次搜索前需要付出的一次性开销
+ */
+public class PinyinTableLoadBenchmark {
+
+    @Benchmark
+    public PinyinTable loadTable() throws IOException {
+        try (InputStream in = PinyinTable.class.getResourceAsStream(PinyinTable.RESOURCE)) {
+            return PinyinTable.read(in);
+        }
+    }
+}
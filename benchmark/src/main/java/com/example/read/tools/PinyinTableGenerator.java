@@ -0,0 +1,85 @@
+package com.example.read.tools;
+
+import net.sourceforge.pinyin4j.PinyinHelper;
+import net.sourceforge.pinyin4j.format.HanyuPinyinCaseType;
+import net.sourceforge.pinyin4j.format.HanyuPinyinOutputFormat;
+import net.sourceforge.pinyin4j.format.HanyuPinyinToneType;
+import net.sourceforge.pinyin4j.format.exception.BadHanyuPinyinOutputFormatCombination;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 生成 app 使用的拼音表（com/example/read/utils/pinyin_table.bin）
+ *
+ * 对 CJK 统一汉字基本区（U+4E00 ~ U+9FFF）的每个字取 pinyin4j 的第一个读音
+ * （小写、不带声调，与原先 PinyinHelper 的输出一致），去重成音节表后按码位写出音节编号。
+ * 文件格式（大端）见 PinyinTable。
+ *
+ * 运行：./gradlew :benchmark:generatePinyinTable
+ */
+public final class PinyinTableGenerator {
+
+    private static final int MAGIC = 0x50595431; // "PYT1"
+    private static final char FIRST = '\u4e00';
+    private static final char LAST = '\u9fff';
+
+    private PinyinTableGenerator() {}
+
+    public static void main(String[] args) throws IOException, BadHanyuPinyinOutputFormatCombination {
+        if (args.length != 1) {
+            throw new IllegalArgumentException("用法: PinyinTableGenerator <输出文件>");
+        }
+        HanyuPinyinOutputFormat format = new HanyuPinyinOutputFormat();
+        format.setCaseType(HanyuPinyinCaseType.LOWERCASE);
+        format.setToneType(HanyuPinyinToneType.WITHOUT_TONE);
+
+        int length = LAST - FIRST + 1;
+        char[] entries = new char[length];
+        List<String> syllables = new ArrayList<>();
+        Map<String, Integer> ids = new HashMap<>();
+        for (int i = 0; i < length; i++) {
+            String[] readings = PinyinHelper.toHanyuPinyinStringArray((char) (FIRST + i), format);
+            if (readings == null || readings.length == 0 || readings[0].isEmpty()) {
+                continue;
+            }
+            Integer id = ids.get(readings[0]);
+            if (id == null) {
+                id = syllables.size();
+                syllables.add(readings[0]);
+                ids.put(readings[0], id);
+            }
+            // 0 表示没有读音，音节编号从1开始
+            entries[i] = (char) (id + 1);
+        }
+
+        File output = new File(args[0]);
+        File parent = output.getParentFile();
+        if (parent != null && !parent.isDirectory() && !parent.mkdirs()) {
+            throw new IOException("无法创建目录: " + parent);
+        }
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(output)))) {
+            out.writeInt(MAGIC);
+            out.writeChar(FIRST);
+            out.writeInt(length);
+            out.writeShort(syllables.size());
+            for (String syllable : syllables) {
+                byte[] bytes = syllable.getBytes(StandardCharsets.US_ASCII);
+                out.writeByte(bytes.length);
+                out.write(bytes);
+            }
+            for (char entry : entries) {
+                out.writeChar(entry);
+            }
+        }
+        System.out.println("音节数 " + syllables.size() + "，写入 " + output.length() + " 字节: " + output);
+    }
+}
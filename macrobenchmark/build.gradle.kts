@@ -0,0 +1,51 @@
+// 宏基准测试（Macrobenchmark）与基线配置文件生成
+// 在 Gradle 管理的模拟器上安装 app 的 benchmarkRelease 变体，按小、中、大三种书库规模测量：
+// 冷/温启动耗时、打开3000章小说到首页的耗时、各翻页动画和滚动模式的帧耗时、内存峰值。
+//
+// 运行全部宏基准：./gradlew :macrobenchmark:pixel6Api34BenchmarkReleaseAndroidTest
+// 生成基线配置文件：./gradlew :app:generateBaselineProfile
+// （输出到 app/src/release/generated/baselineProfiles，随源码提交）
+plugins {
+    alias(libs.plugins.android.test)
+    alias(libs.plugins.baselineprofile)
+}
+
+android {
+    namespace = "com.example.read.macrobenchmark"
+    compileSdk = libs.versions.compileSdk.get().toInt()
+
+    defaultConfig {
+        // 帧耗时和启动指标需要 API 28 以上的 Perfetto
+        minSdk = 28
+        targetSdk = 36
+
+        testInstrumentationRunner = "androidx.test.runner.AndroidJUnitRunner"
+    }
+
+    compileOptions {
+        sourceCompatibility = JavaVersion.VERSION_21
+        targetCompatibility = JavaVersion.VERSION_21
+    }
+
+    targetProjectPath = ":app"
+    experimentalProperties["android.experimental.self-instrumenting"] = true
+
+    testOptions.managedDevices.localDevices {
+        create("pixel6Api34") {
+            device = "Pixel 6"
+            apiLevel = 34
+            systemImageSource = "aosp"
+        }
+    }
+}
+
+baselineProfile {
+    managedDevices += "pixel6Api34"
+    useConnectedDevices = false
+}
+
+dependencies {
+    implementation(libs.ext.junit)
+    implementation(libs.uiautomator)
+    implementation(libs.benchmark.macro.junit4)
+}
@@ -0,0 +1,101 @@
+package com.example.read.macrobenchmark;
+
+import androidx.benchmark.macro.junit4.BaselineProfileRule;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.uiautomator.Direction;
+import androidx.test.uiautomator.UiDevice;
+import androidx.test.uiautomator.UiObject2;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import kotlin.Unit;
+
+/**
+ * 基线配置文件生成器
+ *
+ * 覆盖启动到书架、打开3000章小说、翻页模式翻页和滚动模式滑动这几条关键路径，
+ * 启动部分同时写入启动配置文件（用于 dex 布局优化）。
+ * 运行 ./gradlew :app:generateBaselineProfile，结果写入 app/src/release/generated/baselineProfiles。
+ */
+@RunWith(AndroidJUnit4.class)
+public class BaselineProfileGenerator {
+
+    private static final int MAX_ITERATIONS = 15;
+    private static final int STABLE_ITERATIONS = 3;
+
+    @Rule
+    public BaselineProfileRule baselineProfileRule = new BaselineProfileRule();
+
+    @Test
+    public void startup() {
+        Library.seed(Library.MEDIUM, Library.PAGE_MODE_PAGE, "slide");
+        baselineProfileRule.collect(
+                Library.PACKAGE_NAME,
+                MAX_ITERATIONS,
+                STABLE_ITERATIONS,
+                "startup",
+                true,
+                false,
+                rule -> true,
+                scope -> {
+                    scope.pressHome();
+                    scope.startActivityAndWait();
+                    Library.waitForBookshelf(scope);
+                    return Unit.INSTANCE;
+                });
+    }
+
+    @Test
+    public void readPages() {
+        Library.seed(Library.MEDIUM, Library.PAGE_MODE_PAGE, "slide");
+        baselineProfileRule.collect(
+                Library.PACKAGE_NAME,
+                MAX_ITERATIONS,
+                STABLE_ITERATIONS,
+                "reader-page",
+                false,
+                false,
+                rule -> true,
+                scope -> {
+                    scope.pressHome();
+                    scope.startActivityAndWait();
+                    Library.waitForBookshelf(scope);
+                    Library.openTargetNovel(scope);
+                    UiDevice device = scope.getDevice();
+                    UiObject2 pager = Library.findPager(device);
+                    for (int i = 0; i < 15; i++) {
+                        pager.swipe(Direction.LEFT, 0.8f);
+                        device.waitForIdle();
+                    }
+                    return Unit.INSTANCE;
+                });
+    }
+
+    @Test
+    public void readScrolling() {
+        Library.seed(Library.MEDIUM, Library.PAGE_MODE_SCROLL, null);
+        baselineProfileRule.collect(
+                Library.PACKAGE_NAME,
+                MAX_ITERATIONS,
+                STABLE_ITERATIONS,
+                "reader-scroll",
+                false,
+                false,
+                rule -> true,
+                scope -> {
+                    scope.pressHome();
+                    scope.startActivityAndWait();
+                    Library.waitForBookshelf(scope);
+                    Library.openTargetNovel(scope);
+                    UiDevice device = scope.getDevice();
+                    UiObject2 list = Library.findScrollList(device);
+                    for (int i = 0; i < 5; i++) {
+                        list.fling(Direction.DOWN);
+                        device.waitForIdle();
+                    }
+                    return Unit.INSTANCE;
+                });
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.read.macrobenchmark;
+
+import androidx.benchmark.macro.MacrobenchmarkScope;
+import androidx.test.platform.app.InstrumentationRegistry;
+import androidx.test.uiautomator.By;
+import androidx.test.uiautomator.BySelector;
+import androidx.test.uiautomator.UiDevice;
+import androidx.test.uiautomator.UiObject2;
+import androidx.test.uiautomator.Until;
+
+import java.io.IOException;
+import java.util.regex.Pattern;
+
+/**
+ * 宏基准测试的公共操作：填充书库、打开书架和目标小说
+ *
+ * 书库由 app 基准测试构建（src/benchmark）中的 SeedLibraryReceiver 通过 am broadcast 填充，规模与 LibrarySeeder.Size 对应。
+ * 每种规模都包含一本3000章的目标小说，排在书架第一位。
+ */
+final class Library {
+
+    static final String PACKAGE_NAME = "com.example.read";
+
+    static final String SMALL = "small";
+    static final String MEDIUM = "medium";
+    static final String HUGE = "huge";
+
+    /** 与 LibrarySeeder.TARGET_TITLE 一致 */
+    static final String TARGET_TITLE = "铁砧记";
+
+    static final String PAGE_MODE_PAGE = "page";
+    static final String PAGE_MODE_SCROLL = "scroll";
+
+    private static final String SEED_RECEIVER = PACKAGE_NAME + "/.data.seed.SeedLibraryReceiver";
+
+    private static final long UI_TIMEOUT_MS = 10_000;
+    // 3000章的小说在未编译的情况下首次打开可能较慢
+    private static final long OPEN_BOOK_TIMEOUT_MS = 30_000;
+
+    private Library() {}
+
+    /**
+     * 停止应用并填充书库，同一规模已填充过时只更新阅读设置
+     * am broadcast 会等待填充完成后返回
+     */
+    static void seed(String size, String pageMode, String pageAnimation) {
+        UiDevice device = UiDevice.getInstance(InstrumentationRegistry.getInstrumentation());
+        StringBuilder command = new StringBuilder("am broadcast -n ").append(SEED_RECEIVER)
+                .append(" --es size ").append(size);
+        if (pageMode != null) {
+            command.append(" --es pageMode ").append(pageMode);
+        }
+        if (pageAnimation != null) {
+            command.append(" --es pageAnimation ").append(pageAnimation);
+        }
+        try {
+            device.executeShellCommand("am force-stop " + PACKAGE_NAME);
+            String output = device.executeShellCommand(command.toString());
+            if (!output.contains("result=1")) {
+                throw new IllegalStateException("填充书库失败: " + output);
+            }
+            // 结束填充时拉起的进程，保证测量从干净状态开始
+            device.executeShellCommand("am force-stop " + PACKAGE_NAME);
+        } catch (IOException e) {
+            throw new IllegalStateException("执行 shell 命令失败", e);
+        }
+    }
+
+    /**
+     * 等待书架列表显示
+     */
+    static void waitForBookshelf(MacrobenchmarkScope scope) {
+        UiDevice device = scope.getDevice();
+        if (!device.wait(Until.hasObject(By.res(PACKAGE_NAME, "novels_recycler_view")), UI_TIMEOUT_MS)
+                || !device.wait(Until.hasObject(By.text(TARGET_TITLE)), UI_TIMEOUT_MS)) {
+            throw new IllegalStateException("书架没有显示目标小说");
+        }
+    }
+
+    /**
+     * 在书架上点击目标小说，等待阅读界面显示正文
+     */
+    static void openTargetNovel(MacrobenchmarkScope scope) {
+        UiDevice device = scope.getDevice();
+        UiObject2 title = device.findObject(By.text(TARGET_TITLE));
+        if (title == null) {
+            throw new IllegalStateException("书架上找不到目标小说");
+        }
+        title.click();
+        waitForReader(device);
+    }
+
+    /**
+     * 等待阅读界面显示正文（翻页模式的 ViewPager 或滚动模式的列表，加载中时两者都不可见）
+     */
+    static void waitForReader(UiDevice device) {
+        BySelector content = By.res(Pattern.compile(
+                PACKAGE_NAME + ":id/(page_view_pager|content_recycler_view)"));
+        if (!device.wait(Until.hasObject(content), OPEN_BOOK_TIMEOUT_MS)) {
+            throw new IllegalStateException("阅读界面没有显示正文");
+        }
+        device.waitForIdle();
+    }
+
+    /**
+     * 查找阅读界面的翻页容器
+     */
+    static UiObject2 findPager(UiDevice device) {
+        return requireObject(device, "page_view_pager");
+    }
+
+    /**
+     * 查找阅读界面的滚动列表
+     */
+    static UiObject2 findScrollList(UiDevice device) {
+        return requireObject(device, "content_recycler_view");
+    }
+
+    private static UiObject2 requireObject(UiDevice device, String id) {
+        UiObject2 object = device.wait(Until.findObject(By.res(PACKAGE_NAME, id)), UI_TIMEOUT_MS);
+        if (object == null) {
+            throw new IllegalStateException("找不到视图: " + id);
+        }
+        // 避开手势导航区域
+        object.setGestureMargin(device.getDisplayWidth() / 10);
+        return object;
+    }
+}
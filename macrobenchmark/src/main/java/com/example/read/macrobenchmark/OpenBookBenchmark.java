@@ -0,0 +1,114 @@
+package com.example.read.macrobenchmark;
+
+import androidx.annotation.OptIn;
+import androidx.benchmark.macro.BaselineProfileMode;
+import androidx.benchmark.macro.CompilationMode;
+import androidx.benchmark.macro.ExperimentalMetricApi;
+import androidx.benchmark.macro.FrameTimingMetric;
+import androidx.benchmark.macro.MemoryUsageMetric;
+import androidx.benchmark.macro.Metric;
+import androidx.benchmark.macro.StartupTimingMetric;
+import androidx.benchmark.macro.TraceSectionMetric;
+import androidx.benchmark.macro.junit4.MacrobenchmarkRule;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import kotlin.Unit;
+
+/**
+ * 打开书籍到首页的基准测试
+ *
+ * 从书架点击3000章的目标小说，测量阅读界面启动到首页显示（reportFullyDrawn）的耗时，
+ * 以及其中加载章节和分页两个 Trace 区段的耗时、打开过程的帧耗时和内存峰值。
+ * 两种阅读模式分别测量：翻页模式需要分页，滚动模式直接显示正文。
+ */
+@RunWith(Parameterized.class)
+public class OpenBookBenchmark {
+
+    private static final int ITERATIONS = 5;
+
+    @Rule
+    public MacrobenchmarkRule benchmarkRule = new MacrobenchmarkRule();
+
+    private final String size;
+    private final String pageMode;
+
+    public OpenBookBenchmark(String size, String pageMode) {
+        this.size = size;
+        this.pageMode = pageMode;
+    }
+
+    @Parameterized.Parameters(name = "{0}_{1}")
+    public static List<Object[]> parameters() {
+        List<Object[]> parameters = new ArrayList<>();
+        for (String size : new String[]{Library.SMALL, Library.MEDIUM, Library.HUGE}) {
+            parameters.add(new Object[]{size, Library.PAGE_MODE_PAGE});
+            parameters.add(new Object[]{size, Library.PAGE_MODE_SCROLL});
+        }
+        return parameters;
+    }
+
+    @Before
+    public void seedLibrary() {
+        Library.seed(size, pageMode, null);
+    }
+
+    @Test
+    public void openNovel() {
+        benchmarkRule.measureRepeated(
+                Library.PACKAGE_NAME,
+                metrics(),
+                new CompilationMode.Partial(BaselineProfileMode.Require, 0),
+                null,
+                ITERATIONS,
+                scope -> {
+                    scope.killProcess();
+                    scope.startActivityAndWait();
+                    Library.waitForBookshelf(scope);
+                    return Unit.INSTANCE;
+                },
+                scope -> {
+                    Library.openTargetNovel(scope);
+                    return Unit.INSTANCE;
+                });
+    }
+
+    @OptIn(markerClass = ExperimentalMetricApi.class)
+    static List<Metric> metrics() {
+        return new ArrayList<>(Arrays.asList(
+                // 阅读界面的启动同样会被记录为一次 Activity 启动，首页显示时上报 reportFullyDrawn
+                new StartupTimingMetric(),
+                traceSection("reader.loadChapter"),
+                traceSection("reader.paginate"),
+                new FrameTimingMetric(),
+                memoryHighWaterMark()));
+    }
+
+    /**
+     * 区段名与 app 中 Metrics 的指标名一致，同一次测量内多次出现时累加
+     */
+    @OptIn(markerClass = ExperimentalMetricApi.class)
+    static Metric traceSection(String sectionName) {
+        return new TraceSectionMetric(sectionName, TraceSectionMetric.Mode.Sum.INSTANCE, sectionName, true);
+    }
+
+    /**
+     * 测量期间的内存峰值（Java堆、匿名和文件映射常驻内存、GPU）
+     */
+    @OptIn(markerClass = ExperimentalMetricApi.class)
+    static Metric memoryHighWaterMark() {
+        return new MemoryUsageMetric(MemoryUsageMetric.Mode.Max, Arrays.asList(
+                MemoryUsageMetric.SubMetric.HeapSize,
+                MemoryUsageMetric.SubMetric.RssAnon,
+                MemoryUsageMetric.SubMetric.RssFile,
+                MemoryUsageMetric.SubMetric.Gpu));
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.read.macrobenchmark;
+
+import androidx.benchmark.macro.BaselineProfileMode;
+import androidx.benchmark.macro.CompilationMode;
+import androidx.benchmark.macro.FrameTimingMetric;
+import androidx.benchmark.macro.Metric;
+import androidx.benchmark.macro.junit4.MacrobenchmarkRule;
+import androidx.test.uiautomator.Direction;
+import androidx.test.uiautomator.UiDevice;
+import androidx.test.uiautomator.UiObject2;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import kotlin.Unit;
+
+/**
+ * 翻页帧耗时基准测试
+ *
+ * 翻页模式下分别使用每种翻页动画连续向后翻页，跨越章节边界（触发相邻章节的加载和分页），
+ * 再翻回几页，测量帧耗时（frameDurationCpuMs、frameOverrunMs）和内存峰值。
+ */
+@RunWith(Parameterized.class)
+public class PageTurnBenchmark {
+
+    private static final int ITERATIONS = 5;
+    // 一章约三千字，正常字号下十几页，向后翻的页数足以进入下一章
+    private static final int FORWARD_PAGES = 20;
+    private static final int BACKWARD_PAGES = 5;
+
+    @Rule
+    public MacrobenchmarkRule benchmarkRule = new MacrobenchmarkRule();
+
+    private final String pageAnimation;
+
+    public PageTurnBenchmark(String pageAnimation) {
+        this.pageAnimation = pageAnimation;
+    }
+
+    /** 与 PageAnimation 的 id 一致 */
+    @Parameterized.Parameters(name = "{0}")
+    public static List<Object[]> parameters() {
+        return Arrays.asList(
+                new Object[]{"cover"},
+                new Object[]{"slide"},
+                new Object[]{"simulation"},
+                new Object[]{"scroll"});
+    }
+
+    @Before
+    public void seedLibrary() {
+        Library.seed(Library.MEDIUM, Library.PAGE_MODE_PAGE, pageAnimation);
+    }
+
+    @Test
+    public void turnPages() {
+        List<Metric> metrics = new ArrayList<>();
+        metrics.add(new FrameTimingMetric());
+        metrics.add(OpenBookBenchmark.memoryHighWaterMark());
+        benchmarkRule.measureRepeated(
+                Library.PACKAGE_NAME,
+                metrics,
+                new CompilationMode.Partial(BaselineProfileMode.Require, 0),
+                null,
+                ITERATIONS,
+                scope -> {
+                    scope.killProcess();
+                    scope.startActivityAndWait();
+                    Library.waitForBookshelf(scope);
+                    Library.openTargetNovel(scope);
+                    return Unit.INSTANCE;
+                },
+                scope -> {
+                    UiDevice device = scope.getDevice();
+                    UiObject2 pager = Library.findPager(device);
+                    for (int i = 0; i < FORWARD_PAGES; i++) {
+                        pager.swipe(Direction.LEFT, 0.8f);
+                        device.waitForIdle();
+                    }
+                    for (int i = 0; i < BACKWARD_PAGES; i++) {
+                        pager.swipe(Direction.RIGHT, 0.8f);
+                        device.waitForIdle();
+                    }
+                    return Unit.INSTANCE;
+                });
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.read.macrobenchmark;
+
+import androidx.benchmark.macro.BaselineProfileMode;
+import androidx.benchmark.macro.CompilationMode;
+import androidx.benchmark.macro.FrameTimingMetric;
+import androidx.benchmark.macro.Metric;
+import androidx.benchmark.macro.junit4.MacrobenchmarkRule;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.uiautomator.Direction;
+import androidx.test.uiautomator.UiDevice;
+import androidx.test.uiautomator.UiObject2;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import kotlin.Unit;
+
+/**
+ * 滚动模式快速滑动帧耗时基准测试
+ *
+ * 滚动模式下连续向下快速滑动，滑过章节边界（触发相邻章节的追加和移除），再向上滑回，
+ * 测量帧耗时和内存峰值。
+ */
+@RunWith(AndroidJUnit4.class)
+public class ScrollFlingBenchmark {
+
+    private static final int ITERATIONS = 5;
+    private static final int FLINGS = 8;
+
+    @Rule
+    public MacrobenchmarkRule benchmarkRule = new MacrobenchmarkRule();
+
+    @Before
+    public void seedLibrary() {
+        Library.seed(Library.MEDIUM, Library.PAGE_MODE_SCROLL, null);
+    }
+
+    @Test
+    public void flingChapters() {
+        List<Metric> metrics = new ArrayList<>();
+        metrics.add(new FrameTimingMetric());
+        metrics.add(OpenBookBenchmark.memoryHighWaterMark());
+        benchmarkRule.measureRepeated(
+                Library.PACKAGE_NAME,
+                metrics,
+                new CompilationMode.Partial(BaselineProfileMode.Require, 0),
+                null,
+                ITERATIONS,
+                scope -> {
+                    scope.killProcess();
+                    scope.startActivityAndWait();
+                    Library.waitForBookshelf(scope);
+                    Library.openTargetNovel(scope);
+                    return Unit.INSTANCE;
+                },
+                scope -> {
+                    UiDevice device = scope.getDevice();
+                    UiObject2 list = Library.findScrollList(device);
+                    for (int i = 0; i < FLINGS; i++) {
+                        list.fling(Direction.DOWN);
+                        device.waitForIdle();
+                    }
+                    for (int i = 0; i < FLINGS / 2; i++) {
+                        list.fling(Direction.UP);
+                        device.waitForIdle();
+                    }
+                    return Unit.INSTANCE;
+                });
+    }
+}
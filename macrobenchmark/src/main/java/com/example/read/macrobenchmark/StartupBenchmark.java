@@ -0,0 +1,84 @@
+package com.example.read.macrobenchmark;
+
+import androidx.benchmark.macro.BaselineProfileMode;
+import androidx.benchmark.macro.CompilationMode;
+import androidx.benchmark.macro.StartupMode;
+import androidx.benchmark.macro.StartupTimingMetric;
+import androidx.benchmark.macro.junit4.MacrobenchmarkRule;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import kotlin.Unit;
+
+/**
+ * 启动耗时基准测试
+ *
+ * 按书库规模测量冷启动和温启动到书架首屏（timeToInitialDisplayMs）
+ * 以及书架列表首次提交（reportFullyDrawn，timeToFullDisplayMs）的耗时，
+ * 并对比不编译和按基线配置文件编译两种情况，验证基线配置文件的收益。
+ */
+@RunWith(Parameterized.class)
+public class StartupBenchmark {
+
+    private static final int ITERATIONS = 10;
+
+    @Rule
+    public MacrobenchmarkRule benchmarkRule = new MacrobenchmarkRule();
+
+    private final String size;
+    private final StartupMode startupMode;
+    private final boolean useBaselineProfile;
+
+    public StartupBenchmark(String size, StartupMode startupMode, boolean useBaselineProfile) {
+        this.size = size;
+        this.startupMode = startupMode;
+        this.useBaselineProfile = useBaselineProfile;
+    }
+
+    @Parameterized.Parameters(name = "{0}_{1}_baselineProfile={2}")
+    public static List<Object[]> parameters() {
+        List<Object[]> parameters = new ArrayList<>();
+        for (String size : new String[]{Library.SMALL, Library.MEDIUM, Library.HUGE}) {
+            for (StartupMode mode : new StartupMode[]{StartupMode.COLD, StartupMode.WARM}) {
+                parameters.add(new Object[]{size, mode, false});
+                parameters.add(new Object[]{size, mode, true});
+            }
+        }
+        return parameters;
+    }
+
+    @Before
+    public void seedLibrary() {
+        Library.seed(size, null, null);
+    }
+
+    @Test
+    public void startup() {
+        CompilationMode compilationMode = useBaselineProfile
+                ? new CompilationMode.Partial(BaselineProfileMode.Require, 0)
+                : new CompilationMode.None();
+        benchmarkRule.measureRepeated(
+                Library.PACKAGE_NAME,
+                Collections.singletonList(new StartupTimingMetric()),
+                compilationMode,
+                startupMode,
+                ITERATIONS,
+                scope -> {
+                    scope.pressHome();
+                    return Unit.INSTANCE;
+                },
+                scope -> {
+                    scope.startActivityAndWait();
+                    Library.waitForBookshelf(scope);
+                    return Unit.INSTANCE;
+                });
+    }
+}
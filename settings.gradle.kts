@@ -22,4 +22,6 @@ dependencyResolutionManagement {
 
 rootProject.name = "Read"
 include(":app")
+include(":benchmark")
+include(":macrobenchmark")
  
\ No newline at end of file